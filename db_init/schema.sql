@@ -4,7 +4,8 @@ CREATE TABLE tb_user
     email VARCHAR(200) NOT NULL COMMENT 'email for user',
     password VARCHAR(129) NOT NULL COMMENT 'password',
     name VARCHAR(120) NULL,
-    PRIMARY KEY (id)
+    PRIMARY KEY (id),
+    UNIQUE INDEX uk_user_email (email) COMMENT 'serves duplicate checks and email prefix searches'
 ) COMMENT 'All users';
 
 ALTER TABLE tb_user
@@ -21,4 +22,48 @@ CREATE TABLE tb_user_external_project
 
 ALTER TABLE tb_user_external_project
 ADD COLUMN created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
\ No newline at end of file
+ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
+
+-- Lets project links be inserted without reading the user first (usermanager.duplicate-check.mode=constraint)
+ALTER TABLE tb_user_external_project
+ADD CONSTRAINT fk_user_external_project_user FOREIGN KEY (user_id) REFERENCES tb_user (id);
+
+CREATE TABLE tb_idempotency_key
+(
+    idempotency_key CHAR(64) NOT NULL COMMENT 'SHA-256 of the principal and the Idempotency-Key header value',
+    fingerprint CHAR(64) NOT NULL COMMENT 'SHA-256 of method, path, Accept header and body of the original request',
+    status_code INT NULL COMMENT 'stored response status, null while the request is in progress',
+    content_type VARCHAR(100) NULL,
+    location VARCHAR(500) NULL,
+    protobuf_message VARCHAR(200) NULL COMMENT 'X-Protobuf-Message header of a Protobuf response',
+    protobuf_schema VARCHAR(200) NULL COMMENT 'X-Protobuf-Schema header of a Protobuf response',
+    response_body MEDIUMBLOB NULL COMMENT 'raw bytes, Protobuf and CBOR bodies are not text',
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (idempotency_key),
+    INDEX idx_idempotency_key_expires_at (expires_at)
+) COMMENT 'Stored responses for idempotent request replays';
+
+
+CREATE TABLE tb_outbox_event
+(
+    id BIGINT NOT NULL AUTO_INCREMENT COMMENT 'insertion order of the event',
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id VARCHAR(250) NOT NULL,
+    user_id BIGINT NOT NULL COMMENT 'user the change belongs to',
+    event_type VARCHAR(30) NOT NULL,
+    payload VARCHAR(4000) NOT NULL COMMENT 'JSON representation of the aggregate after the change',
+    feed_position BIGINT NULL COMMENT 'position assigned by the relay when published, consumers resume from it',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_outbox_event_feed_position (feed_position),
+    INDEX idx_outbox_event_published_at (published_at),
+    INDEX idx_outbox_event_user_position (user_id, feed_position)
+) COMMENT 'Transactional outbox of user and project changes';
+
+CREATE TABLE tb_replication_heartbeat
+(
+    id BIGINT NOT NULL,
+    beat_at BIGINT NOT NULL COMMENT 'epoch millis written on the primary, read back on replicas to measure lag',
+    PRIMARY KEY (id)
+) COMMENT 'Replication heartbeat used to route reads away from lagging replicas';
@@ -0,0 +1,116 @@
+package com.sky.usermanager.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Holds back explicit flushes of compressible responses. The JSON message converters flush once the body is
+ * written, which commits the response before its length is known, and Tomcat then compresses it however small it
+ * is. Without the flush, a body that fits in the response buffer is sent with a {@code Content-Length} and the
+ * {@code server.compression.min-response-size} threshold applies; larger bodies are streamed and compressed as before.
+ * Other content types, such as the change stream, are flushed as usual.
+ */
+public class DeferredFlushFilter extends OncePerRequestFilter {
+
+    private final List<MimeType> compressibleTypes;
+
+    public DeferredFlushFilter(List<String> compressibleTypes) {
+        this.compressibleTypes = compressibleTypes.stream().map(MimeTypeUtils::parseMimeType).toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, new DeferredFlushResponse(response));
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MimeType mimeType = MimeTypeUtils.parseMimeType(contentType);
+        return compressibleTypes.stream().anyMatch(type -> type.isCompatibleWith(mimeType));
+    }
+
+    private class DeferredFlushResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+
+        DeferredFlushResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new DeferredFlushOutputStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (!isDeferred()) {
+                super.flushBuffer();
+            }
+        }
+
+        boolean isDeferred() {
+            return isCompressible(getContentType());
+        }
+    }
+
+    private static class DeferredFlushOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final DeferredFlushResponse response;
+
+        DeferredFlushOutputStream(ServletOutputStream delegate, DeferredFlushResponse response) {
+            this.delegate = delegate;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!response.isDeferred()) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.sky.usermanager.config;
+
+import com.sky.usermanager.compression.DeferredFlushFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<DeferredFlushFilter> deferredFlushFilter(ServerProperties serverProperties) {
+        FilterRegistrationBean<DeferredFlushFilter> registration = new FilterRegistrationBean<>(
+                new DeferredFlushFilter(List.of(serverProperties.getCompression().getMimeTypes())));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
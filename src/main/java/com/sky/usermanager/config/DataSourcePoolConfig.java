@@ -0,0 +1,20 @@
+package com.sky.usermanager.config;
+
+import com.sky.usermanager.datasource.DataSourcePoolProperties;
+import com.sky.usermanager.datasource.HikariPoolCustomizer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@EnableConfigurationProperties(DataSourcePoolProperties.class)
+public class DataSourcePoolConfig {
+
+    @Bean
+    public static HikariPoolCustomizer hikariPoolCustomizer(ObjectProvider<DataSourcePoolProperties> properties,
+                                                            Environment environment) {
+        return new HikariPoolCustomizer(properties, environment);
+    }
+}
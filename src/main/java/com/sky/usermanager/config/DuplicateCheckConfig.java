@@ -0,0 +1,10 @@
+package com.sky.usermanager.config;
+
+import com.sky.usermanager.service.DuplicateCheckProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DuplicateCheckProperties.class)
+public class DuplicateCheckConfig {
+}
@@ -0,0 +1,22 @@
+package com.sky.usermanager.config;
+
+import com.sky.usermanager.emailfilter.EmailBloomFilter;
+import com.sky.usermanager.emailfilter.EmailFilterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@EnableConfigurationProperties(EmailFilterProperties.class)
+public class EmailFilterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "usermanager.email-filter.enabled", havingValue = "true", matchIfMissing = true)
+    public EmailBloomFilter emailBloomFilter(JdbcTemplate jdbcTemplate, EmailFilterProperties properties,
+                                             MeterRegistry registry) {
+        return new EmailBloomFilter(jdbcTemplate, properties, registry);
+    }
+}
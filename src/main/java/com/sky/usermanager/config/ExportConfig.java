@@ -0,0 +1,34 @@
+package com.sky.usermanager.config;
+
+import com.sky.usermanager.export.ExportJob;
+import com.sky.usermanager.export.ExportProperties;
+import com.sky.usermanager.export.ExportService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(ExportProperties.class)
+public class ExportConfig {
+
+    @Bean
+    public ExportService exportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                       ExportProperties properties, MeterRegistry registry) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return new ExportService(jdbcTemplate, readOnlyTransaction, properties, registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "usermanager.export.job.enabled", havingValue = "true")
+    public ExportJob exportJob(ExportService exportService, ExportProperties properties) {
+        return new ExportJob(exportService, properties, Clock.systemUTC());
+    }
+}
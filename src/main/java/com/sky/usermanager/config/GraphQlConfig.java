@@ -0,0 +1,34 @@
+package com.sky.usermanager.config;
+
+import com.sky.usermanager.graphql.GraphQlExceptionResolver;
+import com.sky.usermanager.graphql.GraphQlLimitsProperties;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Limits applied to every GraphQL query before it is executed. Per-resolver timings need no setup here: with the
+ * actuator present, Spring Boot observes each non-trivial data fetcher and batch loader, recorded as the
+ * {@code graphql.datafetcher} and {@code graphql.dataloader} timers.
+ */
+@Configuration
+@EnableConfigurationProperties(GraphQlLimitsProperties.class)
+public class GraphQlConfig {
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(GraphQlLimitsProperties properties) {
+        return new MaxQueryDepthInstrumentation(properties.maxDepth());
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(GraphQlLimitsProperties properties) {
+        return new MaxQueryComplexityInstrumentation(properties.maxComplexity());
+    }
+
+    @Bean
+    public GraphQlExceptionResolver graphQlExceptionResolver() {
+        return new GraphQlExceptionResolver();
+    }
+}
@@ -0,0 +1,44 @@
+package com.sky.usermanager.config;
+
+import com.sky.usermanager.grpc.BasicAuthServerInterceptor;
+import com.sky.usermanager.grpc.GrpcMetricsServerInterceptor;
+import com.sky.usermanager.grpc.GrpcProperties;
+import com.sky.usermanager.grpc.GrpcServerLifecycle;
+import com.sky.usermanager.grpc.UserManagerGrpcService;
+import com.sky.usermanager.security.DatabaseUserDetailsService;
+import com.sky.usermanager.security.UserAccess;
+import com.sky.usermanager.service.ExternalProjectService;
+import com.sky.usermanager.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+@EnableConfigurationProperties(GrpcProperties.class)
+@ConditionalOnProperty(name = "usermanager.grpc.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcConfig {
+
+    @Bean
+    public GrpcServerLifecycle grpcServer(GrpcProperties properties, UserService userService,
+                                          ExternalProjectService externalProjectService, Validator validator,
+                                          DatabaseUserDetailsService userDetailsService,
+                                          PasswordEncoder passwordEncoder,
+                                          UserAccess userAccess, MeterRegistry registry) {
+        // Same users, password encoder and rehash on login as the REST API, without the servlet filter chain
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider(userDetailsService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        authenticationProvider.setUserDetailsPasswordService(userDetailsService);
+
+        return new GrpcServerLifecycle(properties,
+                new UserManagerGrpcService(userService, externalProjectService, validator, userAccess,
+                        properties),
+                new BasicAuthServerInterceptor(new ProviderManager(authenticationProvider)),
+                new GrpcMetricsServerInterceptor(registry, System::nanoTime));
+    }
+}
@@ -0,0 +1,28 @@
+package com.sky.usermanager.config;
+
+import com.sky.usermanager.hotkeys.HotKeyProperties;
+import com.sky.usermanager.hotkeys.HotKeyTracker;
+import com.sky.usermanager.hotkeys.HotKeysEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(HotKeyProperties.class)
+@ConditionalOnProperty(name = "usermanager.hot-keys.enabled", havingValue = "true", matchIfMissing = true)
+public class HotKeyConfig {
+
+    @Bean
+    public HotKeyTracker hotKeyTracker(HotKeyProperties properties, MeterRegistry registry) {
+        return new HotKeyTracker(properties, registry, Clock.systemUTC());
+    }
+
+    @Bean
+    public HotKeysEndpoint hotKeysEndpoint(HotKeyTracker hotKeyTracker) {
+        return new HotKeysEndpoint(hotKeyTracker);
+    }
+}
@@ -0,0 +1,55 @@
+package com.sky.usermanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.idempotency.IdempotencyFilter;
+import com.sky.usermanager.idempotency.IdempotencyProperties;
+import com.sky.usermanager.idempotency.IdempotencyPurgeJob;
+import com.sky.usermanager.idempotency.IdempotencyStore;
+import com.sky.usermanager.idempotency.InMemoryIdempotencyStore;
+import com.sky.usermanager.idempotency.JdbcIdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "usermanager.idempotency.store", havingValue = "jdbc")
+    public IdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcIdempotencyStore(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "usermanager.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore() {
+        return new InMemoryIdempotencyStore();
+    }
+
+    @Bean
+    public IdempotencyPurgeJob idempotencyPurgeJob(IdempotencyStore idempotencyStore) {
+        return new IdempotencyPurgeJob(idempotencyStore, Clock.systemUTC());
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore,
+                                                                      IdempotencyProperties properties,
+                                                                      ObjectMapper objectMapper,
+                                                                      MeterRegistry registry) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, properties, objectMapper, registry, Clock.systemUTC()));
+        registration.addUrlPatterns("/api/users", "/api/users/*");
+        // Must run after Spring Security so that keys are scoped by the authenticated principal, and after the rate
+        // limiter so that throttled requests don't claim keys
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 3);
+        return registration;
+    }
+}
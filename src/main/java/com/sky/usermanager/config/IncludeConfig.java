@@ -0,0 +1,10 @@
+package com.sky.usermanager.config;
+
+import com.sky.usermanager.include.IncludeProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IncludeProperties.class)
+public class IncludeConfig {
+}
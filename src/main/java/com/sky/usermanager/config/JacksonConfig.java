@@ -0,0 +1,18 @@
+package com.sky.usermanager.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces reflective property access with generated lambdas in every serializer and deserializer Jackson
+     * builds; registered on the application ObjectMapper by Spring Boot like any other Module bean.
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,40 @@
+package com.sky.usermanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.loadshed.AdaptiveConcurrencyLimiter;
+import com.sky.usermanager.loadshed.LoadSheddingFilter;
+import com.sky.usermanager.loadshed.LoadSheddingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(LoadSheddingProperties.class)
+@ConditionalOnProperty(name = "usermanager.load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(LoadSheddingProperties properties,
+                                                                 MeterRegistry registry) {
+        return new AdaptiveConcurrencyLimiter(properties, registry, System::nanoTime);
+    }
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(AdaptiveConcurrencyLimiter limiter,
+                                                                         LoadSheddingProperties properties,
+                                                                         ObjectMapper objectMapper,
+                                                                         MeterRegistry registry) {
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(
+                new LoadSheddingFilter(limiter, properties, objectMapper, registry, System::nanoTime));
+        // The user and project endpoints; the change stream holds its connection open and is bounded separately
+        registration.addUrlPatterns("/api/users/*");
+        // After the per-address rate limiter, so a throttled client can't take up the shared queue, and ahead of
+        // Spring Security so shed requests don't cost a BCrypt verification
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+}
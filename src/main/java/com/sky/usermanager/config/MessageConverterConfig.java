@@ -0,0 +1,35 @@
+package com.sky.usermanager.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.sky.usermanager.protobuf.DtoProtobufHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary representations for internal callers, negotiated through {@code Accept}: {@code application/cbor} and
+ * {@code application/x-protobuf}. They are appended after the JSON converter so that JSON stays the default for
+ * clients that accept anything.
+ */
+@Configuration
+public class MessageConverterConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public MessageConverterConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Replaces Spring's default CBOR converter, so CBOR is written with the same modules and settings as JSON
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build()));
+        converters.add(new DtoProtobufHttpMessageConverter());
+    }
+}
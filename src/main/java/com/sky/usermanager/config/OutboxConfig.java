@@ -0,0 +1,22 @@
+package com.sky.usermanager.config;
+
+import com.sky.usermanager.outbox.LoggingOutboxEventSink;
+import com.sky.usermanager.outbox.OutboxEventSink;
+import com.sky.usermanager.outbox.OutboxProperties;
+import com.sky.usermanager.stream.ChangeStreamProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({OutboxProperties.class, ChangeStreamProperties.class})
+public class OutboxConfig {
+
+    // Replace by declaring another OutboxEventSink bean (e.g. a Kafka or SNS publisher)
+    @Bean
+    @ConditionalOnMissingBean(OutboxEventSink.class)
+    public OutboxEventSink loggingOutboxEventSink() {
+        return new LoggingOutboxEventSink();
+    }
+}
@@ -0,0 +1,35 @@
+package com.sky.usermanager.config;
+
+import com.sky.usermanager.query.QueryBudgetFilter;
+import com.sky.usermanager.query.QueryBudgetProperties;
+import com.sky.usermanager.query.QueryCountingDataSourcePostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+@ConditionalOnProperty(name = "usermanager.query-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetConfig {
+
+    @Bean
+    public static QueryCountingDataSourcePostProcessor queryCountingDataSourcePostProcessor() {
+        return new QueryCountingDataSourcePostProcessor();
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(QueryBudgetProperties properties,
+                                                                       MeterRegistry registry) {
+        FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(
+                new QueryBudgetFilter(properties, registry));
+        registration.addUrlPatterns("/api/*", "/graphql");
+        // After Spring Security, so the credential lookup and rehash of a login don't count towards the endpoint's
+        // budget, and ahead of the idempotency filter, whose statements do
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,51 @@
+package com.sky.usermanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.ratelimit.AddressRateLimitFilter;
+import com.sky.usermanager.ratelimit.ClientRateLimiter;
+import com.sky.usermanager.ratelimit.RateLimitFilter;
+import com.sky.usermanager.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "usermanager.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public ClientRateLimiter clientRateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        return new ClientRateLimiter(properties, registry, System::nanoTime);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "usermanager.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AddressRateLimitFilter> addressRateLimitFilter(ClientRateLimiter clientRateLimiter,
+                                                                                 ObjectMapper objectMapper,
+                                                                                 MeterRegistry registry) {
+        FilterRegistrationBean<AddressRateLimitFilter> registration = new FilterRegistrationBean<>(
+                new AddressRateLimitFilter(clientRateLimiter, objectMapper, registry));
+        registration.addUrlPatterns("/api/*");
+        // Ahead of Spring Security, so throttled requests are rejected before their credentials are hashed
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 3);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "usermanager.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(ClientRateLimiter clientRateLimiter,
+                                                                   ObjectMapper objectMapper,
+                                                                   MeterRegistry registry) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(clientRateLimiter, objectMapper, registry));
+        registration.addUrlPatterns("/api/*");
+        // After Spring Security, so buckets are keyed by the verified principal rather than a claimed username
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sky.usermanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.repository.UserRepository;
+import com.sky.usermanager.search.EmailPrefixIndex;
+import com.sky.usermanager.search.UserSearchProperties;
+import com.sky.usermanager.service.ChangeFeedService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(UserSearchProperties.class)
+public class SearchConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "usermanager.search.email-index-enabled", havingValue = "true")
+    public EmailPrefixIndex emailPrefixIndex(UserRepository userRepository, ChangeFeedService changeFeedService,
+                                             ObjectMapper objectMapper, MeterRegistry registry) {
+        return new EmailPrefixIndex(userRepository, changeFeedService, objectMapper, registry);
+    }
+}
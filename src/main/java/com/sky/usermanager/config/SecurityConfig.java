@@ -1,26 +1,43 @@
 package com.sky.usermanager.config;
 
+import com.sky.usermanager.password.PasswordEncoders;
+import com.sky.usermanager.password.PasswordHashCalibrator;
+import com.sky.usermanager.password.PasswordHashProfile;
+import com.sky.usermanager.password.PasswordHashingProperties;
+import com.sky.usermanager.ratelimit.ConcurrencyLimitedPasswordEncoder;
+import com.sky.usermanager.ratelimit.RateLimitProperties;
+import com.sky.usermanager.security.UserAccess;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
 @EnableMethodSecurity
+@EnableConfigurationProperties({RateLimitProperties.class, PasswordHashingProperties.class})
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(RateLimitProperties rateLimitProperties,
+                                           PasswordHashingProperties passwordHashingProperties, MeterRegistry registry) {
+        PasswordHashCalibrator calibrator = new PasswordHashCalibrator();
+        PasswordHashProfile profile = passwordHashingProperties.cost() != null
+                ? calibrator.measure(passwordHashingProperties.algorithm(), passwordHashingProperties.cost())
+                : calibrator.calibrate(passwordHashingProperties.algorithm(), passwordHashingProperties.latencyBudget());
+        return new ConcurrencyLimitedPasswordEncoder(PasswordEncoders.create(profile, registry),
+                rateLimitProperties.resolvedHashingConcurrency(), rateLimitProperties.hashingMaxWait(), registry);
+    }
+
+    // Referenced by name in @PreAuthorize expressions
+    @Bean
+    public UserAccess userAccess() {
+        return new UserAccess();
     }
 
     @Bean
@@ -32,6 +49,8 @@ public class SecurityConfig {
                 .httpBasic(Customizer.withDefaults())
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Heavy hitters name users and clients
+                        .requestMatchers("/actuator/hotkeys/**").hasRole("ADMIN")
                         // Allow health checks and actuator endpoints
                         .requestMatchers("/actuator/**").permitAll()
 
@@ -44,30 +63,11 @@ public class SecurityConfig {
                         ).permitAll()
 
                         // Secure application API
-                        .requestMatchers("/api/users/**").authenticated()
+                        .requestMatchers("/api/users/**", "/api/changes/**", "/api/export/**", "/graphql").authenticated()
                         .anyRequest().permitAll()
                 )
         ;
 
         return http.build();
     }
-
-    @Bean
-    public UserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
-        // Creates two users with different roles for demo purposes only
-
-        UserDetails admin = User.builder()
-                .username("admin")
-                .password(passwordEncoder.encode("admin123"))
-                .roles("ADMIN")
-                .build();
-
-        UserDetails user = User.builder()
-                .username("user")
-                .password(passwordEncoder.encode("user123"))
-                .roles("USER")
-                .build();
-
-        return new InMemoryUserDetailsManager(admin, user);
-    }
 }
@@ -0,0 +1,21 @@
+package com.sky.usermanager.config;
+
+import com.sky.usermanager.singleflight.SingleFlight;
+import com.sky.usermanager.singleflight.SingleFlightAspect;
+import com.sky.usermanager.singleflight.SingleFlightProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SingleFlightProperties.class)
+@ConditionalOnProperty(name = "usermanager.single-flight.enabled", havingValue = "true", matchIfMissing = true)
+public class SingleFlightConfig {
+
+    @Bean
+    public SingleFlightAspect singleFlightAspect(SingleFlightProperties properties, MeterRegistry registry) {
+        return new SingleFlightAspect(new SingleFlight(properties.timeout(), registry));
+    }
+}
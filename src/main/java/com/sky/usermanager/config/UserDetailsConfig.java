@@ -0,0 +1,46 @@
+package com.sky.usermanager.config;
+
+import com.sky.usermanager.repository.UserRepository;
+import com.sky.usermanager.security.DatabaseUserDetailsService;
+import com.sky.usermanager.security.PrincipalCache;
+import com.sky.usermanager.security.PrincipalCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+@Configuration
+@EnableConfigurationProperties(PrincipalCacheProperties.class)
+public class UserDetailsConfig {
+
+    @Bean
+    public PrincipalCache principalCache(PrincipalCacheProperties properties, MeterRegistry registry) {
+        return new PrincipalCache(properties, registry, System::nanoTime);
+    }
+
+    // Also the UserDetailsPasswordService that stores the rehash of an outdated hash after a successful login
+    @Bean
+    public DatabaseUserDetailsService userDetailsService(PasswordEncoder passwordEncoder, UserRepository userRepository,
+                                                         PrincipalCache principalCache) {
+        // Creates two users with different roles for demo purposes only
+
+        UserDetails admin = User.builder()
+                .username("admin")
+                .password(passwordEncoder.encode("admin123"))
+                .roles("ADMIN")
+                .build();
+
+        UserDetails user = User.builder()
+                .username("user")
+                .password(passwordEncoder.encode("user123"))
+                .roles("USER")
+                .build();
+
+        return new DatabaseUserDetailsService(new InMemoryUserDetailsManager(admin, user), userRepository,
+                principalCache);
+    }
+}
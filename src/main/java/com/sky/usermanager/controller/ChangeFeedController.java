@@ -0,0 +1,83 @@
+package com.sky.usermanager.controller;
+
+import com.sky.usermanager.controller.dto.ChangeFeedResponseDTO;
+import com.sky.usermanager.outbox.OutboxProperties;
+import com.sky.usermanager.service.ChangeFeedService;
+import com.sky.usermanager.stream.ChangeEventBroadcaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedController.class);
+
+    private final ChangeFeedService changeFeedService;
+    private final ChangeEventBroadcaster changeEventBroadcaster;
+    private final OutboxProperties outboxProperties;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService, ChangeEventBroadcaster changeEventBroadcaster,
+                                OutboxProperties outboxProperties) {
+        this.changeFeedService = changeFeedService;
+        this.changeEventBroadcaster = changeEventBroadcaster;
+        this.outboxProperties = outboxProperties;
+    }
+
+    /**
+     * Returns user and project changes after the {@code since} position. With {@code waitSeconds} greater than
+     * zero the call is a long-poll: when there are no changes yet, the response is held until the next batch is
+     * published or the wait expires.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public DeferredResult<ResponseEntity<ChangeFeedResponseDTO>> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0") long waitSeconds) {
+        if (since < 0 || limit < 1 || waitSeconds < 0) {
+            throw new IllegalArgumentException("since and waitSeconds must not be negative and limit must be positive");
+        }
+        int effectiveLimit = Math.min(limit, outboxProperties.feedMaxLimit());
+        log.info("Received request for changes [since={}, limit={}, waitSeconds={}]", since, effectiveLimit, waitSeconds);
+
+        if (waitSeconds == 0) {
+            DeferredResult<ResponseEntity<ChangeFeedResponseDTO>> result = new DeferredResult<>();
+            result.setResult(ResponseEntity.ok(
+                    ChangeFeedResponseDTO.from(changeFeedService.getChanges(since, effectiveLimit), since)));
+            return result;
+        }
+
+        Duration wait = Duration.ofSeconds(waitSeconds);
+        if (wait.compareTo(outboxProperties.feedMaxWait()) > 0) {
+            wait = outboxProperties.feedMaxWait();
+        }
+        DeferredResult<ResponseEntity<ChangeFeedResponseDTO>> result = new DeferredResult<>(wait.toMillis(),
+                () -> ResponseEntity.ok(ChangeFeedResponseDTO.from(List.of(), since)));
+        changeFeedService.pollChanges(since, effectiveLimit)
+                .thenAccept(changes -> result.setResult(ResponseEntity.ok(ChangeFeedResponseDTO.from(changes, since))));
+        return result;
+    }
+
+    /**
+     * Pushes changes as Server-Sent Events as soon as they are published. Without {@code userId} the stream
+     * carries every change and is restricted to admins. Reconnecting clients send {@code Last-Event-ID} to
+     * receive the changes they missed.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or #userId != null")
+    public SseEmitter streamChanges(@RequestParam(required = false) Long userId,
+                                    @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        log.info("Received request to stream changes [userId={}, lastEventId={}]", userId, lastEventId);
+        return changeEventBroadcaster.subscribe(userId, lastEventId).getEmitter();
+    }
+}
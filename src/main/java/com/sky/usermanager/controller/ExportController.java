@@ -0,0 +1,72 @@
+package com.sky.usermanager.controller;
+
+import com.sky.usermanager.export.ExportCursor;
+import com.sky.usermanager.export.ExportDataset;
+import com.sky.usermanager.export.ExportFormat;
+import com.sky.usermanager.export.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportController.class);
+    private static final String APPLICATION_GZIP = "application/gzip";
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Streams every row of {@code users} or {@code projects} as NDJSON or CSV, optionally gzipped, or as a
+     * Parquet file. Rows come in primary key order, so a client whose download broke off resumes with the key of the
+     * last complete row it received: {@code afterId} for users, {@code afterProjectId} and {@code afterId} (its user
+     * id) for projects. Resumed exports have no CSV header; a resumed Parquet export is a separate file.
+     */
+    @GetMapping("/{dataset}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void export(@PathVariable String dataset,
+                       @RequestParam(defaultValue = "ndjson") String format,
+                       @RequestParam(defaultValue = "false") boolean gzip,
+                       @RequestParam(required = false) Long afterId,
+                       @RequestParam(required = false) String afterProjectId,
+                       HttpServletResponse response) throws IOException {
+        ExportDataset exportDataset = ExportDataset.fromName(dataset);
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        ExportCursor after = cursor(exportDataset, afterId, afterProjectId);
+        if (gzip && !exportFormat.streamable()) {
+            throw new IllegalArgumentException("The " + exportFormat.extension() + " format cannot be gzipped");
+        }
+        log.info("Received request to export [dataset={}, format={}, gzip={}, after={}]",
+                exportDataset.externalName(), exportFormat.extension(), gzip, after);
+
+        String fileName = exportDataset.externalName() + "." + exportFormat.extension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? APPLICATION_GZIP : exportFormat.mediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+        exportService.export(exportDataset, exportFormat, gzip, after, response.getOutputStream());
+    }
+
+    private static ExportCursor cursor(ExportDataset dataset, Long afterId, String afterProjectId) {
+        if (dataset == ExportDataset.USERS) {
+            if (afterProjectId != null) {
+                throw new IllegalArgumentException("afterProjectId only applies to the projects export");
+            }
+            return afterId == null ? null : ExportCursor.afterUser(afterId);
+        }
+        if ((afterId == null) != (afterProjectId == null)) {
+            throw new IllegalArgumentException("afterProjectId and afterId must be given together");
+        }
+        return afterId == null ? null : ExportCursor.afterProject(afterProjectId, afterId);
+    }
+}
@@ -1,12 +1,24 @@
 package com.sky.usermanager.controller;
 
+import com.sky.usermanager.controller.dto.SparseResponseDTO;
 import com.sky.usermanager.controller.dto.UserDTO;
 import com.sky.usermanager.controller.dto.UserResponseDTO;
+import com.sky.usermanager.controller.dto.UserSearchResponseDTO;
+import com.sky.usermanager.controller.dto.UserWithProjectsResponseDTO;
+import com.sky.usermanager.controller.dto.UserWithProjectsSearchResponseDTO;
+import com.sky.usermanager.hotkeys.HotKeyTracker;
+import com.sky.usermanager.include.Include;
+import com.sky.usermanager.include.IncludeProperties;
+import com.sky.usermanager.model.SelectableField;
 import com.sky.usermanager.model.User;
+import com.sky.usermanager.model.UserField;
+import com.sky.usermanager.search.UserSearchResult;
+import com.sky.usermanager.service.UserSearchService;
 import com.sky.usermanager.service.UserService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +26,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/users")
@@ -22,9 +35,16 @@ public class UserController {
     private static final Logger log = LoggerFactory.getLogger(UserController.class);
 
     private final UserService userService;
+    private final UserSearchService userSearchService;
+    private final IncludeProperties includeProperties;
+    private final HotKeyTracker hotKeyTracker;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserSearchService userSearchService,
+                          IncludeProperties includeProperties, ObjectProvider<HotKeyTracker> hotKeyTracker) {
         this.userService = userService;
+        this.userSearchService = userSearchService;
+        this.includeProperties = includeProperties;
+        this.hotKeyTracker = hotKeyTracker.getIfAvailable();
     }
 
     @GetMapping
@@ -36,6 +56,56 @@ public class UserController {
         return ResponseEntity.ok(userResponseDTOList);
     }
 
+    /**
+     * {@code ?fields=id,email} variant of the listing: only the selected columns are read and written.
+     */
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<SparseResponseDTO>> getUsersFields(@RequestParam String fields) {
+        Set<UserField> selected = SelectableField.parse(UserField.class, fields);
+        log.info("Received request to list users [fields={}]", selected);
+        List<SparseResponseDTO> users = userService.getUsersFields(selected).stream().map(SparseResponseDTO::from)
+                .toList();
+        log.info("Returning {} users", users.size());
+        return ResponseEntity.ok(users);
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserSearchResponseDTO> searchUsers(@RequestParam(required = false) String emailPrefix,
+                                                             @RequestParam(required = false) String name,
+                                                             @RequestParam(required = false) String after,
+                                                             @RequestParam(required = false) Integer limit) {
+        log.info("Received request to search users [emailPrefix={}, name={}, after={}, limit={}]",
+                emailPrefix, name, after, limit);
+        UserSearchResponseDTO response = UserSearchResponseDTO.from(
+                userSearchService.searchUsers(emailPrefix, name, after, limit));
+        log.info("Returning {} users from search", response.users().size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * {@code ?include=projects} variant of the search: the first projects of every user of the page are read in
+     * one statement, so a page costs two statements however many users and projects it holds.
+     */
+    @GetMapping(path = "/search", params = "include")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserWithProjectsSearchResponseDTO> searchUsersWithIncludes(
+            @RequestParam(required = false) String emailPrefix,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam String include) {
+        requireProjects(include);
+        log.info("Received request to search users with projects [emailPrefix={}, name={}, after={}, limit={}]",
+                emailPrefix, name, after, limit);
+        UserSearchResult result = userSearchService.searchUsers(emailPrefix, name, after, limit);
+        List<UserWithProjectsResponseDTO> users = userService
+                .getUsersWithProjects(result.users(), includeProperties.maxProjects());
+        log.info("Returning {} users with projects from search", users.size());
+        return ResponseEntity.ok(new UserWithProjectsSearchResponseDTO(users, result.nextCursor()));
+    }
+
     @PostMapping
     public ResponseEntity<UserResponseDTO> createUser(@Valid @RequestBody UserDTO user, UriComponentsBuilder uriBuilder) {
         log.info("Received request to create user [email={}]", user.email());
@@ -57,13 +127,40 @@ public class UserController {
     @GetMapping("/{id}")
     public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id) {
         log.info("Received request to get user by ID [userId={}]", id);
-        User user = userService.getUserById(id);
-        UserResponseDTO userResponseDTO = UserResponseDTO.from(user);
-        log.info("Returning user [userId={}]", user.getId());
+        UserResponseDTO userResponseDTO = userService.getUserResponseById(id);
+        recordRead(id);
+        log.info("Returning user [userId={}]", userResponseDTO.id());
         return ResponseEntity.ok(userResponseDTO);
     }
 
+    @GetMapping(path = "/{id}", params = {"fields", "!include"})
+    public ResponseEntity<SparseResponseDTO> getUserFieldsById(@PathVariable Long id, @RequestParam String fields) {
+        Set<UserField> selected = SelectableField.parse(UserField.class, fields);
+        log.info("Received request to get user by ID [userId={}, fields={}]", id, selected);
+        SparseResponseDTO user = SparseResponseDTO.from(userService.getUserFieldsById(id, selected));
+        recordRead(id);
+        log.info("Returning user [userId={}]", id);
+        return ResponseEntity.ok(user);
+    }
+
+    /**
+     * {@code ?include=projects} variant of {@link #getUserById(Long)}: the user, then at most
+     * {@code usermanager.include.max-projects} of their projects and their count, in two statements.
+     */
+    @GetMapping(path = "/{id}", params = "include")
+    public ResponseEntity<UserWithProjectsResponseDTO> getUserByIdWithIncludes(@PathVariable Long id,
+                                                                               @RequestParam String include) {
+        requireProjects(include);
+        log.info("Received request to get user by ID with projects [userId={}]", id);
+        UserWithProjectsResponseDTO response = userService.getUserWithProjectsById(id, includeProperties.maxProjects());
+        recordRead(id);
+        log.info("Returning user with {} of {} projects [userId={}]", response.projects().size(),
+                response.projectCount(), response.id());
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
+    @PreAuthorize("@userAccess.isAdminOrSelf(authentication, #id)")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
         log.info("Received request to delete user [userId={}]", id);
         userService.deleteUserById(id);
@@ -72,6 +169,7 @@ public class UserController {
     }
 
     @PutMapping("/{id}")
+    @PreAuthorize("@userAccess.isAdminOrSelf(authentication, #id)")
     public ResponseEntity<UserResponseDTO> updateUser(
             @PathVariable Long id,
             @RequestBody UserDTO userDTO) {
@@ -81,4 +179,17 @@ public class UserController {
         log.info("User updated successfully [userId={}, email={}]", user.getId(), user.getEmail());
         return ResponseEntity.ok(userResponseDTO);
     }
+
+    private static void requireProjects(String include) {
+        if (!Include.parse(include).contains(Include.PROJECTS)) {
+            throw new IllegalArgumentException("include must name projects");
+        }
+    }
+
+    // Recorded once the lookup has succeeded, so that only existing ids can become metric labels
+    private void recordRead(Long id) {
+        if (hotKeyTracker != null) {
+            hotKeyTracker.recordUserRead(id);
+        }
+    }
 }
@@ -1,18 +1,25 @@
 package com.sky.usermanager.controller;
 
+import com.sky.usermanager.controller.dto.SparseResponseDTO;
 import com.sky.usermanager.controller.dto.UserExternalProjectDTO;
 import com.sky.usermanager.controller.dto.UserExternalProjectResponseDTO;
+import com.sky.usermanager.hotkeys.HotKeyTracker;
+import com.sky.usermanager.model.ProjectField;
+import com.sky.usermanager.model.SelectableField;
 import com.sky.usermanager.model.UserExternalProject;
 import com.sky.usermanager.service.ExternalProjectService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/users/{userId}/projects")
@@ -21,22 +28,41 @@ public class UserExternalProjectController {
     private static final Logger log = LoggerFactory.getLogger(UserExternalProjectController.class);
 
     private final ExternalProjectService externalProjectService;
+    private final HotKeyTracker hotKeyTracker;
 
-    public UserExternalProjectController(ExternalProjectService externalProjectService) {
+    public UserExternalProjectController(ExternalProjectService externalProjectService,
+                                         ObjectProvider<HotKeyTracker> hotKeyTracker) {
         this.externalProjectService = externalProjectService;
+        this.hotKeyTracker = hotKeyTracker.getIfAvailable();
     }
 
     @GetMapping("/{projectId}")
     public ResponseEntity<UserExternalProjectResponseDTO> getUserProjectById(@PathVariable Long userId,
                                                                              @PathVariable String projectId) {
         log.info("Received request to get external project [userId={}, projectId={}]", userId, projectId);
-        UserExternalProject project = externalProjectService.getUserProjectById(userId, projectId);
-        log.info("Returning project [userId={}, projectId={}, name={}]", userId, project.getId(), project.getName());
+        UserExternalProjectResponseDTO project = externalProjectService.getUserProjectResponseById(userId, projectId);
+        recordProjectRead(userId, projectId);
+        log.info("Returning project [userId={}, projectId={}, name={}]", userId, project.id(), project.projectName());
 
-        return ResponseEntity.ok(UserExternalProjectResponseDTO.from(project));
+        return ResponseEntity.ok(project);
+    }
+
+    @GetMapping(path = "/{projectId}", params = "fields")
+    public ResponseEntity<SparseResponseDTO> getUserProjectFieldsById(@PathVariable Long userId,
+                                                                      @PathVariable String projectId,
+                                                                      @RequestParam String fields) {
+        Set<ProjectField> selected = SelectableField.parse(ProjectField.class, fields);
+        log.info("Received request to get external project [userId={}, projectId={}, fields={}]",
+                userId, projectId, selected);
+        SparseResponseDTO project = SparseResponseDTO.from(
+                externalProjectService.getUserProjectFieldsById(userId, projectId, selected));
+        recordProjectRead(userId, projectId);
+        log.info("Returning project [userId={}, projectId={}]", userId, projectId);
+        return ResponseEntity.ok(project);
     }
 
     @PostMapping
+    @PreAuthorize("@userAccess.isAdminOrSelf(authentication, #userId)")
     public ResponseEntity<UserExternalProjectResponseDTO> addExternalProject(
             @PathVariable Long userId,
             @Valid @RequestBody UserExternalProjectDTO projectDTO, UriComponentsBuilder uriBuilder) {
@@ -58,16 +84,39 @@ public class UserExternalProjectController {
     @GetMapping
     public ResponseEntity<List<UserExternalProjectResponseDTO>> getUserProjects(@PathVariable Long userId) {
         log.info("Received request to list external projects [userId={}]", userId);
+        List<UserExternalProjectResponseDTO> projectDtos = externalProjectService.getUserProjectResponses(userId);
+        recordUserRead(userId);
+
+        log.info("Returning {} external projects for user [userId={}]", projectDtos.size(), userId);
 
-        List<UserExternalProject> projects = externalProjectService.getUserProjects(userId);
+        return ResponseEntity.ok(projectDtos);
+    }
 
-        List<UserExternalProjectResponseDTO> projectDtos = projects.stream()
-                .map(UserExternalProjectResponseDTO::from)
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<SparseResponseDTO>> getUserProjectsFields(@PathVariable Long userId,
+                                                                         @RequestParam String fields) {
+        Set<ProjectField> selected = SelectableField.parse(ProjectField.class, fields);
+        log.info("Received request to list external projects [userId={}, fields={}]", userId, selected);
+        List<SparseResponseDTO> projects = externalProjectService.getUserProjectFields(userId, selected).stream()
+                .map(SparseResponseDTO::from)
                 .toList();
+        recordUserRead(userId);
 
-        log.info("Returning {} external projects for user [userId={}]", projectDtos.size(), userId);
+        log.info("Returning {} external projects for user [userId={}]", projects.size(), userId);
 
-        return ResponseEntity.ok(projectDtos);
+        return ResponseEntity.ok(projects);
     }
 
+    // Recorded once the lookup has succeeded, so that only existing ids can become metric labels
+    private void recordUserRead(Long userId) {
+        if (hotKeyTracker != null) {
+            hotKeyTracker.recordUserRead(userId);
+        }
+    }
+
+    private void recordProjectRead(Long userId, String projectId) {
+        if (hotKeyTracker != null) {
+            hotKeyTracker.recordProjectRead(userId, projectId);
+        }
+    }
 }
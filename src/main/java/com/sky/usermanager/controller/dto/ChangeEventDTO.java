@@ -0,0 +1,23 @@
+package com.sky.usermanager.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.sky.usermanager.model.ChangeEventType;
+import com.sky.usermanager.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+public record ChangeEventDTO(long position, Long userId, String aggregateType, String aggregateId, ChangeEventType type,
+                             @JsonRawValue String payload, LocalDateTime createdAt) {
+
+    public static ChangeEventDTO from(OutboxEvent event) {
+        return new ChangeEventDTO(
+                event.getFeedPosition(),
+                event.getUserId(),
+                event.getAggregateType(),
+                event.getAggregateId(),
+                event.getEventType(),
+                event.getPayload(),
+                event.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.sky.usermanager.controller.dto;
+
+import com.sky.usermanager.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * @param events    changes after the requested position, in feed order
+ * @param nextSince position to pass as {@code since} on the next call
+ */
+public record ChangeFeedResponseDTO(List<ChangeEventDTO> events, long nextSince) {
+
+    public static ChangeFeedResponseDTO from(List<OutboxEvent> events, long since) {
+        List<ChangeEventDTO> changes = events.stream().map(ChangeEventDTO::from).toList();
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).position();
+        return new ChangeFeedResponseDTO(changes, nextSince);
+    }
+}
@@ -0,0 +1,17 @@
+package com.sky.usermanager.controller.dto;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+public record ErrorResponseDTO(Instant timestamp, int status, String error, String message) {
+
+    public static ErrorResponseDTO of(HttpStatus status, String error, String message) {
+        return of(Instant.now(), status, error, message);
+    }
+
+    public static ErrorResponseDTO of(Instant timestamp, HttpStatus status, String error, String message) {
+        return new ErrorResponseDTO(timestamp.truncatedTo(ChronoUnit.MILLIS), status.value(), error, message);
+    }
+}
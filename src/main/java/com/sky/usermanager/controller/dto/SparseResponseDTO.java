@@ -0,0 +1,19 @@
+package com.sky.usermanager.controller.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sky.usermanager.model.SelectableField;
+import com.sky.usermanager.model.SparseRow;
+
+import java.util.List;
+
+/**
+ * A user or project holding only the fields selected with {@code ?fields=}; it serializes to an object with exactly
+ * those fields, in {@code names} order.
+ */
+@JsonSerialize(using = SparseResponseDTOSerializer.class)
+public record SparseResponseDTO(List<String> names, List<Object> values) {
+
+    public static SparseResponseDTO from(SparseRow<?> row) {
+        return new SparseResponseDTO(row.fields().stream().map(SelectableField::jsonName).toList(), row.values());
+    }
+}
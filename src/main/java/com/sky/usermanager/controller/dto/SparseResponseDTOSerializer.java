@@ -0,0 +1,39 @@
+package com.sky.usermanager.controller.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a {@link SparseResponseDTO} as an object with one field per selected name. Values are the column types of
+ * the selectable fields, numbers or strings, so no type lookup is needed per value.
+ */
+public class SparseResponseDTOSerializer extends StdSerializer<SparseResponseDTO> {
+
+    public SparseResponseDTOSerializer() {
+        super(SparseResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(SparseResponseDTO response, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        List<String> names = response.names();
+        List<Object> values = response.values();
+        generator.writeStartObject(response);
+        for (int i = 0; i < names.size(); i++) {
+            generator.writeFieldName(names.get(i));
+            Object value = values.get(i);
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Long number) {
+                generator.writeNumber(number);
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+    }
+}
@@ -1,5 +1,6 @@
 package com.sky.usermanager.controller.dto;
 
+import com.sky.usermanager.model.ProjectPreview;
 import com.sky.usermanager.model.UserExternalProject;
 
 public record UserExternalProjectResponseDTO(String id, Long userId, String projectName) {
@@ -11,4 +12,8 @@ public record UserExternalProjectResponseDTO(String id, Long userId, String proj
                 externalProject.getName()
         );
     }
+
+    public static UserExternalProjectResponseDTO from(ProjectPreview project) {
+        return new UserExternalProjectResponseDTO(project.id(), project.userId(), project.name());
+    }
 }
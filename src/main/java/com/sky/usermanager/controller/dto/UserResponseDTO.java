@@ -1,7 +1,10 @@
 package com.sky.usermanager.controller.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.sky.usermanager.model.User;
+import com.sky.usermanager.model.UserSummary;
 
+@JsonSerialize(using = UserResponseDTOSerializer.class)
 public record UserResponseDTO(Long id, String email, String name) {
 
     public static UserResponseDTO from(User user) {
@@ -11,4 +14,8 @@ public record UserResponseDTO(Long id, String email, String name) {
                 user.getName()
         );
     }
+
+    public static UserResponseDTO from(UserSummary user) {
+        return new UserResponseDTO(user.id(), user.email(), user.name());
+    }
 }
@@ -0,0 +1,41 @@
+package com.sky.usermanager.controller.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link UserResponseDTO}, the element of the user listings, field by field with pre-encoded names, so the
+ * hottest response path neither introspects the record nor escapes property names per element.
+ */
+public class UserResponseDTOSerializer extends StdSerializer<UserResponseDTO> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString NAME = new SerializedString("name");
+
+    public UserResponseDTOSerializer() {
+        super(UserResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(UserResponseDTO user, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(user);
+        generator.writeFieldName(ID);
+        if (user.id() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(user.id());
+        }
+        generator.writeFieldName(EMAIL);
+        generator.writeString(user.email());
+        generator.writeFieldName(NAME);
+        generator.writeString(user.name());
+        generator.writeEndObject();
+    }
+}
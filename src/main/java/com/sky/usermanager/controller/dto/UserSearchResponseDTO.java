@@ -0,0 +1,15 @@
+package com.sky.usermanager.controller.dto;
+
+import com.sky.usermanager.search.UserSearchResult;
+
+import java.util.List;
+
+public record UserSearchResponseDTO(List<UserResponseDTO> users, String nextCursor) {
+
+    public static UserSearchResponseDTO from(UserSearchResult result) {
+        return new UserSearchResponseDTO(
+                result.users().stream().map(UserResponseDTO::from).toList(),
+                result.nextCursor()
+        );
+    }
+}
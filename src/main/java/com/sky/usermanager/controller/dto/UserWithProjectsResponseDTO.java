@@ -0,0 +1,24 @@
+package com.sky.usermanager.controller.dto;
+
+import com.sky.usermanager.model.ProjectPreview;
+import com.sky.usermanager.model.UserSummary;
+
+import java.util.List;
+
+/**
+ * A user with their first projects embedded, in project id order; {@code projectCount} is the number of projects
+ * before the cap.
+ */
+public record UserWithProjectsResponseDTO(Long id, String email, String name,
+                                          List<UserExternalProjectResponseDTO> projects, int projectCount) {
+
+    public static UserWithProjectsResponseDTO from(UserSummary user, List<ProjectPreview> projects) {
+        return new UserWithProjectsResponseDTO(
+                user.id(),
+                user.email(),
+                user.name(),
+                projects.stream().map(UserExternalProjectResponseDTO::from).toList(),
+                projects.isEmpty() ? 0 : Math.toIntExact(projects.get(0).projectCount())
+        );
+    }
+}
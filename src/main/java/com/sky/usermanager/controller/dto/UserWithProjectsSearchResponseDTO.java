@@ -0,0 +1,5 @@
+package com.sky.usermanager.controller.dto;
+
+import java.util.List;
+
+public record UserWithProjectsSearchResponseDTO(List<UserWithProjectsResponseDTO> users, String nextCursor) {}
@@ -0,0 +1,94 @@
+package com.sky.usermanager.datasource;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Settings applied to every Hikari pool of the application (the primary and, when enabled, the read replica).
+ *
+ * @param maximumPoolSize        connections per pool; MySQL throughput peaks at a small multiple of its CPU cores, so
+ *                               grow this only together with the database and keep {@code instances * size} below
+ *                               {@code max_connections}
+ * @param minimumIdle            idle connections kept open; equal to {@code maximumPoolSize} gives a fixed-size pool
+ * @param connectionTimeout      how long a request waits for a free connection before failing with 503; kept short so
+ *                               an exhausted pool surfaces as errors instead of latency
+ * @param validationTimeout      how long a connection liveness check may take
+ * @param idleTimeout            idle time after which connections above {@code minimumIdle} are closed
+ * @param maxLifetime            connections are recycled after this; must stay below MySQL's {@code wait_timeout}
+ * @param keepaliveTime          how often idle connections are pinged to keep them from being dropped by the network
+ * @param leakDetectionThreshold time a connection may be held before a leak warning with the borrower's stack trace
+ *                               is logged, {@code 0} disables it; Hikari ignores values below 2s
+ * @param mysql                  MySQL Connector/J driver settings, only applied to {@code jdbc:mysql:} urls
+ */
+@Validated
+@ConfigurationProperties(prefix = "usermanager.datasource.pool")
+public record DataSourcePoolProperties(
+        @DefaultValue("10") @Min(1) int maximumPoolSize,
+        @DefaultValue("10") @Min(0) int minimumIdle,
+        @DefaultValue("3s") @NotNull Duration connectionTimeout,
+        @DefaultValue("1s") @NotNull Duration validationTimeout,
+        @DefaultValue("10m") @NotNull Duration idleTimeout,
+        @DefaultValue("30m") @NotNull Duration maxLifetime,
+        @DefaultValue("5m") @NotNull Duration keepaliveTime,
+        @DefaultValue("20s") @NotNull Duration leakDetectionThreshold,
+        @DefaultValue @Valid MySql mysql
+) {
+
+    /**
+     * @param cachePreparedStatements        cache prepared statements per connection
+     * @param preparedStatementCacheSize     statements cached per connection
+     * @param preparedStatementCacheSqlLimit longest SQL text that is cached
+     * @param serverPreparedStatements       use server-side prepared statements, parsed once by MySQL
+     * @param rewriteBatchedStatements       send JDBC batches as multi-row statements instead of one round trip per row
+     * @param useCursorFetch                 read result sets of statements that set a fetch size through a server-side
+     *                                       cursor, a batch at a time, instead of buffering them whole in memory
+     */
+    public record MySql(
+            @DefaultValue("true") boolean cachePreparedStatements,
+            @DefaultValue("250") @Min(0) int preparedStatementCacheSize,
+            @DefaultValue("2048") @Min(0) int preparedStatementCacheSqlLimit,
+            @DefaultValue("true") boolean serverPreparedStatements,
+            @DefaultValue("true") boolean rewriteBatchedStatements,
+            @DefaultValue("true") boolean useCursorFetch
+    ) {}
+
+    @AssertTrue(message = "minimum-idle must not be greater than maximum-pool-size")
+    public boolean isMinimumIdleWithinPoolSize() {
+        return minimumIdle <= maximumPoolSize;
+    }
+
+    @AssertTrue(message = "connection-timeout must be at least 250ms")
+    public boolean isConnectionTimeoutValid() {
+        return connectionTimeout == null || connectionTimeout.toMillis() >= 250;
+    }
+
+    @AssertTrue(message = "validation-timeout must be at least 250ms and below connection-timeout")
+    public boolean isValidationTimeoutValid() {
+        return validationTimeout == null || connectionTimeout == null
+                || (validationTimeout.toMillis() >= 250 && validationTimeout.compareTo(connectionTimeout) < 0);
+    }
+
+    @AssertTrue(message = "max-lifetime must be at least 30s")
+    public boolean isMaxLifetimeValid() {
+        return maxLifetime == null || maxLifetime.toSeconds() >= 30;
+    }
+
+    @AssertTrue(message = "leak-detection-threshold must be 0 or at least 2s")
+    public boolean isLeakDetectionThresholdValid() {
+        return leakDetectionThreshold == null || leakDetectionThreshold.isZero()
+                || leakDetectionThreshold.toMillis() >= 2000;
+    }
+
+    @AssertTrue(message = "keepalive-time and leak-detection-threshold must be below max-lifetime")
+    public boolean isBelowMaxLifetime() {
+        return maxLifetime == null || keepaliveTime == null || leakDetectionThreshold == null
+                || (keepaliveTime.compareTo(maxLifetime) < 0 && leakDetectionThreshold.compareTo(maxLifetime) < 0);
+    }
+}
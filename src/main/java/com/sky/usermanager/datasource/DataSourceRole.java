@@ -0,0 +1,15 @@
+package com.sky.usermanager.datasource;
+
+import java.util.Locale;
+
+/**
+ * Pools behind {@link ReplicaRoutingDataSource}.
+ */
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA;
+
+    public String tagValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,102 @@
+package com.sky.usermanager.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies {@link DataSourcePoolProperties} to every {@link HikariDataSource} bean before its pool is started, and
+ * logs the settings each pool ends up with. Startup fails when one of those settings is also given under
+ * {@code spring.datasource.hikari}, which would otherwise be overwritten without notice.
+ */
+public class HikariPoolCustomizer implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(HikariPoolCustomizer.class);
+    private static final String SPRING_HIKARI_PREFIX = "spring.datasource.hikari.";
+    private static final List<String> POOL_SETTINGS = List.of("maximum-pool-size", "minimum-idle",
+            "connection-timeout", "validation-timeout", "idle-timeout", "max-lifetime", "keepalive-time",
+            "leak-detection-threshold");
+    private static final Set<String> MYSQL_DRIVER_PROPERTIES = Set.of("cachePrepStmts", "prepStmtCacheSize",
+            "prepStmtCacheSqlLimit", "useServerPrepStmts", "rewriteBatchedStatements", "useCursorFetch");
+
+    private final ObjectProvider<DataSourcePoolProperties> properties;
+    private final Environment environment;
+
+    public HikariPoolCustomizer(ObjectProvider<DataSourcePoolProperties> properties, Environment environment) {
+        this.properties = properties;
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            List<String> conflicts = conflictingSettings(environment);
+            if (!conflicts.isEmpty()) {
+                throw new IllegalStateException("Pool settings are configured under usermanager.datasource.pool, "
+                        + "remove " + String.join(", ", conflicts));
+            }
+            apply(properties.getObject(), dataSource);
+            log.info("Connection pool configured [pool={}, maximumPoolSize={}, minimumIdle={}, connectionTimeoutMs={}, "
+                            + "validationTimeoutMs={}, idleTimeoutMs={}, maxLifetimeMs={}, keepaliveTimeMs={}, "
+                            + "leakDetectionThresholdMs={}, driverProperties={}]",
+                    dataSource.getPoolName() == null ? beanName : dataSource.getPoolName(),
+                    dataSource.getMaximumPoolSize(), dataSource.getMinimumIdle(), dataSource.getConnectionTimeout(),
+                    dataSource.getValidationTimeout(), dataSource.getIdleTimeout(), dataSource.getMaxLifetime(),
+                    dataSource.getKeepaliveTime(), dataSource.getLeakDetectionThreshold(),
+                    dataSource.getDataSourceProperties());
+        }
+        return bean;
+    }
+
+    /**
+     * Settings under {@code spring.datasource.hikari} that {@link #apply} would overwrite.
+     */
+    static List<String> conflictingSettings(Environment environment) {
+        Binder binder = Binder.get(environment);
+        List<String> conflicts = new ArrayList<>();
+        for (String setting : POOL_SETTINGS) {
+            if (binder.bind(SPRING_HIKARI_PREFIX + setting, String.class).isBound()) {
+                conflicts.add(SPRING_HIKARI_PREFIX + setting);
+            }
+        }
+        binder.bind(SPRING_HIKARI_PREFIX + "data-source-properties", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of())
+                .keySet().stream()
+                .filter(MYSQL_DRIVER_PROPERTIES::contains)
+                .sorted()
+                .forEach(name -> conflicts.add(SPRING_HIKARI_PREFIX + "data-source-properties." + name));
+        return conflicts;
+    }
+
+    static void apply(DataSourcePoolProperties pool, HikariDataSource dataSource) {
+        dataSource.setMaximumPoolSize(pool.maximumPoolSize());
+        dataSource.setMinimumIdle(pool.minimumIdle());
+        dataSource.setConnectionTimeout(pool.connectionTimeout().toMillis());
+        dataSource.setValidationTimeout(pool.validationTimeout().toMillis());
+        dataSource.setIdleTimeout(pool.idleTimeout().toMillis());
+        dataSource.setMaxLifetime(pool.maxLifetime().toMillis());
+        dataSource.setKeepaliveTime(pool.keepaliveTime().toMillis());
+        dataSource.setLeakDetectionThreshold(pool.leakDetectionThreshold().toMillis());
+
+        String jdbcUrl = dataSource.getJdbcUrl();
+        if (jdbcUrl != null && jdbcUrl.startsWith("jdbc:mysql:")) {
+            DataSourcePoolProperties.MySql mysql = pool.mysql();
+            dataSource.addDataSourceProperty("cachePrepStmts", mysql.cachePreparedStatements());
+            dataSource.addDataSourceProperty("prepStmtCacheSize", mysql.preparedStatementCacheSize());
+            dataSource.addDataSourceProperty("prepStmtCacheSqlLimit", mysql.preparedStatementCacheSqlLimit());
+            dataSource.addDataSourceProperty("useServerPrepStmts", mysql.serverPreparedStatements());
+            dataSource.addDataSourceProperty("rewriteBatchedStatements", mysql.rewriteBatchedStatements());
+            dataSource.addDataSourceProperty("useCursorFetch", mysql.useCursorFetch());
+        }
+    }
+}
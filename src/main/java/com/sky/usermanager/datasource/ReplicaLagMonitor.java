@@ -0,0 +1,106 @@
+package com.sky.usermanager.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Measures replication lag heartbeat-style: every check writes the current time to {@code tb_replication_heartbeat}
+ * on the primary and reads the replicated value back from the replica. Works the same on MySQL and H2 and doesn't
+ * need replication privileges. The replica is considered unusable until the first successful check, whenever the
+ * heartbeat is older than {@code maxLag}, and after a failed connection until the next check succeeds.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    public static final String DATASOURCE_REPLICA_LAG_GAUGE = "datasource_replica_lag_seconds";
+    static final long HEARTBEAT_ID = 1L;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicaProperties properties;
+    private final Clock clock;
+    private volatile boolean replicaUsable;
+    private volatile Duration lag;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, ReplicaProperties properties,
+                             MeterRegistry registry, Clock clock) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.properties = properties;
+        this.clock = clock;
+        Gauge.builder(DATASOURCE_REPLICA_LAG_GAUGE, this, monitor -> monitor.lag == null ? Double.NaN
+                        : monitor.lag.toMillis() / 1000.0)
+                .description("Replication lag of the read replica as of the last heartbeat check")
+                .register(registry);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public Duration getLag() {
+        return lag;
+    }
+
+    // The first check waits an interval too, so it can't race a check() made right after startup
+    @Scheduled(fixedDelayString = "${usermanager.datasource.replica.lag-check-interval:1s}",
+            initialDelayString = "${usermanager.datasource.replica.lag-check-interval:1s}")
+    public void check() {
+        try {
+            // Read before writing, otherwise the freshly written beat could be mistaken for a replicated one
+            List<Long> replicated = replica.queryForList(
+                    "SELECT beat_at FROM tb_replication_heartbeat WHERE id = ?", Long.class, HEARTBEAT_ID);
+            long now = clock.millis();
+            writeHeartbeat(now);
+
+            if (replicated.isEmpty()) {
+                update(null, false, "no heartbeat replicated yet");
+                return;
+            }
+            Duration measured = Duration.ofMillis(Math.max(0, now - replicated.get(0)));
+            update(measured, measured.compareTo(properties.maxLag()) <= 0, "lag above " + properties.maxLag());
+        } catch (DataAccessException e) {
+            update(null, false, e.getMessage());
+        }
+    }
+
+    /**
+     * Called when a connection to the replica fails between checks, so reads go to the primary right away.
+     */
+    public void markUnavailable(Exception cause) {
+        update(null, false, cause.getMessage());
+    }
+
+    private void writeHeartbeat(long now) {
+        try {
+            if (primary.update("UPDATE tb_replication_heartbeat SET beat_at = ? WHERE id = ?", now, HEARTBEAT_ID) == 0) {
+                primary.update("INSERT INTO tb_replication_heartbeat (id, beat_at) VALUES (?, ?)", HEARTBEAT_ID, now);
+            }
+        } catch (DataAccessException e) {
+            // Another instance may have inserted the row concurrently; its beat serves as well
+            log.debug("Unable to write replication heartbeat: {}", e.getMessage());
+        }
+    }
+
+    private void update(Duration measured, boolean usable, String reason) {
+        lag = measured;
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Read replica in use [lagMs={}]", measured.toMillis());
+            } else {
+                log.warn("Read replica not usable, routing reads to primary [reason={}]", reason);
+            }
+        }
+        replicaUsable = usable;
+    }
+}
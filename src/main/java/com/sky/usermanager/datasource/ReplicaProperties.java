@@ -0,0 +1,27 @@
+package com.sky.usermanager.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * The replica pool shares the size and timeout settings of {@link DataSourcePoolProperties}.
+ *
+ * @param enabled          route read-only transactions to the replica; when false the single primary datasource is used
+ * @param url              JDBC url of the replica
+ * @param username         replica user, ideally one that is only granted {@code SELECT}
+ * @param password         replica password
+ * @param maxLag           replication lag above which read-only transactions fall back to the primary
+ * @param lagCheckInterval how often the replication heartbeat is written and read back; lag is measured with this
+ *                         resolution, so it should stay well below {@code maxLag}
+ */
+@ConfigurationProperties(prefix = "usermanager.datasource.replica")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("1s") Duration lagCheckInterval
+) {}
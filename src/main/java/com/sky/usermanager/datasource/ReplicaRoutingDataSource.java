@@ -0,0 +1,95 @@
+package com.sky.usermanager.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out replica connections to {@code @Transactional(readOnly = true)} work and primary connections to
+ * everything else, including reads outside a transaction. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction manager opens the
+ * connection before the read-only flag is bound to the thread, so the physical connection has to be fetched lazily.
+ * Not an {@code AbstractRoutingDataSource}: routing falls back to the primary when the replica refuses a connection,
+ * which a lookup key chosen up front can't express.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    public static final String DATASOURCE_CONNECTIONS_ROUTED_TOTAL_COUNTER = "datasource_connections_routed_total";
+    public static final String DATASOURCE_REPLICA_FALLBACKS_TOTAL_COUNTER = "datasource_replica_fallbacks_total";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryCounter;
+    private final Counter replicaCounter;
+    private final Counter lagFallbackCounter;
+    private final Counter errorFallbackCounter;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.primaryCounter = routedCounter(registry, DataSourceRole.PRIMARY);
+        this.replicaCounter = routedCounter(registry, DataSourceRole.REPLICA);
+        this.lagFallbackCounter = fallbackCounter(registry, "lag");
+        this.errorFallbackCounter = fallbackCounter(registry, "error");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (!lagMonitor.isReplicaUsable()) {
+                lagFallbackCounter.increment();
+            } else {
+                try {
+                    Connection connection = opener.open(replica);
+                    replicaCounter.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    log.warn("Unable to connect to read replica, using primary: {}", e.getMessage());
+                    lagMonitor.markUnavailable(e);
+                    errorFallbackCounter.increment();
+                }
+            }
+        }
+        primaryCounter.increment();
+        return opener.open(primary);
+    }
+
+    private static Counter routedCounter(MeterRegistry registry, DataSourceRole role) {
+        return Counter.builder(DATASOURCE_CONNECTIONS_ROUTED_TOTAL_COUNTER)
+                .description("Total number of connections handed out per pool")
+                .tag("pool", role.tagValue())
+                .register(registry);
+    }
+
+    private static Counter fallbackCounter(MeterRegistry registry, String reason) {
+        return Counter.builder(DATASOURCE_REPLICA_FALLBACKS_TOTAL_COUNTER)
+                .description("Total number of read-only connections served by the primary instead of the replica")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
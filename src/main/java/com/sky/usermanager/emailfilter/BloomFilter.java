@@ -0,0 +1,94 @@
+package com.sky.usermanager.emailfilter;
+
+import com.sky.usermanager.hashing.DoubleHashing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size Bloom filter over strings. Adds and lookups are lock-free, so a filter can be read while it is filled.
+ * Each key sets {@code hashFunctions} bits derived from one 64-bit hash by double hashing.
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final LongAdder bitsSet = new LongAdder();
+
+    private BloomFilter(long bitSize, int hashFunctions) {
+        this.words = new AtomicLongArray(Math.toIntExact((bitSize + 63) / 64));
+        this.bitSize = words.length() * 64L;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Sizes the filter so that it holds {@code expectedInsertions} keys at the given false-positive probability.
+     */
+    static BloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("falsePositiveProbability must be between 0 and 1");
+        }
+        long bits = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (LN2 * LN2)));
+        int hashFunctions = Math.max(1, (int) Math.round((double) bits / expectedInsertions * LN2));
+        return new BloomFilter(bits, hashFunctions);
+    }
+
+    void put(String key) {
+        long hash = DoubleHashing.hash(key);
+        long h1 = DoubleHashing.first(hash);
+        long h2 = DoubleHashing.second(hash);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = DoubleHashing.nth(h1, h2, i) % bitSize;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+            if ((current & mask) == 0) {
+                bitsSet.increment();
+            }
+        }
+    }
+
+    boolean mightContain(String key) {
+        long hash = DoubleHashing.hash(key);
+        long h1 = DoubleHashing.first(hash);
+        long h2 = DoubleHashing.second(hash);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = DoubleHashing.nth(h1, h2, i) % bitSize;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Probability that a key never added is reported as present, estimated from the share of bits set.
+     */
+    double expectedFalsePositiveProbability() {
+        return Math.pow((double) bitsSet.sum() / bitSize, hashFunctions);
+    }
+
+    long sizeInBytes() {
+        return words.length() * 8L;
+    }
+
+    long bitSize() {
+        return bitSize;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+}
@@ -0,0 +1,139 @@
+package com.sky.usermanager.emailfilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Locale;
+
+/**
+ * In-memory Bloom filter of the normalized emails in {@code tb_user}, so that signups and email changes can skip
+ * the duplicate check for emails that are definitely unused. Only possible matches fall through to the database.
+ * <p>
+ * The filter is built at startup from a forward-only scan of {@code tb_user} on the primary, kept current with the
+ * writes made through this instance, and rebuilt on a schedule. Until the first build completes every email is a
+ * possible match. Users written by other instances are only known after the next rebuild; the unique index on
+ * {@code tb_user.email} remains the guarantee against duplicates.
+ */
+public class EmailBloomFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailBloomFilter.class);
+    public static final String EMAIL_FILTER_CHECKS_TOTAL_COUNTER = "email_filter_checks_total";
+    public static final String EMAIL_FILTER_FALSE_POSITIVES_TOTAL_COUNTER = "email_filter_false_positives_total";
+    public static final String EMAIL_FILTER_EXPECTED_FPP_GAUGE = "email_filter_expected_fpp";
+    public static final String EMAIL_FILTER_MEMORY_BYTES_GAUGE = "email_filter_memory_bytes";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmailFilterProperties properties;
+    private final Counter absentCounter;
+    private final Counter possibleCounter;
+    private final Counter falsePositiveCounter;
+    private volatile BloomFilter filter;
+    // Filled by a rebuild in progress; writes go to both filters until it replaces the current one
+    private volatile BloomFilter next;
+
+    public EmailBloomFilter(JdbcTemplate jdbcTemplate, EmailFilterProperties properties, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.absentCounter = checksCounter(registry, "absent");
+        this.possibleCounter = checksCounter(registry, "possible");
+        this.falsePositiveCounter = Counter.builder(EMAIL_FILTER_FALSE_POSITIVES_TOTAL_COUNTER)
+                .description("Emails the filter reported as possibly used that the database did not hold")
+                .register(registry);
+        Gauge.builder(EMAIL_FILTER_EXPECTED_FPP_GAUGE, this,
+                        emailFilter -> emailFilter.filter == null ? Double.NaN
+                                : emailFilter.filter.expectedFalsePositiveProbability())
+                .description("False-positive probability of the email filter, estimated from its fill ratio")
+                .register(registry);
+        Gauge.builder(EMAIL_FILTER_MEMORY_BYTES_GAUGE, this,
+                        emailFilter -> emailFilter.filter == null ? 0 : emailFilter.filter.sizeInBytes())
+                .description("Memory held by the bit array of the email filter")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${usermanager.email-filter.rebuild-interval:1h}",
+            initialDelayString = "${usermanager.email-filter.rebuild-interval:1h}")
+    public synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_user", Long.class);
+        long capacity = Math.max(properties.expectedInsertions(), 2 * (users == null ? 0 : users));
+        BloomFilter rebuilt = BloomFilter.create(capacity, properties.falsePositiveProbability());
+        next = rebuilt;
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement("SELECT email FROM tb_user",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, (ResultSet row) -> rebuilt.put(normalize(row.getString(1))));
+            filter = rebuilt;
+        } finally {
+            next = null;
+        }
+        log.info("Email filter built [capacity={}, bits={}, hashFunctions={}, expectedFpp={}, tookMs={}]", capacity,
+                rebuilt.bitSize(), rebuilt.hashFunctions(), rebuilt.expectedFalsePositiveProbability(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * Returns false only for emails that no user holds, as far as the writes seen by this instance go. A true
+     * answer must be confirmed against the database and, if it turns out unused, reported through
+     * {@link #recordFalsePositive()}.
+     */
+    public boolean mightContain(String email) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        boolean possible = current.mightContain(normalize(email));
+        (possible ? possibleCounter : absentCounter).increment();
+        return possible;
+    }
+
+    public void put(String email) {
+        String normalized = normalize(email);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(normalized);
+        }
+        BloomFilter rebuilding = next;
+        if (rebuilding != null) {
+            rebuilding.put(normalized);
+        }
+    }
+
+    public void recordFalsePositive() {
+        falsePositiveCounter.increment();
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    private static Counter checksCounter(MeterRegistry registry, String result) {
+        return Counter.builder(EMAIL_FILTER_CHECKS_TOTAL_COUNTER)
+                .description("Duplicate-email checks answered by the email filter")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    // MySQL's default collation compares emails case-insensitively; lower-casing only adds possible matches
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,22 @@
+package com.sky.usermanager.emailfilter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled                  skip the duplicate-email query for emails the filter has never seen
+ * @param expectedInsertions       minimum number of emails the filter is sized for; a rebuild sizes it for twice the
+ *                                 current number of users when that is larger
+ * @param falsePositiveProbability target share of unused emails that still need the query
+ * @param rebuildInterval          how often the filter is rebuilt from {@code tb_user}, dropping deleted and replaced
+ *                                 emails and picking up users written by other instances
+ */
+@ConfigurationProperties(prefix = "usermanager.email-filter")
+public record EmailFilterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long expectedInsertions,
+        @DefaultValue("0.01") double falsePositiveProbability,
+        @DefaultValue("1h") Duration rebuildInterval
+) {}
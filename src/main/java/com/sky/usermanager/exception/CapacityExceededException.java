@@ -0,0 +1,8 @@
+package com.sky.usermanager.exception;
+
+public class CapacityExceededException extends RuntimeException {
+
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
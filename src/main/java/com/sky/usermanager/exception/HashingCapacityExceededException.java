@@ -0,0 +1,8 @@
+package com.sky.usermanager.exception;
+
+public class HashingCapacityExceededException extends CapacityExceededException {
+
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,94 @@
+package com.sky.usermanager.export;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Counts the bytes passed to the target stream and, when gzipping, writes the output as a series of gzip members
+ * that {@link #checkpoint()} closes off. A concatenation of gzip members is itself a valid gzip stream, so output
+ * truncated at any checkpoint can be appended to and still decompresses as a whole. Never closes the target.
+ */
+final class CheckpointOutputStream extends OutputStream {
+
+    private final CountingOutputStream target;
+    private final boolean gzip;
+    private GZIPOutputStream member;
+
+    CheckpointOutputStream(OutputStream target, boolean gzip) {
+        this.target = new CountingOutputStream(target);
+        this.gzip = gzip;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        current().write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        current().write(b, off, len);
+    }
+
+    /**
+     * Finishes the current gzip member and flushes the target; returns the bytes written to it so far.
+     */
+    long checkpoint() throws IOException {
+        if (member != null) {
+            member.finish();
+            member = null;
+        }
+        target.flush();
+        return target.count;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (member != null) {
+            member.flush();
+        }
+        target.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        checkpoint();
+    }
+
+    private OutputStream current() throws IOException {
+        if (!gzip) {
+            return target;
+        }
+        if (member == null) {
+            member = new GZIPOutputStream(target, 8192);
+        }
+        return member;
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() {
+            // The caller owns the target
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.sky.usermanager.export;
+
+/**
+ * Progress of an export at a point where everything written so far has been flushed: {@code bytes} of output
+ * holding {@code rows} complete rows, the last of which is {@code cursor}.
+ */
+public record ExportCheckpoint(ExportCursor cursor, long rows, long bytes) {}
@@ -0,0 +1,22 @@
+package com.sky.usermanager.export;
+
+/**
+ * A column of an exported dataset. The type decides how columnar formats store it; row formats write every value
+ * as text or a JSON number.
+ */
+public record ExportColumn(String name, Type type, boolean nullable) {
+
+    public enum Type {
+        INT64,
+        STRING,
+        TIMESTAMP
+    }
+
+    static ExportColumn required(String name, Type type) {
+        return new ExportColumn(name, type, false);
+    }
+
+    static ExportColumn optional(String name, Type type) {
+        return new ExportColumn(name, type, true);
+    }
+}
@@ -0,0 +1,16 @@
+package com.sky.usermanager.export;
+
+/**
+ * Key of the last row exported; an export started after it continues with the next row. Users are keyed by
+ * {@code userId}, projects by {@code projectId} and then {@code userId}, the order of their primary key.
+ */
+public record ExportCursor(long userId, String projectId) {
+
+    public static ExportCursor afterUser(long userId) {
+        return new ExportCursor(userId, null);
+    }
+
+    public static ExportCursor afterProject(String projectId, long userId) {
+        return new ExportCursor(userId, projectId);
+    }
+}
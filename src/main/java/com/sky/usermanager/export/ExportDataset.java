@@ -0,0 +1,84 @@
+package com.sky.usermanager.export;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.sky.usermanager.export.ExportColumn.Type.INT64;
+import static com.sky.usermanager.export.ExportColumn.Type.STRING;
+import static com.sky.usermanager.export.ExportColumn.Type.TIMESTAMP;
+import static com.sky.usermanager.export.ExportColumn.optional;
+import static com.sky.usermanager.export.ExportColumn.required;
+
+/**
+ * Tables that can be exported. Rows are read in primary key order, so resuming after a cursor is a range scan of
+ * the primary key. Passwords are never exported.
+ */
+public enum ExportDataset {
+
+    USERS("users", List.of(required("id", INT64), required("email", STRING), optional("name", STRING),
+            optional("created_at", TIMESTAMP), optional("updated_at", TIMESTAMP)),
+            "select id, email, name, created_at, updated_at from tb_user where id > ? order by id") {
+        @Override
+        void bind(PreparedStatement statement, ExportCursor after) throws SQLException {
+            statement.setLong(1, after == null ? 0 : after.userId());
+        }
+
+        @Override
+        ExportCursor cursor(ResultSet row) throws SQLException {
+            return ExportCursor.afterUser(row.getLong(1));
+        }
+    },
+
+    PROJECTS("projects", List.of(required("id", STRING), required("user_id", INT64), required("name", STRING),
+            optional("created_at", TIMESTAMP), optional("updated_at", TIMESTAMP)),
+            "select id, user_id, name, created_at, updated_at from tb_user_external_project"
+                    + " where id > ? or (id = ? and user_id > ?) order by id, user_id") {
+        @Override
+        void bind(PreparedStatement statement, ExportCursor after) throws SQLException {
+            // Project ids are non-empty, so "" sorts before all of them
+            String projectId = after == null || after.projectId() == null ? "" : after.projectId();
+            statement.setString(1, projectId);
+            statement.setString(2, projectId);
+            statement.setLong(3, after == null ? 0 : after.userId());
+        }
+
+        @Override
+        ExportCursor cursor(ResultSet row) throws SQLException {
+            return ExportCursor.afterProject(row.getString(1), row.getLong(2));
+        }
+    };
+
+    private final String externalName;
+    private final List<ExportColumn> columns;
+    private final String sql;
+
+    ExportDataset(String externalName, List<ExportColumn> columns, String sql) {
+        this.externalName = externalName;
+        this.columns = columns;
+        this.sql = sql;
+    }
+
+    public String externalName() {
+        return externalName;
+    }
+
+    public List<ExportColumn> columns() {
+        return columns;
+    }
+
+    String sql() {
+        return sql;
+    }
+
+    abstract void bind(PreparedStatement statement, ExportCursor after) throws SQLException;
+
+    abstract ExportCursor cursor(ResultSet row) throws SQLException;
+
+    public static ExportDataset fromName(String name) {
+        return Arrays.stream(values()).filter(dataset -> dataset.externalName.equalsIgnoreCase(name)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown export dataset: " + name));
+    }
+}
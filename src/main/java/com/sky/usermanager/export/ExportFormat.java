@@ -0,0 +1,157 @@
+package com.sky.usermanager.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public enum ExportFormat {
+
+    /**
+     * One JSON object per line, keyed by column name.
+     */
+    NDJSON("ndjson", new MediaType("application", "x-ndjson"), true) {
+        @Override
+        ExportRowWriter open(OutputStream out, ExportDataset dataset, ExportProperties properties)
+                throws IOException {
+            JsonGenerator generator = JSON_FACTORY.createGenerator(out);
+            generator.setRootValueSeparator(null);
+            SerializedString[] fieldNames = dataset.columns().stream().map(ExportColumn::name)
+                    .map(SerializedString::new).toArray(SerializedString[]::new);
+            return new ExportRowWriter() {
+                @Override
+                public void writeHeader() {
+                    // Every line names its fields
+                }
+
+                @Override
+                public void writeRow(Object[] values) throws IOException {
+                    generator.writeStartObject();
+                    for (int i = 0; i < values.length; i++) {
+                        generator.writeFieldName(fieldNames[i]);
+                        if (values[i] instanceof Long number) {
+                            generator.writeNumber(number);
+                        } else {
+                            generator.writeString(values[i] == null ? null : values[i].toString());
+                        }
+                    }
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    generator.flush();
+                }
+            };
+        }
+    },
+
+    /**
+     * RFC 4180 CSV with a header line; empty fields are nulls.
+     */
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8), true) {
+        @Override
+        ExportRowWriter open(OutputStream out, ExportDataset dataset, ExportProperties properties) {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            return new ExportRowWriter() {
+                @Override
+                public void writeHeader() throws IOException {
+                    writer.write(dataset.columns().stream().map(ExportColumn::name).collect(Collectors.joining(",")));
+                    writer.write("\r\n");
+                }
+
+                @Override
+                public void writeRow(Object[] values) throws IOException {
+                    for (int i = 0; i < values.length; i++) {
+                        if (i > 0) {
+                            writer.write(',');
+                        }
+                        if (values[i] != null) {
+                            writeField(writer, values[i].toString());
+                        }
+                    }
+                    writer.write("\r\n");
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    writer.flush();
+                }
+            };
+        }
+    },
+
+    /**
+     * Columnar Parquet file, compressed per column chunk. The footer is written last, so the file can neither be
+     * gzipped nor resumed from a checkpoint; a resumed download is a new file holding the remaining rows.
+     */
+    PARQUET("parquet", new MediaType("application", "vnd.apache.parquet"), false) {
+        @Override
+        ExportRowWriter open(OutputStream out, ExportDataset dataset, ExportProperties properties)
+                throws IOException {
+            return new ParquetRowWriter(out, dataset, properties.parquet());
+        }
+    };
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final String extension;
+    private final MediaType mediaType;
+    private final boolean streamable;
+
+    ExportFormat(String extension, MediaType mediaType, boolean streamable) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+        this.streamable = streamable;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Whether the output can be gzipped and cut at a checkpoint and appended to later.
+     */
+    public boolean streamable() {
+        return streamable;
+    }
+
+    abstract ExportRowWriter open(OutputStream out, ExportDataset dataset, ExportProperties properties)
+            throws IOException;
+
+    public static ExportFormat fromName(String name) {
+        return Arrays.stream(values()).filter(format -> format.extension.equalsIgnoreCase(name)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown export format: " + name));
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
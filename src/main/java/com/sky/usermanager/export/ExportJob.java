@@ -0,0 +1,134 @@
+package com.sky.usermanager.export;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Exports each configured dataset to {@code <dataset>-<date>.<format>[.gz]} in the export directory. The file is
+ * written as {@code .part} next to a {@code .checkpoint} file that is replaced at every checkpoint, after the data
+ * up to it has been synced to disk. A run that finds a checkpoint truncates the partial file to it and continues
+ * after its last row; the checkpoint is removed once the file is complete and renamed into place. Formats that are
+ * not {@linkplain ExportFormat#streamable() streamable} write no checkpoints, so an interrupted file is restarted.
+ */
+public class ExportJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportJob.class);
+
+    private final ExportService exportService;
+    private final ExportProperties.Job properties;
+    private final List<ExportDataset> datasets;
+    private final ExportFormat format;
+    private final Clock clock;
+
+    public ExportJob(ExportService exportService, ExportProperties properties, Clock clock) {
+        this.exportService = exportService;
+        this.properties = properties.job();
+        this.datasets = this.properties.datasets().stream().map(ExportDataset::fromName).toList();
+        this.format = ExportFormat.fromName(this.properties.format());
+        if (this.properties.gzip() && !format.streamable()) {
+            throw new IllegalArgumentException("The " + format.extension() + " export job cannot be gzipped");
+        }
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${usermanager.export.job.cron:0 0 2 * * *}")
+    public void run() {
+        LocalDate date = LocalDate.now(clock);
+        for (ExportDataset dataset : datasets) {
+            try {
+                exportToFile(dataset, date);
+            } catch (IOException | RuntimeException e) {
+                log.error("Export to file failed, the next run resumes from the last checkpoint [dataset={}]: {}",
+                        dataset.externalName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    public Path exportToFile(ExportDataset dataset, LocalDate date) throws IOException {
+        Path directory = properties.directory();
+        Files.createDirectories(directory);
+        String fileName = dataset.externalName() + "-" + date + "." + format.extension()
+                + (properties.gzip() ? ".gz" : "");
+        Path target = directory.resolve(fileName);
+        Path part = directory.resolve(fileName + ".part");
+        Path checkpointFile = directory.resolve(fileName + ".checkpoint");
+        if (Files.exists(target)) {
+            log.info("Export already written, skipping [file={}]", target);
+            return target;
+        }
+
+        ExportCheckpoint resumeFrom = Files.exists(part) ? readCheckpoint(checkpointFile) : null;
+        if (resumeFrom != null) {
+            log.info("Resuming export from checkpoint [file={}, rows={}, bytes={}, after={}]", part,
+                    resumeFrom.rows(), resumeFrom.bytes(), resumeFrom.cursor());
+        }
+        long baseRows = resumeFrom == null ? 0 : resumeFrom.rows();
+        long baseBytes = resumeFrom == null ? 0 : resumeFrom.bytes();
+
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(baseBytes);
+            channel.position(baseBytes);
+            OutputStream out = Channels.newOutputStream(channel);
+            ExportCheckpoint last = exportService.export(dataset, format, properties.gzip(),
+                    resumeFrom == null ? null : resumeFrom.cursor(), out, checkpoint -> {
+                        try {
+                            channel.force(false);
+                            writeCheckpoint(checkpointFile, new ExportCheckpoint(checkpoint.cursor(),
+                                    baseRows + checkpoint.rows(), baseBytes + checkpoint.bytes()));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+            channel.force(true);
+            log.info("Export written [file={}, rows={}, bytes={}]", target, baseRows + last.rows(),
+                    baseBytes + last.bytes());
+        }
+        Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(checkpointFile);
+        return target;
+    }
+
+    private ExportCheckpoint readCheckpoint(Path checkpointFile) throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return null;
+        }
+        Properties checkpoint = new Properties();
+        try (InputStream in = Files.newInputStream(checkpointFile)) {
+            checkpoint.load(in);
+        }
+        String projectId = checkpoint.getProperty("projectId");
+        return new ExportCheckpoint(new ExportCursor(Long.parseLong(checkpoint.getProperty("userId")),
+                projectId == null || projectId.isEmpty() ? null : projectId),
+                Long.parseLong(checkpoint.getProperty("rows")), Long.parseLong(checkpoint.getProperty("bytes")));
+    }
+
+    private static void writeCheckpoint(Path checkpointFile, ExportCheckpoint checkpoint) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("userId", Long.toString(checkpoint.cursor().userId()));
+        properties.setProperty("projectId", checkpoint.cursor().projectId() == null ? ""
+                : checkpoint.cursor().projectId());
+        properties.setProperty("rows", Long.toString(checkpoint.rows()));
+        properties.setProperty("bytes", Long.toString(checkpoint.bytes()));
+        Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            properties.store(out, null);
+        }
+        Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
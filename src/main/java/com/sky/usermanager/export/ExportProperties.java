@@ -0,0 +1,56 @@
+package com.sky.usermanager.export;
+
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * @param fetchSize          rows fetched from the database per round trip while the export cursor is read
+ * @param bufferSize         bytes buffered before they are written to the response or file
+ * @param checkpointInterval rows between checkpoints; at each one the output is flushed (and the gzip member
+ *                           finished) so an interrupted export can resume from it
+ * @param parquet            settings of the Parquet format
+ * @param job                the scheduled export to files
+ */
+@ConfigurationProperties(prefix = "usermanager.export")
+public record ExportProperties(
+        @DefaultValue("1000") int fetchSize,
+        @DefaultValue("64KB") DataSize bufferSize,
+        @DefaultValue("10000") int checkpointInterval,
+        @DefaultValue Parquet parquet,
+        @DefaultValue Job job
+) {
+
+    /**
+     * @param rowGroupSize rows are buffered in memory, column by column, until they add up to this size and are then
+     *                     written out as a row group; this bounds the memory a Parquet export uses
+     * @param pageSize     size of the pages column chunks are split into, the unit readers decompress
+     * @param compression  codec applied to each page
+     */
+    public record Parquet(
+            @DefaultValue("16MB") DataSize rowGroupSize,
+            @DefaultValue("1MB") DataSize pageSize,
+            @DefaultValue("SNAPPY") CompressionCodecName compression
+    ) {}
+
+    /**
+     * @param enabled   run the export on the {@code cron} schedule
+     * @param cron      when the export runs
+     * @param directory where the files and their checkpoints are written
+     * @param datasets  datasets exported, each to its own file
+     * @param format    file format
+     * @param gzip      gzip the files
+     */
+    public record Job(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("0 0 2 * * *") String cron,
+            @DefaultValue("exports") Path directory,
+            @DefaultValue({"users", "projects"}) List<String> datasets,
+            @DefaultValue("ndjson") String format,
+            @DefaultValue("true") boolean gzip
+    ) {}
+}
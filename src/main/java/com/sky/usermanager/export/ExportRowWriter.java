@@ -0,0 +1,29 @@
+package com.sky.usermanager.export;
+
+import java.io.IOException;
+
+/**
+ * Encodes rows onto an output stream. Values are {@code Long}, {@code String}, {@code LocalDateTime} or
+ * {@code null}, in the order of the dataset's columns.
+ */
+interface ExportRowWriter {
+
+    /**
+     * Written once at the start of a complete export, not when resuming after a cursor.
+     */
+    void writeHeader() throws IOException;
+
+    void writeRow(Object[] values) throws IOException;
+
+    /**
+     * Pushes any encoded bytes held by the writer to the underlying stream.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Writes whatever the format needs after the last row and flushes; the underlying stream stays open.
+     */
+    default void finish() throws IOException {
+        flush();
+    }
+}
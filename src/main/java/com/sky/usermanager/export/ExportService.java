@@ -0,0 +1,166 @@
+package com.sky.usermanager.export;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Streams a table into an output stream straight from a forward-only JDBC cursor: rows are encoded as they are
+ * fetched, through a fixed-size buffer, without entities or the persistence context. Memory use is bounded by
+ * the fetch size and the buffer, whatever the size of the table. Runs in a read-only transaction, so it is served
+ * by the read replica when one is configured.
+ */
+public class ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+    public static final String EXPORT_ROWS_TOTAL_COUNTER = "export_rows_total";
+    public static final String EXPORT_DURATION_TIMER = "export_duration";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExportProperties properties;
+    private final MeterRegistry registry;
+
+    public ExportService(JdbcTemplate jdbcTemplate, TransactionTemplate readOnlyTransaction,
+                         ExportProperties properties, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    public ExportCheckpoint export(ExportDataset dataset, ExportFormat format, boolean gzip,
+                                   @Nullable ExportCursor after, OutputStream out) throws IOException {
+        return export(dataset, format, gzip, after, out, checkpoint -> {});
+    }
+
+    /**
+     * Writes the rows of {@code dataset} that come after {@code after}, or all of them with a header when it is
+     * null, and returns the final checkpoint. {@code checkpoints} is called every {@code checkpoint-interval}
+     * rows, once the output up to that row has been flushed to {@code out}, for formats that are
+     * {@linkplain ExportFormat#streamable() streamable}. {@code out} is flushed but not closed.
+     */
+    public ExportCheckpoint export(ExportDataset dataset, ExportFormat format, boolean gzip,
+                                   @Nullable ExportCursor after, OutputStream out,
+                                   Consumer<ExportCheckpoint> checkpoints) throws IOException {
+        if (gzip && !format.streamable()) {
+            throw new IllegalArgumentException("The " + format.extension() + " format cannot be gzipped");
+        }
+        log.info("Starting export [dataset={}, format={}, gzip={}, after={}]", dataset.externalName(),
+                format.extension(), gzip, after);
+        Counter rowsCounter = Counter.builder(EXPORT_ROWS_TOTAL_COUNTER)
+                .description("Total number of rows written by exports")
+                .tag("dataset", dataset.externalName())
+                .register(registry);
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "failed";
+
+        CheckpointOutputStream checkpointStream = new CheckpointOutputStream(out, gzip);
+        ExportRowWriter writer = format.open(
+                new BufferedOutputStream(checkpointStream, (int) properties.bufferSize().toBytes()), dataset, properties);
+        RowExporter exporter = new RowExporter(dataset, writer, checkpointStream, after,
+                format.streamable() ? checkpoints : checkpoint -> {});
+        try {
+            if (after == null) {
+                writer.writeHeader();
+            }
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(dataset.sql(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(properties.fetchSize());
+                dataset.bind(statement, after);
+                return statement;
+            }, exporter));
+            writer.finish();
+            ExportCheckpoint last = exporter.checkpoint();
+            outcome = "completed";
+            log.info("Export completed [dataset={}, rows={}, bytes={}, last={}]", dataset.externalName(),
+                    last.rows(), last.bytes(), last.cursor());
+            return last;
+        } catch (UncheckedIOException e) {
+            log.warn("Export interrupted [dataset={}, rows={}, last={}]: {}", dataset.externalName(),
+                    exporter.rows, exporter.cursor, e.getCause().getMessage());
+            throw e.getCause();
+        } finally {
+            rowsCounter.increment(exporter.rows);
+            sample.stop(Timer.builder(EXPORT_DURATION_TIMER)
+                    .description("Duration of exports by dataset and outcome")
+                    .tag("dataset", dataset.externalName())
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    private final class RowExporter implements RowCallbackHandler {
+
+        private final ExportDataset dataset;
+        private final ExportRowWriter writer;
+        private final CheckpointOutputStream checkpointStream;
+        private final Consumer<ExportCheckpoint> checkpoints;
+        private final Object[] values;
+        private ExportCursor cursor;
+        private long rows;
+
+        private RowExporter(ExportDataset dataset, ExportRowWriter writer, CheckpointOutputStream checkpointStream,
+                            ExportCursor after, Consumer<ExportCheckpoint> checkpoints) {
+            this.dataset = dataset;
+            this.writer = writer;
+            this.checkpointStream = checkpointStream;
+            this.checkpoints = checkpoints;
+            this.values = new Object[dataset.columns().size()];
+            this.cursor = after;
+        }
+
+        @Override
+        public void processRow(ResultSet row) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = value(row.getObject(i + 1));
+            }
+            try {
+                writer.writeRow(values);
+                cursor = dataset.cursor(row);
+                rows++;
+                if (rows % properties.checkpointInterval() == 0) {
+                    checkpoints.accept(checkpoint());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private ExportCheckpoint checkpoint() throws IOException {
+            writer.flush();
+            return new ExportCheckpoint(cursor, rows, checkpointStream.checkpoint());
+        }
+
+        private static Object value(Object column) {
+            if (column instanceof Number number) {
+                return number.longValue();
+            }
+            if (column instanceof Timestamp timestamp) {
+                return timestamp.toLocalDateTime();
+            }
+            if (column instanceof LocalDateTime timestamp) {
+                return timestamp;
+            }
+            return column == null ? null : column.toString();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.sky.usermanager.export;
+
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type.Repetition;
+import org.apache.parquet.schema.Types;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes rows as a Parquet file. The writer holds the current row group in memory, column by column, and writes it
+ * out once it reaches the configured row group size, so memory is bounded by that size rather than by the table.
+ * Only the footer with the schema and the row group offsets is written at {@link #finish()}.
+ */
+class ParquetRowWriter implements ExportRowWriter {
+
+    private final ParquetWriter<Object[]> writer;
+
+    ParquetRowWriter(OutputStream out, ExportDataset dataset, ExportProperties.Parquet properties)
+            throws IOException {
+        this.writer = new Builder(new StreamOutputFile(out), dataset)
+                .withConf(new PlainParquetConfiguration())
+                .withRowGroupSize(properties.rowGroupSize().toBytes())
+                .withPageSize((int) properties.pageSize().toBytes())
+                .withCompressionCodec(properties.compression())
+                .build();
+    }
+
+    @Override
+    public void writeHeader() {
+        // The schema is written in the footer
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        writer.write(values);
+    }
+
+    @Override
+    public void flush() {
+        // Row groups are written as they fill up; a partial one cannot be flushed on its own
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.close();
+    }
+
+    static MessageType schema(ExportDataset dataset) {
+        Types.MessageTypeBuilder builder = Types.buildMessage();
+        for (ExportColumn column : dataset.columns()) {
+            Repetition repetition = column.nullable() ? Repetition.OPTIONAL : Repetition.REQUIRED;
+            switch (column.type()) {
+                case INT64 -> builder.primitive(PrimitiveTypeName.INT64, repetition).named(column.name());
+                case STRING -> builder.primitive(PrimitiveTypeName.BINARY, repetition)
+                        .as(LogicalTypeAnnotation.stringType()).named(column.name());
+                case TIMESTAMP -> builder.primitive(PrimitiveTypeName.INT64, repetition)
+                        .as(LogicalTypeAnnotation.timestampType(false, LogicalTypeAnnotation.TimeUnit.MICROS))
+                        .named(column.name());
+            }
+        }
+        return builder.named(dataset.externalName());
+    }
+
+    private static final class RowWriteSupport extends WriteSupport<Object[]> {
+
+        private final MessageType schema;
+        private final List<ExportColumn> columns;
+        private RecordConsumer consumer;
+
+        private RowWriteSupport(ExportDataset dataset) {
+            this.schema = schema(dataset);
+            this.columns = dataset.columns();
+        }
+
+        @Override
+        public WriteContext init(ParquetConfiguration configuration) {
+            return new WriteContext(schema, Map.of());
+        }
+
+        // Still abstract in WriteSupport, so it has to be implemented even though Parquet calls the overload above
+        @Override
+        @Deprecated
+        public WriteContext init(org.apache.hadoop.conf.Configuration configuration) {
+            return new WriteContext(schema, Map.of());
+        }
+
+        @Override
+        public void prepareForWrite(RecordConsumer recordConsumer) {
+            this.consumer = recordConsumer;
+        }
+
+        @Override
+        public void write(Object[] values) {
+            consumer.startMessage();
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    // Optional fields are left out of the record
+                    continue;
+                }
+                String name = columns.get(i).name();
+                consumer.startField(name, i);
+                switch (columns.get(i).type()) {
+                    case INT64 -> consumer.addLong((Long) values[i]);
+                    case STRING -> consumer.addBinary(Binary.fromString((String) values[i]));
+                    case TIMESTAMP -> consumer.addLong(epochMicros((LocalDateTime) values[i]));
+                }
+                consumer.endField(name, i);
+            }
+            consumer.endMessage();
+        }
+
+        private static long epochMicros(LocalDateTime timestamp) {
+            return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+        }
+    }
+
+    private static final class Builder extends ParquetWriter.Builder<Object[], Builder> {
+
+        private final ExportDataset dataset;
+
+        private Builder(OutputFile file, ExportDataset dataset) {
+            super(file);
+            this.dataset = dataset;
+        }
+
+        @Override
+        protected Builder self() {
+            return this;
+        }
+
+        @Override
+        protected WriteSupport<Object[]> getWriteSupport(ParquetConfiguration configuration) {
+            return new RowWriteSupport(dataset);
+        }
+
+        // Still abstract in ParquetWriter.Builder; only the ParquetConfiguration overload above is called
+        @Override
+        @Deprecated
+        protected WriteSupport<Object[]> getWriteSupport(org.apache.hadoop.conf.Configuration configuration) {
+            return new RowWriteSupport(dataset);
+        }
+    }
+
+    /**
+     * Presents an already open stream as the Parquet output file. Closing the file flushes the stream but leaves
+     * it open for the caller.
+     */
+    private static final class StreamOutputFile implements OutputFile {
+
+        private final OutputStream out;
+
+        private StreamOutputFile(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public PositionOutputStream create(long blockSizeHint) {
+            return new PositionOutputStream() {
+                private long position;
+
+                @Override
+                public long getPos() {
+                    return position;
+                }
+
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    position++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    position += len;
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.flush();
+                }
+            };
+        }
+
+        @Override
+        public PositionOutputStream createOrOverwrite(long blockSizeHint) {
+            return create(blockSizeHint);
+        }
+
+        @Override
+        public boolean supportsBlockSize() {
+            return false;
+        }
+
+        @Override
+        public long defaultBlockSize() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.sky.usermanager.graphql;
+
+import com.sky.usermanager.exception.ResourceNotFoundException;
+import graphql.GraphQLError;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+
+/**
+ * Reports the service exceptions the REST API maps to 404 and 400 as GraphQL errors with the matching
+ * classification, instead of the generic INTERNAL_ERROR.
+ */
+public class GraphQlExceptionResolver extends DataFetcherExceptionResolverAdapter {
+
+    @Override
+    protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+        ErrorType errorType;
+        if (ex instanceof ResourceNotFoundException) {
+            errorType = ErrorType.NOT_FOUND;
+        } else if (ex instanceof IllegalArgumentException) {
+            errorType = ErrorType.BAD_REQUEST;
+        } else {
+            return null;
+        }
+        return GraphQLError.newError()
+                .errorType(errorType)
+                .message(ex.getMessage())
+                .path(env.getExecutionStepInfo().getPath())
+                .location(env.getField().getSourceLocation())
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.sky.usermanager.graphql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param maxDepth      deepest field nesting a query may select; {@code user.projects.user} is 3
+ * @param maxComplexity most fields a query may select, counting each nested field once
+ * @param maxIds        most ids accepted by a single {@code users} query
+ */
+@ConfigurationProperties(prefix = "usermanager.graphql")
+public record GraphQlLimitsProperties(
+        @DefaultValue("6") int maxDepth,
+        @DefaultValue("100") int maxComplexity,
+        @DefaultValue("100") int maxIds
+) {}
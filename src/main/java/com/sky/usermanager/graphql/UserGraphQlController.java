@@ -0,0 +1,96 @@
+package com.sky.usermanager.graphql;
+
+import com.sky.usermanager.model.User;
+import com.sky.usermanager.model.UserExternalProject;
+import com.sky.usermanager.service.ExternalProjectService;
+import com.sky.usermanager.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * GraphQL view of users and their projects. The {@code projects} of every user in a response, and the {@code user}
+ * of every project, are resolved by {@link BatchMapping} methods: the DataLoader collects the parents of a level and
+ * loads their children with one {@code IN} query, so a response costs one statement per level, not one per parent.
+ */
+@Controller
+public class UserGraphQlController {
+
+    private static final Logger log = LoggerFactory.getLogger(UserGraphQlController.class);
+
+    private final UserService userService;
+    private final ExternalProjectService externalProjectService;
+    private final GraphQlLimitsProperties properties;
+
+    public UserGraphQlController(UserService userService, ExternalProjectService externalProjectService,
+                                 GraphQlLimitsProperties properties) {
+        this.userService = userService;
+        this.externalProjectService = externalProjectService;
+        this.properties = properties;
+    }
+
+    @QueryMapping
+    public User user(@Argument Long id) {
+        return userService.getUserById(id);
+    }
+
+    @QueryMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<User> users(@Argument List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.size() > properties.maxIds()) {
+            throw new IllegalArgumentException("At most " + properties.maxIds() + " ids can be requested at once");
+        }
+        if (requested.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, User> found = userService.getUsersByIds(requested).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return requested.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    @BatchMapping(typeName = "User")
+    public Map<User, List<UserExternalProject>> projects(List<User> users) {
+        log.debug("Batch loading projects [users={}]", users.size());
+        Map<Long, List<UserExternalProject>> byUserId = externalProjectService
+                .getProjectsByUserIds(users.stream().map(User::getId).toList()).stream()
+                .collect(Collectors.groupingBy(project -> project.getUser().getId()));
+
+        Map<User, List<UserExternalProject>> projects = new LinkedHashMap<>();
+        users.forEach(user -> projects.put(user, byUserId.getOrDefault(user.getId(), List.of())));
+        return projects;
+    }
+
+    @BatchMapping(typeName = "Project")
+    public Map<UserExternalProject, User> user(List<UserExternalProject> projects) {
+        log.debug("Batch loading project owners [projects={}]", projects.size());
+        Set<Long> userIds = projects.stream().map(project -> project.getUser().getId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, User> users = userService.getUsersByIds(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        Map<UserExternalProject, User> owners = new LinkedHashMap<>();
+        projects.forEach(project -> owners.put(project, users.get(project.getUser().getId())));
+        return owners;
+    }
+
+    @SchemaMapping(typeName = "Project")
+    public Long userId(UserExternalProject project) {
+        // The id of the lazy owner is known without initialising it
+        return project.getUser().getId();
+    }
+}
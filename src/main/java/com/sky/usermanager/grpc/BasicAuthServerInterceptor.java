@@ -0,0 +1,85 @@
+package com.sky.usermanager.grpc;
+
+import com.sky.usermanager.exception.CapacityExceededException;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Authenticates every call with the {@code authorization: Basic <base64>} metadata against the same users as the
+ * REST API, and exposes the result to the service through {@link #AUTHENTICATION}. Calls without valid credentials
+ * are closed with {@code UNAUTHENTICATED} before they reach the service.
+ */
+public class BasicAuthServerInterceptor implements ServerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(BasicAuthServerInterceptor.class);
+    public static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    public static final Context.Key<Authentication> AUTHENTICATION = Context.key("authentication");
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final AuthenticationManager authenticationManager;
+
+    public BasicAuthServerInterceptor(AuthenticationManager authenticationManager) {
+        this.authenticationManager = authenticationManager;
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                        ServerCallHandler<Q, R> next) {
+        String method = call.getMethodDescriptor().getFullMethodName();
+        UsernamePasswordAuthenticationToken credentials = credentials(headers.get(AUTHORIZATION));
+        if (credentials == null) {
+            log.warn("gRPC call rejected — missing or malformed credentials [method={}]", method);
+            return reject(call, Status.UNAUTHENTICATED.withDescription("Basic credentials are required"));
+        }
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(credentials);
+        } catch (AuthenticationException e) {
+            log.warn("gRPC call rejected — bad credentials [method={}, username={}]", method, credentials.getName());
+            return reject(call, Status.UNAUTHENTICATED.withDescription("Bad credentials"));
+        } catch (CapacityExceededException e) {
+            return reject(call, Status.UNAVAILABLE.withDescription(e.getMessage()));
+        }
+        return Contexts.interceptCall(Context.current().withValue(AUTHENTICATION, authentication), call, headers, next);
+    }
+
+    private static UsernamePasswordAuthenticationToken credentials(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getDecoder().decode(authorization.substring(BASIC_PREFIX.length()).trim()),
+                    StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int separator = decoded.indexOf(':');
+        if (separator < 0) {
+            return null;
+        }
+        return UsernamePasswordAuthenticationToken.unauthenticated(decoded.substring(0, separator),
+                decoded.substring(separator + 1));
+    }
+
+    private static <Q, R> ServerCall.Listener<Q> reject(ServerCall<Q, R> call, Status status) {
+        call.close(status, new Metadata());
+        return new ServerCall.Listener<>() {};
+    }
+}
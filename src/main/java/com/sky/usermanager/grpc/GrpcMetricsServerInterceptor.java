@@ -0,0 +1,63 @@
+package com.sky.usermanager.grpc;
+
+import io.grpc.ForwardingServerCall.SimpleForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Records the duration and status code of every call, and counts the messages streamed back. Registered outermost,
+ * so calls rejected by authentication are recorded as well.
+ */
+public class GrpcMetricsServerInterceptor implements ServerInterceptor {
+
+    public static final String GRPC_SERVER_CALLS_TIMER = "grpc_server_calls";
+    public static final String GRPC_SERVER_MESSAGES_SENT_COUNTER = "grpc_server_messages_sent_total";
+
+    private final MeterRegistry registry;
+    private final LongSupplier nanoClock;
+
+    public GrpcMetricsServerInterceptor(MeterRegistry registry, LongSupplier nanoClock) {
+        this.registry = registry;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                        ServerCallHandler<Q, R> next) {
+        String method = call.getMethodDescriptor().getFullMethodName();
+        long startedAt = nanoClock.getAsLong();
+        Counter messagesSent = Counter.builder(GRPC_SERVER_MESSAGES_SENT_COUNTER)
+                .description("Total number of response messages sent by the gRPC server")
+                .tag("method", method)
+                .register(registry);
+
+        return next.startCall(new SimpleForwardingServerCall<>(call) {
+            @Override
+            public void sendMessage(R message) {
+                messagesSent.increment();
+                super.sendMessage(message);
+            }
+
+            @Override
+            public void close(Status status, Metadata trailers) {
+                Timer.builder(GRPC_SERVER_CALLS_TIMER)
+                        .description("Duration of gRPC calls by method and status code")
+                        .tag("method", method)
+                        .tag("status", status.getCode().name())
+                        .publishPercentileHistogram()
+                        .register(registry)
+                        .record(nanoClock.getAsLong() - startedAt, TimeUnit.NANOSECONDS);
+                super.close(status, trailers);
+            }
+        }, headers);
+    }
+}
@@ -0,0 +1,23 @@
+package com.sky.usermanager.grpc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * @param enabled               serve the gRPC API next to the REST API
+ * @param port                  port of the gRPC server, 0 picks a free one
+ * @param maxBatchSize          most ids accepted by a single {@code BatchGetUsers} call
+ * @param maxInboundMessageSize largest request message accepted
+ * @param shutdownGracePeriod   how long in-flight calls may run on shutdown before they are cancelled
+ */
+@ConfigurationProperties(prefix = "usermanager.grpc")
+public record GrpcProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50051") int port,
+        @DefaultValue("100") int maxBatchSize,
+        @DefaultValue("1MB") DataSize maxInboundMessageSize,
+        @DefaultValue("10s") Duration shutdownGracePeriod
+) {}
@@ -0,0 +1,90 @@
+package com.sky.usermanager.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the gRPC server with the application context and drains it on shutdown: new calls are refused, in-flight
+ * ones get the grace period to finish and are cancelled after that.
+ */
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServerLifecycle.class);
+
+    private final GrpcProperties properties;
+    private final BindableService service;
+    private final BasicAuthServerInterceptor authInterceptor;
+    private final GrpcMetricsServerInterceptor metricsInterceptor;
+    private volatile Server server;
+
+    public GrpcServerLifecycle(GrpcProperties properties, BindableService service,
+                               BasicAuthServerInterceptor authInterceptor,
+                               GrpcMetricsServerInterceptor metricsInterceptor) {
+        this.properties = properties;
+        this.service = service;
+        this.authInterceptor = authInterceptor;
+        this.metricsInterceptor = metricsInterceptor;
+    }
+
+    @Override
+    public void start() {
+        // Interceptors run last-to-first: metrics wraps authentication, so rejected calls are recorded too
+        Server created = Grpc.newServerBuilderForPort(properties.port(), InsecureServerCredentials.create())
+                .addService(ServerInterceptors.intercept(service, authInterceptor, metricsInterceptor))
+                .maxInboundMessageSize((int) properties.maxInboundMessageSize().toBytes())
+                .build();
+        try {
+            created.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start the gRPC server on port " + properties.port(), e);
+        }
+        server = created;
+        log.info("gRPC server started [port={}]", created.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(properties.shutdownGracePeriod().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("gRPC calls still running after the grace period, cancelling them");
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running.shutdownNow();
+        }
+        server = null;
+        log.info("gRPC server stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * The port the server listens on, which differs from the configured one when that is 0.
+     */
+    public int getPort() {
+        Server running = server;
+        if (running == null) {
+            throw new IllegalStateException("The gRPC server is not running");
+        }
+        return running.getPort();
+    }
+}
@@ -0,0 +1,173 @@
+package com.sky.usermanager.grpc;
+
+import com.sky.usermanager.controller.dto.UserExternalProjectDTO;
+import com.sky.usermanager.controller.dto.UserExternalProjectResponseDTO;
+import com.sky.usermanager.controller.dto.UserResponseDTO;
+import com.sky.usermanager.exception.CapacityExceededException;
+import com.sky.usermanager.exception.DuplicateResourceException;
+import com.sky.usermanager.exception.ResourceNotFoundException;
+import com.sky.usermanager.model.User;
+import com.sky.usermanager.model.UserExternalProject;
+import com.sky.usermanager.proto.v1.AddProjectRequest;
+import com.sky.usermanager.proto.v1.BatchGetUsersRequest;
+import com.sky.usermanager.proto.v1.BatchGetUsersResponse;
+import com.sky.usermanager.proto.v1.GetUserRequest;
+import com.sky.usermanager.proto.v1.ListUserProjectsRequest;
+import com.sky.usermanager.proto.v1.Project;
+import com.sky.usermanager.proto.v1.UserManagerServiceGrpc;
+import com.sky.usermanager.protobuf.ProtobufMessages;
+import com.sky.usermanager.security.UserAccess;
+import com.sky.usermanager.service.ExternalProjectService;
+import com.sky.usermanager.service.UserService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC counterpart of the user and project lookups of the REST API, backed by the same services. Service
+ * exceptions are translated to the status codes matching the HTTP statuses of {@code GlobalExceptionHandler}.
+ */
+public class UserManagerGrpcService extends UserManagerServiceGrpc.UserManagerServiceImplBase {
+
+    private static final Logger log = LoggerFactory.getLogger(UserManagerGrpcService.class);
+
+    private final UserService userService;
+    private final ExternalProjectService externalProjectService;
+    private final Validator validator;
+    private final UserAccess userAccess;
+    private final int maxBatchSize;
+
+    public UserManagerGrpcService(UserService userService, ExternalProjectService externalProjectService,
+                                  Validator validator, UserAccess userAccess, GrpcProperties properties) {
+        this.userService = userService;
+        this.externalProjectService = externalProjectService;
+        this.validator = validator;
+        this.userAccess = userAccess;
+        this.maxBatchSize = properties.maxBatchSize();
+    }
+
+    @Override
+    public void getUser(GetUserRequest request, StreamObserver<com.sky.usermanager.proto.v1.User> responseObserver) {
+        try {
+            responseObserver.onNext(ProtobufMessages.toMessage(userService.getUserResponseById(request.getId())));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    @Override
+    public void batchGetUsers(BatchGetUsersRequest request, StreamObserver<BatchGetUsersResponse> responseObserver) {
+        // Bulk reads are ADMIN-only, like the REST listing and the GraphQL users query
+        if (!userAccess.isAdmin(BasicAuthServerInterceptor.AUTHENTICATION.get())) {
+            responseObserver.onError(Status.PERMISSION_DENIED
+                    .withDescription("Batch lookups require the ADMIN role").asRuntimeException());
+            return;
+        }
+        Set<Long> ids = new LinkedHashSet<>(request.getIdsList());
+        if (ids.size() > maxBatchSize) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("At most " + maxBatchSize + " ids can be requested at once")
+                    .asRuntimeException());
+            return;
+        }
+
+        try {
+            Map<Long, User> found = ids.isEmpty() ? Map.of() : userService.getUsersByIds(ids).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            BatchGetUsersResponse.Builder response = BatchGetUsersResponse.newBuilder();
+            for (Long id : ids) {
+                User user = found.get(id);
+                if (user != null) {
+                    response.addUsers(ProtobufMessages.toMessage(UserResponseDTO.from(user)));
+                } else {
+                    response.addMissingIds(id);
+                }
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    @Override
+    public void listUserProjects(ListUserProjectsRequest request, StreamObserver<Project> responseObserver) {
+        List<UserExternalProjectResponseDTO> projects;
+        try {
+            projects = externalProjectService.getUserProjectResponses(request.getUserId());
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+            return;
+        }
+
+        ServerCallStreamObserver<Project> call = (ServerCallStreamObserver<Project>) responseObserver;
+        for (UserExternalProjectResponseDTO project : projects) {
+            if (call.isCancelled()) {
+                log.info("Project listing cancelled by the client [userId={}]", request.getUserId());
+                return;
+            }
+            call.onNext(ProtobufMessages.toMessage(project));
+        }
+        call.onCompleted();
+    }
+
+    @Override
+    public void addProject(AddProjectRequest request, StreamObserver<Project> responseObserver) {
+        // Same rule as POST /api/users/{userId}/projects
+        if (!userAccess.isAdminOrSelf(BasicAuthServerInterceptor.AUTHENTICATION.get(), request.getUserId())) {
+            responseObserver.onError(Status.PERMISSION_DENIED
+                    .withDescription("Only the user or an admin can add its projects").asRuntimeException());
+            return;
+        }
+        UserExternalProjectDTO projectDTO = new UserExternalProjectDTO(request.getProjectId(),
+                request.getProjectName());
+        Set<ConstraintViolation<UserExternalProjectDTO>> violations = validator.validate(projectDTO);
+        if (!violations.isEmpty()) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription(violations.stream().map(ConstraintViolation::getMessage).sorted()
+                            .collect(Collectors.joining(", ")))
+                    .asRuntimeException());
+            return;
+        }
+
+        try {
+            UserExternalProject project = externalProjectService.addExternalProject(request.getUserId(), projectDTO);
+            responseObserver.onNext(ProtobufMessages.toMessage(UserExternalProjectResponseDTO.from(project)));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    static Status toStatus(RuntimeException e) {
+        if (e instanceof ResourceNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage());
+        }
+        if (e instanceof DuplicateResourceException) {
+            return Status.ALREADY_EXISTS.withDescription(e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+        }
+        if (e instanceof CapacityExceededException || e instanceof CannotCreateTransactionException
+                || e instanceof DataAccessResourceFailureException) {
+            return Status.UNAVAILABLE.withDescription("The service is temporarily unavailable");
+        }
+        log.error("Unhandled exception in gRPC call", e);
+        return Status.INTERNAL.withDescription("An unexpected error occurred");
+    }
+}
@@ -0,0 +1,54 @@
+package com.sky.usermanager.hashing;
+
+/**
+ * Derives any number of hash functions of a string from one 64-bit hash, by double hashing: the i-th function is
+ * {@code h1 + i * h2}. Shared by the probabilistic structures, which need several independent-enough positions per
+ * key without hashing it several times.
+ */
+public final class DoubleHashing {
+
+    private static final long SECOND_SEED = 0x9E3779B97F4A7C15L;
+
+    private DoubleHashing() {
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units of {@code key}; spread it with {@link #first} and {@link #second}.
+     */
+    public static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public static long first(long hash) {
+        return mix(hash);
+    }
+
+    /**
+     * Odd, so that the positions of a key don't repeat before the table size when it is a power of two.
+     */
+    public static long second(long hash) {
+        return mix(hash ^ SECOND_SEED) | 1;
+    }
+
+    /**
+     * The non-negative value of the {@code i}-th hash function; reduce it modulo the table size.
+     */
+    public static long nth(long first, long second, int i) {
+        return (first + i * second) & Long.MAX_VALUE;
+    }
+
+    // Finaliser of murmur3
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,68 @@
+package com.sky.usermanager.hotkeys;
+
+import com.sky.usermanager.hashing.DoubleHashing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch over strings: approximate per-key counts in a fixed amount of memory. An estimate never
+ * undercounts, and overcounts by at most {@code relativeError} times the total with probability {@code confidence}.
+ * Adds are lock-free.
+ */
+final class CountMinSketch {
+
+    private final AtomicLongArray counters;
+    private final int width;
+    private final int depth;
+
+    private CountMinSketch(int width, int depth) {
+        this.counters = new AtomicLongArray(Math.multiplyExact(width, depth));
+        this.width = width;
+        this.depth = depth;
+    }
+
+    static CountMinSketch create(double relativeError, double confidence) {
+        if (relativeError <= 0 || relativeError >= 1) {
+            throw new IllegalArgumentException("relativeError must be between 0 and 1");
+        }
+        if (confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("confidence must be between 0 and 1");
+        }
+        int width = (int) Math.ceil(Math.E / relativeError);
+        int depth = Math.max(1, (int) Math.ceil(Math.log(1 / (1 - confidence))));
+        return new CountMinSketch(width, depth);
+    }
+
+    /**
+     * Counts one occurrence of {@code key} and returns its estimated count, this occurrence included.
+     */
+    long add(String key) {
+        long hash = DoubleHashing.hash(key);
+        long h1 = DoubleHashing.first(hash);
+        long h2 = DoubleHashing.second(hash);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    long estimate(String key) {
+        long hash = DoubleHashing.hash(key);
+        long h1 = DoubleHashing.first(hash);
+        long h2 = DoubleHashing.second(hash);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    long sizeInBytes() {
+        return counters.length() * 8L;
+    }
+
+    private int index(int row, long h1, long h2) {
+        return row * width + (int) (DoubleHashing.nth(h1, h2, row) % width);
+    }
+}
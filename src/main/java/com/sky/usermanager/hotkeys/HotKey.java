@@ -0,0 +1,6 @@
+package com.sky.usermanager.hotkeys;
+
+/**
+ * @param count estimated number of reads in the window; may overcount, never undercounts
+ */
+public record HotKey(String key, long count) {}
@@ -0,0 +1,17 @@
+package com.sky.usermanager.hotkeys;
+
+import java.util.Locale;
+
+/**
+ * What a read is counted against: the user read, the project read ({@code userId/projectId}), and the client
+ * (basic auth username) that read it.
+ */
+public enum HotKeyDimension {
+    USER,
+    PROJECT,
+    CLIENT;
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,25 @@
+package com.sky.usermanager.hotkeys;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled       count user, project and client reads to find the heaviest hitters
+ * @param window        length of a counting window; the last completed window is kept for reporting
+ * @param topK          heavy hitters kept per dimension and window
+ * @param metricKeys    heavy hitters of the last completed window published as gauges, per dimension; bounds the
+ *                      number of {@code hot_key_requests} series
+ * @param relativeError overcount of an estimate as a share of the window's total reads
+ * @param confidence    probability that an estimate stays within {@code relativeError}
+ */
+@ConfigurationProperties(prefix = "usermanager.hot-keys")
+public record HotKeyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1m") Duration window,
+        @DefaultValue("20") int topK,
+        @DefaultValue("10") int metricKeys,
+        @DefaultValue("0.001") double relativeError,
+        @DefaultValue("0.99") double confidence
+) {}
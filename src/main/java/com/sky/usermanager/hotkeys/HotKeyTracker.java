@@ -0,0 +1,161 @@
+package com.sky.usermanager.hotkeys;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds the most read users and projects, and the clients reading the most, without keeping a count per key. Each
+ * dimension is counted in a {@link CountMinSketch} per time window, and the keys whose estimate makes the top K are
+ * kept in a heap. At the end of a window its heavy hitters are published as gauges and the counting starts over.
+ * Client names identify users, so the clients are only listed by the admin-only endpoint, never as metric labels.
+ * <p>
+ * Reads racing a rotation may be counted in the window that just ended, after its report was taken.
+ */
+public class HotKeyTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(HotKeyTracker.class);
+    public static final String HOT_KEY_REQUESTS_GAUGE = "hot_key_requests";
+    public static final String HOT_KEY_WINDOW_REQUESTS_GAUGE = "hot_key_window_requests";
+
+    private final HotKeyProperties properties;
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private volatile Counting current;
+    private volatile Map<HotKeyDimension, HotKeyWindow> previous;
+    // Gauges of the last completed window, replaced at each rotation
+    private final List<Meter> published = new ArrayList<>();
+
+    public HotKeyTracker(HotKeyProperties properties, MeterRegistry registry, Clock clock) {
+        this.properties = properties;
+        this.registry = registry;
+        this.clock = clock;
+        this.current = new Counting(clock.instant());
+        this.previous = emptyWindows(current.start);
+        for (HotKeyDimension dimension : HotKeyDimension.values()) {
+            Gauge.builder(HOT_KEY_WINDOW_REQUESTS_GAUGE, this, tracker -> tracker.previous.get(dimension).total())
+                    .description("Reads counted in the last completed hot-key window")
+                    .tag("dimension", dimension.tag())
+                    .register(registry);
+        }
+    }
+
+    public void recordUserRead(Long userId) {
+        Counting counting = current;
+        counting.record(HotKeyDimension.USER, String.valueOf(userId));
+        recordClient(counting);
+    }
+
+    public void recordProjectRead(Long userId, String projectId) {
+        Counting counting = current;
+        counting.record(HotKeyDimension.USER, String.valueOf(userId));
+        counting.record(HotKeyDimension.PROJECT, userId + "/" + projectId);
+        recordClient(counting);
+    }
+
+    /**
+     * Heavy hitters of the window in progress.
+     */
+    public Map<HotKeyDimension, HotKeyWindow> currentWindow() {
+        return current.report(null);
+    }
+
+    /**
+     * Heavy hitters of the last completed window, the ones published as metrics.
+     */
+    public Map<HotKeyDimension, HotKeyWindow> previousWindow() {
+        return previous;
+    }
+
+    @Scheduled(fixedRateString = "${usermanager.hot-keys.window:1m}",
+            initialDelayString = "${usermanager.hot-keys.window:1m}")
+    public synchronized void rotate() {
+        Instant now = clock.instant();
+        Counting ended = current;
+        current = new Counting(now);
+        previous = ended.report(now);
+        publish(previous);
+        HotKeyWindow users = previous.get(HotKeyDimension.USER);
+        log.debug("Hot-key window completed [reads={}, topUser={}]", users.total(),
+                users.keys().isEmpty() ? null : users.keys().get(0));
+    }
+
+    private void publish(Map<HotKeyDimension, HotKeyWindow> windows) {
+        published.forEach(registry::remove);
+        published.clear();
+        windows.forEach((dimension, window) -> window.keys().stream()
+                .filter(hotKey -> dimension != HotKeyDimension.CLIENT)
+                .limit(properties.metricKeys())
+                .forEach(hotKey -> published.add(Gauge.builder(HOT_KEY_REQUESTS_GAUGE, hotKey, HotKey::count)
+                        .description("Estimated reads of a heavy hitter in the last completed hot-key window")
+                        .tag("dimension", dimension.tag())
+                        .tag("key", hotKey.key())
+                        .strongReference(true)
+                        .register(registry))));
+    }
+
+    private static void recordClient(Counting counting) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            counting.record(HotKeyDimension.CLIENT, authentication.getName());
+        }
+    }
+
+    private static Map<HotKeyDimension, HotKeyWindow> emptyWindows(Instant start) {
+        Map<HotKeyDimension, HotKeyWindow> windows = new EnumMap<>(HotKeyDimension.class);
+        for (HotKeyDimension dimension : HotKeyDimension.values()) {
+            windows.put(dimension, new HotKeyWindow(start, start, 0, List.of()));
+        }
+        return windows;
+    }
+
+    private final class Counting {
+
+        private final Instant start;
+        private final Map<HotKeyDimension, Counts> counts = new EnumMap<>(HotKeyDimension.class);
+
+        private Counting(Instant start) {
+            this.start = start;
+            for (HotKeyDimension dimension : HotKeyDimension.values()) {
+                counts.put(dimension, new Counts());
+            }
+        }
+
+        private void record(HotKeyDimension dimension, String key) {
+            Counts dimensionCounts = counts.get(dimension);
+            dimensionCounts.total.increment();
+            long estimate = dimensionCounts.sketch.add(key);
+            if (estimate >= dimensionCounts.topK.threshold()) {
+                dimensionCounts.topK.offer(key, estimate);
+            }
+        }
+
+        private Map<HotKeyDimension, HotKeyWindow> report(Instant end) {
+            Map<HotKeyDimension, HotKeyWindow> windows = new EnumMap<>(HotKeyDimension.class);
+            counts.forEach((dimension, dimensionCounts) -> windows.put(dimension,
+                    new HotKeyWindow(start, end, dimensionCounts.total.sum(), dimensionCounts.topK.keys())));
+            return windows;
+        }
+    }
+
+    private final class Counts {
+
+        private final CountMinSketch sketch = CountMinSketch.create(properties.relativeError(),
+                properties.confidence());
+        private final TopK topK = new TopK(properties.topK());
+        private final LongAdder total = new LongAdder();
+    }
+}
@@ -0,0 +1,11 @@
+package com.sky.usermanager.hotkeys;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Heavy hitters of one dimension over {@code [start, end)}; {@code end} is null for the window in progress.
+ *
+ * @param total reads counted in the window
+ */
+public record HotKeyWindow(Instant start, Instant end, long total, List<HotKey> keys) {}
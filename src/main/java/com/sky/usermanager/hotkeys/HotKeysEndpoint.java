@@ -0,0 +1,49 @@
+package com.sky.usermanager.hotkeys;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@code /actuator/hotkeys}: the heavy hitters of the window in progress and of the last completed one, for every
+ * dimension or, with {@code /actuator/hotkeys/{dimension}}, for one.
+ */
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final HotKeyTracker tracker;
+
+    public HotKeysEndpoint(HotKeyTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @ReadOperation
+    public Map<String, HotKeysReport> hotKeys() {
+        Map<HotKeyDimension, HotKeyWindow> current = tracker.currentWindow();
+        Map<HotKeyDimension, HotKeyWindow> previous = tracker.previousWindow();
+        Map<String, HotKeysReport> reports = new LinkedHashMap<>();
+        for (HotKeyDimension dimension : HotKeyDimension.values()) {
+            reports.put(dimension.tag(), new HotKeysReport(current.get(dimension), previous.get(dimension)));
+        }
+        return reports;
+    }
+
+    /**
+     * Returns null, answered with 404, for an unknown dimension.
+     */
+    @ReadOperation
+    public HotKeysReport hotKeys(@Selector String dimension) {
+        return Arrays.stream(HotKeyDimension.values())
+                .filter(candidate -> candidate.tag().equals(dimension.toLowerCase(Locale.ROOT)))
+                .findFirst()
+                .map(match -> new HotKeysReport(tracker.currentWindow().get(match), tracker.previousWindow().get(match)))
+                .orElse(null);
+    }
+
+    public record HotKeysReport(HotKeyWindow current, HotKeyWindow previous) {}
+}
@@ -0,0 +1,53 @@
+package com.sky.usermanager.hotkeys;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code capacity} keys with the highest estimated counts, in a min-heap so the smallest is the one evicted.
+ * Callers skip {@link #offer} for estimates below {@link #threshold()}, which keeps the lock off the common path:
+ * a key in the heap always has an estimate at or above it.
+ */
+final class TopK {
+
+    private final int capacity;
+    private final Map<String, HotKey> byKey = new HashMap<>();
+    private final PriorityQueue<HotKey> heap = new PriorityQueue<>(Comparator.comparingLong(HotKey::count));
+    private volatile long threshold;
+
+    TopK(int capacity) {
+        this.capacity = capacity;
+    }
+
+    long threshold() {
+        return threshold;
+    }
+
+    synchronized void offer(String key, long estimate) {
+        HotKey current = byKey.get(key);
+        if (current != null) {
+            heap.remove(current);
+        } else if (heap.size() >= capacity) {
+            if (estimate <= heap.peek().count()) {
+                return;
+            }
+            byKey.remove(heap.poll().key());
+        }
+        HotKey updated = new HotKey(key, estimate);
+        byKey.put(key, updated);
+        heap.add(updated);
+        if (heap.size() >= capacity) {
+            threshold = heap.peek().count();
+        }
+    }
+
+    /**
+     * Highest count first.
+     */
+    synchronized List<HotKey> keys() {
+        return heap.stream().sorted(Comparator.comparingLong(HotKey::count).reversed()).toList();
+    }
+}
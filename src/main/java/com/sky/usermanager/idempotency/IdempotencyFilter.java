@@ -0,0 +1,268 @@
+package com.sky.usermanager.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sky.usermanager.controller.dto.ErrorResponseDTO;
+import com.sky.usermanager.protobuf.DtoProtobufHttpMessageConverter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Replays the stored response of a previous request carrying the same {@code Idempotency-Key} header, so that
+ * client retries of creation endpoints don't run the service (and hash passwords) again.
+ * Keys are scoped per authenticated principal and bound to a fingerprint of the method, path, {@code Accept} header
+ * and body: reusing a key with a different payload, or asking for a different format, is rejected with 422, and retrying while the original request is still running
+ * is rejected with 409. The store holds a SHA-256 of principal and key, so long emails don't overflow its column.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String IDEMPOTENT_REPLAYS_TOTAL_COUNTER = "idempotent_replays_total";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final List<String> IDEMPOTENT_PATHS = List.of("/api/users", "/api/users/*/projects");
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectWriter errorWriter;
+    private final Clock clock;
+    private final Counter replaysCounter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, ObjectMapper objectMapper,
+                             MeterRegistry registry, Clock clock) {
+        this.store = store;
+        this.properties = properties;
+        this.errorWriter = objectMapper.writerFor(ErrorResponseDTO.class);
+        this.clock = clock;
+        this.replaysCounter = Counter.builder(IDEMPOTENT_REPLAYS_TOTAL_COUNTER)
+                .description("Total number of responses replayed for a repeated Idempotency-Key")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.enabled() || !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return IDEMPOTENT_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must have between 1 and "
+                    + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String principal = Optional.ofNullable(request.getUserPrincipal()).map(Principal::getName).orElse("anonymous");
+        String key = storeKey(principal, idempotencyKey);
+        String fingerprint = fingerprint(request.getMethod(), request.getRequestURI(),
+                request.getHeader(HttpHeaders.ACCEPT), cachedRequest.body);
+        Instant now = clock.instant();
+
+        Optional<IdempotencyRecord> existing = store.find(key, now);
+        if (existing.isPresent()) {
+            handleExisting(existing.get(), fingerprint, response);
+            return;
+        }
+
+        // Only leased until the response is stored, so a crash mid-request doesn't block the key for the whole ttl
+        if (!store.reserve(IdempotencyRecord.pending(key, fingerprint, now.plus(properties.pendingLease())), now)) {
+            log.warn("Concurrent request detected for idempotency key [principal={}, key={}]", principal, idempotencyKey);
+            writeError(response, HttpStatus.CONFLICT, "A request with the same Idempotency-Key is still being processed");
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(cachedRequest, cachingResponse);
+
+            int status = cachingResponse.getStatus();
+            // Server errors are transient, so the key is released and the client may retry with it
+            if (status < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                store.complete(new IdempotencyRecord(key, fingerprint, status, cachingResponse.getContentType(),
+                        cachingResponse.getHeader(HttpHeaders.LOCATION),
+                        cachingResponse.getHeader(DtoProtobufHttpMessageConverter.X_PROTOBUF_MESSAGE_HEADER),
+                        cachingResponse.getHeader(DtoProtobufHttpMessageConverter.X_PROTOBUF_SCHEMA_HEADER),
+                        cachingResponse.getContentAsByteArray(), clock.instant().plus(properties.ttl())));
+                completed = true;
+                log.debug("Stored response for idempotency key [principal={}, key={}, status={}]",
+                        principal, idempotencyKey, status);
+            }
+        } finally {
+            if (!completed) {
+                store.release(key);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void handleExisting(IdempotencyRecord existing, String fingerprint, HttpServletResponse response)
+            throws IOException {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            log.warn("Idempotency key reused with a different request [key={}]", existing.key());
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different request");
+            return;
+        }
+        if (!existing.isCompleted()) {
+            log.warn("Retry received while original request is in progress [key={}]", existing.key());
+            writeError(response, HttpStatus.CONFLICT, "A request with the same Idempotency-Key is still being processed");
+            return;
+        }
+
+        log.info("Replaying stored response for idempotency key [key={}, status={}]",
+                existing.key(), existing.statusCode());
+        replaysCounter.increment();
+        response.setStatus(existing.statusCode());
+        response.setHeader(IDEMPOTENT_REPLAYED_HEADER, "true");
+        if (existing.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, existing.location());
+        }
+        if (existing.protobufMessage() != null) {
+            response.setHeader(DtoProtobufHttpMessageConverter.X_PROTOBUF_MESSAGE_HEADER, existing.protobufMessage());
+        }
+        if (existing.protobufSchema() != null) {
+            response.setHeader(DtoProtobufHttpMessageConverter.X_PROTOBUF_SCHEMA_HEADER, existing.protobufSchema());
+        }
+        if (existing.contentType() != null) {
+            response.setContentType(existing.contentType());
+        }
+        if (existing.body() != null) {
+            response.getOutputStream().write(existing.body());
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        errorWriter.writeValue(response.getOutputStream(),
+                ErrorResponseDTO.of(clock.instant(), status, status.getReasonPhrase(), message));
+    }
+
+    static String storeKey(String principal, String idempotencyKey) {
+        MessageDigest digest = sha256();
+        digest.update(principal.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        digest.update(idempotencyKey.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String fingerprint(String method, String uri, String accept, byte[] body) {
+        MessageDigest digest = sha256();
+        digest.update(method.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ' ');
+        digest.update(uri.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        // The same create answered as JSON and as Protobuf are different responses, so the format is part of the request
+        digest.update((accept != null ? accept : "").getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        digest.update(body);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Reads the request body eagerly so it can be fingerprinted before the controller consumes it.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory, so all of it is available as soon as the listener is set
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.sky.usermanager.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled       whether the {@code Idempotency-Key} header is honoured at all
+ * @param store         {@code memory} (single instance) or {@code jdbc} (shared through {@code tb_idempotency_key})
+ * @param ttl           how long a stored response can be replayed
+ * @param pendingLease  how long a key stays claimed by a request still in progress; after a crash the key can be
+ *                      reused once it runs out, so it should exceed the slowest request
+ * @param purgeInterval how often expired entries are removed from the store
+ */
+@ConfigurationProperties(prefix = "usermanager.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("memory") String store,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("1m") Duration pendingLease,
+        @DefaultValue("10m") Duration purgeInterval
+) {}
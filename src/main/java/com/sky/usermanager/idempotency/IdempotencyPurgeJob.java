@@ -0,0 +1,28 @@
+package com.sky.usermanager.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+
+public class IdempotencyPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyPurgeJob.class);
+
+    private final IdempotencyStore store;
+    private final Clock clock;
+
+    public IdempotencyPurgeJob(IdempotencyStore store, Clock clock) {
+        this.store = store;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${usermanager.idempotency.purge-interval:10m}")
+    public void purgeExpired() {
+        int purged = store.purgeExpired(clock.instant());
+        if (purged > 0) {
+            log.info("Purged expired idempotency keys [count={}]", purged);
+        }
+    }
+}
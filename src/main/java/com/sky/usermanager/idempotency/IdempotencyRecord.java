@@ -0,0 +1,25 @@
+package com.sky.usermanager.idempotency;
+
+import java.time.Instant;
+
+/**
+ * Entry kept by an {@link IdempotencyStore} for a given idempotency key. A record without a status code
+ * represents a request that is still being processed. The body is kept as raw bytes, since Protobuf and CBOR
+ * responses are not valid text, along with the {@code X-Protobuf-*} headers that describe them.
+ */
+public record IdempotencyRecord(String key, String fingerprint, Integer statusCode, String contentType,
+                                String location, String protobufMessage, String protobufSchema, byte[] body,
+                                Instant expiresAt) {
+
+    public static IdempotencyRecord pending(String key, String fingerprint, Instant expiresAt) {
+        return new IdempotencyRecord(key, fingerprint, null, null, null, null, null, null, expiresAt);
+    }
+
+    public boolean isCompleted() {
+        return statusCode != null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
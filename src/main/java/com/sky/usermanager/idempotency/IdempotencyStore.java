@@ -0,0 +1,25 @@
+package com.sky.usermanager.idempotency;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * TTL store of idempotency key to request fingerprint and stored response.
+ */
+public interface IdempotencyStore {
+
+    Optional<IdempotencyRecord> find(String key, Instant now);
+
+    /**
+     * Atomically claims the key for a new request.
+     *
+     * @return {@code false} when a non-expired record already exists for the key
+     */
+    boolean reserve(IdempotencyRecord pending, Instant now);
+
+    void complete(IdempotencyRecord completed);
+
+    void release(String key);
+
+    int purgeExpired(Instant now);
+}
@@ -0,0 +1,44 @@
+package com.sky.usermanager.idempotency;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key, Instant now) {
+        return Optional.ofNullable(records.get(key)).filter(r -> !r.isExpired(now));
+    }
+
+    @Override
+    public boolean reserve(IdempotencyRecord pending, Instant now) {
+        IdempotencyRecord current = records.compute(pending.key(),
+                (key, existing) -> existing == null || existing.isExpired(now) ? pending : existing);
+        return current == pending;
+    }
+
+    @Override
+    public void complete(IdempotencyRecord completed) {
+        records.put(completed.key(), completed);
+    }
+
+    @Override
+    public void release(String key) {
+        records.remove(key);
+    }
+
+    @Override
+    public int purgeExpired(Instant now) {
+        int before = records.size();
+        records.values().removeIf(r -> r.isExpired(now));
+        return before - records.size();
+    }
+
+    int size() {
+        return records.size();
+    }
+}
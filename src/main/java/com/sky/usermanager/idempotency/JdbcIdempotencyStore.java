@@ -0,0 +1,96 @@
+package com.sky.usermanager.idempotency;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * {@link IdempotencyStore} backed by the {@code tb_idempotency_key} table, allowing stored responses to be shared
+ * between application instances. The primary key on the idempotency key is what makes {@link #reserve} atomic.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final RowMapper<IdempotencyRecord> ROW_MAPPER = (rs, rowNum) -> new IdempotencyRecord(
+            rs.getString("idempotency_key"),
+            rs.getString("fingerprint"),
+            (Integer) rs.getObject("status_code"),
+            rs.getString("content_type"),
+            rs.getString("location"),
+            rs.getString("protobuf_message"),
+            rs.getString("protobuf_schema"),
+            rs.getBytes("response_body"),
+            rs.getTimestamp("expires_at").toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key, Instant now) {
+        return jdbcTemplate.query("""
+                        SELECT idempotency_key, fingerprint, status_code, content_type, location, protobuf_message,
+                               protobuf_schema, response_body, expires_at
+                        FROM tb_idempotency_key
+                        WHERE idempotency_key = ? AND expires_at > ?
+                        """, ROW_MAPPER, key, Timestamp.from(now))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean reserve(IdempotencyRecord pending, Instant now) {
+        try {
+            insert(pending);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // The existing row may just be waiting for the purge job; reclaim it if it has already expired
+            int removed = jdbcTemplate.update("DELETE FROM tb_idempotency_key WHERE idempotency_key = ? AND expires_at <= ?",
+                    pending.key(), Timestamp.from(now));
+            if (removed == 0) {
+                return false;
+            }
+            try {
+                insert(pending);
+                return true;
+            } catch (DuplicateKeyException raced) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public void complete(IdempotencyRecord completed) {
+        jdbcTemplate.update("""
+                        UPDATE tb_idempotency_key
+                        SET status_code = ?, content_type = ?, location = ?, protobuf_message = ?, protobuf_schema = ?,
+                            response_body = ?, expires_at = ?
+                        WHERE idempotency_key = ?
+                        """, completed.statusCode(), completed.contentType(), completed.location(),
+                completed.protobufMessage(), completed.protobufSchema(), completed.body(),
+                Timestamp.from(completed.expiresAt()), completed.key());
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM tb_idempotency_key WHERE idempotency_key = ?", key);
+    }
+
+    @Override
+    public int purgeExpired(Instant now) {
+        return jdbcTemplate.update("DELETE FROM tb_idempotency_key WHERE expires_at <= ?", Timestamp.from(now));
+    }
+
+    private void insert(IdempotencyRecord pending) {
+        jdbcTemplate.update("""
+                        INSERT INTO tb_idempotency_key (idempotency_key, fingerprint, expires_at)
+                        VALUES (?, ?, ?)
+                        """, pending.key(), pending.fingerprint(), Timestamp.from(pending.expiresAt()));
+    }
+}
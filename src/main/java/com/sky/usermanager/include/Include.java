@@ -0,0 +1,28 @@
+package com.sky.usermanager.include;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Related resources a user read can embed, named in a comma-separated {@code include} parameter.
+ */
+public enum Include {
+
+    PROJECTS;
+
+    public static Set<Include> parse(String include) {
+        Set<Include> includes = EnumSet.noneOf(Include.class);
+        for (String name : include.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            includes.add(Arrays.stream(values()).filter(value -> value.name().equalsIgnoreCase(trimmed)).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown include: " + trimmed
+                            + ", expected one of " + Arrays.toString(values()).toLowerCase(Locale.ROOT))));
+        }
+        return includes;
+    }
+}
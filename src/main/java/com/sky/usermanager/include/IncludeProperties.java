@@ -0,0 +1,17 @@
+package com.sky.usermanager.include;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * @param maxProjects most projects embedded per user by {@code ?include=projects}, and most project rows read per
+ *                    user; the response still reports the full count, and the rest can be read from
+ *                    {@code /api/users/{id}/projects}
+ */
+@Validated
+@ConfigurationProperties(prefix = "usermanager.include")
+public record IncludeProperties(
+        @DefaultValue("50") @Min(1) int maxProjects
+) {}
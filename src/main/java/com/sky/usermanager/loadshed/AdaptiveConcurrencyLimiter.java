@@ -0,0 +1,145 @@
+package com.sky.usermanager.loadshed;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Locale;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to the latency the service delivers (AIMD). Every request served within the latency
+ * target while the limit was at least half used raises the limit by {@code 1 / limit}, so about one per full window
+ * of requests. A request that misses it multiplies the limit by the backoff ratio, at most once per window: requests
+ * that were already in flight when the limit was last backed off report the same overload and are ignored, so a
+ * burst of slow responses costs one backoff rather than one each. Requests beyond the limit wait in a short, bounded
+ * FIFO queue, so an overloaded service answers the excess quickly instead of letting every request's latency grow.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public static final String LOAD_SHED_LIMIT_GAUGE = "load_shed_concurrency_limit";
+    public static final String LOAD_SHED_IN_FLIGHT_GAUGE = "load_shed_in_flight";
+    public static final String LOAD_SHED_QUEUED_GAUGE = "load_shed_queued";
+
+    public enum Outcome {
+        ADMITTED, QUEUE_FULL, QUEUE_TIMEOUT;
+
+        public String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition slotReleased = lock.newCondition();
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final long maxQueueNanos;
+    private final int maxQueueLength;
+    private final LongSupplier nanoClock;
+    private long lastBackoffNanos;
+    // Written under the lock, volatile so the gauges can read them without it
+    private volatile double limit;
+    private volatile int inFlight;
+    private volatile int queued;
+
+    public AdaptiveConcurrencyLimiter(LoadSheddingProperties properties, MeterRegistry registry,
+                                      LongSupplier nanoClock) {
+        if (properties.minLimit() < 1 || properties.maxLimit() < properties.minLimit()
+                || properties.backoffRatio() <= 0 || properties.backoffRatio() >= 1) {
+            throw new IllegalArgumentException("Load shedding needs 1 <= min-limit <= max-limit and 0 < backoff-ratio < 1");
+        }
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.latencyTargetNanos = properties.latencyTarget().toNanos();
+        this.backoffRatio = properties.backoffRatio();
+        this.maxQueueNanos = properties.maxQueueTime().toNanos();
+        this.maxQueueLength = properties.maxQueueLength();
+        this.nanoClock = nanoClock;
+        this.lastBackoffNanos = Long.MIN_VALUE;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.initialLimit()));
+        Gauge.builder(LOAD_SHED_LIMIT_GAUGE, this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit of the user and project endpoints")
+                .register(registry);
+        Gauge.builder(LOAD_SHED_IN_FLIGHT_GAUGE, this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently admitted by the load shedder")
+                .register(registry);
+        Gauge.builder(LOAD_SHED_QUEUED_GAUGE, this, AdaptiveConcurrencyLimiter::getQueued)
+                .description("Requests waiting for the load shedder to admit them")
+                .register(registry);
+    }
+
+    /**
+     * Admits the request right away when a slot is free, otherwise waits up to the maximum queue time for one.
+     * Every {@link Outcome#ADMITTED} must be paired with a {@link #release(long)}.
+     */
+    public Outcome acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            // Arrivals don't overtake requests that are already waiting
+            if (queued == 0 && inFlight < getLimit()) {
+                inFlight++;
+                return Outcome.ADMITTED;
+            }
+            if (queued >= maxQueueLength || maxQueueNanos <= 0) {
+                return Outcome.QUEUE_FULL;
+            }
+
+            queued++;
+            try {
+                long remaining = maxQueueNanos;
+                while (inFlight >= getLimit()) {
+                    if (remaining <= 0) {
+                        return Outcome.QUEUE_TIMEOUT;
+                    }
+                    remaining = slotReleased.awaitNanos(remaining);
+                }
+                inFlight++;
+                return Outcome.ADMITTED;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees the slot of an admitted request and adjusts the limit from the time it took to serve it.
+     */
+    public void release(long latencyNanos) {
+        long now = nanoClock.getAsLong();
+        lock.lock();
+        try {
+            boolean limitInUse = inFlight >= getLimit() / 2;
+            inFlight--;
+            if (latencyNanos > latencyTargetNanos) {
+                if (now - latencyNanos >= lastBackoffNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastBackoffNanos = now;
+                }
+            } else if (limitInUse) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            for (int free = getLimit() - inFlight; free > 0; free--) {
+                slotReleased.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+}
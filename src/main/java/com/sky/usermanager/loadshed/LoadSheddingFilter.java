@@ -0,0 +1,112 @@
+package com.sky.usermanager.loadshed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sky.usermanager.controller.dto.ErrorResponseDTO;
+import com.sky.usermanager.loadshed.AdaptiveConcurrencyLimiter.Outcome;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Admits requests through an {@link AdaptiveConcurrencyLimiter} and answers 503 with {@code Retry-After} when no
+ * slot frees up within the maximum queue time. Each admitted request feeds the time it took to serve back into the
+ * limiter; the time it spent queued is recorded separately. Health and actuator paths are never shed.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadSheddingFilter.class);
+    public static final String LOAD_SHED_REJECTIONS_TOTAL_COUNTER = "load_shed_rejections_total";
+    public static final String LOAD_SHED_QUEUE_TIMER = "load_shed_queue";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final List<String> exemptPaths;
+    private final ObjectWriter errorWriter;
+    private final LongSupplier nanoClock;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Timer queueTimer;
+    private final Map<Outcome, Counter> rejectionCounters;
+
+    public LoadSheddingFilter(AdaptiveConcurrencyLimiter limiter, LoadSheddingProperties properties,
+                              ObjectMapper objectMapper, MeterRegistry registry, LongSupplier nanoClock) {
+        this.limiter = limiter;
+        this.exemptPaths = properties.exemptPaths();
+        this.errorWriter = objectMapper.writerFor(ErrorResponseDTO.class);
+        this.nanoClock = nanoClock;
+        this.queueTimer = Timer.builder(LOAD_SHED_QUEUE_TIMER)
+                .description("Time requests waited for the load shedder to admit or reject them")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejectionCounters = Map.of(
+                Outcome.QUEUE_FULL, rejectionCounter(registry, Outcome.QUEUE_FULL),
+                Outcome.QUEUE_TIMEOUT, rejectionCounter(registry, Outcome.QUEUE_TIMEOUT));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return exemptPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long arrivedAt = nanoClock.getAsLong();
+        Outcome outcome;
+        try {
+            outcome = limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = Outcome.QUEUE_TIMEOUT;
+        }
+        long admittedAt = nanoClock.getAsLong();
+        queueTimer.record(admittedAt - arrivedAt, TimeUnit.NANOSECONDS);
+
+        if (outcome != Outcome.ADMITTED) {
+            rejectionCounters.get(outcome).increment();
+            log.warn("Request shed [method={}, uri={}, reason={}, limit={}, inFlight={}]", request.getMethod(),
+                    request.getRequestURI(), outcome.tagValue(), limiter.getLimit(), limiter.getInFlight());
+            writeError(response);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(nanoClock.getAsLong() - admittedAt);
+        }
+    }
+
+    private void writeError(HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        errorWriter.writeValue(response.getOutputStream(),
+                ErrorResponseDTO.of(status, status.getReasonPhrase(), "Service is overloaded, retry later"));
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, Outcome outcome) {
+        return Counter.builder(LOAD_SHED_REJECTIONS_TOTAL_COUNTER)
+                .description("Total number of requests rejected by the adaptive load shedder")
+                .tag("reason", outcome.tagValue())
+                .register(registry);
+    }
+}
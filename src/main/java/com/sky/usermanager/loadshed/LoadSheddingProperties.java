@@ -0,0 +1,32 @@
+package com.sky.usermanager.loadshed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param enabled        shed load on the user and project endpoints when they stop meeting the latency target
+ * @param initialLimit   concurrent requests admitted at startup, before any latency has been observed
+ * @param minLimit       floor the limit never backs off below
+ * @param maxLimit       ceiling the limit never grows above
+ * @param latencyTarget  time to serve an admitted request (queueing excluded) above which the limit is backed off
+ * @param backoffRatio   factor applied to the limit when a request misses the latency target, at most once per
+ *                       window of requests in flight
+ * @param maxQueueTime   how long a request waits for a free slot before it is rejected with 503
+ * @param maxQueueLength requests allowed to wait for a slot at once, further ones are rejected immediately
+ * @param exemptPaths    path patterns that are never shed, such as health checks
+ */
+@ConfigurationProperties(prefix = "usermanager.load-shedding")
+public record LoadSheddingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("250ms") Duration latencyTarget,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("50ms") Duration maxQueueTime,
+        @DefaultValue("50") int maxQueueLength,
+        @DefaultValue({"/actuator/**", "/health/**"}) List<String> exemptPaths
+) {}
@@ -0,0 +1,19 @@
+package com.sky.usermanager.model;
+
+public enum ChangeEventType {
+
+    USER_CREATED("user"),
+    USER_UPDATED("user"),
+    USER_DELETED("user"),
+    PROJECT_ADDED("user_external_project");
+
+    private final String aggregateType;
+
+    ChangeEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+}
@@ -0,0 +1,123 @@
+package com.sky.usermanager.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Change event written in the same transaction as the mutation it describes. The {@code id} reflects insertion
+ * order, while the {@code feedPosition} is assigned by the relay when the event is published and is the only ordering
+ * consumers can safely resume from, since concurrent transactions may commit out of insertion order.
+ */
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "tb_outbox_event")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(nullable = false, length = 250)
+    private String aggregateId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 30)
+    private ChangeEventType eventType;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(unique = true)
+    private Long feedPosition;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime publishedAt;
+
+    protected OutboxEvent() {
+    }
+
+    public OutboxEvent(ChangeEventType eventType, Long userId, String aggregateId, String payload) {
+        this.eventType = Objects.requireNonNull(eventType, "eventType must not be null");
+        this.aggregateType = eventType.getAggregateType();
+        this.userId = Objects.requireNonNull(userId, "userId must not be null");
+        this.aggregateId = Objects.requireNonNull(aggregateId, "aggregateId must not be null");
+        this.payload = Objects.requireNonNull(payload, "payload must not be null");
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public ChangeEventType getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Long getFeedPosition() {
+        return feedPosition;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public boolean isPublished() {
+        return feedPosition != null;
+    }
+
+    public void markPublished(long feedPosition, LocalDateTime publishedAt) {
+        if (isPublished()) {
+            throw new IllegalStateException("Outbox event " + id + " was already published");
+        }
+        this.feedPosition = feedPosition;
+        this.publishedAt = Objects.requireNonNull(publishedAt, "publishedAt must not be null");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OutboxEvent that)) return false;
+        return Objects.equals(this.id, that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+}
@@ -0,0 +1,26 @@
+package com.sky.usermanager.model;
+
+public enum ProjectField implements SelectableField {
+
+    ID("id", "externalProjectKey.projectId"),
+    USER_ID("userId", "externalProjectKey.userId"),
+    PROJECT_NAME("projectName", "name");
+
+    private final String jsonName;
+    private final String attribute;
+
+    ProjectField(String jsonName, String attribute) {
+        this.jsonName = jsonName;
+        this.attribute = attribute;
+    }
+
+    @Override
+    public String jsonName() {
+        return jsonName;
+    }
+
+    @Override
+    public String attribute() {
+        return attribute;
+    }
+}
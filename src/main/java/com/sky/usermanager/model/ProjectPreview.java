@@ -0,0 +1,7 @@
+package com.sky.usermanager.model;
+
+/**
+ * Read-only projection of one of a user's first projects, carrying the user's total number of projects, so that
+ * embedding projects in a user response reads only the rows it returns.
+ */
+public record ProjectPreview(Long userId, String id, String name, long projectCount) {}
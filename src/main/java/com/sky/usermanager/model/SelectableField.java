@@ -0,0 +1,39 @@
+package com.sky.usermanager.model;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A field a client can select with {@code ?fields=}: its name in responses and the entity attribute path it is read
+ * from, so that only the selected columns are queried.
+ */
+public interface SelectableField {
+
+    String jsonName();
+
+    String attribute();
+
+    /**
+     * Parses a comma-separated list of response field names; unknown names and an empty list are rejected.
+     */
+    static <F extends Enum<F> & SelectableField> Set<F> parse(Class<F> type, String fields) {
+        Set<F> selected = EnumSet.noneOf(type);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(Arrays.stream(type.getEnumConstants()).filter(field -> field.jsonName().equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown field: " + trimmed + ", expected one of "
+                            + Arrays.stream(type.getEnumConstants()).map(SelectableField::jsonName)
+                            .collect(Collectors.joining(", ")))));
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        return selected;
+    }
+}
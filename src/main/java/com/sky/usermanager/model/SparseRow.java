@@ -0,0 +1,8 @@
+package com.sky.usermanager.model;
+
+import java.util.List;
+
+/**
+ * The selected fields of one entity, read by a column projection; {@code values} line up with {@code fields}.
+ */
+public record SparseRow<F extends Enum<F> & SelectableField>(List<F> fields, List<Object> values) {}
@@ -13,14 +13,19 @@ import java.util.Objects;
 
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "tb_user")
+@Table(name = "tb_user", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"))
 public class User {
 
+    /**
+     * Unique index on the email, named as in {@code db_init/schema.sql}.
+     */
+    public static final String EMAIL_CONSTRAINT = "uk_user_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(length = 200, nullable = false, unique = true)
+    @Column(length = 200, nullable = false)
     private String email;
 
     @Column(length = 129, nullable = false)
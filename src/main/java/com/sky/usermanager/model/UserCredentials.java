@@ -0,0 +1,6 @@
+package com.sky.usermanager.model;
+
+/**
+ * Read-only projection of the user columns authentication needs, so that logins don't load full entities.
+ */
+public record UserCredentials(Long id, String email, String password) {}
@@ -13,6 +13,11 @@ import java.util.Objects;
 @Table(name = "tb_user_external_project")
 public class UserExternalProject {
 
+    /**
+     * Foreign key from a project link to its user, named as in {@code db_init/schema.sql}.
+     */
+    public static final String USER_CONSTRAINT = "fk_user_external_project_user";
+
     @EmbeddedId
     @AttributeOverrides({
             @AttributeOverride(name = "projectId", column = @Column(name = "id", nullable = false, length = 200))
@@ -21,7 +26,7 @@ public class UserExternalProject {
 
     @MapsId("userId")
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = USER_CONSTRAINT))
     private User user;
 
     @Column(nullable = false, length = 120)
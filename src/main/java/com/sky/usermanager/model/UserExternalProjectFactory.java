@@ -18,4 +18,13 @@ public class UserExternalProjectFactory {
         user.addExternalProject(project);
         return project;
     }
+
+    /**
+     * Creates a project to be inserted directly, leaving {@code user}'s projects untouched so that a reference
+     * obtained without loading the user stays uninitialised. The persistence context doesn't see the new project
+     * in the user's collection until it is reloaded.
+     */
+    public UserExternalProject createForInsert(User user, String projectId, String name) {
+        return new UserExternalProject(projectId, user, name);
+    }
 }
@@ -0,0 +1,26 @@
+package com.sky.usermanager.model;
+
+public enum UserField implements SelectableField {
+
+    ID("id", "id"),
+    EMAIL("email", "email"),
+    NAME("name", "name");
+
+    private final String jsonName;
+    private final String attribute;
+
+    UserField(String jsonName, String attribute) {
+        this.jsonName = jsonName;
+        this.attribute = attribute;
+    }
+
+    @Override
+    public String jsonName() {
+        return jsonName;
+    }
+
+    @Override
+    public String attribute() {
+        return attribute;
+    }
+}
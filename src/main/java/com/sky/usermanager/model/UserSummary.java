@@ -0,0 +1,6 @@
+package com.sky.usermanager.model;
+
+/**
+ * Read-only projection of the user columns needed by lookups, so that searches don't load full entities.
+ */
+public record UserSummary(Long id, String email, String name) {}
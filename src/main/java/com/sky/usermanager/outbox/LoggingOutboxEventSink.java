@@ -0,0 +1,18 @@
+package com.sky.usermanager.outbox;
+
+import com.sky.usermanager.model.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+public class LoggingOutboxEventSink implements OutboxEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingOutboxEventSink.class);
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        events.forEach(event -> log.info("Change event published [position={}, type={}, aggregateId={}]",
+                event.getFeedPosition(), event.getEventType(), event.getAggregateId()));
+    }
+}
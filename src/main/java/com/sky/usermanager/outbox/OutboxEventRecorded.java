@@ -0,0 +1,7 @@
+package com.sky.usermanager.outbox;
+
+/**
+ * Published when an outbox event is written; listeners bound to the commit phase use it to relay the event
+ * without waiting for the next scheduled run.
+ */
+public record OutboxEventRecorded(Long eventId) {}
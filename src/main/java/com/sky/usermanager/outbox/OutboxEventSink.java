@@ -0,0 +1,14 @@
+package com.sky.usermanager.outbox;
+
+import com.sky.usermanager.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events (e.g. a message broker). Events are delivered at least once and in feed
+ * position order; throwing from {@link #publish} rolls the batch back so it is retried on the next relay run.
+ */
+public interface OutboxEventSink {
+
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,15 @@
+package com.sky.usermanager.outbox;
+
+import com.sky.usermanager.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Published after a batch of outbox events has been handed to the sink and its feed positions committed.
+ */
+public record OutboxEventsPublished(List<OutboxEvent> events) {
+
+    public long lastPosition() {
+        return events.get(events.size() - 1).getFeedPosition();
+    }
+}
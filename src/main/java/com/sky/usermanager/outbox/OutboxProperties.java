@@ -0,0 +1,22 @@
+package com.sky.usermanager.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param relayInterval  how often the relay looks for unpublished events, on top of the run triggered on commit
+ * @param batchSize      maximum number of events relayed per transaction
+ * @param retention      how long published events stay available to the change feed
+ * @param feedMaxWait    upper bound for the long-poll wait requested by change feed consumers
+ * @param feedMaxLimit   maximum number of events returned per change feed call
+ */
+@ConfigurationProperties(prefix = "usermanager.outbox")
+public record OutboxProperties(
+        @DefaultValue("1s") Duration relayInterval,
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("7d") Duration retention,
+        @DefaultValue("30s") Duration feedMaxWait,
+        @DefaultValue("500") int feedMaxLimit
+) {}
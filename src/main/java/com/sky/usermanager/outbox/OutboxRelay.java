@@ -0,0 +1,146 @@
+package com.sky.usermanager.outbox;
+
+import com.sky.usermanager.model.OutboxEvent;
+import com.sky.usermanager.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves committed outbox events to the {@link OutboxEventSink} in batches, assigning each event its feed position.
+ * Runs are serialized on a single thread per instance, and the row locks taken on the unpublished events keep
+ * several instances from relaying the same batch.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    public static final String OUTBOX_EVENTS_PUBLISHED_TOTAL_COUNTER = "outbox_events_published_total";
+    public static final String OUTBOX_RELAY_FAILURES_TOTAL_COUNTER = "outbox_relay_failures_total";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventSink sink;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter publishedCounter;
+    private final Counter failuresCounter;
+    private final AtomicBoolean runRequested = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxEventSink sink, OutboxProperties properties,
+                       PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                       MeterRegistry registry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.publishedCounter = Counter.builder(OUTBOX_EVENTS_PUBLISHED_TOTAL_COUNTER)
+                .description("Total number of outbox events relayed to the sink")
+                .register(registry);
+        this.failuresCounter = Counter.builder(OUTBOX_RELAY_FAILURES_TOTAL_COUNTER)
+                .description("Total number of failed outbox relay batches")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${usermanager.outbox.relay-interval:1s}")
+    public void scheduledRun() {
+        requestRun();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOutboxEventRecorded(OutboxEventRecorded event) {
+        requestRun();
+    }
+
+    @Scheduled(fixedDelayString = "PT1H")
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.retention());
+        Integer purged = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+        if (purged != null && purged > 0) {
+            log.info("Purged published outbox events [count={}, cutoff={}]", purged, cutoff);
+        }
+    }
+
+    /**
+     * Schedules a relay run unless one is already waiting to start, so bursts of commits collapse into one run.
+     */
+    public void requestRun() {
+        if (runRequested.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                runRequested.set(false);
+                relayPending();
+            });
+        }
+    }
+
+    public int relayPending() {
+        int total = 0;
+        int relayed;
+        do {
+            relayed = relayBatch();
+            total += relayed;
+        } while (relayed == properties.batchSize());
+        return total;
+    }
+
+    int relayBatch() {
+        try {
+            List<OutboxEvent> published = transactionTemplate.execute(status -> {
+                List<OutboxEvent> pending = outboxEventRepository.findUnpublishedForUpdate(
+                        PageRequest.of(0, properties.batchSize()));
+                if (pending.isEmpty()) {
+                    return List.of();
+                }
+
+                long position = outboxEventRepository.findLastPosition();
+                LocalDateTime now = LocalDateTime.now();
+                for (OutboxEvent event : pending) {
+                    event.markPublished(++position, now);
+                }
+                outboxEventRepository.saveAllAndFlush(pending);
+                sink.publish(pending);
+                return pending;
+            });
+
+            if (published == null || published.isEmpty()) {
+                return 0;
+            }
+            publishedCounter.increment(published.size());
+            log.debug("Relayed outbox events [count={}, lastPosition={}]",
+                    published.size(), published.get(published.size() - 1).getFeedPosition());
+            eventPublisher.publishEvent(new OutboxEventsPublished(published));
+            return published.size();
+        } catch (RuntimeException e) {
+            failuresCounter.increment();
+            log.error("Error relaying outbox events: {}", e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,47 @@
+package com.sky.usermanager.password;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the encoder for a {@link PasswordHashProfile}. New hashes are written by the profile's scheme and prefixed
+ * with its id; hashes of every scheme are verified. A hash of another scheme, a lower cost than the profile's, or
+ * without prefix (written before the prefixes) reports {@link PasswordEncoder#upgradeEncoding}, so that it is
+ * rehashed after the next successful login.
+ */
+public final class PasswordEncoders {
+
+    public static final String PASSWORD_HASH_COST_GAUGE = "password_hash_cost";
+    public static final String PASSWORD_HASH_SECONDS_GAUGE = "password_hash_seconds";
+
+    private PasswordEncoders() {}
+
+    public static PasswordEncoder create(PasswordHashProfile profile, MeterRegistry registry) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        for (PasswordHashAlgorithm algorithm : PasswordHashAlgorithm.values()) {
+            // The cost of the other schemes only matters for encoding; verification reads it from the hash
+            encoders.put(algorithm.id(), algorithm.encoder(algorithm == profile.algorithm()
+                    ? profile.cost() : algorithm.minCost()));
+        }
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(profile.algorithm().id(), encoders);
+        encoder.setDefaultPasswordEncoderForMatches(encoders.get(PasswordHashAlgorithm.BCRYPT.id()));
+
+        Gauge.builder(PASSWORD_HASH_COST_GAUGE, profile, PasswordHashProfile::cost)
+                .description("Cost new password hashes are written with")
+                .tag("algorithm", profile.algorithm().id())
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder(PASSWORD_HASH_SECONDS_GAUGE, profile, p -> p.hashTime().toNanos() / 1e9)
+                .description("Time one password hash took at startup at the configured cost")
+                .tag("algorithm", profile.algorithm().id())
+                .baseUnit("seconds")
+                .strongReference(true)
+                .register(registry);
+        return encoder;
+    }
+}
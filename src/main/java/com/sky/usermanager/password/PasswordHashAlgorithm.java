@@ -0,0 +1,71 @@
+package com.sky.usermanager.password;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Locale;
+
+/**
+ * Password hashing schemes, each with the cost that calibration tunes and the range it is tuned in. The lower bound
+ * is a security floor: calibration doesn't go below it, even when it exceeds the latency budget.
+ */
+public enum PasswordHashAlgorithm {
+
+    /**
+     * Cost is the log2 of the rounds; each step doubles the time.
+     */
+    BCRYPT(10, 16) {
+        @Override
+        public PasswordEncoder encoder(int cost) {
+            return new BCryptPasswordEncoder(cost);
+        }
+    },
+
+    /**
+     * Argon2id with 19 MiB of memory and one lane; cost is the number of iterations.
+     */
+    ARGON2(2, 10) {
+        @Override
+        public PasswordEncoder encoder(int cost) {
+            return new Argon2PasswordEncoder(16, 32, 1, 19 * 1024, cost);
+        }
+    },
+
+    /**
+     * PBKDF2-HMAC-SHA256 at a fixed 310,000 iterations: the hash doesn't record its iterations, so changing them
+     * would make existing hashes unverifiable. Only measured, never tuned.
+     */
+    PBKDF2(310_000, 310_000) {
+        @Override
+        public PasswordEncoder encoder(int cost) {
+            return Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        }
+    };
+
+    private final int minCost;
+    private final int maxCost;
+
+    PasswordHashAlgorithm(int minCost, int maxCost) {
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+    }
+
+    public abstract PasswordEncoder encoder(int cost);
+
+    public int minCost() {
+        return minCost;
+    }
+
+    public int maxCost() {
+        return maxCost;
+    }
+
+    /**
+     * Prefix of the stored hashes, as in {@code {bcrypt}$2a$10$...}.
+     */
+    public String id() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,82 @@
+package com.sky.usermanager.password;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Picks the cost of a password hashing scheme from how long hashes take on the current CPU: the highest cost within
+ * the algorithm's range whose hash fits the latency budget, or the algorithm's minimum when none does.
+ */
+public class PasswordHashCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashCalibrator.class);
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    /**
+     * Time one hash takes with the given scheme and cost.
+     */
+    @FunctionalInterface
+    interface HashTimer {
+        Duration time(PasswordHashAlgorithm algorithm, int cost);
+    }
+
+    private final HashTimer timer;
+
+    public PasswordHashCalibrator() {
+        this(PasswordHashCalibrator::medianHashTime);
+    }
+
+    PasswordHashCalibrator(HashTimer timer) {
+        this.timer = timer;
+    }
+
+    public PasswordHashProfile calibrate(PasswordHashAlgorithm algorithm, Duration budget) {
+        int cost = algorithm.minCost();
+        Duration hashTime = timer.time(algorithm, cost);
+        if (hashTime.compareTo(budget) > 0) {
+            log.warn("Password hashing exceeds its budget at the minimum cost [algorithm={}, cost={}, hashMs={}, "
+                    + "budgetMs={}]", algorithm.id(), cost, hashTime.toMillis(), budget.toMillis());
+            return new PasswordHashProfile(algorithm, cost, hashTime);
+        }
+        while (cost < algorithm.maxCost()) {
+            Duration next = timer.time(algorithm, cost + 1);
+            if (next.compareTo(budget) > 0) {
+                break;
+            }
+            cost++;
+            hashTime = next;
+        }
+        log.info("Password hashing calibrated [algorithm={}, cost={}, hashMs={}, budgetMs={}]", algorithm.id(), cost,
+                hashTime.toMillis(), budget.toMillis());
+        return new PasswordHashProfile(algorithm, cost, hashTime);
+    }
+
+    /**
+     * Profile of a cost set in configuration, timed for the metrics but not checked against the budget.
+     */
+    public PasswordHashProfile measure(PasswordHashAlgorithm algorithm, int cost) {
+        Duration hashTime = timer.time(algorithm, cost);
+        log.info("Password hashing cost configured [algorithm={}, cost={}, hashMs={}]", algorithm.id(), cost,
+                hashTime.toMillis());
+        return new PasswordHashProfile(algorithm, cost, hashTime);
+    }
+
+    // Median of a few hashes after one warm-up, so JIT compilation and a single hiccup don't skew the pick
+    private static Duration medianHashTime(PasswordHashAlgorithm algorithm, int cost) {
+        PasswordEncoder encoder = algorithm.encoder(cost);
+        encoder.encode(SAMPLE_PASSWORD);
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long startedAt = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            nanos[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(nanos);
+        return Duration.ofNanos(nanos[SAMPLES / 2]);
+    }
+}
@@ -0,0 +1,8 @@
+package com.sky.usermanager.password;
+
+import java.time.Duration;
+
+/**
+ * @param hashTime time one hash took at {@code cost} on this instance
+ */
+public record PasswordHashProfile(PasswordHashAlgorithm algorithm, int cost, Duration hashTime) {}
@@ -0,0 +1,19 @@
+package com.sky.usermanager.password;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param algorithm     scheme new hashes are written with; hashes of the other schemes are still verified and
+ *                      rehashed with this one at the next successful login
+ * @param latencyBudget time one hash may take; at startup the highest cost that fits is picked on this CPU
+ * @param cost          fixed cost instead of calibrating, for instances that must agree on it
+ */
+@ConfigurationProperties(prefix = "usermanager.password-hashing")
+public record PasswordHashingProperties(
+        @DefaultValue("bcrypt") PasswordHashAlgorithm algorithm,
+        @DefaultValue("100ms") Duration latencyBudget,
+        Integer cost
+) {}
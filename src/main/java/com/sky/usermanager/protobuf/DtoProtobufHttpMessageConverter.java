@@ -0,0 +1,95 @@
+package com.sky.usermanager.protobuf;
+
+import com.google.protobuf.Message;
+import com.sky.usermanager.controller.dto.ErrorResponseDTO;
+import com.sky.usermanager.controller.dto.UserExternalProjectResponseDTO;
+import com.sky.usermanager.controller.dto.UserResponseDTO;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes the user, project and error DTOs, and collections of them, as the messages defined in
+ * {@code usermanager/v1/usermanager.proto}. Write-only: requests are still accepted as JSON.
+ */
+public class DtoProtobufHttpMessageConverter extends WriteOnlyHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_X_PROTOBUF = new MediaType("application", "x-protobuf");
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "protobuf");
+    public static final String X_PROTOBUF_SCHEMA_HEADER = "X-Protobuf-Schema";
+    public static final String X_PROTOBUF_MESSAGE_HEADER = "X-Protobuf-Message";
+    private static final String SCHEMA = "usermanager/v1/usermanager.proto";
+
+    public DtoProtobufHttpMessageConverter() {
+        super(APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return mapperFor(clazz) != null;
+    }
+
+    /**
+     * Collections can only be judged by their generic element type, which the raw class does not carry, so the
+     * media types are reported for any class and {@link #canWrite(Type, Class, MediaType)} makes the decision.
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return getSupportedMediaTypes();
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(mediaType) && mapperFor(type != null ? type : clazz) != null;
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        Function<Object, Message> mapper = mapperFor(type != null ? type : value.getClass());
+        if (mapper == null) {
+            mapper = mapperFor(value.getClass());
+        }
+        Message message = mapper.apply(value);
+        outputMessage.getHeaders().set(X_PROTOBUF_SCHEMA_HEADER, SCHEMA);
+        outputMessage.getHeaders().set(X_PROTOBUF_MESSAGE_HEADER, message.getDescriptorForType().getFullName());
+        message.writeTo(outputMessage.getBody());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private static Function<Object, Message> mapperFor(Type type) {
+        ResolvableType resolvable = ResolvableType.forType(type);
+        Class<?> raw = resolvable.resolve();
+        if (raw == null) {
+            return null;
+        }
+        if (Collection.class.isAssignableFrom(raw)) {
+            Class<?> element = resolvable.asCollection().resolveGeneric(0);
+            if (element == UserResponseDTO.class) {
+                return value -> ProtobufMessages.toUserList((Collection<UserResponseDTO>) value);
+            }
+            if (element == UserExternalProjectResponseDTO.class) {
+                return value -> ProtobufMessages.toProjectList((Collection<UserExternalProjectResponseDTO>) value);
+            }
+            return null;
+        }
+        if (raw == UserResponseDTO.class) {
+            return value -> ProtobufMessages.toMessage((UserResponseDTO) value);
+        }
+        if (raw == UserExternalProjectResponseDTO.class) {
+            return value -> ProtobufMessages.toMessage((UserExternalProjectResponseDTO) value);
+        }
+        if (raw == ErrorResponseDTO.class) {
+            return value -> ProtobufMessages.toMessage((ErrorResponseDTO) value);
+        }
+        return null;
+    }
+}
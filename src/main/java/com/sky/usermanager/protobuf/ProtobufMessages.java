@@ -0,0 +1,77 @@
+package com.sky.usermanager.protobuf;
+
+import com.google.protobuf.Timestamp;
+import com.sky.usermanager.controller.dto.ErrorResponseDTO;
+import com.sky.usermanager.controller.dto.UserExternalProjectResponseDTO;
+import com.sky.usermanager.controller.dto.UserResponseDTO;
+import com.sky.usermanager.proto.v1.ErrorResponse;
+import com.sky.usermanager.proto.v1.Project;
+import com.sky.usermanager.proto.v1.ProjectList;
+import com.sky.usermanager.proto.v1.User;
+import com.sky.usermanager.proto.v1.UserList;
+
+import java.util.Collection;
+
+/**
+ * Maps the response DTOs to the messages of {@code usermanager.proto}. Absent values are left unset, as proto3
+ * has no nulls.
+ */
+public final class ProtobufMessages {
+
+    private ProtobufMessages() {}
+
+    public static User toMessage(UserResponseDTO user) {
+        User.Builder builder = User.newBuilder();
+        if (user.id() != null) {
+            builder.setId(user.id());
+        }
+        if (user.email() != null) {
+            builder.setEmail(user.email());
+        }
+        if (user.name() != null) {
+            builder.setName(user.name());
+        }
+        return builder.build();
+    }
+
+    public static UserList toUserList(Collection<UserResponseDTO> users) {
+        UserList.Builder builder = UserList.newBuilder();
+        users.forEach(user -> builder.addUsers(toMessage(user)));
+        return builder.build();
+    }
+
+    public static Project toMessage(UserExternalProjectResponseDTO project) {
+        Project.Builder builder = Project.newBuilder();
+        if (project.id() != null) {
+            builder.setId(project.id());
+        }
+        if (project.userId() != null) {
+            builder.setUserId(project.userId());
+        }
+        if (project.projectName() != null) {
+            builder.setProjectName(project.projectName());
+        }
+        return builder.build();
+    }
+
+    public static ProjectList toProjectList(Collection<UserExternalProjectResponseDTO> projects) {
+        ProjectList.Builder builder = ProjectList.newBuilder();
+        projects.forEach(project -> builder.addProjects(toMessage(project)));
+        return builder.build();
+    }
+
+    public static ErrorResponse toMessage(ErrorResponseDTO error) {
+        ErrorResponse.Builder builder = ErrorResponse.newBuilder()
+                .setTimestamp(Timestamp.newBuilder()
+                        .setSeconds(error.timestamp().getEpochSecond())
+                        .setNanos(error.timestamp().getNano()))
+                .setStatus(error.status());
+        if (error.error() != null) {
+            builder.setError(error.error());
+        }
+        if (error.message() != null) {
+            builder.setMessage(error.message());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.sky.usermanager.protobuf;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Type;
+
+/**
+ * Base of converters that only write responses. {@code canRead} is always {@code false}, so Spring MVC never
+ * selects them for a request body and the read methods are not reached.
+ */
+abstract class WriteOnlyHttpMessageConverter<T> extends AbstractGenericHttpMessageConverter<T> {
+
+    protected WriteOnlyHttpMessageConverter(MediaType... supportedMediaTypes) {
+        super(supportedMediaTypes);
+    }
+
+    @Override
+    public final boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public final boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public final T read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw notReadable(inputMessage);
+    }
+
+    @Override
+    protected final T readInternal(Class<? extends T> clazz, HttpInputMessage inputMessage) {
+        throw notReadable(inputMessage);
+    }
+
+    private HttpMessageNotReadableException notReadable(HttpInputMessage inputMessage) {
+        return new HttpMessageNotReadableException(getClass().getSimpleName() + " does not read request bodies",
+                inputMessage);
+    }
+}
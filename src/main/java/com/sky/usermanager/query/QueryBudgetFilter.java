@@ -0,0 +1,92 @@
+package com.sky.usermanager.query;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements each request issues, records them per endpoint and reports requests that exceed their
+ * query budget or execute the same statement repeatedly, the usual signature of an N+1 load of a lazy association.
+ */
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    public static final String QUERY_COUNT_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".queryCount";
+    public static final String HTTP_SERVER_REQUESTS_QUERIES_SUMMARY = "http_server_requests_queries";
+    public static final String QUERY_BUDGET_EXCEEDED_TOTAL_COUNTER = "query_budget_exceeded_total";
+    public static final String QUERY_N_PLUS_ONE_SUSPECTED_TOTAL_COUNTER = "query_n_plus_one_suspected_total";
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry registry;
+
+    public QueryBudgetFilter(QueryBudgetProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryCounter counter = RequestQueryCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryCounter.stop();
+        }
+        check(request, counter);
+    }
+
+    private void check(HttpServletRequest request, RequestQueryCounter counter) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern == null ? UNKNOWN_ROUTE : pattern.toString();
+        String endpoint = request.getMethod() + " " + route;
+        int total = counter.getTotal();
+        request.setAttribute(QUERY_COUNT_ATTRIBUTE, total);
+
+        DistributionSummary.builder(HTTP_SERVER_REQUESTS_QUERIES_SUMMARY)
+                .description("SQL statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", route)
+                .register(registry)
+                .record(total);
+
+        Map<String, Integer> repeated = counter.getRepeated(properties.nPlusOneThreshold());
+        if (!repeated.isEmpty()) {
+            counter(QUERY_N_PLUS_ONE_SUSPECTED_TOTAL_COUNTER, "Requests executing the same statement repeatedly",
+                    request.getMethod(), route).increment();
+            log.warn("Possible N+1 query [endpoint={}, repeatedStatements={}]", endpoint, repeated);
+        }
+
+        int budget = properties.budgetFor(endpoint);
+        if (total > budget) {
+            counter(QUERY_BUDGET_EXCEEDED_TOTAL_COUNTER, "Requests that executed more statements than their budget",
+                    request.getMethod(), route).increment();
+            log.warn("Query budget exceeded [endpoint={}, queries={}, budget={}]", endpoint, total, budget);
+            if (properties.failOnExceed()) {
+                throw new IllegalStateException("Query budget exceeded for " + endpoint + ": " + total
+                        + " statements, budget is " + budget);
+            }
+        }
+    }
+
+    private Counter counter(String name, String description, String method, String route) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("method", method)
+                .tag("uri", route)
+                .register(registry);
+    }
+}
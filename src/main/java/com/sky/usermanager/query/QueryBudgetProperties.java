@@ -0,0 +1,27 @@
+package com.sky.usermanager.query;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * @param enabled           count the SQL statements issued while handling each request
+ * @param defaultBudget     statements a request may issue when its endpoint has no budget of its own
+ * @param endpoints         budgets per endpoint, keyed by method and route pattern, e.g. {@code GET /api/users/{userId}}
+ * @param nPlusOneThreshold executions of the same statement within one request reported as a likely N+1 load
+ * @param failOnExceed      fail the request when a budget is exceeded instead of only logging it; meant for tests
+ */
+@ConfigurationProperties(prefix = "usermanager.query-budget")
+public record QueryBudgetProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10") int defaultBudget,
+        @DefaultValue Map<String, Integer> endpoints,
+        @DefaultValue("3") int nPlusOneThreshold,
+        @DefaultValue("false") boolean failOnExceed
+) {
+
+    public int budgetFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultBudget);
+    }
+}
@@ -0,0 +1,26 @@
+package com.sky.usermanager.query;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Adds every statement executed through the proxied datasource to the {@link RequestQueryCounter} of the thread.
+ */
+public class QueryCountListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Counted once executed
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueryCounter counter = RequestQueryCounter.current();
+        if (counter != null) {
+            queryInfoList.forEach(queryInfo -> counter.record(queryInfo.getQuery()));
+        }
+    }
+}
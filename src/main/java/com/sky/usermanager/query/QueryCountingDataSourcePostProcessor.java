@@ -0,0 +1,27 @@
+package com.sky.usermanager.query;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application datasource in a datasource-proxy that reports executed statements to the
+ * {@link QueryCountListener}. Only the {@code dataSource} bean is wrapped, so with a read replica the routing
+ * datasource is counted once and the replication heartbeat, which uses the pools directly, is left out.
+ */
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN_NAME.equals(beanName)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new QueryCountListener())
+                    .build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,52 @@
+package com.sky.usermanager.query;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Statements executed by the current thread while a request is being handled. Statements issued on other threads
+ * (async dispatches, the outbox relay) are not attributed to the request.
+ */
+public final class RequestQueryCounter {
+
+    private static final ThreadLocal<RequestQueryCounter> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int total;
+
+    private RequestQueryCounter() {
+    }
+
+    public static RequestQueryCounter start() {
+        RequestQueryCounter counter = new RequestQueryCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static RequestQueryCounter current() {
+        return CURRENT.get();
+    }
+
+    void record(String sql) {
+        total++;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Statements executed at least {@code threshold} times, with their execution count.
+     */
+    public Map<String, Integer> getRepeated(int threshold) {
+        return executionsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
@@ -0,0 +1,65 @@
+package com.sky.usermanager.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sky.usermanager.controller.dto.ErrorResponseDTO;
+import com.sky.usermanager.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Throttles each remote address across all endpoints with 429 and a {@code Retry-After} header. It runs ahead of
+ * Spring Security, so that a client rotating usernames or guessing passwords is bounded before each attempt costs a
+ * password verification. It also turns a {@link HashingCapacityExceededException} raised while authenticating into
+ * a 503. The address is the peer of the connection: behind a proxy it needs forwarded headers to be trusted
+ * ({@code server.forward-headers-strategy}), or every client shares the proxy's budget.
+ */
+public class AddressRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AddressRateLimitFilter.class);
+
+    private final ClientRateLimiter limiter;
+    private final ObjectWriter errorWriter;
+    private final Counter rejectionCounter;
+
+    public AddressRateLimitFilter(ClientRateLimiter limiter, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.limiter = limiter;
+        this.errorWriter = objectMapper.writerFor(ErrorResponseDTO.class);
+        this.rejectionCounter = RateLimitFilter.rejectionCounter(registry, "address", "all");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String address = request.getRemoteAddr();
+        long waitNanos = limiter.tryAcquireAddress(address);
+        if (waitNanos > 0) {
+            rejectionCounter.increment();
+            long retryAfterSeconds = RateLimitFilter.retryAfterSeconds(waitNanos);
+            log.warn("Address rate limit exceeded [address={}, retryAfterSeconds={}]", address, retryAfterSeconds);
+            RateLimitFilter.writeError(errorWriter, response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+                    "Rate limit exceeded, retry in " + retryAfterSeconds + "s");
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } catch (HashingCapacityExceededException e) {
+            // Raised by the password encoder while authenticating, before the MVC exception handlers apply
+            if (response.isCommitted()) {
+                throw e;
+            }
+            RateLimitFilter.writeError(errorWriter, response, HttpStatus.SERVICE_UNAVAILABLE, 1, e.getMessage());
+        }
+    }
+}
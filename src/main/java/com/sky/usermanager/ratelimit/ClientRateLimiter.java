@@ -0,0 +1,80 @@
+package com.sky.usermanager.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps one {@link TokenBucket} per principal and endpoint class, and one per remote address. Full buckets are
+ * dropped periodically since they carry no state, which keeps memory proportional to the clients that were active
+ * recently.
+ */
+public class ClientRateLimiter {
+
+    public static final String RATE_LIMIT_TRACKED_CLIENTS_GAUGE = "rate_limit_tracked_clients";
+    private static final String ADDRESS_BUCKET = "address";
+
+    private final Map<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> overflowBuckets = new HashMap<>();
+    private final RateLimitProperties properties;
+    private final LongSupplier nanoClock;
+
+    public ClientRateLimiter(RateLimitProperties properties, MeterRegistry registry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            overflowBuckets.put(endpointClass.tagValue(), newBucket(properties.bandwidth(endpointClass)));
+        }
+        overflowBuckets.put(ADDRESS_BUCKET, newBucket(properties.address().bandwidth()));
+        Gauge.builder(RATE_LIMIT_TRACKED_CLIENTS_GAUGE, buckets, Map::size)
+                .description("Number of client token buckets held in memory")
+                .register(registry);
+    }
+
+    /**
+     * @return {@code 0} when the request may proceed, otherwise the nanoseconds until the client may retry
+     */
+    public long tryAcquire(String clientKey, EndpointClass endpointClass) {
+        return acquire(new BucketKey(clientKey, endpointClass.tagValue()), properties.bandwidth(endpointClass));
+    }
+
+    /**
+     * Budget of a remote address across all endpoints, checked before its credentials are verified.
+     *
+     * @return {@code 0} when the request may proceed, otherwise the nanoseconds until the address may retry
+     */
+    public long tryAcquireAddress(String remoteAddress) {
+        return acquire(new BucketKey(remoteAddress, ADDRESS_BUCKET), properties.address().bandwidth());
+    }
+
+    private long acquire(BucketKey key, RateLimitProperties.Bandwidth bandwidth) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.size() < properties.maxClients()
+                    ? buckets.computeIfAbsent(key, k -> newBucket(bandwidth))
+                    : overflowBuckets.get(key.bucket());
+        }
+        return bucket.tryAcquire(nanoClock.getAsLong());
+    }
+
+    @Scheduled(fixedDelayString = "PT1M")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private TokenBucket newBucket(RateLimitProperties.Bandwidth bandwidth) {
+        return new TokenBucket(bandwidth.capacity(), bandwidth.refillPerSecond(), nanoClock.getAsLong());
+    }
+
+    private record BucketKey(String client, String bucket) {}
+}
@@ -0,0 +1,84 @@
+package com.sky.usermanager.ratelimit;
+
+import com.sky.usermanager.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounds how many password hashes are computed at the same time, so BCrypt work can't take every CPU away from
+ * cheaper requests. Waiting requests are admitted in arrival order; those that can't get a slot within
+ * {@code maxWait} fail with {@link HashingCapacityExceededException}.
+ */
+public class ConcurrencyLimitedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitedPasswordEncoder.class);
+    public static final String PASSWORD_HASHING_IN_FLIGHT_GAUGE = "password_hashing_in_flight";
+    public static final String PASSWORD_HASHING_REJECTIONS_TOTAL_COUNTER = "password_hashing_rejections_total";
+
+    private final PasswordEncoder delegate;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final Duration maxWait;
+    private final Counter rejectionsCounter;
+
+    public ConcurrencyLimitedPasswordEncoder(PasswordEncoder delegate, int maxConcurrency, Duration maxWait,
+                                             MeterRegistry registry) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.maxWait = maxWait;
+        this.rejectionsCounter = Counter.builder(PASSWORD_HASHING_REJECTIONS_TOTAL_COUNTER)
+                .description("Total number of password hashes rejected because all hashing slots were busy")
+                .register(registry);
+        Gauge.builder(PASSWORD_HASHING_IN_FLIGHT_GAUGE, this, encoder -> encoder.inFlight())
+                .description("Number of password hashes being computed")
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return limited(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return limited(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    int inFlight() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    private <T> T limited(Supplier<T> hashing) {
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejectionsCounter.increment();
+                log.warn("Password hashing capacity exhausted [maxConcurrency={}, maxWaitMs={}]",
+                        maxConcurrency, maxWait.toMillis());
+                throw new HashingCapacityExceededException("Too many concurrent password operations, retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HashingCapacityExceededException("Interrupted while waiting for a password hashing slot");
+        }
+        try {
+            return hashing.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
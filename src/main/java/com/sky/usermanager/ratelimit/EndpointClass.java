@@ -0,0 +1,35 @@
+package com.sky.usermanager.ratelimit;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Groups endpoints by cost, each class having its own budget per client.
+ */
+public enum EndpointClass {
+    /** Requests that hash a password on top of authenticating: user creation and update. */
+    HASHING,
+    /** Other state-changing requests. */
+    WRITE,
+    /** Everything else. */
+    READ;
+
+    private static final Pattern USER_PATH = Pattern.compile("/api/users/[^/]+/?");
+
+    public static EndpointClass of(String method, String path) {
+        if ((HttpMethod.POST.matches(method) && ("/api/users".equals(path) || "/api/users/".equals(path)))
+                || (HttpMethod.PUT.matches(method) && USER_PATH.matcher(path).matches())) {
+            return HASHING;
+        }
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return READ;
+        }
+        return WRITE;
+    }
+
+    public String tagValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,100 @@
+package com.sky.usermanager.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sky.usermanager.controller.dto.ErrorResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles each authenticated user per {@link EndpointClass} with 429 and a {@code Retry-After} header. It runs
+ * after Spring Security, so buckets belong to verified principals: presenting someone else's username with a wrong
+ * password can't spend their budget. Requests that get this far without authenticating are budgeted by address.
+ * The cost of verifying credentials is bounded by {@link AddressRateLimitFilter}, which runs before authentication.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+    public static final String RATE_LIMIT_REJECTIONS_TOTAL_COUNTER = "rate_limit_rejections_total";
+    private static final AuthenticationTrustResolver TRUST_RESOLVER = new AuthenticationTrustResolverImpl();
+
+    private final ClientRateLimiter limiter;
+    private final ObjectWriter errorWriter;
+    private final Map<EndpointClass, Counter> rejectionCounters;
+
+    public RateLimitFilter(ClientRateLimiter limiter, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.limiter = limiter;
+        this.errorWriter = objectMapper.writerFor(ErrorResponseDTO.class);
+        this.rejectionCounters = Map.of(
+                EndpointClass.READ, rejectionCounter(registry, "principal", EndpointClass.READ.tagValue()),
+                EndpointClass.WRITE, rejectionCounter(registry, "principal", EndpointClass.WRITE.tagValue()),
+                EndpointClass.HASHING, rejectionCounter(registry, "principal", EndpointClass.HASHING.tagValue()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        EndpointClass endpointClass = EndpointClass.of(request.getMethod(), path);
+        String client = clientKey(request);
+
+        long waitNanos = limiter.tryAcquire(client, endpointClass);
+        if (waitNanos > 0) {
+            rejectionCounters.get(endpointClass).increment();
+            long retryAfterSeconds = retryAfterSeconds(waitNanos);
+            log.warn("Rate limit exceeded [client={}, endpointClass={}, retryAfterSeconds={}]",
+                    client, endpointClass, retryAfterSeconds);
+            writeError(errorWriter, response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+                    "Rate limit exceeded, retry in " + retryAfterSeconds + "s");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (TRUST_RESOLVER.isAuthenticated(authentication)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+    }
+
+    static void writeError(ObjectWriter errorWriter, HttpServletResponse response, HttpStatus status,
+                           long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        errorWriter.writeValue(response.getOutputStream(),
+                ErrorResponseDTO.of(status, status.getReasonPhrase(), message));
+    }
+
+    static Counter rejectionCounter(MeterRegistry registry, String scope, String endpointClass) {
+        return Counter.builder(RATE_LIMIT_REJECTIONS_TOTAL_COUNTER)
+                .description("Total number of requests rejected by the per-client rate limiter")
+                .tag("scope", scope)
+                .tag("endpoint_class", endpointClass)
+                .register(registry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.sky.usermanager.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled            apply per-client token buckets to {@code /api/**}
+ * @param address            budget of each remote address across all endpoints, applied before authentication so
+ *                           that requests with made-up credentials are bounded too; above the other budgets, since
+ *                           several users may share an address
+ * @param read               budget of each authenticated user for reads
+ * @param write              budget of each authenticated user for writes that don't hash a password
+ * @param hashing            budget of each authenticated user for user creation and update, which hash a password
+ * @param maxClients         buckets kept in memory; clients beyond it share one bucket per endpoint class
+ * @param hashingConcurrency password hashes (including the verification done by basic auth) computed at the same
+ *                           time, {@code 0} means one per available processor
+ * @param hashingMaxWait     how long a request waits for a hashing slot before it is rejected with 503
+ */
+@ConfigurationProperties(prefix = "usermanager.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue AddressBandwidth address,
+        @DefaultValue Bandwidth read,
+        @DefaultValue Bandwidth write,
+        @DefaultValue Bandwidth hashing,
+        @DefaultValue("100000") int maxClients,
+        @DefaultValue("0") int hashingConcurrency,
+        @DefaultValue("500ms") Duration hashingMaxWait
+) {
+
+    /**
+     * @param capacity        requests a client can burst before being throttled
+     * @param refillPerSecond sustained requests per second
+     */
+    public record Bandwidth(
+            @DefaultValue("20") int capacity,
+            @DefaultValue("10") double refillPerSecond
+    ) {}
+
+    /**
+     * Budget of a remote address. Shared by everyone behind the address, so its defaults are well above those of
+     * {@link Bandwidth}; a record of its own keeps them when only one of the fields is set.
+     *
+     * @param capacity        requests an address can burst before being throttled
+     * @param refillPerSecond sustained requests per second
+     */
+    public record AddressBandwidth(
+            @DefaultValue("200") int capacity,
+            @DefaultValue("100") double refillPerSecond
+    ) {
+
+        public Bandwidth bandwidth() {
+            return new Bandwidth(capacity, refillPerSecond);
+        }
+    }
+
+    public Bandwidth bandwidth(EndpointClass endpointClass) {
+        return switch (endpointClass) {
+            case READ -> read;
+            case WRITE -> write;
+            case HASHING -> hashing;
+        };
+    }
+
+    public int resolvedHashingConcurrency() {
+        return hashingConcurrency > 0 ? hashingConcurrency : Runtime.getRuntime().availableProcessors();
+    }
+}
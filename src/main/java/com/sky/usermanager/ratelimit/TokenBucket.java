@@ -0,0 +1,56 @@
+package com.sky.usermanager.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: instead of a token count and a refill timestamp, the whole state is the
+ * theoretical arrival time of the next request, updated with a single compare-and-set. A request is admitted while
+ * that time is no more than {@code capacity} refill intervals ahead of now.
+ */
+public final class TokenBucket {
+
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refill rate must be positive");
+        }
+        this.refillIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.burstNanos = refillIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return {@code 0} when a token was taken, otherwise the nanoseconds until the next token is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + refillIntervalNanos;
+            long waitNanos = next - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int availableTokens(long nowNanos) {
+        long ahead = Math.max(0, theoreticalArrival.get() - nowNanos);
+        return (int) ((burstNanos - ahead) / refillIntervalNanos);
+    }
+
+    /**
+     * A full bucket behaves exactly like a new one, so it can be dropped without losing state.
+     */
+    boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.sky.usermanager.repository;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Tells which constraint a failed write violated, from the Hibernate exception behind Spring's translation.
+ */
+public final class ConstraintViolations {
+
+  private ConstraintViolations() {
+  }
+
+  /**
+   * True for a unique index or primary key violation.
+   */
+  public static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+    ConstraintViolationException violation = violation(ex);
+    return violation != null && violation.getKind() == ConstraintKind.UNIQUE;
+  }
+
+  /**
+   * True when the violated constraint is {@code constraintName}. Databases qualify or decorate the name (H2 reports
+   * {@code PUBLIC.UK_..._INDEX_5}), so it is matched as a case-insensitive substring, of the extracted name or of the
+   * driver's message: the names Hibernate extracts for H2's foreign key violations lose their first character.
+   */
+  public static boolean violates(DataIntegrityViolationException ex, String constraintName) {
+    ConstraintViolationException violation = violation(ex);
+    return violation != null && (mentions(violation.getConstraintName(), constraintName)
+        || mentions(violation.getSQLException().getMessage(), constraintName));
+  }
+
+  private static boolean mentions(String reported, String constraintName) {
+    return reported != null && reported.toLowerCase(Locale.ROOT).contains(constraintName.toLowerCase(Locale.ROOT));
+  }
+
+  private static ConstraintViolationException violation(DataIntegrityViolationException ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation) {
+        return violation;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,47 @@
+package com.sky.usermanager.repository;
+
+import com.sky.usermanager.model.SelectableField;
+import com.sky.usermanager.model.SparseRow;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+* Builds the select list of a column projection from the requested fields and turns its result rows back into
+* {@link SparseRow}s.
+*/
+final class FieldProjections {
+
+  private FieldProjections() {
+  }
+
+  /**
+  * The requested fields in declaration order, which is the order of the select list and of the response.
+  */
+  static <F extends Enum<F> & SelectableField> List<F> ordered(Set<F> fields) {
+    return List.copyOf(EnumSet.copyOf(fields));
+  }
+
+  static List<Selection<?>> selections(Root<?> root, List<? extends SelectableField> fields) {
+    return fields.stream().<Selection<?>>map(field -> path(root, field.attribute())).toList();
+  }
+
+  static Path<?> path(Root<?> root, String attribute) {
+    Path<?> path = root;
+    for (String part : attribute.split("\\.")) {
+      path = path.get(part);
+    }
+    return path;
+  }
+
+  static <F extends Enum<F> & SelectableField> List<SparseRow<F>> rows(List<Object[]> results, List<F> fields) {
+    return results.stream().map(values -> new SparseRow<>(fields,
+        Collections.unmodifiableList(Arrays.asList(values)))).toList();
+  }
+}
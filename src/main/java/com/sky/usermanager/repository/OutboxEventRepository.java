@@ -0,0 +1,34 @@
+package com.sky.usermanager.repository;
+
+import com.sky.usermanager.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select e from OutboxEvent e where e.feedPosition is null order by e.id")
+  List<OutboxEvent> findUnpublishedForUpdate(Pageable pageable);
+
+  @Query("select coalesce(max(e.feedPosition), 0) from OutboxEvent e")
+  long findLastPosition();
+
+  List<OutboxEvent> findByFeedPositionGreaterThanOrderByFeedPositionAsc(long feedPosition, Pageable pageable);
+
+  List<OutboxEvent> findByUserIdAndFeedPositionGreaterThanOrderByFeedPositionAsc(Long userId, long feedPosition,
+                                                                                Pageable pageable);
+
+  @Modifying
+  @Query("delete from OutboxEvent e where e.publishedAt < :cutoff")
+  int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
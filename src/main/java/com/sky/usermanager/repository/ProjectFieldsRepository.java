@@ -0,0 +1,18 @@
+package com.sky.usermanager.repository;
+
+import com.sky.usermanager.model.ProjectField;
+import com.sky.usermanager.model.SparseRow;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+* Project reads that select only the requested columns, for {@code ?fields=}.
+*/
+public interface ProjectFieldsRepository {
+
+  Optional<SparseRow<ProjectField>> findFieldsById(Long userId, String projectId, Set<ProjectField> fields);
+
+  List<SparseRow<ProjectField>> findFieldsByUserId(Long userId, Set<ProjectField> fields);
+}
@@ -0,0 +1,45 @@
+package com.sky.usermanager.repository;
+
+import com.sky.usermanager.model.ProjectField;
+import com.sky.usermanager.model.SparseRow;
+import com.sky.usermanager.model.UserExternalProject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+class ProjectFieldsRepositoryImpl implements ProjectFieldsRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public Optional<SparseRow<ProjectField>> findFieldsById(Long userId, String projectId,
+                                                         Set<ProjectField> fields) {
+    List<ProjectField> ordered = FieldProjections.ordered(fields);
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+    Root<UserExternalProject> project = query.from(UserExternalProject.class);
+    query.multiselect(FieldProjections.selections(project, ordered)).where(
+        builder.equal(FieldProjections.path(project, "externalProjectKey.userId"), userId),
+        builder.equal(FieldProjections.path(project, "externalProjectKey.projectId"), projectId));
+    return FieldProjections.rows(entityManager.createQuery(query).getResultList(), ordered).stream().findFirst();
+  }
+
+  @Override
+  public List<SparseRow<ProjectField>> findFieldsByUserId(Long userId, Set<ProjectField> fields) {
+    List<ProjectField> ordered = FieldProjections.ordered(fields);
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+    Root<UserExternalProject> project = query.from(UserExternalProject.class);
+    query.multiselect(FieldProjections.selections(project, ordered))
+        .where(builder.equal(FieldProjections.path(project, "externalProjectKey.userId"), userId))
+        .orderBy(builder.asc(FieldProjections.path(project, "externalProjectKey.projectId")));
+    return FieldProjections.rows(entityManager.createQuery(query).getResultList(), ordered);
+  }
+}
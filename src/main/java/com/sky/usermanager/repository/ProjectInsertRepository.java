@@ -0,0 +1,16 @@
+package com.sky.usermanager.repository;
+
+import com.sky.usermanager.model.UserExternalProject;
+
+/**
+* Inserts a project link without reading it first, for the constraint-driven duplicate check.
+*/
+public interface ProjectInsertRepository {
+
+  /**
+   * Persists and flushes {@code project}, so that a duplicate link or a missing user fails here with a
+   * {@link org.springframework.dao.DataIntegrityViolationException}. {@code save} can't be used: the key is assigned,
+   * so it would merge, reading the row and overwriting an existing link.
+   */
+  void insert(UserExternalProject project);
+}
@@ -0,0 +1,17 @@
+package com.sky.usermanager.repository;
+
+import com.sky.usermanager.model.UserExternalProject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class ProjectInsertRepositoryImpl implements ProjectInsertRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public void insert(UserExternalProject project) {
+    entityManager.persist(project);
+    entityManager.flush();
+  }
+}
@@ -0,0 +1,18 @@
+package com.sky.usermanager.repository;
+
+import com.sky.usermanager.model.ProjectPreview;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bounded project reads for {@code ?include=projects}.
+ */
+public interface ProjectPreviewRepository {
+
+  /**
+   * The first {@code maxPerUser} projects of each user in project id order, with each user's full count, in one
+   * statement; users without projects have no rows.
+   */
+  List<ProjectPreview> findFirstByUserIdIn(Collection<Long> userIds, int maxPerUser);
+}
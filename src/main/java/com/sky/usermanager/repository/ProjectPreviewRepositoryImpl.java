@@ -0,0 +1,42 @@
+package com.sky.usermanager.repository;
+
+import com.sky.usermanager.model.ProjectPreview;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Collection;
+import java.util.List;
+
+class ProjectPreviewRepositoryImpl implements ProjectPreviewRepository {
+
+  // Window functions rank and count each user's projects in the database, so only the returned rows are read back
+  private static final String FIRST_PROJECTS = """
+      select user_id, id, name, project_count from (
+        select p.user_id, p.id, p.name,
+               row_number() over (partition by p.user_id order by p.id) as project_rank,
+               count(*) over (partition by p.user_id) as project_count
+        from tb_user_external_project p
+        where p.user_id in (:userIds)
+      ) ranked
+      where project_rank <= :maxPerUser
+      order by user_id, id""";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<ProjectPreview> findFirstByUserIdIn(Collection<Long> userIds, int maxPerUser) {
+    if (userIds.isEmpty()) {
+      return List.of();
+    }
+    List<?> rows = entityManager.createNativeQuery(FIRST_PROJECTS)
+        .setParameter("userIds", userIds)
+        .setParameter("maxPerUser", maxPerUser)
+        .getResultList();
+    return rows.stream()
+        .map(Object[].class::cast)
+        .map(row -> new ProjectPreview(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+            ((Number) row[3]).longValue()))
+        .toList();
+  }
+}
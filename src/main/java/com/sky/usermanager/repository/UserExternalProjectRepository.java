@@ -4,13 +4,30 @@ import com.sky.usermanager.model.UserExternalProject;
 import com.sky.usermanager.model.UserExternalProjectKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface UserExternalProjectRepository extends
-    JpaRepository<UserExternalProject, UserExternalProjectKey> {
+    JpaRepository<UserExternalProject, UserExternalProjectKey>, ProjectFieldsRepository,
+    ProjectInsertRepository, ProjectPreviewRepository {
 
   Page<UserExternalProject> findByUserId(Long userId, Pageable pageable);
 
+  List<UserExternalProject> findByUserIdIn(Collection<Long> userIds, Sort sort);
+
+  /**
+   * Bulk delete, so that removing a user doesn't load and delete their projects one by one through the cascade.
+   */
+  @Modifying
+  @Query("delete from UserExternalProject p where p.user.id = :userId")
+  int deleteByUserId(@Param("userId") Long userId);
+
 }
@@ -0,0 +1,18 @@
+package com.sky.usermanager.repository;
+
+import com.sky.usermanager.model.SparseRow;
+import com.sky.usermanager.model.UserField;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+* User reads that select only the requested columns, for {@code ?fields=}.
+*/
+public interface UserFieldsRepository {
+
+  Optional<SparseRow<UserField>> findFieldsById(Long id, Set<UserField> fields);
+
+  List<SparseRow<UserField>> findAllFields(Set<UserField> fields);
+}
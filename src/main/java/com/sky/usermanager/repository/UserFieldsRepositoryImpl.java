@@ -0,0 +1,40 @@
+package com.sky.usermanager.repository;
+
+import com.sky.usermanager.model.SparseRow;
+import com.sky.usermanager.model.User;
+import com.sky.usermanager.model.UserField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+class UserFieldsRepositoryImpl implements UserFieldsRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public Optional<SparseRow<UserField>> findFieldsById(Long id, Set<UserField> fields) {
+    List<UserField> ordered = FieldProjections.ordered(fields);
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+    Root<User> user = query.from(User.class);
+    query.multiselect(FieldProjections.selections(user, ordered)).where(builder.equal(user.get("id"), id));
+    return FieldProjections.rows(entityManager.createQuery(query).getResultList(), ordered).stream().findFirst();
+  }
+
+  @Override
+  public List<SparseRow<UserField>> findAllFields(Set<UserField> fields) {
+    List<UserField> ordered = FieldProjections.ordered(fields);
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+    Root<User> user = query.from(User.class);
+    query.multiselect(FieldProjections.selections(user, ordered)).orderBy(builder.asc(user.get("id")));
+    return FieldProjections.rows(entityManager.createQuery(query).getResultList(), ordered);
+  }
+}
@@ -1,11 +1,62 @@
 package com.sky.usermanager.repository;
 
 import com.sky.usermanager.model.User;
+import com.sky.usermanager.model.UserCredentials;
+import com.sky.usermanager.model.UserSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserFieldsRepository {
 
   boolean existsByEmail(String email);
+
+  /**
+   * Only the columns authentication needs, looked up through the unique email index.
+   */
+  @Query("""
+      select new com.sky.usermanager.model.UserCredentials(u.id, u.email, u.password) from User u
+      where u.email = :email""")
+  Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+
+  /**
+   * Replaces the hash of a user who just logged in, outside of any request transaction.
+   */
+  @Transactional
+  @Modifying
+  @Query("update User u set u.password = :password where u.id = :id")
+  int updatePasswordById(@Param("id") Long id, @Param("password") String password);
+
+  /**
+   * Keyset-paged email search: {@code emailPattern} is an escaped {@code LIKE} prefix pattern, so the range scan
+   * is served by the unique email index, and {@code afterEmail} is the last email of the previous page.
+   */
+  @Query("""
+      select new com.sky.usermanager.model.UserSummary(u.id, u.email, u.name) from User u
+      where u.email like :emailPattern escape '!'
+        and u.email > :afterEmail
+        and (:namePattern is null or lower(u.name) like :namePattern escape '!')
+      order by u.email""")
+  List<UserSummary> searchByEmailPrefix(@Param("emailPattern") String emailPattern,
+                                        @Param("afterEmail") String afterEmail,
+                                        @Param("namePattern") String namePattern,
+                                        Limit limit);
+
+  @Modifying
+  @Query("delete from User u where u.id = :id")
+  int deleteUserById(@Param("id") Long id);
+
+  @Query("""
+      select new com.sky.usermanager.model.UserSummary(u.id, u.email, u.name) from User u
+      where u.id > :afterId
+      order by u.id""")
+  List<UserSummary> findSummariesAfterId(@Param("afterId") Long afterId, Limit limit);
 }
@@ -0,0 +1,198 @@
+package com.sky.usermanager.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sky.usermanager.controller.dto.UserResponseDTO;
+import com.sky.usermanager.model.OutboxEvent;
+import com.sky.usermanager.model.UserSummary;
+import com.sky.usermanager.outbox.OutboxEventsPublished;
+import com.sky.usermanager.repository.UserRepository;
+import com.sky.usermanager.service.ChangeFeedService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory sorted index of user emails for typeahead lookups. It is loaded from {@code tb_user} at startup and
+ * then follows the change feed, so writes made through the services on any instance are reflected once relayed.
+ * Events are applied in feed position order; a gap in the positions received locally triggers a catch-up read.
+ * <p>
+ * Emails are keyed lower-cased, to match like the case-insensitive collation of {@code tb_user.email} (MySQL's
+ * default {@code utf8mb4_0900_ai_ci}), whose unique index allows one user per email regardless of case. Ordering
+ * follows the lower-cased characters, which agrees with the collation for letters, digits, {@code .}, {@code -} and
+ * {@code @}, but not for every symbol: the collation sorts {@code _} before digits and letters, for instance.
+ */
+public class EmailPrefixIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailPrefixIndex.class);
+    public static final String EMAIL_INDEX_ENTRIES_GAUGE = "email_index_entries";
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final NavigableMap<String, UserSummary> byEmail = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> emailById = new ConcurrentHashMap<>();
+    private final UserRepository userRepository;
+    private final ChangeFeedService changeFeedService;
+    private final ObjectReader userReader;
+    private volatile boolean ready;
+    private long lastPosition;
+
+    public EmailPrefixIndex(UserRepository userRepository, ChangeFeedService changeFeedService,
+                            ObjectMapper objectMapper, MeterRegistry registry) {
+        this.userRepository = userRepository;
+        this.changeFeedService = changeFeedService;
+        this.userReader = objectMapper.readerFor(UserResponseDTO.class);
+        Gauge.builder(EMAIL_INDEX_ENTRIES_GAUGE, byEmail, Map::size)
+                .description("Number of emails held by the in-memory email index")
+                .register(registry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        // Read before the table scan: changes committed during the scan are replayed from this position
+        long position = changeFeedService.getLastPosition();
+        byEmail.clear();
+        emailById.clear();
+
+        List<UserSummary> batch;
+        Long afterId = 0L;
+        do {
+            batch = userRepository.findSummariesAfterId(afterId, Limit.of(LOAD_BATCH_SIZE));
+            batch.forEach(this::put);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        lastPosition = position;
+        ready = true;
+        catchUp();
+        log.info("Email index built [entries={}, position={}, tookMs={}]",
+                byEmail.size(), lastPosition, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @EventListener
+    public synchronized void onEventsPublished(OutboxEventsPublished published) {
+        if (!ready) {
+            return;
+        }
+        for (OutboxEvent event : published.events()) {
+            if (event.getFeedPosition() > lastPosition + 1) {
+                catchUp();
+            }
+            apply(event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${usermanager.search.email-index-catch-up-interval:5s}")
+    public synchronized void catchUp() {
+        if (!ready) {
+            return;
+        }
+        List<OutboxEvent> changes;
+        do {
+            changes = changeFeedService.getChanges(lastPosition, LOAD_BATCH_SIZE);
+            changes.forEach(this::apply);
+        } while (changes.size() == LOAD_BATCH_SIZE);
+    }
+
+    /**
+     * Returns up to {@code limit} users whose email starts with {@code emailPrefix} (case-insensitive), ordered by
+     * email and starting after {@code afterEmail}, optionally narrowed to names containing {@code name}.
+     */
+    public List<UserSummary> search(String emailPrefix, String name, String afterEmail, int limit) {
+        String prefix = normalize(emailPrefix);
+        String start = prefix;
+        boolean inclusive = true;
+        if (afterEmail != null && normalize(afterEmail).compareTo(prefix) >= 0) {
+            start = normalize(afterEmail);
+            inclusive = false;
+        }
+        String nameFilter = name == null ? null : name.toLowerCase(Locale.ROOT);
+
+        List<UserSummary> results = new ArrayList<>(limit);
+        for (Map.Entry<String, UserSummary> entry : byEmail.tailMap(start, inclusive).entrySet()) {
+            if (!entry.getKey().startsWith(prefix) || results.size() == limit) {
+                break;
+            }
+            UserSummary user = entry.getValue();
+            if (nameFilter == null || (user.name() != null && user.name().toLowerCase(Locale.ROOT).contains(nameFilter))) {
+                results.add(user);
+            }
+        }
+        return results;
+    }
+
+    int size() {
+        return byEmail.size();
+    }
+
+    private void apply(OutboxEvent event) {
+        if (event.getFeedPosition() <= lastPosition) {
+            return;
+        }
+        switch (event.getEventType()) {
+            case USER_CREATED, USER_UPDATED -> put(readUser(event));
+            case USER_DELETED -> remove(event.getUserId());
+            default -> {
+                // Project changes don't affect the email index
+            }
+        }
+        lastPosition = event.getFeedPosition();
+    }
+
+    private void put(UserSummary user) {
+        String email = normalize(user.email());
+        String previousEmail = emailById.put(user.id(), email);
+        if (previousEmail != null) {
+            removeEntry(previousEmail, user.id());
+        }
+        UserSummary displaced = byEmail.put(email, user);
+        // Only possible on a case-sensitive collation: the user written last keeps the email
+        if (displaced != null && !displaced.id().equals(user.id())) {
+            emailById.remove(displaced.id(), email);
+        }
+    }
+
+    private void remove(Long userId) {
+        String email = emailById.remove(userId);
+        if (email != null) {
+            removeEntry(email, userId);
+        }
+    }
+
+    private void removeEntry(String email, Long userId) {
+        byEmail.computeIfPresent(email, (key, user) -> user.id().equals(userId) ? null : user);
+    }
+
+    private UserSummary readUser(OutboxEvent event) {
+        try {
+            UserResponseDTO user = userReader.readValue(event.getPayload());
+            return new UserSummary(user.id(), user.email(), user.name());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload for change event " + event.getFeedPosition(), e);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
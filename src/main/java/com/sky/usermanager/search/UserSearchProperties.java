@@ -0,0 +1,20 @@
+package com.sky.usermanager.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param defaultLimit              page size used when the caller doesn't ask for one
+ * @param maxLimit                  hard upper bound on the page size
+ * @param emailIndexEnabled         serve searches from an in-memory sorted index of emails instead of the database
+ * @param emailIndexCatchUpInterval how often the index reads the change feed for writes relayed by other instances
+ */
+@ConfigurationProperties(prefix = "usermanager.search")
+public record UserSearchProperties(
+        @DefaultValue("20") int defaultLimit,
+        @DefaultValue("100") int maxLimit,
+        @DefaultValue("false") boolean emailIndexEnabled,
+        @DefaultValue("5s") Duration emailIndexCatchUpInterval
+) {}
@@ -0,0 +1,10 @@
+package com.sky.usermanager.search;
+
+import com.sky.usermanager.model.UserSummary;
+
+import java.util.List;
+
+/**
+ * @param nextCursor value to pass as {@code after} to fetch the next page, {@code null} on the last page
+ */
+public record UserSearchResult(List<UserSummary> users, String nextCursor) {}
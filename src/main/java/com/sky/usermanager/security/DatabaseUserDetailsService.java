@@ -0,0 +1,68 @@
+package com.sky.usermanager.security;
+
+import com.sky.usermanager.model.UserCredentials;
+import com.sky.usermanager.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+/**
+ * Authenticates the users in {@code tb_user} by email, as a {@link UserPrincipal} with the role {@code USER},
+ * alongside the configured accounts, which take precedence. Credentials are read with a projection of the columns authentication needs and
+ * cached in {@link PrincipalCache}.
+ * <p>
+ * Also stores the rehash of an outdated password hash after a successful login.
+ */
+public class DatabaseUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseUserDetailsService.class);
+
+    private final InMemoryUserDetailsManager accounts;
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+
+    public DatabaseUserDetailsService(InMemoryUserDetailsManager accounts, UserRepository userRepository,
+                                      PrincipalCache principalCache) {
+        this.accounts = accounts;
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) {
+        if (accounts.userExists(username)) {
+            return accounts.loadUserByUsername(username);
+        }
+        return toUserDetails(findCredentials(username));
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (accounts.userExists(user.getUsername())) {
+            return accounts.updatePassword(user, newPassword);
+        }
+        UserCredentials credentials = findCredentials(user.getUsername());
+        userRepository.updatePasswordById(credentials.id(), newPassword);
+        principalCache.evict(credentials.id());
+        log.info("Password rehashed after login [userId={}]", credentials.id());
+        return toUserDetails(new UserCredentials(credentials.id(), credentials.email(), newPassword));
+    }
+
+    private UserCredentials findCredentials(String email) {
+        UserCredentials credentials = principalCache.get(email);
+        if (credentials == null) {
+            credentials = userRepository.findCredentialsByEmail(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("Unknown user"));
+            principalCache.put(credentials);
+        }
+        return credentials;
+    }
+
+    private static UserDetails toUserDetails(UserCredentials credentials) {
+        return new UserPrincipal(credentials.id(), credentials.email(), credentials.password());
+    }
+}
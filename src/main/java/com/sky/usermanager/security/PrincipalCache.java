@@ -0,0 +1,104 @@
+package com.sky.usermanager.security;
+
+import com.sky.usermanager.model.UserCredentials;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Credentials of recently authenticated users by email, for {@link DatabaseUserDetailsService}. Entries expire after
+ * the TTL and are dropped when the user's credentials change on this instance. Only credentials are cached, never
+ * the {@code UserDetails}, whose password Spring Security erases after authentication. Unknown emails aren't
+ * cached.
+ */
+public class PrincipalCache {
+
+    public static final String PRINCIPAL_CACHE_REQUESTS_TOTAL_COUNTER = "principal_cache_requests_total";
+    public static final String PRINCIPAL_CACHE_SIZE_GAUGE = "principal_cache_size";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final PrincipalCacheProperties properties;
+    private final LongSupplier nanoClock;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public PrincipalCache(PrincipalCacheProperties properties, MeterRegistry registry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.hitCounter = requestsCounter(registry, "hit");
+        this.missCounter = requestsCounter(registry, "miss");
+        Gauge.builder(PRINCIPAL_CACHE_SIZE_GAUGE, entries, Map::size)
+                .description("Number of users whose credentials are cached")
+                .register(registry);
+    }
+
+    /**
+     * Returns the cached credentials of {@code email}, or null when they must be read.
+     */
+    public UserCredentials get(String email) {
+        if (!properties.enabled()) {
+            return null;
+        }
+        Entry entry = entries.get(email);
+        if (entry == null || entry.isExpired(nanoClock.getAsLong())) {
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        return entry.credentials();
+    }
+
+    public void put(UserCredentials credentials) {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (entries.size() >= properties.maxSize()) {
+            evictExpired();
+            if (entries.size() >= properties.maxSize()) {
+                return;
+            }
+        }
+        entries.put(credentials.email(),
+                new Entry(credentials, nanoClock.getAsLong() + properties.ttl().toNanos()));
+    }
+
+    public void evict(Long userId) {
+        entries.values().removeIf(entry -> entry.credentials().id().equals(userId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCredentialsChanged(UserCredentialsChanged event) {
+        evict(event.userId());
+    }
+
+    @Scheduled(fixedDelayString = "PT1M")
+    public void evictExpired() {
+        long now = nanoClock.getAsLong();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static Counter requestsCounter(MeterRegistry registry, String result) {
+        return Counter.builder(PRINCIPAL_CACHE_REQUESTS_TOTAL_COUNTER)
+                .description("Credential lookups of database users answered by the principal cache")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record Entry(UserCredentials credentials, long expiresAtNanos) {
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
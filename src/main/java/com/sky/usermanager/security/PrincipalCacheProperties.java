@@ -0,0 +1,19 @@
+package com.sky.usermanager.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled keep the credentials of recently authenticated users in memory instead of querying per request
+ * @param ttl     how long credentials are used before they are read again; bounds how long another instance accepts
+ *                a changed password
+ * @param maxSize users held at most; logins beyond it query the database until expired entries are dropped
+ */
+@ConfigurationProperties(prefix = "usermanager.principal-cache")
+public record PrincipalCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1m") Duration ttl,
+        @DefaultValue("10000") int maxSize
+) {}
@@ -0,0 +1,25 @@
+package com.sky.usermanager.security;
+
+import org.springframework.security.core.Authentication;
+
+/**
+ * Ownership checks for method security, used as {@code @userAccess.isAdminOrSelf(authentication, #id)}: a user of
+ * {@code tb_user} may change its own record and projects, and admins may change any. The configured accounts own no
+ * record.
+ */
+public class UserAccess {
+
+    public boolean isSelf(Authentication authentication, Long userId) {
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.getId().equals(userId);
+    }
+
+    public boolean isAdminOrSelf(Authentication authentication, Long userId) {
+        return isAdmin(authentication) || isSelf(authentication, userId);
+    }
+
+    public boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+}
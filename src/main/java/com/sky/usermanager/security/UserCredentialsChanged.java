@@ -0,0 +1,7 @@
+package com.sky.usermanager.security;
+
+/**
+ * Published when a user's email or password changes or the user is deleted, so that cached principals are dropped
+ * once the change commits.
+ */
+public record UserCredentialsChanged(Long userId) {}
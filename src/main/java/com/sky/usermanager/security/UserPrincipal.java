@@ -0,0 +1,22 @@
+package com.sky.usermanager.security;
+
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * A user of {@code tb_user} once authenticated, with the role {@code USER}. Carries the user's id, so that
+ * ownership can be checked without reading the user again.
+ */
+public class UserPrincipal extends User {
+
+    private final Long id;
+
+    public UserPrincipal(Long id, String email, String password) {
+        super(email, password, AuthorityUtils.createAuthorityList("ROLE_USER"));
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
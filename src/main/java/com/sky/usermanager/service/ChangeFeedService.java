@@ -0,0 +1,71 @@
+package com.sky.usermanager.service;
+
+import com.sky.usermanager.model.OutboxEvent;
+import com.sky.usermanager.outbox.OutboxEventsPublished;
+import com.sky.usermanager.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class ChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AtomicReference<CompletableFuture<List<OutboxEvent>>> nextBatch =
+            new AtomicReference<>(new CompletableFuture<>());
+
+    public ChangeFeedService(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<OutboxEvent> getChanges(long since, int limit) {
+        log.debug("Fetching changes [since={}, limit={}]", since, limit);
+        return outboxEventRepository.findByFeedPositionGreaterThanOrderByFeedPositionAsc(since, PageRequest.of(0, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public long getLastPosition() {
+        return outboxEventRepository.findLastPosition();
+    }
+
+    @Transactional(readOnly = true)
+    public List<OutboxEvent> getUserChanges(Long userId, long since, int limit) {
+        log.debug("Fetching changes for user [userId={}, since={}, limit={}]", userId, since, limit);
+        return outboxEventRepository.findByUserIdAndFeedPositionGreaterThanOrderByFeedPositionAsc(
+                userId, since, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Returns the changes after {@code since}, or, when the consumer is already up to date, a future completed
+     * with the next batch published by the relay. Waiting consumers are served from the published batch itself,
+     * so a publication costs no extra query per consumer.
+     */
+    public CompletableFuture<List<OutboxEvent>> pollChanges(long since, int limit) {
+        // Taken before querying so that a batch published in between is not missed
+        CompletableFuture<List<OutboxEvent>> pending = nextBatch.get();
+        List<OutboxEvent> changes = outboxEventRepository.findByFeedPositionGreaterThanOrderByFeedPositionAsc(
+                since, PageRequest.of(0, limit));
+        if (!changes.isEmpty()) {
+            return CompletableFuture.completedFuture(changes);
+        }
+        return pending.thenApply(batch -> batch.stream()
+                .filter(event -> event.getFeedPosition() > since)
+                .limit(limit)
+                .toList());
+    }
+
+    @EventListener
+    public void onEventsPublished(OutboxEventsPublished published) {
+        nextBatch.getAndSet(new CompletableFuture<>()).complete(published.events());
+    }
+}
@@ -0,0 +1,17 @@
+package com.sky.usermanager.service;
+
+/**
+ * How user and project writes detect that the email or project link is already taken.
+ */
+public enum DuplicateCheck {
+    /**
+     * Query for the key before writing (for emails, only when the email filter can't rule it out). Two concurrent
+     * writes can both pass the query, in which case the unique index still rejects the second one.
+     */
+    QUERY,
+    /**
+     * Write directly and translate the unique-index violation. One round trip fewer per write, and concurrent
+     * writes of the same key get the same answer as sequential ones.
+     */
+    CONSTRAINT
+}
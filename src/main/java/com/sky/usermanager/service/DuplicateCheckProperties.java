@@ -0,0 +1,12 @@
+package com.sky.usermanager.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param mode how signups, email changes and project links detect duplicates
+ */
+@ConfigurationProperties(prefix = "usermanager.duplicate-check")
+public record DuplicateCheckProperties(
+        @DefaultValue("query") DuplicateCheck mode
+) {}
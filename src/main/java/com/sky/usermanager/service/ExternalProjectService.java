@@ -1,20 +1,31 @@
 package com.sky.usermanager.service;
 
 import com.sky.usermanager.controller.dto.UserExternalProjectDTO;
+import com.sky.usermanager.controller.dto.UserExternalProjectResponseDTO;
+import com.sky.usermanager.exception.DuplicateResourceException;
 import com.sky.usermanager.exception.ResourceNotFoundException;
+import com.sky.usermanager.model.ChangeEventType;
+import com.sky.usermanager.model.ProjectField;
+import com.sky.usermanager.model.SparseRow;
 import com.sky.usermanager.model.User;
 import com.sky.usermanager.model.UserExternalProject;
 import com.sky.usermanager.model.UserExternalProjectFactory;
+import com.sky.usermanager.repository.ConstraintViolations;
 import com.sky.usermanager.repository.UserExternalProjectRepository;
 import com.sky.usermanager.repository.UserRepository;
+import com.sky.usermanager.singleflight.Coalesced;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class ExternalProjectService {
@@ -26,15 +37,20 @@ public class ExternalProjectService {
     private final UserExternalProjectRepository userExternalProjectRepository;
     private final Counter projectsCreatedCounter;
     private final UserExternalProjectFactory userExternalProjectFactory;
+    private final OutboxService outboxService;
+    private final DuplicateCheck duplicateCheck;
 
     public ExternalProjectService(UserRepository userRepository, UserExternalProjectRepository userExternalProjectRepository,
-                                  MeterRegistry registry, UserExternalProjectFactory userExternalProjectFactory) {
+                                  MeterRegistry registry, UserExternalProjectFactory userExternalProjectFactory,
+                                  OutboxService outboxService, DuplicateCheckProperties duplicateCheckProperties) {
         this.userRepository = userRepository;
         this.userExternalProjectRepository = userExternalProjectRepository;
         this.projectsCreatedCounter = Counter.builder(PROJECTS_CREATED_TOTAL_COUNTER)
                 .description("Total number of external projects created")
                 .register(registry);
         this.userExternalProjectFactory = userExternalProjectFactory;
+        this.outboxService = outboxService;
+        this.duplicateCheck = duplicateCheckProperties.mode();
     }
 
     @Transactional
@@ -45,20 +61,11 @@ public class ExternalProjectService {
             validateProjectId(userId, projectDTO.id());
             validateProjectName(userId, projectDTO);
 
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> {
-                        log.warn("User not found when adding project [userId={}, projectId={}]",
-                                userId, projectDTO.id());
-                        return new ResourceNotFoundException("User not found with id " + userId);
-                    });
-
-            if (user.getExternalProjects().stream().anyMatch(p -> p.getId().equals(projectDTO.id()))) {
-                log.warn("Duplicate project link detected [userId={}, projectId={}]",
-                        userId, projectDTO.id());
-                throw new IllegalArgumentException(String.format("Project with id '%s' is already linked to user with id '%d'", projectDTO.id(), userId));
-            }
-
-            UserExternalProject userExternalProject = userExternalProjectFactory.create(user, projectDTO.id(), projectDTO.name());
+            UserExternalProject userExternalProject = duplicateCheck == DuplicateCheck.CONSTRAINT
+                    ? insertExternalProject(userId, projectDTO)
+                    : linkExternalProject(userId, projectDTO);
+            outboxService.record(ChangeEventType.PROJECT_ADDED, userId, userId + "/" + userExternalProject.getId(),
+                    UserExternalProjectResponseDTO.from(userExternalProject));
             log.info("External project linked successfully [userId={}, projectId={}, name={}]",
                     userId, userExternalProject.getId(), userExternalProject.getName());
             projectsCreatedCounter.increment();
@@ -70,6 +77,62 @@ public class ExternalProjectService {
         }
     }
 
+    private UserExternalProject linkExternalProject(Long userId, UserExternalProjectDTO projectDTO) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> {
+                    log.warn("User not found when adding project [userId={}, projectId={}]",
+                            userId, projectDTO.id());
+                    return new ResourceNotFoundException("User not found with id " + userId);
+                });
+
+        if (user.getExternalProjects().stream().anyMatch(p -> p.getId().equals(projectDTO.id()))) {
+            log.warn("Duplicate project link detected [userId={}, projectId={}]",
+                    userId, projectDTO.id());
+            throw duplicateLink(userId, projectDTO.id());
+        }
+
+        return userExternalProjectFactory.create(user, projectDTO.id(), projectDTO.name());
+    }
+
+    /**
+     * Inserts the link without reading the user or their projects: the primary key rejects a duplicate link and
+     * the foreign key a missing user.
+     */
+    private UserExternalProject insertExternalProject(Long userId, UserExternalProjectDTO projectDTO) {
+        UserExternalProject project = userExternalProjectFactory.createForInsert(
+                userRepository.getReferenceById(userId), projectDTO.id(), projectDTO.name());
+        try {
+            userExternalProjectRepository.insert(project);
+            return project;
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isUniqueViolation(e)) {
+                log.warn("Duplicate project link rejected by the primary key [userId={}, projectId={}]",
+                        userId, projectDTO.id());
+                throw duplicateLink(userId, projectDTO.id());
+            }
+            if (ConstraintViolations.violates(e, UserExternalProject.USER_CONSTRAINT)) {
+                log.warn("User not found when adding project [userId={}, projectId={}]", userId, projectDTO.id());
+                throw new ResourceNotFoundException("User not found with id " + userId);
+            }
+            throw e;
+        }
+    }
+
+    private static DuplicateResourceException duplicateLink(Long userId, String projectId) {
+        return new DuplicateResourceException(
+                String.format("Project with id '%s' is already linked to user with id '%d'", projectId, userId));
+    }
+
+    /**
+     * {@link #getUserProjects(Long)} as responses, coalesced between concurrent callers. The DTOs are built inside the
+     * load, so callers never share the lazy project bag of the first caller's session.
+     */
+    @Coalesced("user-projects")
+    @Transactional(readOnly = true)
+    public List<UserExternalProjectResponseDTO> getUserProjectResponses(Long userId) {
+        return getUserProjects(userId).stream().map(UserExternalProjectResponseDTO::from).toList();
+    }
+
     @Transactional(readOnly = true)
     public List<UserExternalProject> getUserProjects(Long userId) {
         log.debug("Fetching external projects for user [userId={}]", userId);
@@ -92,6 +155,52 @@ public class ExternalProjectService {
         }
     }
 
+    /**
+     * Projects of all the given users with a single {@code IN} query, in project id order.
+     */
+    @Transactional(readOnly = true)
+    public List<UserExternalProject> getProjectsByUserIds(Collection<Long> userIds) {
+        log.debug("Fetching external projects by user ID [users={}]", userIds.size());
+        List<UserExternalProject> projects = userExternalProjectRepository.findByUserIdIn(userIds,
+                Sort.by("externalProjectKey.projectId"));
+        log.info("Retrieved {} external projects for {} users", projects.size(), userIds.size());
+        return projects;
+    }
+
+    /**
+     * Reads only the columns of {@code fields} of the user's projects, in project id order.
+     */
+    @Transactional(readOnly = true)
+    public List<SparseRow<ProjectField>> getUserProjectFields(Long userId, Set<ProjectField> fields) {
+        log.debug("Fetching external project fields for user [userId={}, fields={}]", userId, fields);
+        requireUser(userId);
+        List<SparseRow<ProjectField>> projects = userExternalProjectRepository.findFieldsByUserId(userId, fields);
+        log.info("Retrieved {} external projects for user [userId={}, fields={}]", projects.size(), userId, fields);
+        return projects;
+    }
+
+    @Transactional(readOnly = true)
+    public SparseRow<ProjectField> getUserProjectFieldsById(Long userId, String projectId, Set<ProjectField> fields) {
+        log.info("Fetching external project fields [userId={}, projectId={}, fields={}]", userId, projectId, fields);
+        validateProjectId(userId, projectId);
+        return userExternalProjectRepository.findFieldsById(userId, projectId, fields)
+                .orElseThrow(() -> {
+                    requireUser(userId);
+                    log.warn("Project not found for user [userId={}, projectId={}]", userId, projectId);
+                    return new ResourceNotFoundException(
+                            String.format("Project with id '%s' not found for user with id '%d'", projectId, userId));
+                });
+    }
+
+    /**
+     * {@link #getUserProjectById(Long, String)} as a response, coalesced between concurrent callers.
+     */
+    @Coalesced("user-project")
+    @Transactional(readOnly = true)
+    public UserExternalProjectResponseDTO getUserProjectResponseById(Long userId, String projectId) {
+        return UserExternalProjectResponseDTO.from(getUserProjectById(userId, projectId));
+    }
+
     @Transactional(readOnly = true)
     public UserExternalProject getUserProjectById(Long userId, String projectId) {
         log.info("Fetching external project [userId={}, projectId={}]", userId, projectId);
@@ -124,6 +233,13 @@ public class ExternalProjectService {
 
     }
 
+    private void requireUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.warn("User not found when fetching user projects [userId={}]", userId);
+            throw new ResourceNotFoundException("User not found with id " + userId);
+        }
+    }
+
     private void validateProjectId(Long userId, String projectId) {
         if (projectId == null || projectId.isBlank()) {
             log.warn("Project creation failed - project id is blank [userId={}]", userId);
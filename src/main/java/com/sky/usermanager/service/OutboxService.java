@@ -0,0 +1,49 @@
+package com.sky.usermanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.model.ChangeEventType;
+import com.sky.usermanager.model.OutboxEvent;
+import com.sky.usermanager.outbox.OutboxEventRecorded;
+import com.sky.usermanager.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class OutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                         ApplicationEventPublisher eventPublisher) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Records a change event as part of the caller's transaction, so the event is committed if and only if the
+     * mutation it describes is.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent record(ChangeEventType eventType, Long userId, String aggregateId, Object payload) {
+        try {
+            OutboxEvent event = outboxEventRepository.save(
+                    new OutboxEvent(eventType, userId, aggregateId, objectMapper.writeValueAsString(payload)));
+            log.debug("Outbox event recorded [eventId={}, type={}, aggregateId={}]",
+                    event.getId(), eventType, aggregateId);
+            eventPublisher.publishEvent(new OutboxEventRecorded(event.getId()));
+            return event;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize payload for " + eventType + " event", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.sky.usermanager.service;
+
+import com.sky.usermanager.model.UserSummary;
+import com.sky.usermanager.repository.UserRepository;
+import com.sky.usermanager.search.EmailPrefixIndex;
+import com.sky.usermanager.search.UserSearchProperties;
+import com.sky.usermanager.search.UserSearchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+@Service
+public class UserSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchService.class);
+
+    private final UserRepository userRepository;
+    private final UserSearchProperties properties;
+    private final EmailPrefixIndex emailPrefixIndex;
+
+    public UserSearchService(UserRepository userRepository, UserSearchProperties properties,
+                             ObjectProvider<EmailPrefixIndex> emailPrefixIndex) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.emailPrefixIndex = emailPrefixIndex.getIfAvailable();
+    }
+
+    @Transactional(readOnly = true)
+    public UserSearchResult searchUsers(String emailPrefix, String name, String afterEmail, Integer limit) {
+        String prefix = emailPrefix == null ? "" : emailPrefix.trim();
+        String nameFilter = name == null || name.isBlank() ? null : name.trim();
+        if (prefix.isEmpty() && nameFilter == null) {
+            log.warn("User search rejected — no search criteria provided");
+            throw new IllegalArgumentException("At least one of emailPrefix or name must be provided");
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        int effectiveLimit = Math.min(limit == null ? properties.defaultLimit() : limit, properties.maxLimit());
+        String after = afterEmail == null || afterEmail.isBlank() ? null : afterEmail;
+
+        List<UserSummary> users;
+        if (emailPrefixIndex != null && emailPrefixIndex.isReady()) {
+            users = emailPrefixIndex.search(prefix, nameFilter, after, effectiveLimit);
+        } else {
+            users = userRepository.searchByEmailPrefix(likePrefix(prefix), after == null ? "" : after,
+                    nameFilter == null ? null : "%" + escapeLike(nameFilter.toLowerCase(Locale.ROOT)) + "%",
+                    Limit.of(effectiveLimit));
+        }
+
+        log.info("User search returned {} users [emailPrefix={}, name={}, after={}, limit={}]",
+                users.size(), prefix, nameFilter, after, effectiveLimit);
+        String nextCursor = users.size() == effectiveLimit ? users.get(users.size() - 1).email() : null;
+        return new UserSearchResult(users, nextCursor);
+    }
+
+    private static String likePrefix(String prefix) {
+        return escapeLike(prefix) + "%";
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
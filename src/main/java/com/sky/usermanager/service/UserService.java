@@ -1,19 +1,38 @@
 package com.sky.usermanager.service;
 
 import com.sky.usermanager.controller.dto.UserDTO;
+import com.sky.usermanager.controller.dto.UserResponseDTO;
+import com.sky.usermanager.controller.dto.UserWithProjectsResponseDTO;
+import com.sky.usermanager.emailfilter.EmailBloomFilter;
 import com.sky.usermanager.exception.DuplicateResourceException;
 import com.sky.usermanager.exception.ResourceNotFoundException;
+import com.sky.usermanager.model.ChangeEventType;
+import com.sky.usermanager.model.ProjectPreview;
+import com.sky.usermanager.model.SparseRow;
 import com.sky.usermanager.model.User;
+import com.sky.usermanager.model.UserField;
+import com.sky.usermanager.model.UserSummary;
+import com.sky.usermanager.repository.ConstraintViolations;
+import com.sky.usermanager.repository.UserExternalProjectRepository;
 import com.sky.usermanager.repository.UserRepository;
+import com.sky.usermanager.security.UserCredentialsChanged;
+import com.sky.usermanager.singleflight.Coalesced;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
@@ -22,12 +41,25 @@ public class UserService {
     public static final String USERS_CREATED_TOTAL_COUNTER = "users_created_total";
 
     private final UserRepository userRepository;
+    private final UserExternalProjectRepository userExternalProjectRepository;
     private final PasswordEncoder passwordEncoder;
     private final Counter userCreatedCounter;
+    private final OutboxService outboxService;
+    private final EmailBloomFilter emailFilter;
+    private final DuplicateCheck duplicateCheck;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, MeterRegistry registry) {
+    public UserService(UserRepository userRepository, UserExternalProjectRepository userExternalProjectRepository,
+                       PasswordEncoder passwordEncoder, MeterRegistry registry, OutboxService outboxService,
+                       ObjectProvider<EmailBloomFilter> emailFilter, DuplicateCheckProperties duplicateCheckProperties,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.userExternalProjectRepository = userExternalProjectRepository;
         this.passwordEncoder = passwordEncoder;
+        this.outboxService = outboxService;
+        this.emailFilter = emailFilter.getIfAvailable();
+        this.duplicateCheck = duplicateCheckProperties.mode();
+        this.eventPublisher = eventPublisher;
         this.userCreatedCounter = Counter.builder(USERS_CREATED_TOTAL_COUNTER)
                 .description("Total number of users created")
                 .register(registry);
@@ -49,9 +81,9 @@ public class UserService {
                 throw new IllegalArgumentException("Email must not be blank");
             }
 
-            if (this.userRepository.existsByEmail(providedEmail)) {
+            if (this.duplicateCheck == DuplicateCheck.QUERY && isEmailInUse(providedEmail)) {
                 log.warn("Duplicate email detected during user creation [email={}]", providedEmail);
-                throw new DuplicateResourceException("The email address provided is already in use: " + providedEmail);
+                throw duplicateEmail(providedEmail);
             }
 
             if (providedPassword == null || providedPassword.isBlank()) {
@@ -61,7 +93,22 @@ public class UserService {
 
             User user = new User(providedEmail, hashPassword(providedPassword),
                     userDTO.name());
-            User savedUser = this.userRepository.save(user);
+            User savedUser;
+            try {
+                savedUser = this.userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                if (!ConstraintViolations.violates(e, User.EMAIL_CONSTRAINT)) {
+                    throw e;
+                }
+                log.warn("Duplicate email rejected by the unique index during user creation [email={}]",
+                        providedEmail);
+                throw duplicateEmail(providedEmail);
+            }
+            if (this.emailFilter != null) {
+                this.emailFilter.put(savedUser.getEmail());
+            }
+            this.outboxService.record(ChangeEventType.USER_CREATED, savedUser.getId(), savedUser.getId().toString(),
+                    UserResponseDTO.from(savedUser));
             userCreatedCounter.increment();
 
             log.info("User created successfully [id={}, email={}]", savedUser.getId(), savedUser.getEmail());
@@ -80,6 +127,16 @@ public class UserService {
         return users;
     }
 
+    /**
+     * {@link #getUserById(Long)} as a response, coalesced between concurrent callers. The DTO is built inside the
+     * load, so callers share an immutable value rather than an entity of the first caller's persistence context.
+     */
+    @Coalesced("user")
+    @Transactional(readOnly = true)
+    public UserResponseDTO getUserResponseById(Long id) {
+        return UserResponseDTO.from(getUserById(id));
+    }
+
     @Transactional(readOnly = true)
     public User getUserById(Long id) {
         log.debug("Fetching user by ID [userId={}]", id);
@@ -94,18 +151,78 @@ public class UserService {
                 });
     }
 
+    /**
+     * Reads only the columns of {@code fields}, for clients that don't need the whole user.
+     */
+    @Transactional(readOnly = true)
+    public SparseRow<UserField> getUserFieldsById(Long id, Set<UserField> fields) {
+        log.debug("Fetching user fields by ID [userId={}, fields={}]", id, fields);
+        return this.userRepository.findFieldsById(id, fields)
+                .orElseThrow(() -> {
+                    log.warn("User not found [userId={}]", id);
+                    return new ResourceNotFoundException("User not found with id: " + id);
+                });
+    }
+
+    @Transactional(readOnly = true)
+    public List<SparseRow<UserField>> getUsersFields(Set<UserField> fields) {
+        log.debug("Fetching user fields from database [fields={}]", fields);
+        List<SparseRow<UserField>> users = this.userRepository.findAllFields(fields);
+        log.info("Retrieved {} users [fields={}]", users.size(), fields);
+        return users;
+    }
+
+    /**
+     * Like {@link #getUserById(Long)}, with the user's first {@code maxProjects} projects embedded.
+     */
+    @Transactional(readOnly = true)
+    public UserWithProjectsResponseDTO getUserWithProjectsById(Long id, int maxProjects) {
+        User user = getUserById(id);
+        return getUsersWithProjects(List.of(new UserSummary(user.getId(), user.getEmail(), user.getName())),
+                maxProjects).get(0);
+    }
+
+    /**
+     * Embeds the first {@code maxProjects} projects of each user, in the order of {@code users}. The projects of
+     * all of them are read in one statement that returns at most {@code maxProjects} rows per user, so users with
+     * many projects cost no more than the cap.
+     */
+    @Transactional(readOnly = true)
+    public List<UserWithProjectsResponseDTO> getUsersWithProjects(List<UserSummary> users, int maxProjects) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ProjectPreview>> projects = this.userExternalProjectRepository
+                .findFirstByUserIdIn(users.stream().map(UserSummary::id).toList(), maxProjects).stream()
+                .collect(Collectors.groupingBy(ProjectPreview::userId));
+        log.info("Retrieved projects of {} of {} users [maxProjects={}]", projects.size(), users.size(), maxProjects);
+        return users.stream()
+                .map(user -> UserWithProjectsResponseDTO.from(user, projects.getOrDefault(user.id(), List.of())))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<User> getUsersByIds(Collection<Long> ids) {
+        log.debug("Fetching users by ID [count={}]", ids.size());
+        List<User> users = this.userRepository.findAllById(ids);
+        log.info("Retrieved {} of {} requested users", users.size(), ids.size());
+        return users;
+    }
+
     @Transactional
     public void deleteUserById(Long id) {
         log.info("Attempting to delete user [userId={}]", id);
 
         try {
-            if (!this.userRepository.existsById(id)) {
+            int deletedProjects = this.userExternalProjectRepository.deleteByUserId(id);
+            if (this.userRepository.deleteUserById(id) == 0) {
                 log.warn("Delete failed — user not found [userId={}]", id);
                 throw new ResourceNotFoundException("User not found with id " + id);
             }
 
-            this.userRepository.deleteById(id);
-            log.info("User deleted successfully [userId={}]", id);
+            this.outboxService.record(ChangeEventType.USER_DELETED, id, id.toString(), Map.of("id", id));
+            this.eventPublisher.publishEvent(new UserCredentialsChanged(id));
+            log.info("User deleted successfully [userId={}, deletedProjects={}]", id, deletedProjects);
         } catch (Exception e) {
             log.error("Error deleting user [userId={}]: {}", id, e.getMessage(), e);
             throw e;
@@ -128,12 +245,15 @@ public class UserService {
             String providedPassword = userDTO.password();
 
             if (providedEmail != null && !providedEmail.isBlank() && !providedEmail.equals(user.getEmail())) {
-                if (this.userRepository.existsByEmail(providedEmail)) {
+                if (this.duplicateCheck == DuplicateCheck.QUERY && isEmailInUse(providedEmail)) {
                     log.warn("Email already in use during update [newEmail={}]", providedEmail);
                     throw new IllegalArgumentException("Email already in use: " + providedEmail);
                 }
                 log.debug("Updating email [oldEmail={}, newEmail={}]", user.getEmail(), providedEmail);
                 user.setEmail(providedEmail);
+                if (this.emailFilter != null) {
+                    this.emailFilter.put(providedEmail);
+                }
             }
 
             if (providedPassword != null && !providedPassword.isBlank()) {
@@ -143,7 +263,21 @@ public class UserService {
 
             user.setName(userDTO.name());
 
-            User updatedUser = this.userRepository.save(user);
+            User updatedUser;
+            try {
+                // Flushed here so that a duplicate email fails before the outbox write, not at commit
+                updatedUser = this.userRepository.saveAndFlush(user);
+            } catch (DataIntegrityViolationException e) {
+                if (!ConstraintViolations.violates(e, User.EMAIL_CONSTRAINT)) {
+                    throw e;
+                }
+                log.warn("Email rejected by the unique index during update [newEmail={}]", providedEmail);
+                throw new IllegalArgumentException("Email already in use: " + providedEmail);
+            }
+            this.outboxService.record(ChangeEventType.USER_UPDATED, updatedUser.getId(), updatedUser.getId().toString(),
+                    UserResponseDTO.from(updatedUser));
+            // The email or password may have changed; cached credentials are dropped once this commits
+            this.eventPublisher.publishEvent(new UserCredentialsChanged(updatedUser.getId()));
             log.info("User updated successfully [userId={}, email={}]", updatedUser.getId(), updatedUser.getEmail());
 
             return updatedUser;
@@ -152,4 +286,29 @@ public class UserService {
             throw e;
         }
     }
+
+    private static DuplicateResourceException duplicateEmail(String email) {
+        return new DuplicateResourceException("The email address provided is already in use: " + email);
+    }
+
+    /**
+     * Asks the database only when the email filter can't rule the email out.
+     */
+    private boolean isEmailInUse(String email) {
+        if (this.emailFilter == null) {
+            return this.userRepository.existsByEmail(email);
+        }
+        // Until its first build the filter answers true without counting a check, so that answer is no false positive;
+        // read before the check, since the filter never goes back from ready
+        boolean filterAnswered = this.emailFilter.isReady();
+        if (!this.emailFilter.mightContain(email)) {
+            log.debug("Email ruled out by the email filter [email={}]", email);
+            return false;
+        }
+        boolean inUse = this.userRepository.existsByEmail(email);
+        if (!inUse && filterAnswered) {
+            this.emailFilter.recordFalsePositive();
+        }
+        return inUse;
+    }
 }
@@ -0,0 +1,24 @@
+package com.sky.usermanager.singleflight;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Coalesces concurrent calls of the annotated method with equal arguments into one, through {@link SingleFlight}.
+ * The result is shared between the callers, so it must be immutable: return a value such as a response DTO built
+ * inside the load, never a managed entity or a lazy collection, which belong to the first caller's persistence
+ * context. Only read methods should be annotated.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesced {
+
+    /**
+     * Name of the read, unique among annotated methods; keys the in-flight loads and tags the metrics.
+     */
+    String value();
+}
@@ -0,0 +1,96 @@
+package com.sky.usermanager.singleflight;
+
+import com.sky.usermanager.exception.CapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keyed request coalescing: while a load for a key is in flight, callers asking for the same key wait for its
+ * result instead of starting their own. The first caller loads on its own thread, so its transaction, security
+ * context and query count are those of its request; the others share the value, or the exception, it ends with.
+ * Nothing is cached: a caller arriving after the load completed starts a new one.
+ */
+public class SingleFlight {
+
+    private static final Logger log = LoggerFactory.getLogger(SingleFlight.class);
+    public static final String SINGLE_FLIGHT_COALESCED_TOTAL_COUNTER = "single_flight_coalesced_total";
+    public static final String SINGLE_FLIGHT_TIMEOUTS_TOTAL_COUNTER = "single_flight_timeouts_total";
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final MeterRegistry registry;
+
+    public SingleFlight(Duration timeout, MeterRegistry registry) {
+        this.timeout = timeout;
+        this.registry = registry;
+    }
+
+    @FunctionalInterface
+    public interface Load {
+        Object load() throws Throwable;
+    }
+
+    /**
+     * Returns the result of {@code load}, or of the load of {@code key} already in flight. Callers that joined a
+     * load wait at most the configured timeout, then fail with {@link CapacityExceededException}.
+     *
+     * @param name group of the key, used as the metric tag
+     */
+    public Object execute(String name, Object key, Load load) throws Throwable {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            return join(name, key, leader);
+        }
+
+        try {
+            Object value = load.load();
+            flight.complete(value);
+            return value;
+        } catch (Throwable t) {
+            flight.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private Object join(String name, Object key, CompletableFuture<Object> leader) throws Throwable {
+        Counter.builder(SINGLE_FLIGHT_COALESCED_TOTAL_COUNTER)
+                .description("Calls served by a concurrent identical call instead of their own load")
+                .tag("name", name)
+                .register(registry)
+                .increment();
+        try {
+            return leader.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            Counter.builder(SINGLE_FLIGHT_TIMEOUTS_TOTAL_COUNTER)
+                    .description("Coalesced calls that gave up waiting for the load they joined")
+                    .tag("name", name)
+                    .register(registry)
+                    .increment();
+            log.warn("Timed out waiting for a concurrent load [name={}, key={}, timeoutMs={}]", name, key,
+                    timeout.toMillis());
+            throw new CapacityExceededException("Timed out waiting for a concurrent load of the same " + name);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CapacityExceededException("Interrupted while waiting for a concurrent load of the same " + name);
+        }
+    }
+}
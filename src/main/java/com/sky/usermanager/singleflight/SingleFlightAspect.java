@@ -0,0 +1,36 @@
+package com.sky.usermanager.singleflight;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Applies {@link Coalesced}. Ordered just ahead of the transaction interceptor, so that callers joining a load
+ * wait without opening a transaction or holding a connection.
+ */
+@Aspect
+public class SingleFlightAspect implements Ordered {
+
+    private final SingleFlight singleFlight;
+
+    public SingleFlightAspect(SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    @Around("@annotation(coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, Coalesced coalesced) throws Throwable {
+        return singleFlight.execute(coalesced.value(), new CallKey(coalesced.value(), Arrays.asList(joinPoint.getArgs())),
+                joinPoint::proceed);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+
+    private record CallKey(String name, List<Object> args) {}
+}
@@ -0,0 +1,16 @@
+package com.sky.usermanager.singleflight;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled coalesce concurrent identical user and project reads into one query
+ * @param timeout how long a call waits for the load it joined before it is rejected with 503
+ */
+@ConfigurationProperties(prefix = "usermanager.single-flight")
+public record SingleFlightProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5s") Duration timeout
+) {}
@@ -0,0 +1,216 @@
+package com.sky.usermanager.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sky.usermanager.controller.dto.ChangeEventDTO;
+import com.sky.usermanager.exception.CapacityExceededException;
+import com.sky.usermanager.model.OutboxEvent;
+import com.sky.usermanager.outbox.OutboxEventsPublished;
+import com.sky.usermanager.service.ChangeFeedService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans published change events out to all open SSE subscriptions. Each event is serialized once and shared by
+ * every matching subscriber; writes happen on a small shared sender pool, and subscribers that can't keep up
+ * with their bounded buffer are disconnected so they can resume from their last event id.
+ */
+@Component
+public class ChangeEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventBroadcaster.class);
+    public static final String CHANGE_STREAM_SUBSCRIBERS_GAUGE = "change_stream_subscribers";
+    public static final String CHANGE_STREAM_EVICTIONS_TOTAL_COUNTER = "change_stream_evictions_total";
+
+    private final Set<ChangeSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("keepalive").build();
+    private final ChangeStreamProperties properties;
+    private final ChangeFeedService changeFeedService;
+    private final ObjectWriter eventWriter;
+    private final Counter evictionsCounter;
+    private final ExecutorService sender;
+
+    public ChangeEventBroadcaster(ChangeStreamProperties properties, ChangeFeedService changeFeedService,
+                                  ObjectMapper objectMapper, MeterRegistry registry) {
+        this.properties = properties;
+        this.changeFeedService = changeFeedService;
+        this.eventWriter = objectMapper.writerFor(ChangeEventDTO.class);
+        this.evictionsCounter = Counter.builder(CHANGE_STREAM_EVICTIONS_TOTAL_COUNTER)
+                .description("Total number of change stream subscribers disconnected for being too slow")
+                .register(registry);
+        Gauge.builder(CHANGE_STREAM_SUBSCRIBERS_GAUGE, subscriptions, Set::size)
+                .description("Number of open change stream subscriptions")
+                .register(registry);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(properties.senderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "change-stream-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a stream of changes, optionally restricted to one user. When {@code lastEventId} is provided, changes
+     * published after it are replayed before live ones.
+     */
+    public ChangeSubscription subscribe(Long userId, Long lastEventId) {
+        if (subscriptions.size() >= properties.maxSubscribers()) {
+            log.warn("Change stream subscription rejected, limit reached [limit={}]", properties.maxSubscribers());
+            throw new CapacityExceededException("Too many open change streams, retry later");
+        }
+
+        SseEmitter emitter = createEmitter(properties.emitterTimeout().toMillis());
+        ChangeSubscription subscription = new ChangeSubscription(userId, emitter, properties.bufferSize(),
+                lastEventId == null ? 0 : lastEventId, lastEventId != null);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(e -> unsubscribe(subscription));
+        subscriptions.add(subscription);
+        log.info("Change stream opened [userId={}, lastEventId={}, subscribers={}]",
+                userId, lastEventId, subscriptions.size());
+
+        if (lastEventId != null) {
+            replay(subscription, lastEventId);
+        }
+        return subscription;
+    }
+
+    @EventListener
+    public void onEventsPublished(OutboxEventsPublished published) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        for (OutboxEvent event : published.events()) {
+            Set<DataWithMediaType> data = toSseEvent(event);
+            for (ChangeSubscription subscription : subscriptions) {
+                if (subscription.matches(event.getUserId())) {
+                    deliver(subscription, subscription.offer(event.getFeedPosition(), data));
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${usermanager.change-stream.heartbeat-interval:15s}")
+    public void sendHeartbeats() {
+        for (ChangeSubscription subscription : subscriptions) {
+            if (subscription.offerHeartbeat(heartbeat)) {
+                scheduleDrain(subscription);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void replay(ChangeSubscription subscription, long lastEventId) {
+        List<OutboxEvent> missed = subscription.getUserId() == null
+                ? changeFeedService.getChanges(lastEventId, properties.replayLimit())
+                : changeFeedService.getUserChanges(subscription.getUserId(), lastEventId, properties.replayLimit());
+        for (OutboxEvent event : missed) {
+            if (!subscription.offerReplayed(event.getFeedPosition(), toSseEvent(event))) {
+                evict(subscription);
+                return;
+            }
+        }
+        deliver(subscription, subscription.finishReplay());
+    }
+
+    private void deliver(ChangeSubscription subscription, boolean accepted) {
+        if (accepted) {
+            scheduleDrain(subscription);
+        } else {
+            evict(subscription);
+        }
+    }
+
+    private void scheduleDrain(ChangeSubscription subscription) {
+        if (subscription.isClosed() || !subscription.startDraining()) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscription));
+        } catch (RejectedExecutionException e) {
+            subscription.stopDraining();
+        }
+    }
+
+    private void drain(ChangeSubscription subscription) {
+        try {
+            Set<DataWithMediaType> next;
+            while (!subscription.isClosed() && (next = subscription.poll()) != null) {
+                subscription.getEmitter().send(next);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Change stream write failed, closing subscription [userId={}]: {}",
+                    subscription.getUserId(), e.getMessage());
+            unsubscribe(subscription);
+        } finally {
+            subscription.stopDraining();
+        }
+        // An event may have been queued after the last poll but before the draining flag was cleared
+        if (subscription.hasPending()) {
+            scheduleDrain(subscription);
+        }
+    }
+
+    private void evict(ChangeSubscription subscription) {
+        if (subscription.close()) {
+            subscriptions.remove(subscription);
+            evictionsCounter.increment();
+            log.warn("Slow change stream subscriber evicted [userId={}, bufferSize={}]",
+                    subscription.getUserId(), properties.bufferSize());
+            subscription.getEmitter().complete();
+        }
+    }
+
+    private void unsubscribe(ChangeSubscription subscription) {
+        if (subscription.close()) {
+            subscriptions.remove(subscription);
+            log.info("Change stream closed [userId={}, subscribers={}]", subscription.getUserId(), subscriptions.size());
+        }
+    }
+
+    private Set<DataWithMediaType> toSseEvent(OutboxEvent event) {
+        try {
+            return SseEmitter.event()
+                    .id(String.valueOf(event.getFeedPosition()))
+                    .name(event.getEventType().name())
+                    .data(eventWriter.writeValueAsString(ChangeEventDTO.from(event)), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize change event " + event.getFeedPosition(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.getEmitter().complete());
+        subscriptions.clear();
+    }
+}
@@ -0,0 +1,24 @@
+package com.sky.usermanager.stream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param bufferSize        events queued per subscriber before it is considered too slow and evicted
+ * @param maxSubscribers    maximum number of concurrently open streams per instance
+ * @param emitterTimeout    lifetime of a stream; clients reconnect with {@code Last-Event-ID} to resume
+ * @param heartbeatInterval interval of the keep-alive comments that also detect dead connections
+ * @param senderThreads     threads shared by all subscribers to write queued events
+ * @param replayLimit       maximum number of missed events replayed when resuming from {@code Last-Event-ID}
+ */
+@ConfigurationProperties(prefix = "usermanager.change-stream")
+public record ChangeStreamProperties(
+        @DefaultValue("256") int bufferSize,
+        @DefaultValue("10000") int maxSubscribers,
+        @DefaultValue("30m") Duration emitterTimeout,
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("2") int senderThreads,
+        @DefaultValue("1000") int replayLimit
+) {}
@@ -0,0 +1,117 @@
+package com.sky.usermanager.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A single SSE client. Events are pushed into a bounded queue by the broadcaster and written by the shared sender
+ * threads, so an idle or slow client never holds a thread. A client whose queue overflows is evicted.
+ */
+public class ChangeSubscription {
+
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final int bufferSize;
+    private final Queue<Set<DataWithMediaType>> queue;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final List<PendingEvent> replayBuffer = new ArrayList<>();
+    private long lastPosition;
+    private boolean replaying;
+
+    ChangeSubscription(Long userId, SseEmitter emitter, int bufferSize, long lastPosition, boolean replaying) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.bufferSize = bufferSize;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.lastPosition = lastPosition;
+        this.replaying = replaying;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean matches(Long eventUserId) {
+        return userId == null || userId.equals(eventUserId);
+    }
+
+    /**
+     * Queues an event unless it was already delivered. While missed events are being replayed, live events are
+     * held back so that the client still receives everything in position order.
+     *
+     * @return {@code false} when the buffer is full and the subscription must be evicted
+     */
+    synchronized boolean offer(long position, Set<DataWithMediaType> event) {
+        if (replaying) {
+            replayBuffer.add(new PendingEvent(position, event));
+            return replayBuffer.size() <= bufferSize;
+        }
+        return enqueue(position, event);
+    }
+
+    synchronized boolean offerReplayed(long position, Set<DataWithMediaType> event) {
+        return enqueue(position, event);
+    }
+
+    synchronized boolean finishReplay() {
+        replaying = false;
+        for (PendingEvent pending : replayBuffer) {
+            if (!enqueue(pending.position(), pending.event())) {
+                return false;
+            }
+        }
+        replayBuffer.clear();
+        return true;
+    }
+
+    boolean offerHeartbeat(Set<DataWithMediaType> heartbeat) {
+        // A heartbeat that doesn't fit is dropped: the buffer is already full of real events
+        return queue.offer(heartbeat);
+    }
+
+    private boolean enqueue(long position, Set<DataWithMediaType> event) {
+        if (position <= lastPosition) {
+            return true;
+        }
+        lastPosition = position;
+        return queue.offer(event);
+    }
+
+    Set<DataWithMediaType> poll() {
+        return queue.poll();
+    }
+
+    boolean hasPending() {
+        return !queue.isEmpty();
+    }
+
+    boolean startDraining() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void stopDraining() {
+        draining.set(false);
+    }
+
+    boolean close() {
+        return closed.compareAndSet(false, true);
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    private record PendingEvent(long position, Set<DataWithMediaType> event) {}
+}
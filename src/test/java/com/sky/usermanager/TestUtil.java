@@ -1,6 +1,10 @@
 package com.sky.usermanager;
 
 import com.sky.usermanager.model.User;
+import com.sky.usermanager.query.QueryBudgetFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class TestUtil {
 
@@ -23,6 +27,16 @@ public class TestUtil {
         }
     }
 
+    /**
+     * Asserts the number of SQL statements the request issued, so that extra round trips fail the test.
+     */
+    public static ResultMatcher queryCount(int expected) {
+        return result -> assertThat(result.getRequest().getAttribute(QueryBudgetFilter.QUERY_COUNT_ATTRIBUTE))
+                .as("SQL statements executed by %s %s", result.getRequest().getMethod(),
+                        result.getRequest().getRequestURI())
+                .isEqualTo(expected);
+    }
+
     public static User mockUser() {
         User user = new User("john.doe@example.com", "hashed_password", JOHN_DOE_NAME);
 
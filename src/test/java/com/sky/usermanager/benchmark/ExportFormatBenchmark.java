@@ -0,0 +1,142 @@
+package com.sky.usermanager.benchmark;
+
+import com.sky.usermanager.export.ExportDataset;
+import com.sky.usermanager.export.ExportFormat;
+import com.sky.usermanager.export.ExportProperties;
+import com.sky.usermanager.export.ExportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to export the users table to a local file in each format: NDJSON and CSV, plain and gzipped, and Parquet.
+ * The table lives in an in-memory H2 database, so the numbers isolate encoding and compression from the network
+ * and the database. {@link #main} prints the size of each file and the rows written per second before running the
+ * benchmarks:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.sky.usermanager.benchmark.ExportFormatBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportFormatBenchmark {
+
+    private static final int USERS = 200_000;
+    private static final List<String> OUTPUTS = List.of("ndjson", "ndjson.gz", "csv", "csv.gz", "parquet");
+
+    @Param({"ndjson", "ndjson.gz", "csv", "csv.gz", "parquet"})
+    private String output;
+
+    private SingleConnectionDataSource dataSource;
+    private ExportService exportService;
+    private ExportFormat format;
+    private boolean gzip;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataSource = database();
+        exportService = exportService(dataSource);
+        format = ExportFormat.fromName(output.replace(".gz", ""));
+        gzip = output.endsWith(".gz");
+        file = Files.createTempFile("users", "." + output);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        dataSource.destroy();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            return exportService.export(ExportDataset.USERS, format, gzip, null, out).bytes();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        printFileSizes();
+        new Runner(new OptionsBuilder().include(ExportFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static void printFileSizes() throws IOException {
+        SingleConnectionDataSource dataSource = database();
+        ExportService exportService = exportService(dataSource);
+        Path file = Files.createTempFile("users", ".export");
+        System.out.printf("Export of %d users to a local file%n", USERS);
+        System.out.printf("%10s %14s %14s%n", "format", "bytes", "rows/s");
+        try {
+            for (String output : OUTPUTS) {
+                long started = System.nanoTime();
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    exportService.export(ExportDataset.USERS, ExportFormat.fromName(output.replace(".gz", "")),
+                            output.endsWith(".gz"), null, out);
+                }
+                double seconds = (System.nanoTime() - started) / 1e9;
+                System.out.printf("%10s %14d %14.0f%n", output, Files.size(file), USERS / seconds);
+            }
+        } finally {
+            dataSource.destroy();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static SingleConnectionDataSource database() {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:export-benchmark;DB_CLOSE_DELAY=-1", "sa", "", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                create table if not exists tb_user (
+                    id bigint primary key, email varchar(200) not null, password varchar(129) not null,
+                    name varchar(120), created_at timestamp default current_timestamp,
+                    updated_at timestamp default current_timestamp)""");
+        jdbcTemplate.execute("truncate table tb_user");
+        jdbcTemplate.execute("""
+                insert into tb_user (id, email, password, name)
+                select x, 'user' || x || '@example.com', 'not-a-hash', 'User Number ' || x
+                from system_range(1, %d)""".formatted(USERS));
+        return dataSource;
+    }
+
+    private static ExportService exportService(SingleConnectionDataSource dataSource) {
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+        ExportProperties properties = new ExportProperties(1000, DataSize.ofKilobytes(64), 10_000,
+                new ExportProperties.Parquet(DataSize.ofMegabytes(16), DataSize.ofMegabytes(1),
+                        CompressionCodecName.SNAPPY),
+                new ExportProperties.Job(false, "-", Path.of("exports"), List.of("users"), "ndjson", true));
+        return new ExportService(new JdbcTemplate(dataSource), readOnly, properties, new SimpleMeterRegistry());
+    }
+}
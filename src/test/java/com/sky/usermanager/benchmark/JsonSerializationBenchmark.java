@@ -0,0 +1,143 @@
+package com.sky.usermanager.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.sky.usermanager.controller.dto.ErrorResponseDTO;
+import com.sky.usermanager.controller.dto.UserResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU per response for the user listing, comparing the reflective record serializer with the tuned
+ * setup (Blackbird, the hand-written {@code UserResponseDTO} serializer and a pre-built writer), plus the cost of
+ * gzipping the result. {@link #main} prints the bytes on the wire of each variant before running the benchmarks:
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.sky.usermanager.benchmark.JsonSerializationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private static final TypeReference<List<UserResponseDTO>> USER_LIST = new TypeReference<>() {};
+
+    @Param({"10", "100", "1000"})
+    private int users;
+
+    private List<UserResponseDTO> listing;
+    private ObjectMapper reflectiveMapper;
+    private ObjectWriter tunedWriter;
+
+    @Setup
+    public void setUp() {
+        listing = listing(users);
+        reflectiveMapper = reflectiveMapper();
+        tunedWriter = tunedMapper().writerFor(USER_LIST);
+    }
+
+    @Benchmark
+    public byte[] reflective() throws JsonProcessingException {
+        return reflectiveMapper.writeValueAsBytes(listing);
+    }
+
+    @Benchmark
+    public byte[] tuned() throws JsonProcessingException {
+        return tunedWriter.writeValueAsBytes(listing);
+    }
+
+    @Benchmark
+    public byte[] tunedGzip() throws JsonProcessingException {
+        return gzip(tunedWriter.writeValueAsBytes(listing));
+    }
+
+    public static void main(String[] args) throws Exception {
+        printWireSizes();
+        new Runner(new OptionsBuilder().include(JsonSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static void printWireSizes() throws JsonProcessingException {
+        ObjectWriter writer = tunedMapper().writerFor(USER_LIST);
+        System.out.println("Bytes on the wire for GET /api/users");
+        System.out.printf("%8s %12s %12s %8s%n", "users", "json", "gzip", "ratio");
+        for (int count : new int[]{1, 10, 100, 1000}) {
+            byte[] json = writer.writeValueAsBytes(listing(count));
+            byte[] gzipped = gzip(json);
+            System.out.printf("%8d %12d %12d %7.1f%%%n", count, json.length, gzipped.length,
+                    100.0 * gzipped.length / json.length);
+        }
+
+        ObjectMapper defaults = reflectiveMapper();
+        byte[] legacyError = defaults.writeValueAsBytes(Map.of("timestamp", LocalDateTime.now(),
+                "status", 404, "error", "Resource Not Found", "message", "User not found with id: 1"));
+        byte[] error = defaults.writeValueAsBytes(
+                ErrorResponseDTO.of(HttpStatus.NOT_FOUND, "Resource Not Found", "User not found with id: 1"));
+        System.out.printf("Error body: %d bytes with a LocalDateTime map, %d bytes as ErrorResponseDTO%n",
+                legacyError.length, error.length);
+    }
+
+    private static List<UserResponseDTO> listing(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new UserResponseDTO(id, "user" + id + "@example.com", "User Number " + id))
+                .toList();
+    }
+
+    private static ObjectMapper reflectiveMapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(MapperFeature.USE_ANNOTATIONS)
+                .build();
+    }
+
+    private static ObjectMapper tunedMapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(new BlackbirdModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,116 @@
+package com.sky.usermanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.loadshed.AdaptiveConcurrencyLimiter;
+import com.sky.usermanager.loadshed.LoadSheddingFilter;
+import com.sky.usermanager.loadshed.LoadSheddingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Overload scenario: more concurrent clients than a backend with a fixed number of workers can serve within the
+ * latency target. Without shedding, every request queues behind the backend and p99 grows with the number of
+ * clients; with shedding, admitted requests stay close to the target and the excess is answered with a fast 503.
+ * It measures wall-clock latency over a few seconds, so it is run by hand rather than in the test suite:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.sky.usermanager.benchmark.LoadSheddingOverloadBenchmark"
+ * </pre>
+ */
+public class LoadSheddingOverloadBenchmark {
+
+    private static final int CLIENTS = 32;
+    private static final int BACKEND_WORKERS = 2;
+    private static final long SERVICE_MILLIS = 10;
+    private static final long REJECTED_BACKOFF_MILLIS = 20;
+    private static final Duration WARM_UP = Duration.ofMillis(500);
+    private static final Duration RUN_TIME = Duration.ofSeconds(2);
+
+    public static void main(String[] args) throws InterruptedException {
+        Result unprotected = run(new LoadSheddingProperties(true, 1000, 1000, 1000, Duration.ofHours(1), 0.9,
+                Duration.ofSeconds(10), 1000, List.of()));
+        Result shedding = run(new LoadSheddingProperties(true, 20, 2, 100, Duration.ofMillis(30), 0.9,
+                Duration.ofMillis(5), 4, List.of()));
+
+        System.out.printf("%d clients, backend with %d workers of %dms%n", CLIENTS, BACKEND_WORKERS, SERVICE_MILLIS);
+        System.out.printf("%12s %14s %10s%n", "", "admitted p99", "rejected");
+        System.out.printf("%12s %12dms %10d%n", "unprotected", unprotected.admittedP99Millis(), unprotected.rejected());
+        System.out.printf("%12s %12dms %10d%n", "shedding", shedding.admittedP99Millis(), shedding.rejected());
+    }
+
+    private static Result run(LoadSheddingProperties properties) throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoadSheddingFilter filter = new LoadSheddingFilter(
+                new AdaptiveConcurrencyLimiter(properties, registry, System::nanoTime),
+                properties, new ObjectMapper().findAndRegisterModules(), registry, System::nanoTime);
+        Semaphore backend = new Semaphore(BACKEND_WORKERS, true);
+        FilterChain chain = (request, response) -> {
+            backend.acquireUninterruptibly();
+            try {
+                Thread.sleep(SERVICE_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                backend.release();
+            }
+        };
+
+        List<Long> admittedLatencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+        long measureFrom = System.nanoTime() + WARM_UP.toNanos();
+        long deadline = measureFrom + RUN_TIME.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    long start = System.nanoTime();
+                    try {
+                        filter.doFilter(new MockHttpServletRequest("GET", "/api/users/1"), response, chain);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    if (response.getStatus() == 503) {
+                        rejected.incrementAndGet();
+                        pause();
+                    } else if (start >= measureFrom) {
+                        admittedLatencies.add(System.nanoTime() - start);
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        if (!clients.awaitTermination(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Clients didn't finish");
+        }
+        return new Result(p99Millis(admittedLatencies), rejected.get());
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(REJECTED_BACKOFF_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long p99Millis(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1));
+    }
+
+    private record Result(long admittedP99Millis, int rejected) {}
+}
@@ -0,0 +1,147 @@
+package com.sky.usermanager.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.sky.usermanager.controller.dto.UserResponseDTO;
+import com.sky.usermanager.proto.v1.UserList;
+import com.sky.usermanager.protobuf.ProtobufMessages;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode and decode CPU per response for the user listing in each negotiable representation: JSON, CBOR and
+ * Protobuf. Encoding is what the server pays; decoding is what a client pays. {@link #main} prints the bytes on
+ * the wire of each representation, plain and gzipped, before running the benchmarks:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.sky.usermanager.benchmark.PayloadFormatBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadFormatBenchmark {
+
+    private static final TypeReference<List<UserResponseDTO>> USER_LIST = new TypeReference<>() {};
+
+    @Param({"10", "100", "1000"})
+    private int users;
+
+    private List<UserResponseDTO> listing;
+    private ObjectWriter jsonWriter;
+    private ObjectReader jsonReader;
+    private ObjectWriter cborWriter;
+    private ObjectReader cborReader;
+    private byte[] json;
+    private byte[] cbor;
+    private byte[] protobuf;
+
+    @Setup
+    public void setUp() throws IOException {
+        listing = listing(users);
+        ObjectMapper jsonMapper = JsonMapper.builder().addModule(new BlackbirdModule()).build();
+        ObjectMapper cborMapper = CBORMapper.builder().addModule(new BlackbirdModule()).build();
+        jsonWriter = jsonMapper.writerFor(USER_LIST);
+        jsonReader = jsonMapper.readerFor(USER_LIST);
+        cborWriter = cborMapper.writerFor(USER_LIST);
+        cborReader = cborMapper.readerFor(USER_LIST);
+        json = jsonWriter.writeValueAsBytes(listing);
+        cbor = cborWriter.writeValueAsBytes(listing);
+        protobuf = ProtobufMessages.toUserList(listing).toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return jsonWriter.writeValueAsBytes(listing);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return cborWriter.writeValueAsBytes(listing);
+    }
+
+    @Benchmark
+    public byte[] encodeProtobuf() {
+        return ProtobufMessages.toUserList(listing).toByteArray();
+    }
+
+    @Benchmark
+    public List<UserResponseDTO> decodeJson() throws IOException {
+        return jsonReader.readValue(json);
+    }
+
+    @Benchmark
+    public List<UserResponseDTO> decodeCbor() throws IOException {
+        return cborReader.readValue(cbor);
+    }
+
+    @Benchmark
+    public UserList decodeProtobuf() throws InvalidProtocolBufferException {
+        return UserList.parseFrom(protobuf);
+    }
+
+    public static void main(String[] args) throws Exception {
+        printWireSizes();
+        new Runner(new OptionsBuilder().include(PayloadFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static void printWireSizes() throws IOException {
+        ObjectWriter json = new JsonMapper().writerFor(USER_LIST);
+        ObjectWriter cbor = new CBORMapper().writerFor(USER_LIST);
+        System.out.println("Bytes on the wire for GET /api/users (plain / gzip)");
+        System.out.printf("%8s %18s %18s %18s%n", "users", "json", "cbor", "protobuf");
+        for (int count : new int[]{1, 10, 100, 1000}) {
+            List<UserResponseDTO> listing = listing(count);
+            System.out.printf("%8d %18s %18s %18s%n", count, sizes(json.writeValueAsBytes(listing)),
+                    sizes(cbor.writeValueAsBytes(listing)), sizes(ProtobufMessages.toUserList(listing).toByteArray()));
+        }
+    }
+
+    private static String sizes(byte[] bytes) {
+        return bytes.length + " / " + gzip(bytes).length;
+    }
+
+    private static List<UserResponseDTO> listing(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new UserResponseDTO(id, "user" + id + "@example.com", "User Number " + id))
+                .toList();
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
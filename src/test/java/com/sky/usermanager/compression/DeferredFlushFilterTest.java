@@ -0,0 +1,43 @@
+package com.sky.usermanager.compression;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeferredFlushFilterTest {
+
+    private final DeferredFlushFilter filter = new DeferredFlushFilter(List.of("application/json"));
+
+    @Test
+    @DisplayName("Should hold back flushes of compressible responses so they stay uncommitted until complete")
+    void shouldDeferFlushOfCompressibleResponse() throws Exception {
+        MockHttpServletResponse response = perform(MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8");
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+    }
+
+    @Test
+    @DisplayName("Should flush other content types, such as event streams, right away")
+    void shouldFlushStreamingResponse() throws Exception {
+        assertThat(perform(MediaType.TEXT_EVENT_STREAM_VALUE).isCommitted()).isTrue();
+    }
+
+    private MockHttpServletResponse perform(String contentType) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users"), response, (req, res) -> {
+            res.setContentType(contentType);
+            res.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+            res.getOutputStream().flush();
+            res.flushBuffer();
+        });
+        return response;
+    }
+}
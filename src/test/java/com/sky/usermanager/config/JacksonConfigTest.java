@@ -0,0 +1,53 @@
+package com.sky.usermanager.config;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sky.usermanager.controller.dto.ErrorResponseDTO;
+import com.sky.usermanager.controller.dto.UserResponseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JsonTest
+@Import(JacksonConfig.class)
+class JacksonConfigTest {
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    @DisplayName("Should register the Blackbird module on the application ObjectMapper")
+    void shouldRegisterBlackbird() {
+        assertThat(mapper.getRegisteredModuleIds()).contains("com.fasterxml.jackson.module.blackbird.BlackbirdModule");
+    }
+
+    @Test
+    @DisplayName("Should write UserResponseDTO exactly as the reflective record serializer does")
+    void shouldKeepUserResponseContract() throws Exception {
+        ObjectMapper reflective = JsonMapper.builder().disable(MapperFeature.USE_ANNOTATIONS).build();
+        UserResponseDTO user = new UserResponseDTO(1L, "john@example.com", "John \"JD\" Doe");
+        UserResponseDTO withNulls = new UserResponseDTO(null, "jane@example.com", null);
+
+        assertThat(mapper.writeValueAsString(user)).isEqualTo(reflective.writeValueAsString(user));
+        assertThat(mapper.writeValueAsString(withNulls)).isEqualTo(reflective.writeValueAsString(withNulls));
+        assertThat(mapper.readValue(mapper.writeValueAsString(user), UserResponseDTO.class)).isEqualTo(user);
+    }
+
+    @Test
+    @DisplayName("Should write error timestamps as UTC instants with millisecond precision")
+    void shouldWriteCompactErrorTimestamp() throws Exception {
+        ErrorResponseDTO error = ErrorResponseDTO.of(Instant.parse("2025-01-02T03:04:05.123456789Z"),
+                HttpStatus.NOT_FOUND, "Resource Not Found", "User not found with id: 1");
+
+        assertThat(mapper.writeValueAsString(error)).isEqualTo("{\"timestamp\":\"2025-01-02T03:04:05.123Z\","
+                + "\"status\":404,\"error\":\"Resource Not Found\",\"message\":\"User not found with id: 1\"}");
+    }
+}
@@ -1,11 +1,22 @@
 package com.sky.usermanager.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.sky.usermanager.config.IncludeConfig;
 import com.sky.usermanager.config.SecurityConfig;
 import com.sky.usermanager.controller.dto.UserDTO;
+import com.sky.usermanager.controller.dto.UserResponseDTO;
 import com.sky.usermanager.exception.ResourceNotFoundException;
 import com.sky.usermanager.model.User;
+import com.sky.usermanager.model.UserSummary;
+import com.sky.usermanager.proto.v1.ErrorResponse;
+import com.sky.usermanager.proto.v1.UserList;
+import com.sky.usermanager.protobuf.DtoProtobufHttpMessageConverter;
+import com.sky.usermanager.search.UserSearchResult;
+import com.sky.usermanager.security.UserPrincipal;
+import com.sky.usermanager.service.UserSearchService;
 import com.sky.usermanager.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -21,16 +32,19 @@ import java.util.List;
 
 import static com.sky.usermanager.TestUtil.JOHN_DOE_NAME;
 import static com.sky.usermanager.TestUtil.mockUser;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
-@Import(SecurityConfig.class) // Import to be consistent with CSRF disabling
+// Import to be consistent with CSRF disabling; the password encoder reports metrics to the registry
+@Import({SecurityConfig.class, IncludeConfig.class, SimpleMeterRegistry.class})
 class UserControllerTest {
 
     @Autowired
@@ -39,6 +53,9 @@ class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private UserSearchService userSearchService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -90,7 +107,7 @@ class UserControllerTest {
                 roles = {"USER"})
         @DisplayName("Should return a user by ID")
         void shouldReturnUserById() throws Exception {
-            when(userService.getUserById(1L)).thenReturn(mockUser());
+            when(userService.getUserResponseById(1L)).thenReturn(UserResponseDTO.from(mockUser()));
 
             mockMvc
                     .perform(get("/api/users/1"))
@@ -106,7 +123,7 @@ class UserControllerTest {
                 roles = {"USER"})
         @DisplayName("Should return 404 if user not found")
         void shouldReturn404IfNotFound() throws Exception {
-            when(userService.getUserById(99L)).thenThrow(new ResourceNotFoundException("User not found"));
+            when(userService.getUserResponseById(99L)).thenThrow(new ResourceNotFoundException("User not found"));
 
             mockMvc
                     .perform(get("/api/users/99"))
@@ -114,6 +131,41 @@ class UserControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/users/search")
+    class SearchUsers {
+
+        @Test
+        @WithMockUser(
+                username = "admin",
+                roles = {"ADMIN"})
+        @DisplayName("Should return matching users and the cursor of the next page")
+        void shouldReturnSearchResults() throws Exception {
+            when(userSearchService.searchUsers("john", null, null, 1)).thenReturn(new UserSearchResult(
+                    List.of(new UserSummary(1L, "john.doe@example.com", JOHN_DOE_NAME)), "john.doe@example.com"));
+
+            mockMvc
+                    .perform(get("/api/users/search").param("emailPrefix", "john").param("limit", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.users", hasSize(1)))
+                    .andExpect(jsonPath("$.users[0].email").value("john.doe@example.com"))
+                    .andExpect(jsonPath("$.nextCursor").value("john.doe@example.com"));
+        }
+
+        @Test
+        @WithMockUser(
+                username = "user",
+                roles = {"USER"})
+        @DisplayName("Should not allow regular users to search")
+        void shouldReturn403_WhenUserCredentials() throws Exception {
+            mockMvc
+                    .perform(get("/api/users/search").param("emailPrefix", "john"))
+                    .andExpect(status().isForbidden());
+
+            verifyNoInteractions(userSearchService);
+        }
+    }
+
     @Nested
     @DisplayName("POST /api/users")
     class CreateUser {
@@ -165,9 +217,6 @@ class UserControllerTest {
     class UpdateUser {
 
         @Test
-        @WithMockUser(
-                username = "user",
-                roles = {"USER"})
         @DisplayName("Should update an existing user and return 200")
         void shouldUpdateUser() throws Exception {
             User updated = mockUser();
@@ -181,6 +230,7 @@ class UserControllerTest {
             mockMvc
                     .perform(
                             put("/api/users/1")
+                                    .with(user(new UserPrincipal(1L, "john.doe@example.com", "hashed_password")))
                                     .contentType(MediaType.APPLICATION_JSON)
                                     .content(objectMapper.writeValueAsString(updateDTO)))
                     .andExpect(status().isOk())
@@ -189,6 +239,22 @@ class UserControllerTest {
 
             verify(userService).updateUser(eq(1L), any(UserDTO.class));
         }
+
+        @Test
+        @DisplayName("Should return 403 when a user updates another user")
+        void shouldReturn403_WhenUpdatingAnotherUser() throws Exception {
+            UserDTO updateDTO = new UserDTO("taken@example.com", "hashed_password", "Taken");
+
+            mockMvc
+                    .perform(
+                            put("/api/users/1")
+                                    .with(user(new UserPrincipal(2L, "other@example.com", "hashed_password")))
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(updateDTO)))
+                    .andExpect(status().isForbidden());
+
+            verify(userService, never()).updateUser(any(), any());
+        }
     }
 
     @Nested
@@ -197,8 +263,8 @@ class UserControllerTest {
 
         @Test
         @WithMockUser(
-                username = "user",
-                roles = {"USER"})
+                username = "admin",
+                roles = {"ADMIN"})
         @DisplayName("should delete user and return 204")
         void shouldDeleteUser() throws Exception {
             doNothing().when(userService).deleteUserById(1L);
@@ -207,5 +273,86 @@ class UserControllerTest {
 
             verify(userService).deleteUserById(1L);
         }
+
+        @Test
+        @WithMockUser(
+                username = "user",
+                roles = {"USER"})
+        @DisplayName("Should return 403 when the user does not own the record")
+        void shouldReturn403_WhenNotOwner() throws Exception {
+            mockMvc.perform(delete("/api/users/1")).andExpect(status().isForbidden());
+
+            verify(userService, never()).deleteUserById(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Binary representations")
+    class BinaryRepresentations {
+
+        @Test
+        @WithMockUser(username = "admin", roles = {"ADMIN"})
+        @DisplayName("Should write the user list as a protobuf UserList when requested")
+        void shouldReturnProtobufUserList() throws Exception {
+            when(userService.getUsers()).thenReturn(List.of(mockUser()));
+
+            byte[] body = mockMvc
+                    .perform(get("/api/users").accept(DtoProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(DtoProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF))
+                    .andExpect(header().string(DtoProtobufHttpMessageConverter.X_PROTOBUF_MESSAGE_HEADER,
+                            "usermanager.v1.UserList"))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            UserList users = UserList.parseFrom(body);
+            assertThat(users.getUsersList()).hasSize(1);
+            assertThat(users.getUsers(0).getId()).isEqualTo(1L);
+            assertThat(users.getUsers(0).getEmail()).isEqualTo("john.doe@example.com");
+            assertThat(users.getUsers(0).getName()).isEqualTo(JOHN_DOE_NAME);
+        }
+
+        @Test
+        @WithMockUser(username = "user", roles = {"USER"})
+        @DisplayName("Should write a user as CBOR with the same fields as JSON when requested")
+        void shouldReturnCborUser() throws Exception {
+            when(userService.getUserResponseById(1L)).thenReturn(UserResponseDTO.from(mockUser()));
+
+            byte[] body = mockMvc
+                    .perform(get("/api/users/1").accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            UserResponseDTO user = new CBORMapper().readValue(body, UserResponseDTO.class);
+            assertThat(user).isEqualTo(new UserResponseDTO(1L, "john.doe@example.com", JOHN_DOE_NAME));
+        }
+
+        @Test
+        @WithMockUser(username = "user", roles = {"USER"})
+        @DisplayName("Should write errors as a protobuf ErrorResponse when only protobuf is accepted")
+        void shouldReturnProtobufError() throws Exception {
+            when(userService.getUserResponseById(99L)).thenThrow(new ResourceNotFoundException("User not found with id: 99"));
+
+            byte[] body = mockMvc
+                    .perform(get("/api/users/99").accept(DtoProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF))
+                    .andExpect(status().isNotFound())
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            ErrorResponse error = ErrorResponse.parseFrom(body);
+            assertThat(error.getStatus()).isEqualTo(404);
+            assertThat(error.getMessage()).isEqualTo("User not found with id: 99");
+        }
+
+        @Test
+        @WithMockUser(username = "user", roles = {"USER"})
+        @DisplayName("Should keep JSON as the default for clients accepting any media type")
+        void shouldDefaultToJson() throws Exception {
+            when(userService.getUserResponseById(1L)).thenReturn(UserResponseDTO.from(mockUser()));
+
+            mockMvc
+                    .perform(get("/api/users/1").accept(MediaType.ALL))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        }
     }
 }
@@ -3,10 +3,15 @@ package com.sky.usermanager.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sky.usermanager.config.SecurityConfig;
 import com.sky.usermanager.controller.dto.UserExternalProjectDTO;
+import com.sky.usermanager.controller.dto.UserExternalProjectResponseDTO;
 import com.sky.usermanager.model.User;
 import com.sky.usermanager.model.UserExternalProject;
 import com.sky.usermanager.model.UserExternalProjectFactory;
+import com.sky.usermanager.proto.v1.ProjectList;
+import com.sky.usermanager.protobuf.DtoProtobufHttpMessageConverter;
+import com.sky.usermanager.security.UserPrincipal;
 import com.sky.usermanager.service.ExternalProjectService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -22,18 +27,22 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static com.sky.usermanager.TestUtil.mockUser;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserExternalProjectController.class)
-@Import({SecurityConfig.class, UserExternalProjectFactory.class}) // Import SecurityConfig to be consistent with CSRF disabling
+// Import SecurityConfig to be consistent with CSRF disabling; the password encoder reports metrics to the registry
+@Import({SecurityConfig.class, UserExternalProjectFactory.class, SimpleMeterRegistry.class})
 class UserExternalProjectControllerTest {
 
     public static final String PROJ_123 = "proj-123";
@@ -75,8 +84,8 @@ class UserExternalProjectControllerTest {
             User user = mockUser();
             UserExternalProject proj = mockProject(user);
 
-            when(externalProjectService.getUserProjects(1L))
-                    .thenReturn(List.of(proj));
+            when(externalProjectService.getUserProjectResponses(1L))
+                    .thenReturn(List.of(UserExternalProjectResponseDTO.from(proj)));
 
             mockMvc.perform(get("/api/users/1/projects"))
                     .andExpect(status().isOk())
@@ -85,7 +94,26 @@ class UserExternalProjectControllerTest {
                     .andExpect(jsonPath("$[0].id").value(PROJ_123))
                     .andExpect(jsonPath("$[0].projectName").value(TEST_PROJECT_NAME));
 
-            verify(externalProjectService).getUserProjects(1L);
+            verify(externalProjectService).getUserProjectResponses(1L);
+        }
+
+        @Test
+        @WithMockUser(username = "user", roles = {"USER"})
+        @DisplayName("Should return projects as a protobuf ProjectList when requested")
+        void shouldReturnProtobufProjectList() throws Exception {
+            when(externalProjectService.getUserProjectResponses(1L))
+                    .thenReturn(List.of(UserExternalProjectResponseDTO.from(mockProject(mockUser()))));
+
+            byte[] body = mockMvc.perform(get("/api/users/1/projects")
+                            .accept(DtoProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            ProjectList projects = ProjectList.parseFrom(body);
+            assertThat(projects.getProjectsList()).hasSize(1);
+            assertThat(projects.getProjects(0).getId()).isEqualTo(PROJ_123);
+            assertThat(projects.getProjects(0).getUserId()).isEqualTo(1L);
+            assertThat(projects.getProjects(0).getProjectName()).isEqualTo(TEST_PROJECT_NAME);
         }
     }
 
@@ -94,7 +122,6 @@ class UserExternalProjectControllerTest {
     class AddExternalProject {
 
         @Test
-        @WithMockUser(username = "user", roles = {"USER"})
         @DisplayName("Should create project and return 201 with Location header")
         void shouldCreateExternalProject() throws Exception {
             User user = mockUser();
@@ -106,6 +133,7 @@ class UserExternalProjectControllerTest {
                     .thenReturn(created);
 
             mockMvc.perform(post("/api/users/1/projects")
+                            .with(user(new UserPrincipal(1L, "john.doe@example.com", "hashed_password")))
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(dto)))
                     .andExpect(status().isCreated())
@@ -116,6 +144,20 @@ class UserExternalProjectControllerTest {
             verify(externalProjectService).addExternalProject(eq(1L), any(UserExternalProjectDTO.class));
         }
 
+        @Test
+        @WithMockUser(username = "user", roles = {"USER"})
+        @DisplayName("Should return 403 when adding a project to another user")
+        void shouldReturn403_WhenNotOwner() throws Exception {
+            UserExternalProjectDTO dto = new UserExternalProjectDTO(PROJ_123, TEST_PROJECT_NAME);
+
+            mockMvc.perform(post("/api/users/1/projects")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isForbidden());
+
+            verify(externalProjectService, never()).addExternalProject(any(), any());
+        }
+
 
         @Test
         @WithMockUser(username = "user", roles = {"USER"})
@@ -141,8 +183,8 @@ class UserExternalProjectControllerTest {
             User user = mockUser();
             UserExternalProject project = mockProject(user);
 
-            when(externalProjectService.getUserProjectById(1L, PROJ_123))
-                    .thenReturn(project);
+            when(externalProjectService.getUserProjectResponseById(1L, PROJ_123))
+                    .thenReturn(UserExternalProjectResponseDTO.from(project));
 
             mockMvc.perform(get("/api/users/1/projects/proj-123"))
                     .andExpect(status().isOk())
@@ -150,14 +192,14 @@ class UserExternalProjectControllerTest {
                     .andExpect(jsonPath("$.id").value(PROJ_123))
                     .andExpect(jsonPath("$.projectName").value(TEST_PROJECT_NAME));
 
-            verify(externalProjectService).getUserProjectById(1L, PROJ_123);
+            verify(externalProjectService).getUserProjectResponseById(1L, PROJ_123);
         }
 
         @Test
         @WithMockUser(username = "user", roles = {"USER"})
         @DisplayName("Should return 404 when project not found")
         void shouldReturn404_WhenProjectNotFound() throws Exception {
-            when(externalProjectService.getUserProjectById(1L, "unknown"))
+            when(externalProjectService.getUserProjectResponseById(1L, "unknown"))
                     .thenThrow(new com.sky.usermanager.exception.ResourceNotFoundException("Not found"));
 
             mockMvc.perform(get("/api/users/1/projects/unknown"))
@@ -0,0 +1,94 @@
+package com.sky.usermanager.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.validation.ValidationBindHandler;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HikariPoolCustomizerTest {
+
+    @Test
+    @DisplayName("Should apply pool settings and MySQL driver properties to a MySQL pool")
+    void shouldApplySettings_ToMySqlPool() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:mysql://localhost:3306/userdb");
+
+        HikariPoolCustomizer.apply(bind(Map.of(
+                "usermanager.datasource.pool.maximum-pool-size", "20",
+                "usermanager.datasource.pool.connection-timeout", "2s")), dataSource);
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(20);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(10);
+        assertThat(dataSource.getConnectionTimeout()).isEqualTo(2000);
+        assertThat(dataSource.getLeakDetectionThreshold()).isEqualTo(20_000);
+        assertThat(dataSource.getDataSourceProperties())
+                .containsEntry("cachePrepStmts", true)
+                .containsEntry("prepStmtCacheSize", 250)
+                .containsEntry("rewriteBatchedStatements", true)
+                .containsEntry("useCursorFetch", true);
+    }
+
+    @Test
+    @DisplayName("Should not pass MySQL driver properties to other databases")
+    void shouldSkipMySqlProperties_ForOtherDatabases() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:testdb");
+
+        HikariPoolCustomizer.apply(bind(Map.of()), dataSource);
+
+        assertThat(dataSource.getDataSourceProperties()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject inconsistent pool settings")
+    void shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> bind(Map.of(
+                "usermanager.datasource.pool.maximum-pool-size", "5",
+                "usermanager.datasource.pool.minimum-idle", "10")))
+                .isInstanceOf(BindException.class)
+                .hasStackTraceContaining("minimum-idle must not be greater than maximum-pool-size");
+        assertThatThrownBy(() -> bind(Map.of("usermanager.datasource.pool.connection-timeout", "100ms")))
+                .isInstanceOf(BindException.class)
+                .hasStackTraceContaining("connection-timeout must be at least 250ms");
+        assertThatThrownBy(() -> bind(Map.of("usermanager.datasource.pool.leak-detection-threshold", "1s")))
+                .isInstanceOf(BindException.class)
+                .hasStackTraceContaining("leak-detection-threshold must be 0 or at least 2s");
+        assertThat(bind(Map.of("usermanager.datasource.pool.leak-detection-threshold", "0")).leakDetectionThreshold())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should report spring.datasource.hikari settings that the pool settings would overwrite")
+    void shouldDetectConflictingHikariSettings() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.pool-name", "primary")
+                .withProperty("spring.datasource.hikari.maximumPoolSize", "50")
+                .withProperty("spring.datasource.hikari.data-source-properties.cachePrepStmts", "false")
+                .withProperty("spring.datasource.hikari.data-source-properties.sslMode", "REQUIRED");
+
+        assertThat(HikariPoolCustomizer.conflictingSettings(environment)).containsExactly(
+                "spring.datasource.hikari.maximum-pool-size",
+                "spring.datasource.hikari.data-source-properties.cachePrepStmts");
+        assertThat(HikariPoolCustomizer.conflictingSettings(new MockEnvironment()
+                .withProperty("spring.datasource.hikari.pool-name", "primary"))).isEmpty();
+    }
+
+    private static DataSourcePoolProperties bind(Map<String, String> values) {
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        return new Binder(new MapConfigurationPropertySource(values))
+                .bindOrCreate("usermanager.datasource.pool", Bindable.of(DataSourcePoolProperties.class),
+                        new ValidationBindHandler(validator));
+    }
+}
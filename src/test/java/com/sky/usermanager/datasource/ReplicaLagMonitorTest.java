@@ -0,0 +1,96 @@
+package com.sky.usermanager.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaLagMonitorTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        primary = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .addScript("replication-heartbeat-schema.sql").build();
+        replica = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .addScript("replication-heartbeat-schema.sql").build();
+        monitor = new ReplicaLagMonitor(primary, replica,
+                new ReplicaProperties(true, null, null, null, Duration.ofSeconds(5), Duration.ofSeconds(1)),
+                new SimpleMeterRegistry(), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should write the heartbeat on the primary and keep the replica unused until it is replicated")
+    void shouldWriteHeartbeat_AndWaitForReplication() {
+        monitor.check();
+
+        assertThat(new JdbcTemplate(primary).queryForObject(
+                "SELECT beat_at FROM tb_replication_heartbeat WHERE id = 1", Long.class)).isEqualTo(NOW.toEpochMilli());
+        assertThat(monitor.isReplicaUsable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should use the replica while the replicated heartbeat is within the allowed lag")
+    void shouldUseReplica_WhenLagWithinLimit() {
+        replicate(NOW.minusSeconds(2));
+
+        monitor.check();
+
+        assertThat(monitor.isReplicaUsable()).isTrue();
+        assertThat(monitor.getLag()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Should stop using the replica when the replicated heartbeat is too old")
+    void shouldNotUseReplica_WhenLagAboveLimit() {
+        replicate(NOW.minusSeconds(2));
+        monitor.check();
+        replicate(NOW.minusSeconds(30));
+
+        monitor.check();
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(monitor.getLag()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Should stop using the replica when it can't be queried")
+    void shouldNotUseReplica_WhenReplicaFails() {
+        replicate(NOW);
+        monitor.check();
+        new JdbcTemplate(replica).execute("DROP TABLE tb_replication_heartbeat");
+
+        monitor.check();
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+    }
+
+    private void replicate(Instant beatAt) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+        jdbcTemplate.update("DELETE FROM tb_replication_heartbeat");
+        jdbcTemplate.update("INSERT INTO tb_replication_heartbeat (id, beat_at) VALUES (1, ?)", beatAt.toEpochMilli());
+    }
+}
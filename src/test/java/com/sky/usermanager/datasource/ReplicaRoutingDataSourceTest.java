@@ -0,0 +1,120 @@
+package com.sky.usermanager.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static com.sky.usermanager.datasource.ReplicaRoutingDataSource.DATASOURCE_CONNECTIONS_ROUTED_TOTAL_COUNTER;
+import static com.sky.usermanager.datasource.ReplicaRoutingDataSource.DATASOURCE_REPLICA_FALLBACKS_TOTAL_COUNTER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReplicaRoutingDataSource(primary, replica, lagMonitor, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Should use the primary outside read-only transactions")
+    void shouldUsePrimary_WhenNotReadOnly() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        verifyNoInteractions(replica);
+        assertThat(routed("primary")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should use the replica for read-only transactions when it is in sync")
+    void shouldUseReplica_WhenReadOnlyAndReplicaUsable() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+        assertThat(routed("replica")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica lags")
+    void shouldFallBackToPrimary_WhenReplicaLags() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        verifyNoInteractions(replica);
+        assertThat(fallbacks("lag")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary and stop using the replica when it can't be reached")
+    void shouldFallBackToPrimary_WhenReplicaConnectionFails() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        SQLException failure = new SQLException("Connection refused");
+        when(replica.getConnection()).thenThrow(failure);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        verify(lagMonitor).markUnavailable(any(SQLException.class));
+        assertThat(fallbacks("error")).isEqualTo(1.0);
+        assertThat(routed("primary")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should route connections opened with credentials the same way")
+    void shouldRouteConnectionsWithCredentials() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        when(replica.getConnection("reporting", "secret")).thenReturn(replicaConnection);
+
+        assertThat(dataSource.getConnection("reporting", "secret")).isSameAs(replicaConnection);
+        verifyNoInteractions(primary);
+        assertThat(routed("replica")).isEqualTo(1.0);
+    }
+
+    private double routed(String pool) {
+        return registry.get(DATASOURCE_CONNECTIONS_ROUTED_TOTAL_COUNTER).tag("pool", pool).counter().count();
+    }
+
+    private double fallbacks(String reason) {
+        return registry.get(DATASOURCE_REPLICA_FALLBACKS_TOTAL_COUNTER).tag("reason", reason).counter().count();
+    }
+}
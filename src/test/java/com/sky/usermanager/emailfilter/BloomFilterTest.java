@@ -0,0 +1,51 @@
+package com.sky.usermanager.emailfilter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report an added key as absent")
+    void shouldHaveNoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user" + i + "@example.com")).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the target probability at capacity")
+    void shouldKeepFalsePositivesNearTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveProbability()).isBetween(0.005, 0.015);
+        // About 9.6 bits per key for 1%
+        assertThat(filter.sizeInBytes()).isBetween(11_000L, 13_000L);
+        assertThat(filter.hashFunctions()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should reject sizes that can't hold any key")
+    void shouldRejectInvalidSizes() {
+        assertThatThrownBy(() -> BloomFilter.create(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
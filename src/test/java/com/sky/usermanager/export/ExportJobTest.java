@@ -0,0 +1,167 @@
+package com.sky.usermanager.export;
+
+import com.sky.usermanager.model.User;
+import com.sky.usermanager.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static com.sky.usermanager.TestUtil.HASHED_PASSWORD_123;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportJobTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 2);
+    private static final int USERS = 7;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(userRepository.save(new User("job" + i + "@example.com", HASHED_PASSWORD_123, "Job " + i))
+                    .getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(userIds);
+    }
+
+    @Test
+    @DisplayName("Should write the gzipped file in one go and leave no checkpoint behind")
+    void shouldExportToFile() throws IOException {
+        Path file = job(exportService(null)).exportToFile(ExportDataset.USERS, DATE);
+
+        assertThat(file.getFileName()).hasToString("users-2025-01-02.ndjson.gz");
+        assertThat(exportedIds(file)).containsExactlyElementsOf(userIds);
+        assertThat(directory.resolve("users-2025-01-02.ndjson.gz.checkpoint")).doesNotExist();
+        assertThat(directory.resolve("users-2025-01-02.ndjson.gz.part")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should resume an interrupted export from its last checkpoint without duplicating rows")
+    void shouldResumeFromCheckpoint() throws IOException {
+        FailingAfter failure = new FailingAfter(4);
+        ExportJob job = job(exportService(failure));
+
+        assertThatThrownBy(() -> job.exportToFile(ExportDataset.USERS, DATE)).hasMessage("Disk full");
+        Path part = directory.resolve("users-2025-01-02.ndjson.gz.part");
+        Path checkpoint = directory.resolve("users-2025-01-02.ndjson.gz.checkpoint");
+        assertThat(checkpoint).exists();
+        // Bytes written after the checkpoint but before the crash must not survive into the file
+        Files.write(part, "{\"torn\":".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        failure.disarm();
+        Path file = job.exportToFile(ExportDataset.USERS, DATE);
+
+        assertThat(exportedIds(file)).containsExactlyElementsOf(userIds);
+        assertThat(checkpoint).doesNotExist();
+    }
+
+    private ExportJob job(ExportService exportService) {
+        ExportProperties properties = properties();
+        return new ExportJob(exportService, properties, Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+    }
+
+    private ExportProperties properties() {
+        return new ExportProperties(100, DataSize.ofKilobytes(1), 2,
+                new ExportProperties.Parquet(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64),
+                        CompressionCodecName.SNAPPY),
+                new ExportProperties.Job(true, "-", directory, List.of("users"), "ndjson", true));
+    }
+
+    private ExportService exportService(@Nullable FailingAfter failure) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return new ExportService(jdbcTemplate, readOnly, properties(), new SimpleMeterRegistry()) {
+            @Override
+            public ExportCheckpoint export(ExportDataset dataset, ExportFormat format, boolean gzip,
+                                           ExportCursor after, OutputStream out,
+                                           Consumer<ExportCheckpoint> checkpoints) throws IOException {
+                return super.export(dataset, format, gzip, after, out, checkpoint -> {
+                    checkpoints.accept(checkpoint);
+                    if (failure != null) {
+                        failure.afterCheckpoint(checkpoint);
+                    }
+                });
+            }
+        };
+    }
+
+    private List<Long> exportedIds(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .map(line -> Long.parseLong(line.substring(line.indexOf(':') + 1, line.indexOf(','))))
+                    .filter(userIds::contains)
+                    .toList();
+        }
+    }
+
+    private static final class FailingAfter {
+
+        private final long rows;
+        private boolean armed = true;
+
+        private FailingAfter(long rows) {
+            this.rows = rows;
+        }
+
+        void afterCheckpoint(ExportCheckpoint checkpoint) {
+            if (armed && checkpoint.rows() >= rows) {
+                throw new UncheckedIOException(new IOException("Disk full"));
+            }
+        }
+
+        void disarm() {
+            armed = false;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.sky.usermanager.export;
+
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParquetRowWriterTest {
+
+    private static final int ROWS = 20_000;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 17, 10, 15, 30, 123_456_000);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should split rows into bounded row groups that read back by column")
+    void shouldWriteRowGroupsReadableByColumn() throws IOException {
+        Path file = directory.resolve("users.parquet");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            ParquetRowWriter writer = new ParquetRowWriter(out, ExportDataset.USERS, new ExportProperties.Parquet(
+                    DataSize.ofKilobytes(64), DataSize.ofKilobytes(8), CompressionCodecName.SNAPPY));
+            writer.writeHeader();
+            for (long id = 1; id <= ROWS; id++) {
+                writer.writeRow(new Object[]{id, "user" + id + "@example.com", id % 2 == 0 ? null : "User " + id,
+                        CREATED_AT, null});
+            }
+            writer.finish();
+        }
+
+        MessageType projection = Types.buildMessage()
+                .required(INT64).named("id")
+                .optional(BINARY).named("name")
+                .optional(INT64).named("created_at")
+                .named("users");
+        List<Group> rows = new ArrayList<>();
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(file))) {
+            assertThat(reader.getRowGroups()).hasSizeGreaterThan(1);
+            assertThat(reader.getFooter().getFileMetaData().getSchema())
+                    .isEqualTo(ParquetRowWriter.schema(ExportDataset.USERS));
+            reader.setRequestedSchema(projection);
+            for (PageReadStore rowGroup; (rowGroup = reader.readNextRowGroup()) != null; ) {
+                RecordReader<Group> records = new ColumnIOFactory().getColumnIO(projection)
+                        .getRecordReader(rowGroup, new GroupRecordConverter(projection));
+                for (long i = 0; i < rowGroup.getRowCount(); i++) {
+                    rows.add(records.read());
+                }
+            }
+        }
+
+        assertThat(rows).hasSize(ROWS);
+        assertThat(rows.get(0).getLong("id", 0)).isEqualTo(1);
+        assertThat(rows.get(0).getString("name", 0)).isEqualTo("User 1");
+        assertThat(rows.get(0).getLong("created_at", 0)).isEqualTo(1_715_940_930_123_456L);
+        assertThat(rows.get(1).getFieldRepetitionCount("name")).isZero();
+        assertThat(rows.get(ROWS - 1).getLong("id", 0)).isEqualTo(ROWS);
+    }
+}
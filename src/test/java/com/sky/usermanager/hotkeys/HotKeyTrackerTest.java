@@ -0,0 +1,125 @@
+package com.sky.usermanager.hotkeys;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotKeyTrackerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final HotKeyProperties properties = new HotKeyProperties(true, Duration.ofMinutes(1), 5, 3, 0.001, 0.99);
+    private final HotKeyTracker tracker = new HotKeyTracker(properties, registry,
+            Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should never undercount a key in the count-min sketch")
+    void shouldNotUndercount() {
+        CountMinSketch sketch = CountMinSketch.create(0.01, 0.99);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add("key" + (i % 1000));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            long estimate = sketch.estimate("key" + i);
+            assertThat(estimate).isGreaterThanOrEqualTo(10);
+            // Within the error bound of 1% of the total with high probability
+            assertThat(estimate).isLessThanOrEqualTo(10 + 100);
+        }
+    }
+
+    @Test
+    @DisplayName("Should find the heavy hitters of a skewed stream among many cold keys")
+    void shouldFindHeavyHitters() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            tracker.recordUserRead(1_000L + random.nextInt(5_000));
+            if (i % 10 == 0) {
+                tracker.recordUserRead(1L);
+            }
+            if (i % 20 == 0) {
+                tracker.recordUserRead(2L);
+            }
+        }
+
+        HotKeyWindow users = tracker.currentWindow().get(HotKeyDimension.USER);
+        assertThat(users.total()).isEqualTo(23_000);
+        assertThat(users.keys()).hasSize(5);
+        assertThat(users.keys().get(0).key()).isEqualTo("1");
+        assertThat(users.keys().get(0).count()).isBetween(2_000L, 2_100L);
+        assertThat(users.keys().get(1).key()).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("Should count project reads against the user, the project and the client")
+    void shouldCountEveryDimension() {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("admin", null, List.of()));
+
+        tracker.recordProjectRead(7L, "PROJ-1");
+        tracker.recordProjectRead(7L, "PROJ-1");
+
+        assertThat(tracker.currentWindow().get(HotKeyDimension.USER).keys()).containsExactly(new HotKey("7", 2));
+        assertThat(tracker.currentWindow().get(HotKeyDimension.PROJECT).keys())
+                .containsExactly(new HotKey("7/PROJ-1", 2));
+        assertThat(tracker.currentWindow().get(HotKeyDimension.CLIENT).keys()).containsExactly(new HotKey("admin", 2));
+    }
+
+    @Test
+    @DisplayName("Should keep client names out of the published gauges")
+    void shouldNotPublishClients() {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("jane@example.com", null, List.of()));
+        tracker.recordUserRead(7L);
+
+        tracker.rotate();
+
+        assertThat(tracker.previousWindow().get(HotKeyDimension.CLIENT).keys())
+                .containsExactly(new HotKey("jane@example.com", 1));
+        assertThat(registry.find(HotKeyTracker.HOT_KEY_REQUESTS_GAUGE).tag("dimension", "client").gauges()).isEmpty();
+        assertThat(registry.get(HotKeyTracker.HOT_KEY_WINDOW_REQUESTS_GAUGE).tag("dimension", "client").gauge()
+                .value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should start counting over on rotation and publish at most metric-keys gauges per dimension")
+    void shouldRotateAndPublishBoundedGauges() {
+        for (long userId = 1; userId <= 5; userId++) {
+            for (int i = 0; i < userId; i++) {
+                tracker.recordUserRead(userId);
+            }
+        }
+
+        tracker.rotate();
+
+        assertThat(tracker.currentWindow().get(HotKeyDimension.USER).total()).isZero();
+        assertThat(tracker.previousWindow().get(HotKeyDimension.USER).total()).isEqualTo(15);
+        assertThat(registry.find(HotKeyTracker.HOT_KEY_REQUESTS_GAUGE).gauges()).hasSize(3);
+        assertThat(registry.get(HotKeyTracker.HOT_KEY_REQUESTS_GAUGE).tag("key", "5").gauge().value()).isEqualTo(5);
+        assertThat(registry.get(HotKeyTracker.HOT_KEY_WINDOW_REQUESTS_GAUGE).tag("dimension", "user").gauge().value())
+                .isEqualTo(15);
+
+        tracker.recordUserRead(9L);
+        tracker.rotate();
+
+        assertThat(registry.find(HotKeyTracker.HOT_KEY_REQUESTS_GAUGE).gauges())
+                .singleElement()
+                .satisfies(gauge -> assertThat(gauge.getId().getTag("key")).isEqualTo("9"));
+    }
+}
@@ -0,0 +1,156 @@
+package com.sky.usermanager.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sky.usermanager.idempotency.IdempotencyFilter.IDEMPOTENCY_KEY_HEADER;
+import static com.sky.usermanager.protobuf.DtoProtobufHttpMessageConverter.X_PROTOBUF_MESSAGE_HEADER;
+import static com.sky.usermanager.protobuf.DtoProtobufHttpMessageConverter.X_PROTOBUF_SCHEMA_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    private final Instant now = Instant.parse("2025-01-01T10:00:00Z");
+    private final IdempotencyProperties properties = new IdempotencyProperties(true, "memory", Duration.ofHours(24),
+            Duration.ofMinutes(1), Duration.ofMinutes(10));
+    private InMemoryIdempotencyStore store;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore();
+        filter = new IdempotencyFilter(store, properties, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry(), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should store a fixed-length key however long the principal and the client key are")
+    void shouldStoreFixedLengthKey() throws Exception {
+        String email = "a".repeat(190) + "@example.com";
+        String idempotencyKey = "k".repeat(255);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post(email, idempotencyKey), response, (req, res) -> ((HttpServletResponse) res).setStatus(201));
+
+        String key = IdempotencyFilter.storeKey(email, idempotencyKey);
+        assertThat(key).hasSize(64);
+        assertThat(store.find(key, now)).get().satisfies(r -> {
+            assertThat(r.statusCode()).isEqualTo(201);
+            assertThat(r.expiresAt()).isEqualTo(now.plus(properties.ttl()));
+        });
+        assertThat(IdempotencyFilter.storeKey("admin", "key-1")).isNotEqualTo(IdempotencyFilter.storeKey("user", "key-1"));
+    }
+
+    @Test
+    @DisplayName("Should only lease the key while the request is in progress")
+    void shouldLeasePendingKey() throws Exception {
+        List<IdempotencyRecord> pending = new ArrayList<>();
+        filter.doFilter(post("admin", "key-1"), new MockHttpServletResponse(), (req, res) -> {
+            pending.add(store.find(IdempotencyFilter.storeKey("admin", "key-1"), now).orElseThrow());
+            ((HttpServletResponse) res).setStatus(201);
+        });
+
+        assertThat(pending).singleElement().satisfies(r -> {
+            assertThat(r.isCompleted()).isFalse();
+            assertThat(r.expiresAt()).isEqualTo(now.plus(properties.pendingLease()));
+        });
+    }
+
+    @Test
+    @DisplayName("Should notify a read listener of the cached body")
+    void shouldSupportReadListener() throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        filter.doFilter(post("admin", "key-1"), new MockHttpServletResponse(), (req, res) -> {
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.add("data");
+                    body.write(in.readAllBytes());
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add("error");
+                }
+            });
+            ((HttpServletResponse) res).setStatus(201);
+        });
+
+        assertThat(events).containsExactly("data", "done");
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo("{\"name\":\"n\"}");
+    }
+
+    @Test
+    @DisplayName("Should replay a Protobuf response byte for byte with its headers, and only for the same format")
+    void shouldReplayProtobufResponse() throws Exception {
+        // Not valid UTF-8, so any text round trip would corrupt it
+        byte[] body = {0x08, 0x01, 0x12, 0x02, (byte) 0xff, (byte) 0x80};
+        FilterChain chain = (req, res) -> {
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setStatus(201);
+            http.setContentType("application/x-protobuf");
+            http.setHeader(X_PROTOBUF_MESSAGE_HEADER, "usermanager.v1.User");
+            http.setHeader(X_PROTOBUF_SCHEMA_HEADER, "usermanager/v1/usermanager.proto");
+            http.getOutputStream().write(body);
+        };
+        filter.doFilter(post("admin", "key-1", "application/x-protobuf"), new MockHttpServletResponse(), chain);
+
+        MockHttpServletResponse replayed = new MockHttpServletResponse();
+        filter.doFilter(post("admin", "key-1", "application/x-protobuf"), replayed, (req, res) -> {
+            throw new AssertionError("replay must not run the request again");
+        });
+
+        assertThat(replayed.getStatus()).isEqualTo(201);
+        assertThat(replayed.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(replayed.getContentType()).isEqualTo("application/x-protobuf");
+        assertThat(replayed.getHeader(X_PROTOBUF_MESSAGE_HEADER)).isEqualTo("usermanager.v1.User");
+        assertThat(replayed.getHeader(X_PROTOBUF_SCHEMA_HEADER)).isEqualTo("usermanager/v1/usermanager.proto");
+        assertThat(replayed.getContentAsByteArray()).isEqualTo(body);
+
+        MockHttpServletResponse asJson = new MockHttpServletResponse();
+        filter.doFilter(post("admin", "key-1", "application/json"), asJson, chain);
+        assertThat(asJson.getStatus()).isEqualTo(422);
+    }
+
+    private static MockHttpServletRequest post(String principal, String idempotencyKey, String accept) {
+        MockHttpServletRequest request = post(principal, idempotencyKey);
+        request.addHeader(HttpHeaders.ACCEPT, accept);
+        return request;
+    }
+
+    private static MockHttpServletRequest post(String principal, String idempotencyKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        request.setUserPrincipal(() -> principal);
+        request.addHeader(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        request.setContent("{\"name\":\"n\"}".getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,66 @@
+package com.sky.usermanager.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryIdempotencyStoreTest {
+
+    private static final String KEY = "admin:key-1";
+    private static final String FINGERPRINT = "fingerprint";
+
+    private final Instant now = Instant.parse("2025-01-01T10:00:00Z");
+    private InMemoryIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore();
+    }
+
+    @Test
+    @DisplayName("Should only allow one reservation per key")
+    void shouldReserveKeyOnce() {
+        assertThat(store.reserve(IdempotencyRecord.pending(KEY, FINGERPRINT, now.plusSeconds(60)), now)).isTrue();
+        assertThat(store.reserve(IdempotencyRecord.pending(KEY, FINGERPRINT, now.plusSeconds(60)), now)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should allow reserving a key again once it has expired")
+    void shouldReserveAgain_WhenExpired() {
+        store.reserve(IdempotencyRecord.pending(KEY, FINGERPRINT, now.plusSeconds(60)), now);
+        Instant later = now.plus(Duration.ofMinutes(2));
+
+        assertThat(store.find(KEY, later)).isEmpty();
+        assertThat(store.reserve(IdempotencyRecord.pending(KEY, FINGERPRINT, later.plusSeconds(60)), later)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should return completed record and purge it after expiry")
+    void shouldCompleteAndPurge() {
+        store.reserve(IdempotencyRecord.pending(KEY, FINGERPRINT, now.plusSeconds(60)), now);
+        store.complete(new IdempotencyRecord(KEY, FINGERPRINT, 201, "application/json", "/api/users/1", null, null,
+                "{}".getBytes(), now.plusSeconds(60)));
+
+        assertThat(store.find(KEY, now)).get().satisfies(r -> {
+            assertThat(r.isCompleted()).isTrue();
+            assertThat(r.statusCode()).isEqualTo(201);
+        });
+
+        assertThat(store.purgeExpired(now.plusSeconds(61))).isEqualTo(1);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should remove the key when released")
+    void shouldRelease() {
+        store.reserve(IdempotencyRecord.pending(KEY, FINGERPRINT, now.plusSeconds(60)), now);
+        store.release(KEY);
+
+        assertThat(store.find(KEY, now)).isEmpty();
+    }
+}
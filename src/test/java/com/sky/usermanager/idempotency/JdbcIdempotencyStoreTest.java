@@ -0,0 +1,70 @@
+package com.sky.usermanager.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@ActiveProfiles("test")
+@Sql("/idempotency-schema.sql")
+class JdbcIdempotencyStoreTest {
+
+    private static final String KEY = "admin:key-1";
+    private static final String FINGERPRINT =
+            IdempotencyFilter.fingerprint("POST", "/api/users", null, "{}".getBytes());
+    private static final String OTHER_FINGERPRINT =
+            IdempotencyFilter.fingerprint("POST", "/api/users", null, "[]".getBytes());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcIdempotencyStore store;
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @BeforeEach
+    void setUp() {
+        store = new JdbcIdempotencyStore(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should reserve, complete and find a stored response")
+    void shouldReserveCompleteAndFind() {
+        assertThat(store.reserve(IdempotencyRecord.pending(KEY, FINGERPRINT, now.plusSeconds(60)), now)).isTrue();
+        assertThat(store.reserve(IdempotencyRecord.pending(KEY, FINGERPRINT, now.plusSeconds(60)), now)).isFalse();
+
+        byte[] body = {0x08, (byte) 0xff, (byte) 0x80, 0x01};
+        store.complete(new IdempotencyRecord(KEY, FINGERPRINT, 201, "application/x-protobuf", "/api/users/1",
+                "usermanager.v1.User", "usermanager/v1/usermanager.proto", body, now.plusSeconds(60)));
+
+        assertThat(store.find(KEY, now)).get().satisfies(r -> {
+            assertThat(r.statusCode()).isEqualTo(201);
+            assertThat(r.location()).isEqualTo("/api/users/1");
+            assertThat(r.protobufMessage()).isEqualTo("usermanager.v1.User");
+            assertThat(r.protobufSchema()).isEqualTo("usermanager/v1/usermanager.proto");
+            assertThat(r.body()).isEqualTo(body);
+        });
+    }
+
+    @Test
+    @DisplayName("Should reclaim an expired key and purge expired rows")
+    void shouldReclaimExpiredKey() {
+        store.reserve(IdempotencyRecord.pending(KEY, FINGERPRINT, now.plusSeconds(1)), now);
+        Instant later = now.plusSeconds(5);
+
+        assertThat(store.find(KEY, later)).isEmpty();
+        assertThat(store.reserve(IdempotencyRecord.pending(KEY, OTHER_FINGERPRINT, later.plusSeconds(60)), later)).isTrue();
+        assertThat(store.find(KEY, later)).get().extracting(IdempotencyRecord::fingerprint).isEqualTo(OTHER_FINGERPRINT);
+
+        assertThat(store.purgeExpired(later.plusSeconds(61))).isEqualTo(1);
+    }
+}
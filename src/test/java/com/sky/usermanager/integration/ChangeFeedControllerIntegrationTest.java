@@ -0,0 +1,116 @@
+package com.sky.usermanager.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.controller.dto.UserDTO;
+import com.sky.usermanager.outbox.OutboxRelay;
+import com.sky.usermanager.repository.OutboxEventRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.sky.usermanager.TestUtil.*;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ChangeFeedControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    @DisplayName("Should expose a created user as a change event after it is relayed")
+    void shouldReturnUserCreatedEvent() throws Exception {
+        mockMvc.perform(post("/api/users")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new UserDTO("feed@example.com", "pwd", JOHN_DOE_NAME))))
+                .andExpect(status().isCreated());
+        outboxRelay.relayPending();
+
+        MvcResult result = mockMvc.perform(get("/api/changes")
+                        .param("since", "0")
+                        .param("limit", "500")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events[*].payload.email", hasItem("feed@example.com")))
+                .andExpect(jsonPath("$.events[*].type", hasItem("USER_CREATED")));
+    }
+
+    @Test
+    @DisplayName("Should complete a pending long-poll when a new change is relayed")
+    void shouldCompleteLongPoll_WhenChangeIsRelayed() throws Exception {
+        outboxRelay.relayPending();
+        long since = outboxEventRepository.findLastPosition();
+
+        MvcResult result = mockMvc.perform(get("/api/changes")
+                        .param("since", String.valueOf(since))
+                        .param("waitSeconds", "10")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(post("/api/users")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new UserDTO("longpoll@example.com", "pwd", JOHN_DOE_NAME))))
+                .andExpect(status().isCreated());
+        outboxRelay.relayPending();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events[0].position").value(since + 1))
+                .andExpect(jsonPath("$.events[0].payload.email").value("longpoll@example.com"))
+                .andExpect(jsonPath("$.nextSince").value(since + 1));
+    }
+
+    @Test
+    @DisplayName("Should open a change stream for a single user for non admin users")
+    void shouldOpenUserChangeStream() throws Exception {
+        mockMvc.perform(get("/api/changes/stream")
+                        .param("userId", "1")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(httpBasic("user", "user123")))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should restrict the unfiltered change stream to admins")
+    void shouldRejectUnfilteredChangeStream_WhenNotAdmin() throws Exception {
+        mockMvc.perform(get("/api/changes/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(httpBasic("user", "user123")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should reject change feed access for non admin users")
+    void shouldRejectNonAdmin() throws Exception {
+        mockMvc.perform(get("/api/changes").with(httpBasic("user", "user123")))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,140 @@
+package com.sky.usermanager.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.controller.dto.UserDTO;
+import com.sky.usermanager.controller.dto.UserExternalProjectDTO;
+import com.sky.usermanager.exception.DuplicateResourceException;
+import com.sky.usermanager.model.User;
+import com.sky.usermanager.repository.UserExternalProjectRepository;
+import com.sky.usermanager.repository.UserRepository;
+import com.sky.usermanager.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.sky.usermanager.TestUtil.ADMIN_PASSWORD;
+import static com.sky.usermanager.TestUtil.ADMIN_USERNAME;
+import static com.sky.usermanager.TestUtil.queryCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "usermanager.duplicate-check.mode=constraint",
+        "usermanager.rate-limit.hashing-concurrency=4",
+        "usermanager.rate-limit.hashing-max-wait=30s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConstraintDuplicateCheckIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserExternalProjectRepository projectRepository;
+
+    @AfterEach
+    void tearDown() {
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should create a user without a duplicate query and reject the same email with 409")
+    void shouldRejectDuplicateEmailThroughUniqueIndex() throws Exception {
+        String body = objectMapper.writeValueAsString(new UserDTO("constraint@example.com", "pwd", "Constraint"));
+
+        mockMvc.perform(post("/api/users").with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(queryCount(2));
+        mockMvc.perform(post("/api/users").with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict());
+
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of several concurrent signups with the same email through")
+    void shouldAdmitOneOfConcurrentSignups() throws Exception {
+        int signups = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(signups);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<User>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < signups; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return userService.createUser(new UserDTO("race@example.com", "pwd", "Racer"));
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            int duplicates = 0;
+            for (Future<User> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    created++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(DuplicateResourceException.class);
+                    duplicates++;
+                }
+            }
+            assertThat(created).isEqualTo(1);
+            assertThat(duplicates).isEqualTo(signups - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should link a project without reading the user, mapping duplicates to 409 and missing users to 404")
+    void shouldInsertProjectLinksDirectly() throws Exception {
+        User user = userRepository.save(new User("linker@example.com", "hashed", "Linker"));
+        String body = objectMapper.writeValueAsString(new UserExternalProjectDTO("PROJ-C1", "Constraint"));
+
+        mockMvc.perform(post("/api/users/{userId}/projects", user.getId())
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(queryCount(2));
+        mockMvc.perform(post("/api/users/{userId}/projects", user.getId())
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/users/{userId}/projects", user.getId() + 1000)
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isNotFound());
+
+        assertThat(projectRepository.findAll()).hasSize(1);
+    }
+}
@@ -0,0 +1,133 @@
+package com.sky.usermanager.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.controller.dto.UserDTO;
+import com.sky.usermanager.controller.dto.UserExternalProjectDTO;
+import com.sky.usermanager.model.User;
+import com.sky.usermanager.repository.UserRepository;
+import com.sky.usermanager.security.PrincipalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.sky.usermanager.TestUtil.ADMIN_PASSWORD;
+import static com.sky.usermanager.TestUtil.ADMIN_USERNAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DatabaseAuthenticationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    @DisplayName("Should authenticate users of tb_user from the cache until their password changes")
+    void shouldAuthenticateDatabaseUsers() throws Exception {
+        User user = userRepository.save(new User("login@example.com", "unused", "Login"));
+        mockMvc.perform(put("/api/users/{id}", user.getId())
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserDTO("login@example.com", "first", "Login"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/{id}", user.getId()).with(httpBasic("login@example.com", "first")))
+                .andExpect(status().isOk());
+        double hits = cacheRequests("hit");
+        mockMvc.perform(get("/api/users/{id}", user.getId()).with(httpBasic("login@example.com", "first")))
+                .andExpect(status().isOk());
+        assertThat(cacheRequests("hit")).isEqualTo(hits + 1);
+        mockMvc.perform(get("/api/users/{id}", user.getId()).with(httpBasic("login@example.com", "wrong")))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(put("/api/users/{id}", user.getId())
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserDTO("login@example.com", "second", "Login"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/{id}", user.getId()).with(httpBasic("login@example.com", "first")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/users/{id}", user.getId()).with(httpBasic("login@example.com", "second")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/users/{id}", user.getId()).with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/users").with(httpBasic("login@example.com", "second")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should let database users change their own record but not another user's")
+    void shouldOnlyLetUsersChangeTheirOwnRecord() throws Exception {
+        String password = new BCryptPasswordEncoder(4).encode("owner");
+        User owner = userRepository.save(new User("owner@example.com", "{bcrypt}" + password, "Owner"));
+        User victim = userRepository.save(new User("victim@example.com", "{bcrypt}" + password, "Victim"));
+
+        mockMvc.perform(put("/api/users/{id}", victim.getId())
+                        .with(httpBasic("owner@example.com", "owner"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserDTO("victim@example.com", "taken", "Victim"))))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/users/{id}", victim.getId()).with(httpBasic("owner@example.com", "owner")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/users/{userId}/projects", victim.getId())
+                        .with(httpBasic("owner@example.com", "owner"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserExternalProjectDTO("PROJ-X", "Taken"))))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(put("/api/users/{id}", owner.getId())
+                        .with(httpBasic("owner@example.com", "owner"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserDTO("owner@example.com", "owner", "Renamed"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/users/{id}", owner.getId()).with(httpBasic("owner@example.com", "owner")))
+                .andExpect(status().isNoContent());
+        assertThat(userRepository.findById(victim.getId())).get()
+                .satisfies(unchanged -> assertThat(unchanged.getPassword()).isEqualTo("{bcrypt}" + password));
+    }
+
+    @Test
+    @DisplayName("Should rehash an outdated stored hash after a successful login")
+    void shouldRehashOnLogin() throws Exception {
+        String legacy = new BCryptPasswordEncoder(4).encode("legacy");
+        User user = userRepository.save(new User("legacy@example.com", legacy, "Legacy"));
+
+        mockMvc.perform(get("/api/users/{id}", user.getId()).with(httpBasic("legacy@example.com", "legacy")))
+                .andExpect(status().isOk());
+
+        String stored = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertThat(stored).startsWith("{bcrypt}$2a$04$");
+        mockMvc.perform(get("/api/users/{id}", user.getId()).with(httpBasic("legacy@example.com", "legacy")))
+                .andExpect(status().isOk());
+    }
+
+    private double cacheRequests(String result) {
+        return registry.get(PrincipalCache.PRINCIPAL_CACHE_REQUESTS_TOTAL_COUNTER).tag("result", result).counter()
+                .count();
+    }
+}
@@ -0,0 +1,196 @@
+package com.sky.usermanager.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.model.User;
+import com.sky.usermanager.model.UserExternalProjectFactory;
+import com.sky.usermanager.repository.UserExternalProjectRepository;
+import com.sky.usermanager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.sky.usermanager.TestUtil.ADMIN_PASSWORD;
+import static com.sky.usermanager.TestUtil.ADMIN_USERNAME;
+import static com.sky.usermanager.TestUtil.HASHED_PASSWORD_123;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserExternalProjectRepository projectRepository;
+
+    @Autowired
+    private UserExternalProjectFactory projectFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            users.add(userRepository.save(new User("export" + i + "@example.com", HASHED_PASSWORD_123,
+                    i == 0 ? "Doe, \"Johnny\"" : "Export User " + i)));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            projectFactory.create(userRepository.findById(users.get(0).getId()).orElseThrow(), "PROJ-B", "Beta");
+            projectFactory.create(userRepository.findById(users.get(1).getId()).orElseThrow(), "PROJ-A", "Alpha");
+            projectFactory.create(userRepository.findById(users.get(0).getId()).orElseThrow(), "PROJ-A", "Alpha");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should stream users as NDJSON in id order without passwords")
+    void shouldExportUsersAsNdjson() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/export/users").with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.ndjson\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<JsonNode> rows = ndjson(body);
+        assertThat(rows).extracting(row -> row.get("id").asLong())
+                .containsExactlyElementsOf(users.stream().map(User::getId).toList());
+        assertThat(rows.get(0).get("email").asText()).isEqualTo("export0@example.com");
+        assertThat(rows.get(0).has("password")).isFalse();
+        assertThat(rows.get(0).get("created_at").isTextual()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should resume a user export after the last id received")
+    void shouldResumeUsersAfterId() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/export/users")
+                        .param("afterId", users.get(2).getId().toString())
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(ndjson(body)).extracting(row -> row.get("id").asLong())
+                .containsExactly(users.get(3).getId(), users.get(4).getId());
+    }
+
+    @Test
+    @DisplayName("Should export projects as gzipped CSV in primary key order and resume after a project and user")
+    void shouldExportProjectsAsGzippedCsv() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/export/projects").param("format", "csv").param("gzip", "true")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<String> lines = gunzip(body).lines().toList();
+        assertThat(lines.get(0)).isEqualTo("id,user_id,name,created_at,updated_at");
+        assertThat(lines.subList(1, lines.size())).extracting(line -> line.substring(0, line.indexOf(',',
+                        line.indexOf(',') + 1)))
+                .containsExactly("PROJ-A," + users.get(0).getId(), "PROJ-A," + users.get(1).getId(),
+                        "PROJ-B," + users.get(0).getId());
+
+        String resumed = mockMvc.perform(get("/api/export/projects").param("format", "csv")
+                        .param("afterProjectId", "PROJ-A").param("afterId", users.get(0).getId().toString())
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(resumed.lines().toList()).hasSize(2).first().asString()
+                .startsWith("PROJ-A," + users.get(1).getId() + ",Alpha,");
+    }
+
+    @Test
+    @DisplayName("Should quote CSV fields holding separators or quotes")
+    void shouldEscapeCsvFields() throws Exception {
+        String body = mockMvc.perform(get("/api/export/users").param("format", "csv")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines().toList().get(1))
+                .startsWith(users.get(0).getId() + ",export0@example.com,\"Doe, \"\"Johnny\"\"\",");
+    }
+
+    @Test
+    @DisplayName("Should export users as a Parquet file and refuse to gzip it")
+    void shouldExportUsersAsParquet() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/export/users").param("format", "parquet")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/vnd.apache.parquet"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.parquet\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new String(body, 0, 4, StandardCharsets.US_ASCII)).isEqualTo("PAR1");
+        assertThat(new String(body, body.length - 4, 4, StandardCharsets.US_ASCII)).isEqualTo("PAR1");
+        mockMvc.perform(get("/api/export/users").param("format", "parquet").param("gzip", "true")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown datasets and incomplete project cursors")
+    void shouldRejectInvalidRequests() throws Exception {
+        mockMvc.perform(get("/api/export/passwords").with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/export/projects").param("afterProjectId", "PROJ-A")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should restrict exports to admins")
+    void shouldRequireAdmin() throws Exception {
+        mockMvc.perform(get("/api/export/users").with(httpBasic("user", "user123")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/export/users"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private List<JsonNode> ndjson(byte[] body) throws IOException {
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : new String(body, StandardCharsets.UTF_8).split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        return rows;
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
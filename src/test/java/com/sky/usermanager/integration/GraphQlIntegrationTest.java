@@ -0,0 +1,131 @@
+package com.sky.usermanager.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.model.User;
+import com.sky.usermanager.model.UserExternalProjectFactory;
+import com.sky.usermanager.repository.UserExternalProjectRepository;
+import com.sky.usermanager.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.sky.usermanager.TestUtil.ADMIN_PASSWORD;
+import static com.sky.usermanager.TestUtil.ADMIN_USERNAME;
+import static com.sky.usermanager.TestUtil.queryCount;
+import static com.sky.usermanager.query.QueryBudgetFilter.HTTP_SERVER_REQUESTS_QUERIES_SUMMARY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GraphQlIntegrationTest {
+
+    private static final String USERS_WITH_PROJECTS = """
+            query($ids: [ID!]!) { users(ids: $ids) { id email projects { id name user { email } } } }""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserExternalProjectRepository projectRepository;
+
+    @Autowired
+    private UserExternalProjectFactory projectFactory;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should resolve the projects of every user, and their owners, with one query per level")
+    void shouldBatchProjectsAcrossUsers() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            User user = userRepository.save(new User("graph" + i + "@example.com", "hashed", "Graph " + i));
+            projectRepository.save(projectFactory.create(user, "PROJ-G2", "Gamma"));
+            projectRepository.save(projectFactory.create(user, "PROJ-G1", "Alpha"));
+            ids.add(0, user.getId());
+        }
+
+        graphQl(USERS_WITH_PROJECTS, Map.of("ids", ids), ADMIN_USERNAME, ADMIN_PASSWORD)
+                .andExpect(jsonPath("$.errors").doesNotExist())
+                .andExpect(jsonPath("$.data.users", hasSize(20)))
+                .andExpect(jsonPath("$.data.users[0].email").value("graph19@example.com"))
+                .andExpect(jsonPath("$.data.users[0].projects[*].id").value(contains("PROJ-G1", "PROJ-G2")))
+                .andExpect(jsonPath("$.data.users[0].projects[0].user.email").value("graph19@example.com"))
+                .andExpect(queryCount(3));
+
+        assertThat(registry.find(HTTP_SERVER_REQUESTS_QUERIES_SUMMARY).tag("uri", "/graphql").summary()).isNotNull();
+        assertThat(registry.find("graphql.dataloader").timers()).isNotEmpty();
+        assertThat(registry.find("graphql.datafetcher").tag("graphql.field.name", "users").timer()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should report a missing user as a NOT_FOUND error")
+    void shouldReportMissingUser() throws Exception {
+        graphQl("{ user(id: 987654) { email } }", Map.of(), ADMIN_USERNAME, ADMIN_PASSWORD)
+                .andExpect(jsonPath("$.data.user").doesNotExist())
+                .andExpect(jsonPath("$.errors[0].extensions.classification").value("NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("Should reject queries nested deeper than the limit without executing them")
+    void shouldRejectDeepQueries() throws Exception {
+        String deep = "{ user(id: 1) { projects { user { projects { user { projects { user { email } } } } } } } }";
+
+        graphQl(deep, Map.of(), ADMIN_USERNAME, ADMIN_PASSWORD)
+                .andExpect(jsonPath("$.data").doesNotExist())
+                .andExpect(jsonPath("$.errors[0].message").value(containsString("depth")))
+                .andExpect(queryCount(0));
+    }
+
+    @Test
+    @DisplayName("Should restrict the users query to admins")
+    void shouldRequireAdminForUsers() throws Exception {
+        graphQl(USERS_WITH_PROJECTS, Map.of("ids", List.of(1)), "user", "user123")
+                .andExpect(jsonPath("$.errors[0].extensions.classification").value("FORBIDDEN"));
+
+        mockMvc.perform(post("/graphql").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"query\":\"{ users(ids: []) { id } }\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions graphQl(String query, Map<String, Object> variables, String username, String password)
+            throws Exception {
+        // Completes on the request thread, so the query budget filter sees the batch loads
+        return mockMvc.perform(post("/graphql")
+                        .with(httpBasic(username, password))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("query", query, "variables", variables))))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,71 @@
+package com.sky.usermanager.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.controller.dto.UserDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.sky.usermanager.TestUtil.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "usermanager.rate-limit.enabled=true",
+        "usermanager.rate-limit.hashing.capacity=1",
+        "usermanager.rate-limit.hashing.refill-per-second=0.01"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    @DisplayName("Should throttle user creation per user with 429 and Retry-After, leaving other budgets and users intact")
+    void shouldThrottleUserCreation() throws Exception {
+        // Wrong passwords for the admin are rejected by authentication and don't spend the admin's budget
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/users")
+                            .with(httpBasic(ADMIN_USERNAME, "wrong"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(new UserDTO("forged@example.com", "pwd", JOHN_DOE_NAME))))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(post("/api/users")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new UserDTO("limited1@example.com", "pwd", JOHN_DOE_NAME))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/users")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new UserDTO("limited2@example.com", "pwd", JOHN_DOE_NAME))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.status").value(429));
+
+        mockMvc.perform(get("/api/users")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/users")
+                        .with(httpBasic("user", "user123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new UserDTO("limited3@example.com", "pwd", JOHN_DOE_NAME))))
+                .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,92 @@
+package com.sky.usermanager.integration;
+
+import com.sky.usermanager.controller.dto.UserDTO;
+import com.sky.usermanager.datasource.ReplicaLagMonitor;
+import com.sky.usermanager.model.User;
+import com.sky.usermanager.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+
+import static com.sky.usermanager.TestUtil.JOHN_DOE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against two independent H2 databases: nothing is replicated, so the replica only holds what the test writes
+ * to it and it is easy to tell which pool served a read.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primarydb;DB_CLOSE_DELAY=-1;"
+                + "INIT=RUNSCRIPT FROM 'classpath:replication-heartbeat-schema.sql'",
+        "usermanager.datasource.replica.enabled=true",
+        "usermanager.datasource.replica.url=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1;"
+                + "INIT=RUNSCRIPT FROM 'classpath:replica-schema.sql'",
+        "usermanager.datasource.replica.username=test",
+        "usermanager.datasource.replica.password=password",
+        "usermanager.datasource.replica.lag-check-interval=1h"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    private static final String REPLICA_ONLY_EMAIL = "replica-only@example.com";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.update("DELETE FROM tb_user");
+        replica.update("INSERT INTO tb_user (email, password, name, created_at, updated_at) "
+                + "VALUES (?, 'pwd', 'Replica', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", REPLICA_ONLY_EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should serve read-only transactions from the replica and writes from the primary")
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        replicateHeartbeat(Instant.now());
+        replicaLagMonitor.check();
+
+        User created = userService.createUser(new UserDTO("primary-only@example.com", "pwd", JOHN_DOE_NAME));
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(userService.getUsers()).extracting(User::getEmail)
+                .contains(REPLICA_ONLY_EMAIL)
+                .doesNotContain("primary-only@example.com");
+    }
+
+    @Test
+    @DisplayName("Should serve read-only transactions from the primary while the replica lags")
+    void shouldFallBackToPrimary_WhenReplicaLags() {
+        userService.createUser(new UserDTO("lagging@example.com", "pwd", JOHN_DOE_NAME));
+        replicateHeartbeat(Instant.now().minusSeconds(60));
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        assertThat(userService.getUsers()).extracting(User::getEmail)
+                .contains("lagging@example.com")
+                .doesNotContain(REPLICA_ONLY_EMAIL);
+    }
+
+    private void replicateHeartbeat(Instant beatAt) {
+        replica.update("DELETE FROM tb_replication_heartbeat");
+        replica.update("INSERT INTO tb_replication_heartbeat (id, beat_at) VALUES (1, ?)", beatAt.toEpochMilli());
+    }
+}
@@ -0,0 +1,106 @@
+package com.sky.usermanager.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.model.User;
+import com.sky.usermanager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.sky.usermanager.TestUtil.ADMIN_PASSWORD;
+import static com.sky.usermanager.TestUtil.ADMIN_USERNAME;
+import static com.sky.usermanager.TestUtil.HASHED_PASSWORD_123;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ResponseCompressionIntegrationTest {
+
+    private static final int USERS = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(userRepository.save(
+                    new User("compressed" + i + "@example.com", HASHED_PASSWORD_123, "Compressed User " + i)).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(userIds);
+    }
+
+    @Test
+    @DisplayName("Should gzip user listings above the size threshold for clients that accept it")
+    void shouldCompressLargeListings() throws Exception {
+        HttpResponse<byte[]> compressed = get("/api/users", "gzip");
+        HttpResponse<byte[]> plain = get("/api/users", null);
+
+        assertThat(compressed.statusCode()).isEqualTo(200);
+        assertThat(compressed.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+        assertThat(plain.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+
+        byte[] decompressed = gunzip(compressed.body());
+        assertThat(compressed.body().length).isLessThan(plain.body().length / 3);
+        assertThat(mapper.readTree(decompressed)).isEqualTo(mapper.readTree(plain.body()));
+    }
+
+    @Test
+    @DisplayName("Should leave responses below the size threshold uncompressed")
+    void shouldNotCompressSmallResponses() throws Exception {
+        HttpResponse<byte[]> response = get("/api/users/" + userIds.get(0), "gzip");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        JsonNode user = mapper.readTree(response.body());
+        assertThat(user.get("email").asText()).isEqualTo("compressed0@example.com");
+    }
+
+    private HttpResponse<byte[]> get(String path, String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.AUTHORIZATION, "Basic " + Base64.getEncoder()
+                        .encodeToString((ADMIN_USERNAME + ":" + ADMIN_PASSWORD).getBytes(StandardCharsets.UTF_8)));
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
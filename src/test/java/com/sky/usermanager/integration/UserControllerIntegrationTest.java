@@ -3,6 +3,8 @@ package com.sky.usermanager.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sky.usermanager.controller.dto.UserDTO;
 import com.sky.usermanager.model.User;
+import com.sky.usermanager.model.UserExternalProjectFactory;
+import com.sky.usermanager.repository.UserExternalProjectRepository;
 import com.sky.usermanager.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,10 +14,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static com.sky.usermanager.TestUtil.*;
+import static com.sky.usermanager.idempotency.IdempotencyFilter.IDEMPOTENCY_KEY_HEADER;
+import static com.sky.usermanager.idempotency.IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,6 +43,12 @@ class UserControllerIntegrationTest {
     @Autowired
     UserRepository repo;
 
+    @Autowired
+    UserExternalProjectRepository projectRepository;
+
+    @Autowired
+    UserExternalProjectFactory userExternalProjectFactory;
+
     private UserDTO dto;
 
     @BeforeEach
@@ -49,7 +64,9 @@ class UserControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(mapper.writeValueAsString(dto)))
                 .andExpect(status().isCreated())
-                .andExpect(header().exists("Location"));
+                .andExpect(header().exists("Location"))
+                // The email filter rules the new email out, so there is no duplicate check query
+                .andExpect(queryCount(2));
     }
 
     @Test
@@ -62,6 +79,53 @@ class UserControllerIntegrationTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    @DisplayName("Should replay the original response when the same Idempotency-Key is retried")
+    void shouldReplayCreatedUser_WhenIdempotencyKeyIsRepeated() throws Exception {
+        UserDTO idempotentDto = new UserDTO("idempotent@example.com", "pwd", JOHN_DOE_NAME);
+        String body = mapper.writeValueAsString(idempotentDto);
+
+        String location = mockMvc.perform(post("/api/users")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .header(IDEMPOTENCY_KEY_HEADER, "create-user-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getHeader("Location");
+
+        mockMvc.perform(post("/api/users")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .header(IDEMPOTENCY_KEY_HEADER, "create-user-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", location))
+                .andExpect(header().string(IDEMPOTENT_REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.email").value("idempotent@example.com"));
+
+        assertThat(repo.findAll()).filteredOn(u -> u.getEmail().equals("idempotent@example.com")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reject an Idempotency-Key reused with a different payload")
+    void shouldRejectIdempotencyKey_WhenPayloadDiffers() throws Exception {
+        mockMvc.perform(post("/api/users")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .header(IDEMPOTENCY_KEY_HEADER, "create-user-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new UserDTO("first@example.com", "pwd", JOHN_DOE_NAME))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/users")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                        .header(IDEMPOTENCY_KEY_HEADER, "create-user-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new UserDTO("second@example.com", "pwd", JOHN_DOE_NAME))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     @DisplayName("Should retrieve users by id")
     void shouldRetrieveUserById() throws Exception {
@@ -70,18 +134,156 @@ class UserControllerIntegrationTest {
         mockMvc.perform(get("/api/users/{id}", saved.getId())
                         .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.email").value(JOHN_EXAMPLE_EMAIL));
+                .andExpect(jsonPath("$.email").value(JOHN_EXAMPLE_EMAIL))
+                .andExpect(queryCount(1));
+    }
+
+    @Test
+    @DisplayName("Should report a frequently read user as a heavy hitter to admins only, ignoring unknown ids")
+    void shouldReportHotUsers() throws Exception {
+        User saved = repo.save(new User("hot@example.com", "hashed", "Hot"));
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/api/users/{id}", saved.getId())
+                            .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                    .andExpect(status().isOk());
+        }
+        long missing = saved.getId() + 1000;
+        mockMvc.perform(get("/api/users/{id}", missing)
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/hotkeys/user")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.current.keys[?(@.key == '%s')].count", saved.getId())
+                        .value(contains(greaterThanOrEqualTo(10))))
+                .andExpect(jsonPath("$.current.keys[?(@.key == '%s')]", missing).isEmpty());
+        mockMvc.perform(get("/actuator/hotkeys")
+                        .with(httpBasic("user", "user123")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should embed a user's projects up to the cap with two statements")
+    void shouldRetrieveUserById_WithProjectsIncluded() throws Exception {
+        User saved = repo.save(new User("included@example.com", "hashed", "Included"));
+        for (String projectId : List.of("PROJ-I3", "PROJ-I1", "PROJ-I2")) {
+            projectRepository.save(userExternalProjectFactory.create(saved, projectId, "Project " + projectId));
+        }
+
+        mockMvc.perform(get("/api/users/{id}", saved.getId()).param("include", "projects")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("included@example.com"))
+                .andExpect(jsonPath("$.projects[*].id").value(contains("PROJ-I1", "PROJ-I2")))
+                .andExpect(jsonPath("$.projects[0].userId").value(saved.getId()))
+                .andExpect(jsonPath("$.projectCount").value(3))
+                .andExpect(queryCount(2));
+    }
+
+    @Test
+    @DisplayName("Should embed projects in a search page with two statements regardless of its size")
+    void shouldSearchUsers_WithProjectsIncluded() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            User user = repo.save(new User("embedded" + i + "@example.com", "hashed", "Embedded"));
+            for (int j = 0; j < i; j++) {
+                projectRepository.save(userExternalProjectFactory.create(user, "PROJ-E" + j, "Project"));
+            }
+        }
+
+        mockMvc.perform(get("/api/users/search").param("emailPrefix", "embedded").param("include", "projects")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[*].email").value(
+                        contains("embedded0@example.com", "embedded1@example.com", "embedded2@example.com")))
+                .andExpect(jsonPath("$.users[*].projectCount").value(contains(0, 1, 2)))
+                .andExpect(jsonPath("$.users[2].projects[*].id").value(contains("PROJ-E0", "PROJ-E1")))
+                .andExpect(queryCount(2));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown include")
+    void shouldRejectUnknownInclude() throws Exception {
+        User saved = repo.save(new User("unknown.include@example.com", "hashed", "Unknown"));
+
+        mockMvc.perform(get("/api/users/{id}", saved.getId()).param("include", "friends")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return only the requested fields of a user")
+    void shouldRetrieveUserById_WithSparseFields() throws Exception {
+        User saved = repo.save(new User("sparse@example.com", "hashed", "Sparse"));
+
+        mockMvc.perform(get("/api/users/{id}", saved.getId()).param("fields", "email,id")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\":" + saved.getId() + ",\"email\":\"sparse@example.com\"}",
+                        JsonCompareMode.STRICT))
+                .andExpect(queryCount(1));
+
+        mockMvc.perform(get("/api/users/{id}", saved.getId()).param("fields", "name")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"name\":\"Sparse\"}", JsonCompareMode.STRICT));
+    }
+
+    @Test
+    @DisplayName("Should list users with only the requested fields")
+    void shouldListUsers_WithSparseFields() throws Exception {
+        repo.save(new User("sparse.list@example.com", "hashed", "Sparse List"));
+
+        mockMvc.perform(get("/api/users").param("fields", "id")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").isNumber())
+                .andExpect(jsonPath("$[0].email").doesNotExist())
+                .andExpect(jsonPath("$[0].name").doesNotExist())
+                .andExpect(queryCount(1));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown or empty field selections")
+    void shouldRejectUnknownFields() throws Exception {
+        User saved = repo.save(new User("sparse.unknown@example.com", "hashed", "Unknown"));
+
+        mockMvc.perform(get("/api/users/{id}", saved.getId()).param("fields", "id,password")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users/{id}", saved.getId()).param("fields", "")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should list users with a single statement regardless of their projects")
+    void shouldListUsers_WithoutLoadingProjects() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            User user = repo.save(new User("lister" + i + "@example.com", "hashed", "Lister"));
+            projectRepository.save(userExternalProjectFactory.create(user, "PROJ-L" + i, "Project"));
+        }
+
+        mockMvc.perform(get("/api/users")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(queryCount(1));
     }
 
     @Test
     @DisplayName("Should delete user by id")
     void shouldDeleteUser() throws Exception {
         User saved = repo.save(new User("to.delete@example.com", "hashed", "Temp"));
+        for (int i = 0; i < 3; i++) {
+            projectRepository.save(userExternalProjectFactory.create(saved, "PROJ-D" + i, "Project"));
+        }
 
         mockMvc.perform(delete("/api/users/{id}", saved.getId())
                         .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isNoContent())
+                .andExpect(queryCount(3));
 
         assertThat(repo.existsById(saved.getId())).isFalse();
+        assertThat(projectRepository.findAll()).noneMatch(project -> project.getUser().getId().equals(saved.getId()));
     }
 }
@@ -15,11 +15,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
 import static com.sky.usermanager.TestUtil.*;
+import static com.sky.usermanager.idempotency.IdempotencyFilter.IDEMPOTENCY_KEY_HEADER;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -73,6 +75,7 @@ class UserExternalProjectControllerIntegrationTest {
                 .andExpect(header().exists("Location"))
                 .andExpect(jsonPath("$.id").value(PROJ_001))
                 .andExpect(jsonPath("$.projectName").value(SKY_PLATFORM_MIGRATION))
+                .andExpect(queryCount(4))
                 .andReturn()
                 .getResponse();
 
@@ -81,6 +84,25 @@ class UserExternalProjectControllerIntegrationTest {
         assertThat(projects.get(0).getUser().getId()).isEqualTo(user.getId());
     }
 
+    @Test
+    @DisplayName("Should not link the project twice when the same Idempotency-Key is retried")
+    void shouldReplayAddedProject_WhenIdempotencyKeyIsRepeated() throws Exception {
+        User user = userRepository.save(new User(JOHN_EXAMPLE_EMAIL, "hashed_password", JOHN_DOE_NAME));
+        String body = objectMapper.writeValueAsString(new UserExternalProjectDTO(PROJ_001, SKY_PLATFORM_MIGRATION));
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/users/{userId}/projects", user.getId())
+                            .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD))
+                            .header(IDEMPOTENCY_KEY_HEADER, "add-project-" + user.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id").value(PROJ_001));
+        }
+
+        assertThat(projectRepository.findAll()).hasSize(1);
+    }
+
     @Test
     @DisplayName("Should retrieve all external projects for a user")
     void shouldRetrieveExternalProjectsFromUser() throws Exception {
@@ -97,6 +119,35 @@ class UserExternalProjectControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].id").value(PROJ_101))
-                .andExpect(jsonPath("$[1].id").value(PROJ_202));
+                .andExpect(jsonPath("$[1].id").value(PROJ_202))
+                .andExpect(queryCount(2));
+    }
+
+    @Test
+    @DisplayName("Should return only the requested fields of a user's projects")
+    void shouldRetrieveExternalProjects_WithSparseFields() throws Exception {
+        User user = userRepository.save(new User(JOHN_EXAMPLE_EMAIL, "hashed_password", JOHN_DOE_NAME));
+        projectRepository.saveAll(List.of(
+                userExternalProjectFactory.create(user, PROJ_202, "Sky Platform Refactor"),
+                userExternalProjectFactory.create(user, PROJ_101, SKY_PLATFORM_MIGRATION)));
+
+        mockMvc.perform(get("/api/users/{userId}/projects", user.getId()).param("fields", "id")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":\"" + PROJ_101 + "\"},{\"id\":\"" + PROJ_202 + "\"}]",
+                        JsonCompareMode.STRICT))
+                .andExpect(queryCount(2));
+
+        mockMvc.perform(get("/api/users/{userId}/projects/{projectId}", user.getId(), PROJ_101)
+                        .param("fields", "projectName,userId")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"userId\":" + user.getId() + ",\"projectName\":\""
+                        + SKY_PLATFORM_MIGRATION + "\"}", JsonCompareMode.STRICT))
+                .andExpect(queryCount(1));
+
+        mockMvc.perform(get("/api/users/{userId}/projects", user.getId() + 1000).param("fields", "id")
+                        .with(httpBasic(ADMIN_USERNAME, ADMIN_PASSWORD)))
+                .andExpect(status().isNotFound());
     }
 }
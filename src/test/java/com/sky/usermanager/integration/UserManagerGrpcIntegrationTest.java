@@ -0,0 +1,220 @@
+package com.sky.usermanager.integration;
+
+import com.sky.usermanager.grpc.BasicAuthServerInterceptor;
+import com.sky.usermanager.grpc.GrpcServerLifecycle;
+import com.sky.usermanager.model.User;
+import com.sky.usermanager.model.UserExternalProjectFactory;
+import com.sky.usermanager.proto.v1.AddProjectRequest;
+import com.sky.usermanager.proto.v1.BatchGetUsersRequest;
+import com.sky.usermanager.proto.v1.BatchGetUsersResponse;
+import com.sky.usermanager.proto.v1.GetUserRequest;
+import com.sky.usermanager.proto.v1.ListUserProjectsRequest;
+import com.sky.usermanager.proto.v1.Project;
+import com.sky.usermanager.proto.v1.UserManagerServiceGrpc;
+import com.sky.usermanager.proto.v1.UserManagerServiceGrpc.UserManagerServiceBlockingStub;
+import com.sky.usermanager.repository.UserExternalProjectRepository;
+import com.sky.usermanager.repository.UserRepository;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.MetadataUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.sky.usermanager.TestUtil.ADMIN_PASSWORD;
+import static com.sky.usermanager.TestUtil.ADMIN_USERNAME;
+import static com.sky.usermanager.TestUtil.HASHED_PASSWORD_123;
+import static com.sky.usermanager.TestUtil.JOHN_DOE_NAME;
+import static com.sky.usermanager.TestUtil.JOHN_EXAMPLE_EMAIL;
+import static com.sky.usermanager.grpc.GrpcMetricsServerInterceptor.GRPC_SERVER_CALLS_TIMER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserManagerGrpcIntegrationTest {
+
+    private static final String GET_USER = "usermanager.v1.UserManagerService/GetUser";
+
+    @Autowired
+    private GrpcServerLifecycle grpcServer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserExternalProjectRepository projectRepository;
+
+    @Autowired
+    private UserExternalProjectFactory projectFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private ManagedChannel channel;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        channel = ManagedChannelBuilder.forAddress("localhost", grpcServer.getPort()).usePlaintext().build();
+        user = userRepository.save(new User(JOHN_EXAMPLE_EMAIL, HASHED_PASSWORD_123, JOHN_DOE_NAME));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should return a user by id and NOT_FOUND for an unknown id")
+    void shouldGetUser() {
+        com.sky.usermanager.proto.v1.User found = stub(ADMIN_USERNAME, ADMIN_PASSWORD)
+                .getUser(GetUserRequest.newBuilder().setId(user.getId()).build());
+
+        assertThat(found.getId()).isEqualTo(user.getId());
+        assertThat(found.getEmail()).isEqualTo(JOHN_EXAMPLE_EMAIL);
+        assertThat(found.getName()).isEqualTo(JOHN_DOE_NAME);
+        assertThatThrownBy(() -> stub(ADMIN_USERNAME, ADMIN_PASSWORD)
+                .getUser(GetUserRequest.newBuilder().setId(user.getId() + 1000).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    @Test
+    @DisplayName("Should return found users in request order and list the missing ids")
+    void shouldBatchGetUsers() {
+        User other = userRepository.save(new User("batch@example.com", HASHED_PASSWORD_123, "Batch User"));
+        long missing = other.getId() + 1000;
+
+        BatchGetUsersResponse response = stub(ADMIN_USERNAME, ADMIN_PASSWORD).batchGetUsers(
+                BatchGetUsersRequest.newBuilder().addIds(other.getId()).addIds(missing).addIds(user.getId())
+                        .addIds(other.getId()).build());
+
+        assertThat(response.getUsersList()).extracting(com.sky.usermanager.proto.v1.User::getId)
+                .containsExactly(other.getId(), user.getId());
+        assertThat(response.getMissingIdsList()).containsExactly(missing);
+    }
+
+    @Test
+    @DisplayName("Should deny batch lookups to non-admin users")
+    void shouldDenyBatchGetUsersToNonAdmin() {
+        BatchGetUsersRequest request = BatchGetUsersRequest.newBuilder().addIds(user.getId()).build();
+
+        assertThatThrownBy(() -> stub("user", "user123").batchGetUsers(request))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.PERMISSION_DENIED));
+    }
+
+    @Test
+    @DisplayName("Should reject batches larger than the configured maximum")
+    void shouldRejectOversizedBatch() {
+        BatchGetUsersRequest.Builder request = BatchGetUsersRequest.newBuilder();
+        for (long id = 1; id <= 101; id++) {
+            request.addIds(id);
+        }
+
+        assertThatThrownBy(() -> stub(ADMIN_USERNAME, ADMIN_PASSWORD).batchGetUsers(request.build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+    }
+
+    @Test
+    @DisplayName("Should let an admin add a project and stream back every project linked to the user")
+    void shouldAddAndListProjects() {
+        transactionTemplate.executeWithoutResult(status ->
+                projectFactory.create(userRepository.findById(user.getId()).orElseThrow(), "PROJ-001", "Existing"));
+
+        AddProjectRequest request = AddProjectRequest.newBuilder()
+                .setUserId(user.getId()).setProjectId("PROJ-002").setProjectName("Added over gRPC").build();
+        assertThatThrownBy(() -> stub("user", "user123").addProject(request))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.PERMISSION_DENIED));
+
+        Project added = stub(ADMIN_USERNAME, ADMIN_PASSWORD).addProject(request);
+
+        assertThat(added.getId()).isEqualTo("PROJ-002");
+        assertThat(added.getUserId()).isEqualTo(user.getId());
+
+        List<Project> projects = new ArrayList<>();
+        stub("user", "user123").listUserProjects(ListUserProjectsRequest.newBuilder().setUserId(user.getId()).build())
+                .forEachRemaining(projects::add);
+        assertThat(projects).extracting(Project::getId).containsExactlyInAnyOrder("PROJ-001", "PROJ-002");
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid project with INVALID_ARGUMENT")
+    void shouldRejectInvalidProject() {
+        assertThatThrownBy(() -> stub(ADMIN_USERNAME, ADMIN_PASSWORD).addProject(AddProjectRequest.newBuilder()
+                .setUserId(user.getId()).setProjectId("PROJ-003").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+                    assertThat(e.getStatus().getDescription()).isEqualTo("Project name is required");
+                });
+    }
+
+    @Test
+    @DisplayName("Should reject calls with missing or bad credentials and record them in the call metrics")
+    void shouldRejectUnauthenticatedCalls() {
+        double rejectedBefore = unauthenticatedGetUserCalls();
+        GetUserRequest request = GetUserRequest.newBuilder().setId(user.getId()).build();
+
+        assertThatThrownBy(() -> UserManagerServiceGrpc.newBlockingStub(channel).getUser(request))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAUTHENTICATED));
+        assertThatThrownBy(() -> stub(ADMIN_USERNAME, "wrong").getUser(request))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAUTHENTICATED));
+
+        assertThat(unauthenticatedGetUserCalls()).isEqualTo(rejectedBefore + 2);
+    }
+
+    @Test
+    @DisplayName("Should rehash an outdated stored hash after a successful gRPC login")
+    void shouldRehashOnLogin() {
+        String hash = new BCryptPasswordEncoder(4).encode("legacy");
+        User legacy = userRepository.save(new User("grpc.legacy@example.com", hash, "Legacy"));
+        GetUserRequest request = GetUserRequest.newBuilder().setId(legacy.getId()).build();
+
+        assertThat(stub("grpc.legacy@example.com", "legacy").getUser(request).getId()).isEqualTo(legacy.getId());
+
+        assertThat(userRepository.findById(legacy.getId()).orElseThrow().getPassword()).startsWith("{bcrypt}$2a$04$");
+        assertThat(stub("grpc.legacy@example.com", "legacy").getUser(request).getId()).isEqualTo(legacy.getId());
+    }
+
+    private double unauthenticatedGetUserCalls() {
+        var timer = registry.find(GRPC_SERVER_CALLS_TIMER).tags("method", GET_USER, "status", "UNAUTHENTICATED")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private UserManagerServiceBlockingStub stub(String username, String password) {
+        Metadata headers = new Metadata();
+        headers.put(BasicAuthServerInterceptor.AUTHORIZATION, "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8)));
+        return UserManagerServiceGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+}
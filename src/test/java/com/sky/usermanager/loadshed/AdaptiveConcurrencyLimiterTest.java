@@ -0,0 +1,149 @@
+package com.sky.usermanager.loadshed;
+
+import com.sky.usermanager.loadshed.AdaptiveConcurrencyLimiter.Outcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.sky.usermanager.loadshed.AdaptiveConcurrencyLimiter.LOAD_SHED_LIMIT_GAUGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private long now;
+
+    @Test
+    @DisplayName("Should admit up to the limit and reject once the queue wait runs out")
+    void shouldRejectAfterMaxQueueTime() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 2, 10, Duration.ofMillis(20), 10);
+
+        assertThat(limiter.acquire()).isEqualTo(Outcome.ADMITTED);
+        assertThat(limiter.acquire()).isEqualTo(Outcome.ADMITTED);
+        assertThat(limiter.acquire()).isEqualTo(Outcome.QUEUE_TIMEOUT);
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getQueued()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when the queue is full")
+    void shouldRejectWhenQueueFull() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10, Duration.ofSeconds(5), 0);
+
+        assertThat(limiter.acquire()).isEqualTo(Outcome.ADMITTED);
+        assertThat(limiter.acquire()).isEqualTo(Outcome.QUEUE_FULL);
+    }
+
+    @Test
+    @DisplayName("Should admit a queued request as soon as a slot is released")
+    void shouldAdmitQueuedRequestOnRelease() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10, Duration.ofSeconds(5), 10);
+        limiter.acquire();
+
+        CompletableFuture<Outcome> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        await().atMost(Duration.ofSeconds(2)).until(() -> limiter.getQueued() == 1);
+        limiter.release(FAST);
+
+        assertThat(queued.get(2, TimeUnit.SECONDS)).isEqualTo(Outcome.ADMITTED);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should back off multiplicatively on slow requests down to the minimum limit")
+    void shouldBackOffOnSlowRequests() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 4, 20, Duration.ofMillis(10), 10);
+
+        limiter.acquire();
+        serve(limiter, SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire();
+            serve(limiter, SLOW);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(registry.get(LOAD_SHED_LIMIT_GAUGE).gauge().value()).isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("Should back off once for a burst of slow requests that were in flight together")
+    void shouldBackOffOncePerWindow() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 4, 20, Duration.ofMillis(10), 10);
+
+        for (int i = 0; i < 8; i++) {
+            limiter.acquire();
+        }
+        now += SLOW;
+        for (int i = 0; i < 8; i++) {
+            limiter.release(SLOW);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        // Admitted after the backoff, so still being slow is a new signal
+        limiter.acquire();
+        serve(limiter, SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should grow by about one per window of fast requests while the limit is in use, up to the maximum")
+    void shouldGrowOnFastRequestsWhenLimitInUse() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 6, Duration.ofMillis(10), 10);
+
+        limiter.acquire();
+        limiter.release(FAST);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < 4; i++) {
+            limiter.release(FAST);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 4; i++) {
+                limiter.acquire();
+            }
+            for (int i = 0; i < 4; i++) {
+                limiter.release(FAST);
+            }
+        }
+        assertThat(limiter.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should reject inconsistent limits")
+    void shouldValidateProperties() {
+        assertThatThrownBy(() -> limiter(10, 20, 5, Duration.ofMillis(10), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void serve(AdaptiveConcurrencyLimiter limiter, long latencyNanos) {
+        now += latencyNanos;
+        limiter.release(latencyNanos);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit, Duration maxQueueTime,
+                                               int maxQueueLength) {
+        return new AdaptiveConcurrencyLimiter(new LoadSheddingProperties(true, initialLimit, minLimit, maxLimit,
+                Duration.ofMillis(100), 0.9, maxQueueTime, maxQueueLength, List.of("/actuator/**")), registry, () -> now);
+    }
+}
@@ -0,0 +1,91 @@
+package com.sky.usermanager.loadshed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.sky.usermanager.loadshed.LoadSheddingFilter.LOAD_SHED_REJECTIONS_TOTAL_COUNTER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoadSheddingFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private long now;
+    private AdaptiveConcurrencyLimiter limiter;
+    private LoadSheddingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        LoadSheddingProperties properties = new LoadSheddingProperties(true, 2, 1, 10, Duration.ofMillis(100), 0.5,
+                Duration.ZERO, 0, List.of("/actuator/**", "/health/**"));
+        limiter = new AdaptiveConcurrencyLimiter(properties, registry, () -> now);
+        filter = new LoadSheddingFilter(limiter, properties, new ObjectMapper().findAndRegisterModules(), registry,
+                () -> now);
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After once the concurrency limit is reached")
+    void shouldShedWhenLimitReached() throws Exception {
+        limiter.acquire();
+        limiter.acquire();
+
+        MockHttpServletResponse response = perform(new MockHttpServletRequest("GET", "/api/users/1"));
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains("Service is overloaded");
+        assertThat(registry.get(LOAD_SHED_REJECTIONS_TOTAL_COUNTER).tag("reason", "queue_full").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should never shed health and actuator paths")
+    void shouldNotShedExemptPaths() throws Exception {
+        limiter.acquire();
+        limiter.acquire();
+
+        assertThat(perform(new MockHttpServletRequest("GET", "/actuator/health")).getStatus()).isEqualTo(200);
+        assertThat(perform(new MockHttpServletRequest("GET", "/health/liveness")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should release the slot and back off the limit when a request misses the latency target")
+    void shouldFeedServiceTimeBackToLimiter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/users"), response,
+                (req, res) -> now += TimeUnit.MILLISECONDS.toNanos(150));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should release the slot when the request fails")
+    void shouldReleaseOnFailure() {
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("GET", "/api/users"),
+                new MockHttpServletResponse(), (req, res) -> {
+                    throw new IllegalStateException("boom");
+                })).hasMessage("boom");
+
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
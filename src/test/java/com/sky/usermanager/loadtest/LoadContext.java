@@ -0,0 +1,92 @@
+package com.sky.usermanager.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * State shared by the operations of one run: the users to read, the few power users that collect projects, and the
+ * position of the listing scan. Every email and project id carries the run id, so runs against the same database
+ * don't collide.
+ */
+final class LoadContext {
+
+    private final URI baseUri;
+    private final String authorization;
+    private final Duration timeout;
+    private final String runId;
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> powerUserIds = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicReference<String> scanCursor = new AtomicReference<>();
+
+    LoadContext(URI baseUri, String username, String password, Duration timeout, String runId) {
+        this.baseUri = baseUri;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        this.timeout = timeout;
+        this.runId = runId;
+    }
+
+    HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    HttpRequest post(String path, String json) {
+        return request(path).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout)
+                .header("Authorization", authorization)
+                .header("Accept", "application/json");
+    }
+
+    String runId() {
+        return runId;
+    }
+
+    String emailPrefix() {
+        return "load-" + runId + "-";
+    }
+
+    String email(long n) {
+        return emailPrefix() + n + "@example.com";
+    }
+
+    long nextSequence() {
+        return sequence.incrementAndGet();
+    }
+
+    synchronized void addUser(long id) {
+        userIds.add(id);
+    }
+
+    synchronized void addPowerUser(long id) {
+        powerUserIds.add(id);
+    }
+
+    synchronized long randomUserId(Random random) {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    synchronized long randomPowerUserId(Random random) {
+        return powerUserIds.get(random.nextInt(powerUserIds.size()));
+    }
+
+    String scanCursor() {
+        return scanCursor.get();
+    }
+
+    void scanCursor(String cursor) {
+        scanCursor.set(cursor);
+    }
+}
@@ -0,0 +1,232 @@
+package com.sky.usermanager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.UserManagerApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the REST API. Requests arrive as a Poisson process at {@code --rate} per second,
+ * shaped by the workload profile, whether or not earlier ones have completed, the way independent clients behave;
+ * a slow server therefore builds a queue instead of slowing the generator down. Arrival times and the operation
+ * mix are drawn from {@code --seed}, so two runs with the same arguments issue the same sequence of requests.
+ * Without {@code --base-url} the application is started in-process on the H2 test profile:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.sky.usermanager.loadtest.LoadGenerator --profile=read-heavy --rate=50"
+ * </pre>
+ * Options, with their defaults: {@code --profile=mixed} (read-heavy, signup-burst, power-users, listing-scan,
+ * mixed), {@code --rate=20}, {@code --duration=60s}, {@code --warmup=10s}, {@code --seed=42},
+ * {@code --base-url}, {@code --username=admin}, {@code --password=admin123}, {@code --users=100},
+ * {@code --power-users=5}, {@code --max-in-flight=200}, {@code --timeout=10s},
+ * {@code --report-dir=target/loadtest}, and the thresholds {@code --max-p99-ms} and {@code --max-error-rate}
+ * (a fraction), which make the run exit with status 1 when exceeded.
+ */
+public final class LoadGenerator {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final WorkloadProfile profile;
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long seed;
+    private final int maxInFlight;
+    private final HttpClient client;
+    private final LoadContext context;
+
+    private LoadGenerator(WorkloadProfile profile, double rate, Duration warmup, Duration duration, long seed,
+                          int maxInFlight, LoadContext context) {
+        this.profile = profile;
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.seed = seed;
+        this.maxInFlight = maxInFlight;
+        this.context = context;
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        WorkloadProfile profile = WorkloadProfile.fromName(options.getOrDefault("profile", "mixed"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "20"));
+        Duration duration = duration(options.getOrDefault("duration", "60s"));
+        Duration warmup = duration(options.getOrDefault("warmup", "10s"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Path reportDirectory = Path.of(options.getOrDefault("report-dir", "target/loadtest"));
+
+        ConfigurableApplicationContext application = null;
+        String baseUrl = options.get("base-url");
+        if (baseUrl == null) {
+            application = startApplication();
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort();
+        }
+        int status;
+        try {
+            LoadContext context = new LoadContext(URI.create(baseUrl), options.getOrDefault("username", "admin"),
+                    options.getOrDefault("password", "admin123"),
+                    duration(options.getOrDefault("timeout", "10s")),
+                    Long.toString(System.currentTimeMillis(), 36));
+            LoadGenerator generator = new LoadGenerator(profile, rate, warmup, duration, seed,
+                    Integer.parseInt(options.getOrDefault("max-in-flight", "200")), context);
+            System.out.printf("Load test [profile=%s, rate=%s/s, duration=%s, warmup=%s, seed=%d, target=%s]%n",
+                    profile.name().toLowerCase(), rate, duration, warmup, seed, baseUrl);
+            generator.seedUsers(Integer.parseInt(options.getOrDefault("users", "100")),
+                    Integer.parseInt(options.getOrDefault("power-users", "5")));
+            LoadReport report = generator.run();
+
+            report.print(System.out, duration.toMillis() / 1000.0);
+            String prefix = profile.name().toLowerCase().replace('_', '-') + "-" + seed;
+            report.write(reportDirectory, prefix);
+            System.out.printf("Histograms written to %s/%s-*.hgrm%n", reportDirectory, prefix);
+            status = check(report, options) ? 0 : 1;
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Creates the users the run reads, one at a time through the API so they get real password hashes without
+     * tripping the hashing limit; requests rejected with 429 or 503 are retried. The first {@code powerUsers} of
+     * them receive every project the run links.
+     */
+    private void seedUsers(int users, int powerUsers) throws IOException, InterruptedException {
+        for (int i = 0; i < users; i++) {
+            HttpRequest request = Operation.CREATE_USER.request(context, null);
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            for (int attempt = 1; (response.statusCode() == 429 || response.statusCode() == 503) && attempt < 10;
+                 attempt++) {
+                Thread.sleep(100L * attempt);
+                response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            }
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding a user returned " + response.statusCode() + ": "
+                        + response.body());
+            }
+            long id = OBJECT_MAPPER.readTree(response.body()).get("id").asLong();
+            context.addUser(id);
+            if (i < powerUsers) {
+                context.addPowerUser(id);
+            }
+        }
+        System.out.printf("Seeded %d users, %d of them power users%n", users, Math.min(powerUsers, users));
+    }
+
+    private LoadReport run() throws InterruptedException {
+        Random random = new Random(seed);
+        LoadReport warmupReport = new LoadReport(profile.operations());
+        LoadReport report = new LoadReport(profile.operations());
+        AtomicInteger inFlight = new AtomicInteger();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        double elapsed = 0;
+
+        while (true) {
+            // Exponential inter-arrival times make a Poisson process at the profile's current rate
+            double currentRate = rate * profile.rateMultiplier(elapsed);
+            elapsed += -Math.log(1 - random.nextDouble()) / currentRate;
+            long due = start + (long) (elapsed * 1e9);
+            if (due >= end) {
+                break;
+            }
+            Operation operation = profile.next(random);
+            LoadReport target = due < measureFrom ? warmupReport : report;
+            HttpRequest request = operation.request(context, random);
+            LockSupport.parkNanos(due - System.nanoTime());
+
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                target.recordDropped(operation);
+                continue;
+            }
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+                long latencyMicros = (System.nanoTime() - due) / 1000;
+                inFlight.decrementAndGet();
+                if (failure != null) {
+                    target.recordFailure(operation, latencyMicros);
+                    return;
+                }
+                target.record(operation, latencyMicros, response.statusCode());
+                if (operation.readsBody() && response.statusCode() / 100 == 2) {
+                    try {
+                        operation.onSuccess(context, OBJECT_MAPPER.readTree(response.body()));
+                    } catch (IOException e) {
+                        // The latency is recorded; a body that can't be parsed only loses the follow-up state
+                    }
+                }
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        return report;
+    }
+
+    private static boolean check(LoadReport report, Map<String, String> options) {
+        boolean passed = true;
+        Histogram total = report.total();
+        String maxP99 = options.get("max-p99-ms");
+        if (maxP99 != null && total.getValueAtPercentile(99) / 1000.0 > Double.parseDouble(maxP99)) {
+            System.out.printf("FAILED: p99 of %.2f ms is over the %s ms limit%n",
+                    total.getValueAtPercentile(99) / 1000.0, maxP99);
+            passed = false;
+        }
+        String maxErrorRate = options.get("max-error-rate");
+        double errorRate = report.count() == 0 ? 0 : (double) report.failures() / report.count();
+        if (maxErrorRate != null && errorRate > Double.parseDouble(maxErrorRate)) {
+            System.out.printf("FAILED: error rate of %.4f is over the %s limit%n", errorRate, maxErrorRate);
+            passed = false;
+        }
+        return passed;
+    }
+
+    private static ConfigurableApplicationContext startApplication() {
+        // Devtools would restart the application, and this main method with it, in a new class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(UserManagerApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--usermanager.query-budget.fail-on-exceed=false",
+                        "--logging.level.com.sky.usermanager=WARN");
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+}
@@ -0,0 +1,137 @@
+package com.sky.usermanager.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Response times per operation in microseconds, measured from the moment a request was due rather than when it was
+ * sent, so time spent queued behind a slow server counts against it (no coordinated omission). Outcomes are counted
+ * as ok (2xx), rejected (429 and 503 from rate limiting and load shedding), errors (any other status, timeouts and
+ * connection failures) and dropped (not sent because {@code --max-in-flight} requests were already outstanding).
+ */
+final class LoadReport {
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    LoadReport(Operation[] operations) {
+        for (Operation operation : operations) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    void record(Operation operation, long latencyMicros, int status) {
+        Stats operationStats = stats.get(operation);
+        operationStats.latencies.recordValue(latencyMicros);
+        if (status >= 200 && status < 300) {
+            operationStats.ok.increment();
+        } else if (status == 429 || status == 503) {
+            operationStats.rejected.increment();
+        } else {
+            operationStats.errors.increment();
+        }
+    }
+
+    void recordFailure(Operation operation, long latencyMicros) {
+        record(operation, latencyMicros, 0);
+    }
+
+    void recordDropped(Operation operation) {
+        stats.get(operation).dropped.increment();
+    }
+
+    Histogram total() {
+        Histogram total = new Histogram(3);
+        stats.values().forEach(operationStats -> total.add(operationStats.latencies));
+        return total;
+    }
+
+    long count() {
+        return stats.values().stream().mapToLong(Stats::count).sum();
+    }
+
+    long failures() {
+        return stats.values().stream().mapToLong(s -> s.errors.sum() + s.dropped.sum()).sum();
+    }
+
+    void print(PrintStream out, double seconds) {
+        out.printf("%-14s %8s %8s %8s %8s %8s %10s %10s %10s %10s %10s%n", "operation", "ok", "rejected", "errors",
+                "dropped", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        stats.forEach((operation, operationStats) -> print(out, operation.name(), operationStats.latencies,
+                operationStats.ok.sum(), operationStats.rejected.sum(), operationStats.errors.sum(),
+                operationStats.dropped.sum(), seconds));
+        print(out, "ALL", total(), sum(Stats::ok), sum(Stats::rejected), sum(Stats::errors), sum(Stats::dropped),
+                seconds);
+    }
+
+    /**
+     * Writes the full percentile distribution of each operation, and of all of them, as {@code .hgrm} files that
+     * HdrHistogram's plotter can chart and compare between runs.
+     */
+    void write(Path directory, String prefix) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            write(directory.resolve(prefix + "-" + entry.getKey().name().toLowerCase() + ".hgrm"),
+                    entry.getValue().latencies);
+        }
+        write(directory.resolve(prefix + "-all.hgrm"), total());
+    }
+
+    private static void write(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private long sum(Function<Stats, LongAdder> counter) {
+        return stats.values().stream().mapToLong(s -> counter.apply(s).sum()).sum();
+    }
+
+    private static void print(PrintStream out, String name, Histogram latencies, long ok, long rejected,
+                              long errors, long dropped, double seconds) {
+        out.printf("%-14s %8d %8d %8d %8d %8.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n", name, ok, rejected, errors,
+                dropped, (ok + rejected + errors) / seconds, millis(latencies, 50), millis(latencies, 90),
+                millis(latencies, 99), millis(latencies, 99.9), latencies.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static final class Stats {
+
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        private long count() {
+            return ok.sum() + rejected.sum() + errors.sum() + dropped.sum();
+        }
+
+        private LongAdder ok() {
+            return ok;
+        }
+
+        private LongAdder rejected() {
+            return rejected;
+        }
+
+        private LongAdder errors() {
+            return errors;
+        }
+
+        private LongAdder dropped() {
+            return dropped;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.sky.usermanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * A request the load generator can issue. Operations pick their target from the shared {@link LoadContext} with
+ * the generator's seeded random, so a given seed issues the same sequence of requests, and feed created ids or
+ * cursors back into it from the response.
+ */
+enum Operation {
+
+    GET_USER {
+        @Override
+        HttpRequest request(LoadContext context, Random random) {
+            return context.get("/api/users/" + context.randomUserId(random));
+        }
+    },
+
+    CREATE_USER {
+        @Override
+        HttpRequest request(LoadContext context, Random random) {
+            long n = context.nextSequence();
+            return context.post("/api/users", """
+                    {"email":"%s","password":"load-test-%d","name":"Load User %d"}"""
+                    .formatted(context.email(n), n, n));
+        }
+
+        @Override
+        void onSuccess(LoadContext context, JsonNode body) {
+            context.addUser(body.get("id").asLong());
+        }
+    },
+
+    ADD_PROJECT {
+        @Override
+        HttpRequest request(LoadContext context, Random random) {
+            long n = context.nextSequence();
+            return context.post("/api/users/" + context.randomPowerUserId(random) + "/projects", """
+                    {"id":"%s-%d","name":"Load Project %d"}""".formatted(context.runId(), n, n));
+        }
+    },
+
+    LIST_PROJECTS {
+        @Override
+        HttpRequest request(LoadContext context, Random random) {
+            return context.get("/api/users/" + context.randomPowerUserId(random) + "/projects");
+        }
+    },
+
+    /**
+     * One page of a keyset scan over the users this run created; each page continues where the previous one ended
+     * and the scan starts over after the last page.
+     */
+    SCAN_USERS {
+        @Override
+        HttpRequest request(LoadContext context, Random random) {
+            String cursor = context.scanCursor();
+            return context.get("/api/users/search?limit=50&emailPrefix="
+                    + URLEncoder.encode(context.emailPrefix(), StandardCharsets.UTF_8)
+                    + (cursor == null ? "" : "&after=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        void onSuccess(LoadContext context, JsonNode body) {
+            JsonNode next = body.get("nextCursor");
+            context.scanCursor(next == null || next.isNull() ? null : next.asText());
+        }
+    },
+
+    LIST_USERS {
+        @Override
+        HttpRequest request(LoadContext context, Random random) {
+            return context.get("/api/users");
+        }
+    };
+
+    abstract HttpRequest request(LoadContext context, Random random);
+
+    /**
+     * Called with the parsed body of a 2xx response.
+     */
+    void onSuccess(LoadContext context, JsonNode body) {
+    }
+
+    boolean readsBody() {
+        return this == CREATE_USER || this == SCAN_USERS;
+    }
+}
@@ -0,0 +1,84 @@
+package com.sky.usermanager.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A workload mix: the share of each operation and how the arrival rate varies over time. Rates are relative to
+ * the {@code --rate} given to the generator.
+ */
+enum WorkloadProfile {
+
+    /**
+     * Lookups by id with the occasional scan, the steady state of the API.
+     */
+    READ_HEAVY(Map.of(Operation.GET_USER, 90, Operation.LIST_PROJECTS, 8, Operation.SCAN_USERS, 2)),
+
+    /**
+     * Sign-ups arriving in bursts of five times the base rate for two seconds out of every ten, over a background
+     * of reads. Every sign-up hashes a password, so this finds where hashing saturates.
+     */
+    SIGNUP_BURST(Map.of(Operation.CREATE_USER, 60, Operation.GET_USER, 40)) {
+        @Override
+        double rateMultiplier(double elapsedSeconds) {
+            return elapsedSeconds % 10 < 2 ? 5 : 1;
+        }
+    },
+
+    /**
+     * A few users linking and listing many projects, which concentrates writes and locks on the same rows.
+     */
+    POWER_USERS(Map.of(Operation.ADD_PROJECT, 50, Operation.LIST_PROJECTS, 40, Operation.GET_USER, 10)),
+
+    /**
+     * Page-by-page scans and full listings, which read the most rows per request.
+     */
+    LISTING_SCAN(Map.of(Operation.SCAN_USERS, 80, Operation.LIST_USERS, 5, Operation.GET_USER, 15)),
+
+    /**
+     * All of the above at once, weighted towards reads.
+     */
+    MIXED(Map.of(Operation.GET_USER, 60, Operation.LIST_PROJECTS, 10, Operation.SCAN_USERS, 10,
+            Operation.CREATE_USER, 8, Operation.ADD_PROJECT, 10, Operation.LIST_USERS, 2));
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    WorkloadProfile(Map<Operation, Integer> weights) {
+        // EnumMap iterates in declaration order, so the draw is the same for a given seed
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        this.operations = ordered.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Operation next(Random random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    Operation[] operations() {
+        return operations.clone();
+    }
+
+    /**
+     * Factor applied to the base arrival rate {@code elapsedSeconds} into the run.
+     */
+    double rateMultiplier(double elapsedSeconds) {
+        return 1;
+    }
+
+    static WorkloadProfile fromName(String name) {
+        return valueOf(name.toUpperCase().replace('-', '_'));
+    }
+}
@@ -0,0 +1,95 @@
+package com.sky.usermanager.outbox;
+
+import com.sky.usermanager.model.ChangeEventType;
+import com.sky.usermanager.model.OutboxEvent;
+import com.sky.usermanager.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.sky.usermanager.outbox.OutboxRelay.OUTBOX_EVENTS_PUBLISHED_TOTAL_COUNTER;
+import static com.sky.usermanager.outbox.OutboxRelay.OUTBOX_RELAY_FAILURES_TOTAL_COUNTER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxEventSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        OutboxProperties properties = new OutboxProperties(Duration.ofSeconds(1), 2, Duration.ofDays(7),
+                Duration.ofSeconds(30), 500);
+        relay = new OutboxRelay(outboxEventRepository, sink, properties, transactionManager, eventPublisher,
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should assign feed positions after the last published one and hand the batch to the sink")
+    void shouldRelayPendingEventsInBatches() {
+        OutboxEvent first = new OutboxEvent(ChangeEventType.USER_CREATED, 1L, "1", "{\"id\":1}");
+        OutboxEvent second = new OutboxEvent(ChangeEventType.USER_UPDATED, 1L, "1", "{\"id\":1}");
+        OutboxEvent third = new OutboxEvent(ChangeEventType.USER_DELETED, 1L, "1", "{\"id\":1}");
+        when(outboxEventRepository.findUnpublishedForUpdate(any(Pageable.class)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third))
+                .thenReturn(List.of());
+        when(outboxEventRepository.findLastPosition()).thenReturn(10L, 12L);
+
+        int relayed = relay.relayPending();
+
+        assertThat(relayed).isEqualTo(3);
+        assertThat(first.getFeedPosition()).isEqualTo(11L);
+        assertThat(second.getFeedPosition()).isEqualTo(12L);
+        assertThat(third.getFeedPosition()).isEqualTo(13L);
+        verify(sink).publish(List.of(first, second));
+        verify(sink).publish(List.of(third));
+
+        ArgumentCaptor<OutboxEventsPublished> published = ArgumentCaptor.forClass(OutboxEventsPublished.class);
+        verify(eventPublisher, times(2)).publishEvent(published.capture());
+        assertThat(published.getAllValues().get(1).lastPosition()).isEqualTo(13L);
+        assertThat(meterRegistry.get(OUTBOX_EVENTS_PUBLISHED_TOTAL_COUNTER).counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should roll back and count a failure when the sink rejects the batch")
+    void shouldCountFailure_WhenSinkFails() {
+        OutboxEvent event = new OutboxEvent(ChangeEventType.USER_CREATED, 1L, "1", "{\"id\":1}");
+        when(outboxEventRepository.findUnpublishedForUpdate(any(Pageable.class))).thenReturn(List.of(event));
+        doThrow(new IllegalStateException("broker down")).when(sink).publish(any());
+
+        int relayed = relay.relayPending();
+
+        assertThat(relayed).isZero();
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(eventPublisher);
+        assertThat(meterRegistry.get(OUTBOX_RELAY_FAILURES_TOTAL_COUNTER).counter().count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,81 @@
+package com.sky.usermanager.password;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHashCalibratorTest {
+
+    // BCrypt-like: 40ms at cost 10, doubling with each step
+    private final PasswordHashCalibrator calibrator = new PasswordHashCalibrator(
+            (algorithm, cost) -> Duration.ofMillis(40L << (cost - algorithm.minCost())));
+
+    @Test
+    @DisplayName("Should pick the highest cost whose hash fits the latency budget")
+    void shouldPickHighestCostWithinBudget() {
+        PasswordHashProfile profile = calibrator.calibrate(PasswordHashAlgorithm.BCRYPT, Duration.ofMillis(100));
+
+        assertThat(profile.cost()).isEqualTo(11);
+        assertThat(profile.hashTime()).isEqualTo(Duration.ofMillis(80));
+    }
+
+    @Test
+    @DisplayName("Should keep the minimum cost when even that exceeds the budget, and never exceed the maximum")
+    void shouldStayWithinTheCostRange() {
+        assertThat(calibrator.calibrate(PasswordHashAlgorithm.BCRYPT, Duration.ofMillis(10)).cost()).isEqualTo(10);
+        assertThat(calibrator.calibrate(PasswordHashAlgorithm.BCRYPT, Duration.ofHours(1)).cost()).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("Should write prefixed hashes and ask to upgrade legacy, weaker or other-scheme hashes")
+    void shouldFlagOutdatedHashes() {
+        PasswordEncoder encoder = PasswordEncoders.create(
+                new PasswordHashProfile(PasswordHashAlgorithm.BCRYPT, 5, Duration.ZERO), new SimpleMeterRegistry());
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+
+        String current = encoder.encode("secret");
+
+        assertThat(current).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches("secret", current)).isTrue();
+        assertThat(encoder.upgradeEncoding(current)).isFalse();
+        assertThat(encoder.matches("secret", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding("{bcrypt}" + legacy)).isTrue();
+
+        PasswordEncoder argon2 = PasswordEncoders.create(
+                new PasswordHashProfile(PasswordHashAlgorithm.ARGON2, 2, Duration.ZERO), new SimpleMeterRegistry());
+        assertThat(argon2.encode("secret")).startsWith("{argon2}$argon2id$");
+        assertThat(argon2.matches("secret", current)).isTrue();
+        assertThat(argon2.upgradeEncoding(current)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should store the rehash of an outdated hash after a successful login")
+    void shouldRehashOnLogin() {
+        PasswordEncoder encoder = PasswordEncoders.create(
+                new PasswordHashProfile(PasswordHashAlgorithm.BCRYPT, 5, Duration.ZERO), new SimpleMeterRegistry());
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(User.withUsername("alice")
+                .password(new BCryptPasswordEncoder(4).encode("secret"))
+                .roles("USER")
+                .build());
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(users);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(users);
+
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("alice", "secret"));
+
+        String stored = users.loadUserByUsername("alice").getPassword();
+        assertThat(stored).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches("secret", stored)).isTrue();
+    }
+}
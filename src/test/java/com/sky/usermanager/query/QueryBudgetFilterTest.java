@@ -0,0 +1,90 @@
+package com.sky.usermanager.query;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.sky.usermanager.query.QueryBudgetFilter.HTTP_SERVER_REQUESTS_QUERIES_SUMMARY;
+import static com.sky.usermanager.query.QueryBudgetFilter.QUERY_BUDGET_EXCEEDED_TOTAL_COUNTER;
+import static com.sky.usermanager.query.QueryBudgetFilter.QUERY_COUNT_ATTRIBUTE;
+import static com.sky.usermanager.query.QueryBudgetFilter.QUERY_N_PLUS_ONE_SUSPECTED_TOTAL_COUNTER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryBudgetFilterTest {
+
+    private static final String PROJECTS_ROUTE = "/api/users/{userId}/projects";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final QueryCountListener listener = new QueryCountListener();
+
+    @Test
+    @DisplayName("Should record the statements of a request against its endpoint")
+    void shouldRecordQueriesPerEndpoint() throws Exception {
+        MockHttpServletRequest request = request();
+
+        filter(false).doFilter(request, new MockHttpServletResponse(), executing(
+                "select * from tb_user where id=?", "select * from tb_user_external_project where user_id=?"));
+
+        assertThat(request.getAttribute(QUERY_COUNT_ATTRIBUTE)).isEqualTo(2);
+        assertThat(registry.get(HTTP_SERVER_REQUESTS_QUERIES_SUMMARY).tag("uri", PROJECTS_ROUTE).summary().totalAmount())
+                .isEqualTo(2.0);
+        assertThat(registry.find(QUERY_BUDGET_EXCEEDED_TOTAL_COUNTER).counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should report repeated statements and budget overruns")
+    void shouldReportNPlusOneAndBudgetOverrun() throws Exception {
+        filter(false).doFilter(request(), new MockHttpServletResponse(), executing(
+                "select * from tb_user_external_project where user_id=?",
+                "select * from tb_user where id=?", "select * from tb_user where id=?", "select * from tb_user where id=?"));
+
+        assertThat(registry.get(QUERY_N_PLUS_ONE_SUSPECTED_TOTAL_COUNTER).counter().count()).isEqualTo(1.0);
+        assertThat(registry.get(QUERY_BUDGET_EXCEEDED_TOTAL_COUNTER).tag("uri", PROJECTS_ROUTE).counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should fail the request when the budget is exceeded and failing is enabled")
+    void shouldFail_WhenBudgetExceededAndFailOnExceed() {
+        assertThatThrownBy(() -> filter(true).doFilter(request(), new MockHttpServletResponse(), executing(
+                "select 1", "select 2", "select 3")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("GET " + PROJECTS_ROUTE + ": 3 statements, budget is 2");
+    }
+
+    @Test
+    @DisplayName("Should not count statements executed outside a request")
+    void shouldIgnoreStatementsOutsideRequests() {
+        listener.afterQuery(null, List.of(new QueryInfo("select 1")));
+
+        assertThat(RequestQueryCounter.current()).isNull();
+    }
+
+    private QueryBudgetFilter filter(boolean failOnExceed) {
+        return new QueryBudgetFilter(new QueryBudgetProperties(true, 10, Map.of("GET " + PROJECTS_ROUTE, 2), 3,
+                failOnExceed), registry);
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1/projects");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PROJECTS_ROUTE);
+        return request;
+    }
+
+    private FilterChain executing(String... statements) {
+        return (request, response) -> {
+            for (String sql : statements) {
+                listener.afterQuery(null, List.of(new QueryInfo(sql)));
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.sky.usermanager.ratelimit;
+
+import com.sky.usermanager.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.sky.usermanager.ratelimit.ConcurrencyLimitedPasswordEncoder.PASSWORD_HASHING_IN_FLIGHT_GAUGE;
+import static com.sky.usermanager.ratelimit.ConcurrencyLimitedPasswordEncoder.PASSWORD_HASHING_REJECTIONS_TOTAL_COUNTER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should reject hashing when every slot stays busy for longer than the maximum wait")
+    void shouldReject_WhenAllSlotsBusy() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder encoder = new ConcurrencyLimitedPasswordEncoder(new BlockingEncoder(hashing, release), 1,
+                Duration.ofMillis(50), registry);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> encoder.matches("second", "hash"))
+                .isInstanceOf(HashingCapacityExceededException.class);
+        assertThat(registry.get(PASSWORD_HASHING_IN_FLIGHT_GAUGE).gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get(PASSWORD_HASHING_REJECTIONS_TOTAL_COUNTER).counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+        assertThat(encoder.matches("first", "hash:first")).isTrue();
+        assertThat(registry.get(PASSWORD_HASHING_IN_FLIGHT_GAUGE).gauge().value()).isZero();
+    }
+
+    private record BlockingEncoder(CountDownLatch hashing, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashing.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+    }
+}
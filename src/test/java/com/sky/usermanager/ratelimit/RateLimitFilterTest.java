@@ -0,0 +1,156 @@
+package com.sky.usermanager.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.sky.usermanager.ratelimit.RateLimitFilter.RATE_LIMIT_REJECTIONS_TOTAL_COUNTER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private long now;
+    private RateLimitFilter filter;
+    private AddressRateLimitFilter addressFilter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties(true, new RateLimitProperties.AddressBandwidth(3, 1),
+                new RateLimitProperties.Bandwidth(10, 10), new RateLimitProperties.Bandwidth(5, 5),
+                new RateLimitProperties.Bandwidth(1, 0.5), 100, 1, Duration.ofMillis(10));
+        ClientRateLimiter limiter = new ClientRateLimiter(properties, registry, () -> now);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        filter = new RateLimitFilter(limiter, objectMapper, registry);
+        addressFilter = new AddressRateLimitFilter(limiter, objectMapper, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should reject a user over its budget with 429 and Retry-After without affecting others")
+    void shouldThrottleNoisyClientOnly() throws Exception {
+        assertThat(perform(post(), "noisy").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse throttled = perform(post(), "noisy");
+        MockHttpServletResponse other = perform(post(), "quiet");
+
+        assertThat(throttled.getStatus()).isEqualTo(429);
+        assertThat(throttled.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(throttled.getContentAsString()).contains("Rate limit exceeded");
+        assertThat(other.getStatus()).isEqualTo(200);
+        assertThat(registry.get(RATE_LIMIT_REJECTIONS_TOTAL_COUNTER).tag("endpoint_class", "hashing").counter()
+                .count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should budget endpoint classes separately")
+    void shouldKeepSeparateBudgetsPerEndpointClass() throws Exception {
+        perform(post(), "client");
+
+        assertThat(perform(post(), "client").getStatus()).isEqualTo(429);
+        assertThat(perform(new MockHttpServletRequest("GET", "/api/users/1"), "client").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should admit the user again once its bucket has refilled")
+    void shouldAdmitAfterRefill() throws Exception {
+        perform(post(), "client");
+        assertThat(perform(post(), "client").getStatus()).isEqualTo(429);
+
+        now += 2_000_000_000L;
+
+        assertThat(perform(post(), "client").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should throttle an address before authentication whatever usernames it presents")
+    void shouldThrottleAddress() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(performBeforeAuthentication(post("10.0.0.1")).getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse throttled = performBeforeAuthentication(post("10.0.0.1"));
+
+        assertThat(throttled.getStatus()).isEqualTo(429);
+        assertThat(throttled.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(performBeforeAuthentication(post("10.0.0.2")).getStatus()).isEqualTo(200);
+        assertThat(registry.get(RATE_LIMIT_REJECTIONS_TOTAL_COUNTER).tag("scope", "address").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After when hashing capacity is exhausted during authentication")
+    void shouldReturn503_WhenHashingCapacityExceeded() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        addressFilter.doFilter(post(), response, (req, res) -> {
+            throw new HashingCapacityExceededException("Too many concurrent password operations, retry later");
+        });
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Should identify clients by authenticated principal, falling back to the remote address")
+    void shouldResolveClientKey() {
+        MockHttpServletRequest request = post("10.0.0.1");
+
+        assertThat(RateLimitFilter.clientKey(request)).isEqualTo("ip:10.0.0.1");
+
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key", "anonymousUser",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        assertThat(RateLimitFilter.clientKey(request)).isEqualTo("ip:10.0.0.1");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("admin", null, List.of()));
+        assertThat(RateLimitFilter.clientKey(request)).isEqualTo("user:admin");
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, String username) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+        try {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            return response;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private MockHttpServletResponse performBeforeAuthentication(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        addressFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest post() {
+        return new MockHttpServletRequest("POST", "/api/users");
+    }
+
+    private static MockHttpServletRequest post(String remoteAddress) {
+        MockHttpServletRequest request = post();
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+}
@@ -0,0 +1,36 @@
+package com.sky.usermanager.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitPropertiesTest {
+
+    @Test
+    @DisplayName("Should keep the address defaults apart from the per-user defaults")
+    void shouldDefaultAddressBandwidth() {
+        RateLimitProperties properties = bind(Map.of());
+
+        assertThat(properties.address()).isEqualTo(new RateLimitProperties.AddressBandwidth(200, 100));
+        assertThat(properties.read()).isEqualTo(new RateLimitProperties.Bandwidth(20, 10));
+    }
+
+    @Test
+    @DisplayName("Should keep the address refill default when only its capacity is set")
+    void shouldKeepAddressRefillOnPartialOverride() {
+        RateLimitProperties properties = bind(Map.of("usermanager.rate-limit.address.capacity", "500"));
+
+        assertThat(properties.address()).isEqualTo(new RateLimitProperties.AddressBandwidth(500, 100));
+    }
+
+    private static RateLimitProperties bind(Map<String, String> values) {
+        return new Binder(new MapConfigurationPropertySource(values))
+                .bindOrCreate("usermanager.rate-limit", Bindable.of(RateLimitProperties.class));
+    }
+}
@@ -0,0 +1,70 @@
+package com.sky.usermanager.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Should admit a burst up to capacity and report the wait for the next token")
+    void shouldAdmitBurstThenThrottle() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+        assertThat(bucket.availableTokens(0)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refill tokens at the configured rate without exceeding capacity")
+    void shouldRefillOverTime() {
+        TokenBucket bucket = new TokenBucket(2, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.tryAcquire(SECOND / 4)).isEqualTo(SECOND / 4);
+        assertThat(bucket.tryAcquire(SECOND / 2)).isZero();
+        assertThat(bucket.availableTokens(10 * SECOND)).isEqualTo(2);
+        assertThat(bucket.isFull(10 * SECOND)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never admit more than capacity under concurrent use")
+    void shouldNotOverAdmitUnderContention() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(50, 0.001, 0);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < 100; j++) {
+                        if (bucket.tryAcquire(0) == 0) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(admitted.get()).isEqualTo(50);
+    }
+}
@@ -2,13 +2,16 @@ package com.sky.usermanager.repository;
 
 import com.sky.usermanager.config.TestJpaAuditingConfig;
 import com.sky.usermanager.model.User;
+import com.sky.usermanager.model.UserSummary;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 
 import static com.sky.usermanager.TestUtil.JOHN_DOE_NAME;
@@ -47,6 +50,34 @@ class UserRepositoryTest {
         assertThrows(org.springframework.dao.DataIntegrityViolationException.class, () -> userRepository.save(user2), "Should throw exception");
     }
 
+    @Test
+    @DisplayName("Should page through email prefix matches in email order")
+    void shouldSearchByEmailPrefixWithKeysetPaging() {
+        userRepository.save(new User("ana@example.com", "pwd", "Ana"));
+        userRepository.save(new User("anabela@example.com", "pwd", "Anabela"));
+        userRepository.save(new User("andre@example.com", "pwd", "Andre"));
+        userRepository.save(new User("bruno@example.com", "pwd", "Bruno"));
+
+        List<UserSummary> firstPage = userRepository.searchByEmailPrefix("ana%", "", null, Limit.of(1));
+        List<UserSummary> secondPage = userRepository.searchByEmailPrefix("ana%", firstPage.get(0).email(), null,
+                Limit.of(1));
+
+        assertThat(firstPage).extracting(UserSummary::email).containsExactly("ana@example.com");
+        assertThat(secondPage).extracting(UserSummary::email).containsExactly("anabela@example.com");
+        assertThat(userRepository.searchByEmailPrefix("an%", "", "%dre%", Limit.of(10)))
+                .extracting(UserSummary::name).containsExactly("Andre");
+    }
+
+    @Test
+    @DisplayName("Should treat LIKE wildcards in the prefix literally")
+    void shouldEscapeWildcardsInPrefix() {
+        userRepository.save(new User("a_b@example.com", "pwd", "Underscore"));
+        userRepository.save(new User("axb@example.com", "pwd", "Other"));
+
+        assertThat(userRepository.searchByEmailPrefix("a!_%", "", null, Limit.of(10)))
+                .extracting(UserSummary::email).containsExactly("a_b@example.com");
+    }
+
     @Test
     @DisplayName("Should delete user successfully")
     void shouldDeleteUser() {
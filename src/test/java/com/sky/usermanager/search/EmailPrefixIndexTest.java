@@ -0,0 +1,106 @@
+package com.sky.usermanager.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.model.ChangeEventType;
+import com.sky.usermanager.model.OutboxEvent;
+import com.sky.usermanager.model.UserSummary;
+import com.sky.usermanager.outbox.OutboxEventsPublished;
+import com.sky.usermanager.repository.UserRepository;
+import com.sky.usermanager.service.ChangeFeedService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailPrefixIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    private EmailPrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmailPrefixIndex(userRepository, changeFeedService, new ObjectMapper(), new SimpleMeterRegistry());
+        when(changeFeedService.getLastPosition()).thenReturn(10L);
+        when(userRepository.findSummariesAfterId(any(), any(Limit.class))).thenReturn(List.of(
+                new UserSummary(1L, "Ana@example.com", "Ana"),
+                new UserSummary(2L, "anabela@example.com", "Anabela"),
+                new UserSummary(3L, "bruno@example.com", "Bruno")));
+        when(changeFeedService.getChanges(anyLong(), anyInt())).thenReturn(List.of());
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should find emails by case-insensitive prefix with keyset paging")
+    void shouldSearchByPrefix() {
+        assertThat(index.search("ana", null, null, 1)).extracting(UserSummary::id).containsExactly(1L);
+        assertThat(index.search("ana", null, "Ana@example.com", 10)).extracting(UserSummary::id).containsExactly(2L);
+        assertThat(index.search("ANA", "bel", null, 10)).extracting(UserSummary::id).containsExactly(2L);
+        assertThat(index.search("c", null, null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should follow email changes and deletions published on the change feed")
+    void shouldApplyPublishedChanges() {
+        index.onEventsPublished(new OutboxEventsPublished(List.of(
+                event(11, ChangeEventType.USER_UPDATED, 3L, "{\"id\":3,\"email\":\"anton@example.com\",\"name\":\"Bruno\"}"),
+                event(12, ChangeEventType.USER_DELETED, 1L, "{\"id\":1}"))));
+
+        assertThat(index.search("an", null, null, 10)).extracting(UserSummary::id).containsExactly(2L, 3L);
+        assertThat(index.search("bruno", null, null, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should key emails that differ only in case as the same email")
+    void shouldKeyEmailsCaseInsensitively() {
+        index.onEventsPublished(new OutboxEventsPublished(List.of(
+                event(11, ChangeEventType.USER_UPDATED, 1L, "{\"id\":1,\"email\":\"ana@example.com\",\"name\":\"Ana\"}"))));
+
+        assertThat(index.search("ANA@", null, null, 10)).extracting(UserSummary::email).containsExactly("ana@example.com");
+        assertThat(index.size()).isEqualTo(3);
+
+        // A case-sensitive collation could let a second user take the same email; deleting either keeps the other
+        index.onEventsPublished(new OutboxEventsPublished(List.of(
+                event(12, ChangeEventType.USER_CREATED, 4L, "{\"id\":4,\"email\":\"ANA@example.com\",\"name\":\"Ana\"}"),
+                event(13, ChangeEventType.USER_DELETED, 1L, "{\"id\":1}"))));
+
+        assertThat(index.search("ana@", null, null, 10)).extracting(UserSummary::id).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should read missed positions from the change feed when a gap is detected")
+    void shouldCatchUp_WhenPositionsAreMissing() {
+        when(changeFeedService.getChanges(10L, 1000)).thenReturn(List.of(
+                event(11, ChangeEventType.USER_CREATED, 4L, "{\"id\":4,\"email\":\"anna@example.com\",\"name\":\"Anna\"}")));
+
+        index.onEventsPublished(new OutboxEventsPublished(List.of(
+                event(12, ChangeEventType.USER_CREATED, 5L, "{\"id\":5,\"email\":\"anne@example.com\",\"name\":\"Anne\"}"))));
+
+        assertThat(index.search("ann", null, null, 10)).extracting(UserSummary::id).containsExactly(4L, 5L);
+    }
+
+    private static OutboxEvent event(long position, ChangeEventType type, Long userId, String payload) {
+        OutboxEvent event = new OutboxEvent(type, userId, userId.toString(), payload);
+        event.markPublished(position, LocalDateTime.now());
+        return event;
+    }
+}
@@ -0,0 +1,61 @@
+package com.sky.usermanager.security;
+
+import com.sky.usermanager.model.UserCredentials;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final PrincipalCache cache = new PrincipalCache(new PrincipalCacheProperties(true, Duration.ofMinutes(1), 2),
+            new SimpleMeterRegistry(), nanos::get);
+
+    @Test
+    @DisplayName("Should serve cached credentials until the TTL elapses")
+    void shouldExpireEntries() {
+        UserCredentials alice = new UserCredentials(1L, "alice@example.com", "{bcrypt}hash");
+        cache.put(alice);
+
+        nanos.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertThat(cache.get("alice@example.com")).isEqualTo(alice);
+
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(cache.get("alice@example.com")).isNull();
+        cache.evictExpired();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hold at most max-size users, making room by dropping expired ones")
+    void shouldStayBounded() {
+        cache.put(new UserCredentials(1L, "a@example.com", "a"));
+        cache.put(new UserCredentials(2L, "b@example.com", "b"));
+        cache.put(new UserCredentials(3L, "c@example.com", "c"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("c@example.com")).isNull();
+
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+        cache.put(new UserCredentials(3L, "c@example.com", "c"));
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("c@example.com")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should drop a user's credentials when they change")
+    void shouldEvictChangedUsers() {
+        cache.put(new UserCredentials(1L, "old@example.com", "a"));
+        cache.put(new UserCredentials(2L, "other@example.com", "b"));
+
+        cache.onCredentialsChanged(new UserCredentialsChanged(1L));
+
+        assertThat(cache.get("old@example.com")).isNull();
+        assertThat(cache.get("other@example.com")).isNotNull();
+    }
+}
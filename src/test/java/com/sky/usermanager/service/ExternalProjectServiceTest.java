@@ -1,7 +1,9 @@
 package com.sky.usermanager.service;
 
 import com.sky.usermanager.controller.dto.UserExternalProjectDTO;
+import com.sky.usermanager.controller.dto.UserExternalProjectResponseDTO;
 import com.sky.usermanager.exception.ResourceNotFoundException;
+import com.sky.usermanager.model.ChangeEventType;
 import com.sky.usermanager.model.User;
 import com.sky.usermanager.model.UserExternalProject;
 import com.sky.usermanager.model.UserExternalProjectFactory;
@@ -36,6 +38,9 @@ class ExternalProjectServiceTest {
     @Mock
     private UserExternalProjectRepository userExternalProjectRepository;
 
+    @Mock
+    private OutboxService outboxService;
+
     private SimpleMeterRegistry meterRegistry;
 
     private final Long USER_ID = 101L;
@@ -48,7 +53,7 @@ class ExternalProjectServiceTest {
         userExternalProjectFactory = new UserExternalProjectFactory();
         externalProjectService =
                 new ExternalProjectService(userRepository, userExternalProjectRepository, meterRegistry,
-                        userExternalProjectFactory);
+                        userExternalProjectFactory, outboxService, new DuplicateCheckProperties(DuplicateCheck.QUERY));
 
         mockUser = mock(User.class);
 
@@ -63,7 +68,8 @@ class ExternalProjectServiceTest {
 
         UserExternalProjectFactory spyFactory = spy(userExternalProjectFactory);
         externalProjectService =
-                new ExternalProjectService(userRepository, userExternalProjectRepository, meterRegistry, spyFactory);
+                new ExternalProjectService(userRepository, userExternalProjectRepository, meterRegistry, spyFactory,
+                        outboxService, new DuplicateCheckProperties(DuplicateCheck.QUERY));
 
         UserExternalProject createdProject = externalProjectService.addExternalProject(USER_ID, projectDTO);
 
@@ -74,6 +80,9 @@ class ExternalProjectServiceTest {
         assertEquals(projectDTO.id(), createdProject.getId(), "Project ID should match DTO");
         assertEquals(projectDTO.name(), createdProject.getName(), "Project name should match DTO");
 
+        UserExternalProjectResponseDTO expectedPayload = UserExternalProjectResponseDTO.from(createdProject);
+        verify(outboxService).record(eq(ChangeEventType.PROJECT_ADDED), eq(USER_ID), anyString(), eq(expectedPayload));
+
         double metricValue = meterRegistry.get(PROJECTS_CREATED_TOTAL_COUNTER).counter().count();
         assertEquals(1.0, metricValue, "The metric counter should have been incremented once");
     }
@@ -92,6 +101,7 @@ class ExternalProjectServiceTest {
         assertTrue(thrown.getMessage().contains("User not found with id " + USER_ID));
 
         verify(userExternalProjectRepository, never()).save(any());
+        verifyNoInteractions(outboxService);
     }
 
     @Test
@@ -118,6 +128,19 @@ class ExternalProjectServiceTest {
                 "The service should return the exact list from the User entity (no defensive copy needed in this simple case).");
     }
 
+    @Test
+    @DisplayName("Should copy the user's projects into responses for coalesced callers")
+    void getUserProjectResponses_ShouldReturnResponses() {
+        when(mockUser.getId()).thenReturn(USER_ID);
+        UserExternalProject project = userExternalProjectFactory.create(mockUser, "pA", "Project A");
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(mockUser));
+        when(mockUser.getExternalProjects()).thenReturn(List.of(project));
+
+        List<UserExternalProjectResponseDTO> responses = externalProjectService.getUserProjectResponses(USER_ID);
+
+        assertEquals(List.of(new UserExternalProjectResponseDTO("pA", USER_ID, "Project A")), responses);
+    }
+
     @Test
     @DisplayName("Should return an empty list if the user has no external projects")
     void getUserProjects_ShouldReturnEmptyList_WhenNoProjects() {
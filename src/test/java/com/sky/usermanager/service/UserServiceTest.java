@@ -1,10 +1,16 @@
 package com.sky.usermanager.service;
 
+import com.sky.usermanager.TestUtil;
 import com.sky.usermanager.controller.dto.UserDTO;
+import com.sky.usermanager.controller.dto.UserResponseDTO;
+import com.sky.usermanager.emailfilter.EmailBloomFilter;
 import com.sky.usermanager.exception.DuplicateResourceException;
 import com.sky.usermanager.exception.ResourceNotFoundException;
+import com.sky.usermanager.model.ChangeEventType;
 import com.sky.usermanager.model.User;
+import com.sky.usermanager.repository.UserExternalProjectRepository;
 import com.sky.usermanager.repository.UserRepository;
+import com.sky.usermanager.security.UserCredentialsChanged;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,9 +21,15 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -43,9 +55,24 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExternalProjectRepository userExternalProjectRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ObjectProvider<EmailBloomFilter> emailFilterProvider;
+
+    @Mock
+    private EmailBloomFilter emailFilter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private SimpleMeterRegistry meterRegistry;
 
     private UserService userService;
@@ -56,7 +83,8 @@ class UserServiceTest {
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        userService = new UserService(userRepository, passwordEncoder, meterRegistry);
+        userService = new UserService(userRepository, userExternalProjectRepository, passwordEncoder, meterRegistry,
+                outboxService, emailFilterProvider, new DuplicateCheckProperties(DuplicateCheck.QUERY), eventPublisher);
         dto = new UserDTO(JOHN_EXAMPLE_EMAIL, PASSWORD_123, JOHN_DOE_NAME);
         existingUser = new User(JOHN_EXAMPLE_EMAIL, "hashedpass", JOHN_DOE_NAME);
     }
@@ -66,7 +94,11 @@ class UserServiceTest {
     void createUser_ShouldSaveUser_WhenEmailNotExists() {
         when(userRepository.existsByEmail(dto.email())).thenReturn(false);
         when(passwordEncoder.encode(dto.password())).thenReturn(ENCODED_PASS);
-        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> {
+            User saved = inv.getArgument(0);
+            TestUtil.setId(saved, 1L);
+            return saved;
+        });
 
         User result = userService.createUser(dto);
 
@@ -77,6 +109,8 @@ class UserServiceTest {
         verify(passwordEncoder).encode(PASSWORD_123);
         verify(userRepository).save(any(User.class));
 
+        verify(outboxService).record(eq(ChangeEventType.USER_CREATED), eq(1L), eq("1"), any(UserResponseDTO.class));
+
         double metricValue = meterRegistry.get(USERS_CREATED_TOTAL_COUNTER).counter().count();
         assertEquals(1.0, metricValue, "The metric counter should have been incremented once");
     }
@@ -91,6 +125,99 @@ class UserServiceTest {
                 .hasMessageContaining("The email address provided is already in use");
 
         verify(userRepository, never()).save(any());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    @DisplayName("createUser should skip the duplicate query for emails the email filter rules out")
+    void createUser_ShouldSkipDuplicateQuery_WhenEmailFilterRulesEmailOut() {
+        when(emailFilterProvider.getIfAvailable()).thenReturn(emailFilter);
+        userService = new UserService(userRepository, userExternalProjectRepository, passwordEncoder, meterRegistry,
+                outboxService, emailFilterProvider, new DuplicateCheckProperties(DuplicateCheck.QUERY), eventPublisher);
+        when(emailFilter.mightContain(dto.email())).thenReturn(false);
+        when(passwordEncoder.encode(dto.password())).thenReturn(ENCODED_PASS);
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> {
+            User saved = inv.getArgument(0);
+            TestUtil.setId(saved, 1L);
+            return saved;
+        });
+
+        userService.createUser(dto);
+
+        verify(userRepository, never()).existsByEmail(any());
+        verify(emailFilter).put(dto.email());
+    }
+
+    @Test
+    @DisplayName("createUser should confirm possible matches of the email filter and report false positives")
+    void createUser_ShouldQueryAndRecordFalsePositive_WhenEmailFilterMatches() {
+        when(emailFilterProvider.getIfAvailable()).thenReturn(emailFilter);
+        userService = new UserService(userRepository, userExternalProjectRepository, passwordEncoder, meterRegistry,
+                outboxService, emailFilterProvider, new DuplicateCheckProperties(DuplicateCheck.QUERY), eventPublisher);
+        when(emailFilter.isReady()).thenReturn(true);
+        when(emailFilter.mightContain(dto.email())).thenReturn(true);
+        when(passwordEncoder.encode(dto.password())).thenReturn(ENCODED_PASS);
+        when(userRepository.existsByEmail(dto.email())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> {
+            User saved = inv.getArgument(0);
+            TestUtil.setId(saved, 1L);
+            return saved;
+        });
+
+        userService.createUser(dto);
+
+        verify(emailFilter).recordFalsePositive();
+    }
+
+    @Test
+    @DisplayName("createUser should not report false positives while the email filter is still building")
+    void createUser_ShouldNotRecordFalsePositive_WhenEmailFilterNotReady() {
+        when(emailFilterProvider.getIfAvailable()).thenReturn(emailFilter);
+        userService = new UserService(userRepository, userExternalProjectRepository, passwordEncoder, meterRegistry,
+                outboxService, emailFilterProvider, new DuplicateCheckProperties(DuplicateCheck.QUERY), eventPublisher);
+        when(emailFilter.isReady()).thenReturn(false);
+        when(emailFilter.mightContain(dto.email())).thenReturn(true);
+        when(passwordEncoder.encode(dto.password())).thenReturn(ENCODED_PASS);
+        when(userRepository.existsByEmail(dto.email())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> {
+            User saved = inv.getArgument(0);
+            TestUtil.setId(saved, 1L);
+            return saved;
+        });
+
+        userService.createUser(dto);
+
+        verify(userRepository).existsByEmail(dto.email());
+        verify(emailFilter, never()).recordFalsePositive();
+    }
+
+    @Test
+    @DisplayName("createUser in constraint mode should insert directly and map the unique index violation")
+    void createUser_ShouldMapUniqueViolation_WhenDuplicateCheckIsConstraint() {
+        userService = new UserService(userRepository, userExternalProjectRepository, passwordEncoder, meterRegistry,
+                outboxService, emailFilterProvider, new DuplicateCheckProperties(DuplicateCheck.CONSTRAINT), eventPublisher);
+        when(passwordEncoder.encode(dto.password())).thenReturn(ENCODED_PASS);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException("duplicate", "23505"),
+                        ConstraintViolationException.ConstraintKind.UNIQUE, "PUBLIC.UK_USER_EMAIL_INDEX_3")));
+
+        assertThatThrownBy(() -> userService.createUser(dto))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageContaining("The email address provided is already in use");
+
+        verify(userRepository, never()).existsByEmail(any());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    @DisplayName("createUser in constraint mode should rethrow violations of other constraints")
+    void createUser_ShouldRethrowOtherViolations_WhenDuplicateCheckIsConstraint() {
+        userService = new UserService(userRepository, userExternalProjectRepository, passwordEncoder, meterRegistry,
+                outboxService, emailFilterProvider, new DuplicateCheckProperties(DuplicateCheck.CONSTRAINT), eventPublisher);
+        when(passwordEncoder.encode(dto.password())).thenReturn(ENCODED_PASS);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("too long"));
+
+        assertThatThrownBy(() -> userService.createUser(dto)).isInstanceOf(DataIntegrityViolationException.class);
     }
 
     static Stream<Arguments> invalidUserInputs() {
@@ -155,28 +282,33 @@ class UserServiceTest {
     @Test
     @DisplayName("deleteUserById should delete when exists")
     void deleteUserById_ShouldDelete_WhenExists() {
-        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.deleteUserById(1L)).thenReturn(1);
 
         userService.deleteUserById(1L);
 
-        verify(userRepository).deleteById(1L);
+        verify(userExternalProjectRepository).deleteByUserId(1L);
+        verify(userRepository).deleteUserById(1L);
+        verify(outboxService).record(ChangeEventType.USER_DELETED, 1L, "1", Map.of("id", 1L));
+        verify(eventPublisher).publishEvent(new UserCredentialsChanged(1L));
     }
 
     @Test
     @DisplayName("deleteUserById should throw when user not found")
     void deleteUserById_ShouldThrow_WhenNotFound() {
-        when(userRepository.existsById(2L)).thenReturn(false);
+        when(userRepository.deleteUserById(2L)).thenReturn(0);
 
         assertThatThrownBy(() -> userService.deleteUserById(2L))
                 .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(outboxService);
     }
 
     @Test
     @DisplayName("updateUser should update and re-hash password")
     void updateUser_ShouldUpdateUser() {
+        TestUtil.setId(existingUser, 1L);
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
         when(passwordEncoder.encode(NEWPASS)).thenReturn(HASHED_NEW_PASS);
-        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
         UserDTO updateDto = new UserDTO(NEW_EXAMPLE_EMAIL, NEWPASS, NEW_NAME);
         User updated = userService.updateUser(1L, updateDto);
@@ -185,7 +317,10 @@ class UserServiceTest {
         assertThat(updated.getPassword()).isEqualTo(HASHED_NEW_PASS);
         assertThat(updated.getName()).isEqualTo(NEW_NAME);
 
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(outboxService).record(ChangeEventType.USER_UPDATED, 1L, "1",
+                new UserResponseDTO(1L, NEW_EXAMPLE_EMAIL, NEW_NAME));
+        verify(eventPublisher).publishEvent(new UserCredentialsChanged(1L));
     }
 
     @Test
@@ -0,0 +1,181 @@
+package com.sky.usermanager.singleflight;
+
+import com.sky.usermanager.exception.CapacityExceededException;
+import com.sky.usermanager.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should share one load between concurrent callers of the same key")
+    void shouldCoalesceConcurrentCalls() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(5), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> execute(singleFlight, 1L, () -> {
+                loads.incrementAndGet();
+                release.await();
+                return "user-1";
+            })));
+        }
+        awaitCoalesced("user", 7);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("user-1");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load again once the previous load has completed")
+    void shouldNotCacheResults() throws Throwable {
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(5), registry);
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("user", 1L, loads::incrementAndGet);
+        singleFlight.execute("user", 1L, loads::incrementAndGet);
+        singleFlight.execute("user", 2L, loads::incrementAndGet);
+
+        assertThat(loads).hasValue(3);
+        assertThat(registry.find(SingleFlight.SINGLE_FLIGHT_COALESCED_TOTAL_COUNTER).counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should rethrow the leader's exception to every coalesced caller")
+    void shouldPropagateErrors() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(5), registry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> execute(singleFlight, 1L, () -> {
+                release.await();
+                throw new ResourceNotFoundException("User not found with id: 1");
+            })));
+        }
+        awaitCoalesced("user", 3);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ResourceNotFoundException.class);
+        }
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject a coalesced caller that waits longer than the timeout")
+    void shouldTimeOutCoalescedCallers() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(Duration.ofMillis(50), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader = executor.submit(() -> execute(singleFlight, 1L, () -> {
+            release.await();
+            return "user-1";
+        }));
+        while (singleFlight.inFlight() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThatThrownBy(() -> singleFlight.execute("user", 1L, () -> "unused"))
+                .isInstanceOf(CapacityExceededException.class);
+        assertThat(registry.get(SingleFlight.SINGLE_FLIGHT_TIMEOUTS_TOTAL_COUNTER).tag("name", "user").counter()
+                .count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("user-1");
+    }
+
+    @Test
+    @DisplayName("Should coalesce annotated methods by name and arguments")
+    void shouldCoalesceAnnotatedMethods() throws Exception {
+        Reads target = new Reads();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new SingleFlightAspect(new SingleFlight(Duration.ofSeconds(5), registry)));
+        Reads reads = factory.getProxy();
+
+        List<Future<String>> sameKey = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            sameKey.add(executor.submit(() -> reads.project(1L, "p1")));
+        }
+        awaitCoalesced("user-project", 3);
+        Future<String> otherKey = executor.submit(() -> reads.project(1L, "p2"));
+        while (target.loads.get() < 2) {
+            Thread.sleep(1);
+        }
+        target.release.countDown();
+
+        for (Future<String> result : sameKey) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("1/p1");
+        }
+        assertThat(otherKey.get(5, TimeUnit.SECONDS)).isEqualTo("1/p2");
+        assertThat(target.loads).hasValue(2);
+    }
+
+    private static Object execute(SingleFlight singleFlight, Object key, SingleFlight.Load load) throws Exception {
+        try {
+            return singleFlight.execute("user", key, load);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private void awaitCoalesced(String name, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced(name) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(coalesced(name)).isEqualTo(expected);
+    }
+
+    private double coalesced(String name) {
+        var counter = registry.find(SingleFlight.SINGLE_FLIGHT_COALESCED_TOTAL_COUNTER).tag("name", name).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    static class Reads {
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loads = new AtomicInteger();
+
+        @Coalesced("user-project")
+        public String project(Long userId, String projectId) throws InterruptedException {
+            loads.incrementAndGet();
+            release.await();
+            return userId + "/" + projectId;
+        }
+    }
+}
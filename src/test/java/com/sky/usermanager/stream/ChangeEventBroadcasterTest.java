@@ -0,0 +1,146 @@
+package com.sky.usermanager.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.usermanager.exception.CapacityExceededException;
+import com.sky.usermanager.model.ChangeEventType;
+import com.sky.usermanager.model.OutboxEvent;
+import com.sky.usermanager.outbox.OutboxEventsPublished;
+import com.sky.usermanager.service.ChangeFeedService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.sky.usermanager.stream.ChangeEventBroadcaster.CHANGE_STREAM_EVICTIONS_TOTAL_COUNTER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChangeEventBroadcasterTest {
+
+    private final ChangeFeedService changeFeedService = mock(ChangeFeedService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch sendGate = new CountDownLatch(1);
+    private boolean blockSends;
+    private TestBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        sendGate.countDown();
+        broadcaster.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should only deliver events of the subscribed user")
+    void shouldFilterEventsByUser() throws Exception {
+        broadcaster = broadcaster(16, 10);
+        RecordingEmitter emitter = emitterOf(broadcaster.subscribe(1L, null));
+
+        broadcaster.onEventsPublished(new OutboxEventsPublished(List.of(event(1, 2L), event(2, 1L))));
+
+        assertThat(emitter.nextEvent()).contains("id:2").contains("event:USER_UPDATED");
+        assertThat(emitter.sent).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replay missed events before live ones when resuming from Last-Event-ID")
+    void shouldReplayMissedEvents() throws Exception {
+        broadcaster = broadcaster(16, 10);
+        when(changeFeedService.getChanges(5L, 1000)).thenReturn(List.of(event(6, 1L), event(7, 1L)));
+
+        RecordingEmitter emitter = emitterOf(broadcaster.subscribe(null, 5L));
+        broadcaster.onEventsPublished(new OutboxEventsPublished(List.of(event(7, 1L), event(8, 1L))));
+
+        assertThat(emitter.nextEvent()).contains("id:6");
+        assertThat(emitter.nextEvent()).contains("id:7");
+        assertThat(emitter.nextEvent()).contains("id:8");
+        assertThat(emitter.sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict a subscriber whose buffer overflows")
+    void shouldEvictSlowSubscriber() {
+        broadcaster = broadcaster(2, 10);
+        blockSends = true;
+        broadcaster.subscribe(null, null);
+
+        for (int position = 1; position <= 5; position++) {
+            broadcaster.onEventsPublished(new OutboxEventsPublished(List.of(event(position, 1L))));
+        }
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> broadcaster.getSubscriberCount() == 0);
+        assertThat(meterRegistry.get(CHANGE_STREAM_EVICTIONS_TOTAL_COUNTER).counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject subscriptions beyond the configured limit")
+    void shouldRejectSubscription_WhenLimitReached() {
+        broadcaster = broadcaster(16, 1);
+        broadcaster.subscribe(null, null);
+
+        assertThatThrownBy(() -> broadcaster.subscribe(1L, null)).isInstanceOf(CapacityExceededException.class);
+    }
+
+    private TestBroadcaster broadcaster(int bufferSize, int maxSubscribers) {
+        ChangeStreamProperties properties = new ChangeStreamProperties(bufferSize, maxSubscribers,
+                Duration.ofMinutes(1), Duration.ofSeconds(15), 1, 1000);
+        return new TestBroadcaster(properties);
+    }
+
+    private static RecordingEmitter emitterOf(ChangeSubscription subscription) {
+        return (RecordingEmitter) subscription.getEmitter();
+    }
+
+    private static OutboxEvent event(long position, Long userId) {
+        OutboxEvent event = new OutboxEvent(ChangeEventType.USER_UPDATED, userId, userId.toString(), "{}");
+        event.markPublished(position, LocalDateTime.now());
+        return event;
+    }
+
+    private class TestBroadcaster extends ChangeEventBroadcaster {
+
+        TestBroadcaster(ChangeStreamProperties properties) {
+            super(properties, changeFeedService, new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        }
+
+        @Override
+        SseEmitter createEmitter(long timeoutMillis) {
+            return new RecordingEmitter();
+        }
+    }
+
+    private class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            if (blockSends) {
+                try {
+                    sendGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        String nextEvent() throws InterruptedException {
+            return sent.poll(2, TimeUnit.SECONDS);
+        }
+    }
+}
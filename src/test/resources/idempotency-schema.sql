@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS tb_idempotency_key
+(
+    idempotency_key CHAR(64) NOT NULL,
+    fingerprint CHAR(64) NOT NULL,
+    status_code INT NULL,
+    content_type VARCHAR(100) NULL,
+    location VARCHAR(500) NULL,
+    protobuf_message VARCHAR(200) NULL,
+    protobuf_schema VARCHAR(200) NULL,
+    response_body BLOB NULL,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS tb_user
+(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    email VARCHAR(200) NOT NULL UNIQUE,
+    password VARCHAR(129) NOT NULL,
+    name VARCHAR(120),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tb_replication_heartbeat
+(
+    id BIGINT NOT NULL PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);
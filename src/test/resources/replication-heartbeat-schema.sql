@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS tb_replication_heartbeat
+(
+    id BIGINT NOT NULL PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);